@@ -0,0 +1,120 @@
+package me.theeninja.pfflowing.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Worker;
+import javafx.scene.Scene;
+import javafx.scene.web.WebView;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.flowingregions.CardHTMLNormalizer;
+import me.theeninja.pfflowing.flowingregions.CardRun;
+import me.theeninja.pfflowing.gui.CardTextView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways the card detailer shows a card: the paragraphs of styled runs laid out in a
+ * {@link CardTextView}, as cards are shown by default, and the original HTML loaded into a web view, as cards are
+ * shown once the original is asked for. Both views are reused between invocations, as the card detailer reuses
+ * them, and only the work until the card could be painted is measured. Reading the runs file of a stored card,
+ * which precedes showing its runs, is measured alone on the benchmark thread.
+ *
+ * @author TheeNinja
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardDisplayBenchmark {
+    private static final double VIEW_WIDTH = 600;
+    private static final double VIEW_HEIGHT = 800;
+
+    private static final Type PARAGRAPHS_TYPE = new TypeToken<List<List<CardRun>>>() {}.getType();
+
+    private final Gson gson = new Gson();
+
+    private String htmlContent;
+    private List<List<CardRun>> paragraphs;
+    private String runsJson;
+
+    private CardTextView cardTextView;
+    private WebView webView;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessToolkit.start();
+
+        Card card = SyntheticRoundGenerator.generateCard(new Random(SyntheticRoundGenerator.DEFAULT_SEED));
+
+        htmlContent = card.getHTMLContent();
+        paragraphs = CardHTMLNormalizer.toParagraphs(htmlContent);
+
+        // As the runs file of the card would hold them once stored
+        runsJson = gson.toJson(paragraphs, PARAGRAPHS_TYPE);
+
+        HeadlessToolkit.run(() -> {
+            cardTextView = new CardTextView();
+            new Scene(cardTextView, VIEW_WIDTH, VIEW_HEIGHT);
+
+            webView = new WebView();
+            new Scene(webView, VIEW_WIDTH, VIEW_HEIGHT);
+        });
+    }
+
+    @Benchmark
+    public List<List<CardRun>> readRuns() {
+        return gson.fromJson(runsJson, PARAGRAPHS_TYPE);
+    }
+
+    @Benchmark
+    public CardTextView showRuns() throws Exception {
+        return HeadlessToolkit.call(() -> {
+            cardTextView.setParagraphs(paragraphs);
+            cardTextView.applyCss();
+            cardTextView.layout();
+
+            return cardTextView;
+        });
+    }
+
+    @Benchmark
+    public WebView showOriginal() throws Exception {
+        CountDownLatch loadedLatch = new CountDownLatch(1);
+
+        ChangeListener<Worker.State> loadListener = (observable, oldState, newState) -> {
+            if (newState == Worker.State.SUCCEEDED || newState == Worker.State.FAILED) {
+                loadedLatch.countDown();
+            }
+        };
+
+        HeadlessToolkit.run(() -> {
+            webView.getEngine().getLoadWorker().stateProperty().addListener(loadListener);
+            webView.getEngine().loadContent(htmlContent);
+        });
+
+        // Web views load content asynchronously, so the application thread is left free until the card has loaded
+        loadedLatch.await();
+
+        HeadlessToolkit.run(() -> webView.getEngine().getLoadWorker().stateProperty().removeListener(loadListener));
+
+        return webView;
+    }
+}
@@ -0,0 +1,156 @@
+package me.theeninja.pfflowing.benchmark;
+
+import me.theeninja.pfflowing.actions.Delete;
+import me.theeninja.pfflowing.actions.Extend;
+import me.theeninja.pfflowing.actions.FlowAction;
+import me.theeninja.pfflowing.actions.Merge;
+import me.theeninja.pfflowing.actions.ProactiveWrite;
+import me.theeninja.pfflowing.actions.Refute;
+import me.theeninja.pfflowing.actions.Split;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.gui.FlowDisplayController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how constructing, executing and unexecuting each flow action scales with the number of regions on the
+ * flow grid it acts on. Actions act on the middle row of the flow grid, and every execution is undone before the
+ * next, so each invocation sees the same flow grid.
+ *
+ * Executing and unexecuting are measured per invocation, since each needs an action in a particular state; this is
+ * accurate for all but the smallest flow grids, whose actions take about as long as JMH takes to time them.
+ *
+ * @author TheeNinja
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowActionBenchmark {
+    public enum ActionType {
+        MERGE,
+        SPLIT,
+        DELETE,
+        EXTEND,
+        REFUTE,
+        PROACTIVE_WRITE
+    }
+
+    @Param({"10", "100", "1000", "5000"})
+    public int regions;
+
+    // Every action type is benchmarked unless some are given
+    @Param
+    public ActionType actionType;
+
+    private FlowDisplayController flowDisplayController;
+    private int middleRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessToolkit.start();
+
+        middleRow = (FlowGrids.getRows(regions) - 1) / 2;
+        flowDisplayController = HeadlessToolkit.call(() -> FlowGrids.newFlowDisplayController(regions));
+    }
+
+    /**
+     * Must be called on the JavaFX application thread.
+     */
+    private FlowAction newFlowAction() throws Exception {
+        FlowGrid flowGrid = flowDisplayController.flowGrid;
+        FlowingRegion middleFlowingRegion = flowGrid.getFlowingRegion(0, middleRow).orElseThrow();
+
+        switch (actionType) {
+            case MERGE: {
+                FlowingRegion nextFlowingRegion = flowGrid.getFlowingRegion(0, middleRow + 1).orElseThrow();
+                return new Merge(flowDisplayController, List.of(middleFlowingRegion, nextFlowingRegion));
+            }
+            case SPLIT:
+                return new Split(flowDisplayController, middleFlowingRegion, middleFlowingRegion.getFullText().length() / 2);
+            case DELETE:
+                return new Delete(flowDisplayController, List.of(middleFlowingRegion));
+            case EXTEND:
+                return new Extend(flowDisplayController, List.of(middleFlowingRegion));
+            case REFUTE:
+                return new Refute(flowDisplayController, middleFlowingRegion, "Refutation");
+            case PROACTIVE_WRITE:
+                return new ProactiveWrite(
+                    flowDisplayController,
+                    flowDisplayController.getSpeechList().getSpeeches().get(0),
+                    new FlowingRegion("Proactive", FlowingRegionType.PROACTIVE)
+                );
+            default:
+                throw new IllegalStateException("Unknown action type " + actionType);
+        }
+    }
+
+    /**
+     * An action that has just been constructed, and is unexecuted once it has been executed.
+     */
+    @State(Scope.Thread)
+    public static class ConstructedAction {
+        private FlowAction flowAction;
+
+        @Setup(Level.Invocation)
+        public void construct(FlowActionBenchmark benchmark) throws Exception {
+            flowAction = HeadlessToolkit.call(benchmark::newFlowAction);
+        }
+
+        @TearDown(Level.Invocation)
+        public void unexecute() throws Exception {
+            HeadlessToolkit.run(flowAction::unexecute);
+        }
+    }
+
+    /**
+     * An action that has just been executed.
+     */
+    @State(Scope.Thread)
+    public static class ExecutedAction {
+        private FlowAction flowAction;
+
+        @Setup(Level.Invocation)
+        public void execute(FlowActionBenchmark benchmark) throws Exception {
+            flowAction = HeadlessToolkit.call(() -> {
+                FlowAction executedFlowAction = benchmark.newFlowAction();
+                executedFlowAction.execute();
+
+                return executedFlowAction;
+            });
+        }
+    }
+
+    @Benchmark
+    public FlowAction construct() throws Exception {
+        return HeadlessToolkit.call(this::newFlowAction);
+    }
+
+    @Benchmark
+    public void execute(ConstructedAction constructedAction) throws Exception {
+        HeadlessToolkit.run(constructedAction.flowAction::execute);
+    }
+
+    @Benchmark
+    public void unexecute(ExecutedAction executedAction) throws Exception {
+        HeadlessToolkit.run(executedAction.flowAction::unexecute);
+    }
+}
@@ -0,0 +1,110 @@
+package me.theeninja.pfflowing.benchmark;
+
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.gui.Direction;
+import me.theeninja.pfflowing.gui.FlowDisplayController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how constructing a flow grid, and each way of querying one, scales with the number of regions on it.
+ * Every benchmark runs on the JavaFX application thread, so each includes the hand-off to that thread, which
+ * {@link #handOff()} measures alone.
+ *
+ * @author TheeNinja
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowGridBenchmark {
+    @Param({"10", "100", "1000", "5000"})
+    public int regions;
+
+    private FlowGrid flowGrid;
+
+    /**
+     * The proactive region of the middle row, whose link spans the flow grid.
+     */
+    private FlowingRegion middleFlowingRegion;
+    private int middleRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessToolkit.start();
+
+        middleRow = (FlowGrids.getRows(regions) - 1) / 2;
+
+        HeadlessToolkit.run(() -> {
+            flowGrid = FlowGrids.newFlowDisplayController(regions).flowGrid;
+            middleFlowingRegion = flowGrid.getFlowingRegion(0, middleRow).orElseThrow();
+        });
+    }
+
+    @Benchmark
+    public Object handOff() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid);
+    }
+
+    @Benchmark
+    public FlowDisplayController construct() throws Exception {
+        return HeadlessToolkit.call(() -> FlowGrids.newFlowDisplayController(regions));
+    }
+
+    @Benchmark
+    public Optional<FlowingRegion> getFlowingRegion() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getFlowingRegion(FlowGrids.REGIONS_PER_ROW - 1, middleRow));
+    }
+
+    @Benchmark
+    public Optional<FlowingRegion> getRelativeFlowingRegion() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getRelativeFlowingRegion(middleFlowingRegion, Direction.DOWN));
+    }
+
+    @Benchmark
+    public Optional<FlowingRegion> getRefutation() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getRefutation(middleFlowingRegion));
+    }
+
+    @Benchmark
+    public Optional<FlowingRegion> getExtension() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getExtension(middleFlowingRegion));
+    }
+
+    @Benchmark
+    public List<FlowingRegion> getWholeLink() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getWholeLink(middleFlowingRegion));
+    }
+
+    @Benchmark
+    public List<FlowingRegion> getPostLink() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getPostLink(middleFlowingRegion));
+    }
+
+    @Benchmark
+    public Object getColumnChildren() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getColumnChildren(0));
+    }
+
+    @Benchmark
+    public Object getRowChildren() throws Exception {
+        return HeadlessToolkit.call(() -> flowGrid.getRowChildren(middleRow));
+    }
+}
@@ -0,0 +1,66 @@
+package me.theeninja.pfflowing.benchmark;
+
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.gui.FlowDisplayController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds flow grids of a given number of regions, for benchmarks to act on. Rows are filled from left to right, each
+ * starting with a proactive region in the first speech, followed by refutations in odd columns and extensions in
+ * even columns, so every row is a single link as wide as the flow grid.
+ *
+ * @author TheeNinja
+ */
+final class FlowGrids {
+    static final int REGIONS_PER_ROW = Speech.SPEECH_SIZE;
+
+    private FlowGrids() {}
+
+    /**
+     * Must be called on the JavaFX application thread.
+     *
+     * @return A new flow display whose flow grid holds {@code regions} regions.
+     */
+    static FlowDisplayController newFlowDisplayController(int regions) {
+        FlowDisplayController flowDisplayController = FlowDisplayController.newController(Side.AFFIRMATIVE);
+        flowDisplayController.flowGrid.getChildren().addAll(newFlowingRegions(regions));
+
+        return flowDisplayController;
+    }
+
+    static List<FlowingRegion> newFlowingRegions(int regions) {
+        List<FlowingRegion> flowingRegions = new ArrayList<>(regions);
+
+        for (int index = 0; index < regions; index++) {
+            int row = index / REGIONS_PER_ROW;
+            int column = index % REGIONS_PER_ROW;
+
+            FlowingRegion flowingRegion = new FlowingRegion(
+                String.format("Region in row %d and column %d", row, column),
+                getFlowingRegionType(column)
+            );
+
+            FlowGrid.setConstraints(flowingRegion, column, row);
+            flowingRegions.add(flowingRegion);
+        }
+
+        return flowingRegions;
+    }
+
+    static int getRows(int regions) {
+        return (regions + REGIONS_PER_ROW - 1) / REGIONS_PER_ROW;
+    }
+
+    private static FlowingRegionType getFlowingRegionType(int column) {
+        if (column == 0)
+            return FlowingRegionType.PROACTIVE;
+
+        return column % 2 == 1 ? FlowingRegionType.REFUTATION : FlowingRegionType.EXTENSION;
+    }
+}
@@ -0,0 +1,75 @@
+package me.theeninja.pfflowing.benchmark;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Starts the JavaFX toolkit on the headless Monocle platform, so that benchmarks run without a display, and runs
+ * work on its application thread, on which EFlow performs every action.
+ *
+ * @author TheeNinja
+ */
+final class HeadlessToolkit {
+    private static boolean started;
+
+    private HeadlessToolkit() {}
+
+    /**
+     * Starts the toolkit, unless it has already been started in this JVM.
+     */
+    static synchronized void start() throws InterruptedException {
+        if (started)
+            return;
+
+        // Read by the toolkit as it starts, so these must be set beforehand
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("java.awt.headless", "true");
+
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        Platform.startup(startedLatch::countDown);
+        startedLatch.await();
+
+        // Benchmarks never show a window, so there is none whose closing should end the toolkit
+        Platform.setImplicitExit(false);
+
+        started = true;
+    }
+
+    /**
+     * Calls {@code callable} on the JavaFX application thread and waits for its result.
+     */
+    static <T> T call(Callable<T> callable) throws Exception {
+        if (Platform.isFxApplicationThread())
+            return callable.call();
+
+        FutureTask<T> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+
+        try {
+            return task.get();
+        }
+        catch (ExecutionException e) {
+            // Rethrown as is, so that benchmarks fail with the exception of the benchmarked code
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code runnable} on the JavaFX application thread and waits for it to finish.
+     */
+    static void run(Runnable runnable) throws Exception {
+        call(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
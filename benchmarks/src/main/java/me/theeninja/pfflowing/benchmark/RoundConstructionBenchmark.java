@@ -0,0 +1,43 @@
+package me.theeninja.pfflowing.benchmark;
+
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many {@link Round}s, including the views of both of their flow displays, can be constructed per
+ * second on the JavaFX application thread. Rounds are constructed without being shown, so no window is opened.
+ *
+ * @author TheeNinja
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundConstructionBenchmark {
+    private long rounds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessToolkit.start();
+    }
+
+    @Benchmark
+    public Round construct() throws Exception {
+        return HeadlessToolkit.call(() -> new Round("Benchmark " + rounds++, Side.AFFIRMATIVE));
+    }
+}
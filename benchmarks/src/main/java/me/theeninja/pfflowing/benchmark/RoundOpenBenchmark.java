@@ -0,0 +1,120 @@
+package me.theeninja.pfflowing.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.gui.FlowController;
+import me.theeninja.pfflowing.journal.BinaryRoundFile;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares opening a synthetic round saved as JSON with opening the same round saved in the binary format, and
+ * measures reading a single speech of the binary round, which skips every other region. Rounds are opened on the
+ * JavaFX application thread, as EFlow opens them. Reading the JSON tree alone runs on the benchmark thread: in full,
+ * as the command line exports it, and as an outline without the HTML of cards, as indexing, analytics and batch
+ * exporting read it.
+ *
+ * @author TheeNinja
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundOpenBenchmark {
+    @Param({"50", "500", "5000"})
+    public int regions;
+
+    private Path roundsDirectory;
+    private Path jsonPath;
+    private Path binaryPath;
+
+    private Gson gson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessToolkit.start();
+
+        gson = EFlow.getInstance().getGSON();
+        roundsDirectory = Files.createTempDirectory("eflow-rounds");
+
+        jsonPath = new SyntheticRoundGenerator(SyntheticRoundGenerator.DEFAULT_SEED).write(roundsDirectory, regions);
+        binaryPath = roundsDirectory.resolve(Utils.addExtension("binary", FlowController.FILE_EXTENSION));
+
+        ByteBuffer binaryRound = BinaryRoundFile.encode(RoundFile.read(jsonPath));
+
+        try (FileChannel binaryChannel = FileChannel.open(binaryPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (binaryRound.hasRemaining()) {
+                binaryChannel.write(binaryRound);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(roundsDirectory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Round openJson() throws Exception {
+        return HeadlessToolkit.call(() -> RoundFile.load(jsonPath, gson));
+    }
+
+    @Benchmark
+    public Round openBinary() throws Exception {
+        return HeadlessToolkit.call(() -> RoundFile.load(binaryPath, gson));
+    }
+
+    @Benchmark
+    public List<FlowingRegion> readBinarySpeech() throws Exception {
+        return HeadlessToolkit.call(() -> BinaryRoundFile.open(binaryPath).readSpeech(Side.AFFIRMATIVE, 0, gson));
+    }
+
+    @Benchmark
+    public JsonObject parseJson() throws IOException {
+        return RoundFile.read(jsonPath);
+    }
+
+    @Benchmark
+    public JsonObject convertBinary() throws IOException {
+        return RoundFile.read(binaryPath);
+    }
+
+    @Benchmark
+    public JsonObject outlineBinary() throws IOException {
+        return RoundFile.readOutline(binaryPath);
+    }
+}
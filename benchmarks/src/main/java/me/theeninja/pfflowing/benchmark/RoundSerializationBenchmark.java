@@ -0,0 +1,104 @@
+package me.theeninja.pfflowing.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.tournament.Round;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of writing a synthetic round as JSON, of reading it back, and of building its JSON tree,
+ * as autosaving does, each on the JavaFX application thread, as EFlow does.
+ *
+ * Before measuring, the round is checked to survive a round trip: the round read back from its JSON must be
+ * written as the very same JSON, and that JSON must be the one the round was generated as, so a field dropped or
+ * misread by either direction fails the trial.
+ *
+ * @author TheeNinja
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundSerializationBenchmark {
+    @Param({"50", "500", "5000"})
+    public int regions;
+
+    private Path roundsDirectory;
+    private Path roundPath;
+
+    private Gson gson;
+
+    private Round round;
+    private String roundJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessToolkit.start();
+
+        gson = EFlow.getInstance().getGSON();
+        roundsDirectory = Files.createTempDirectory("eflow-rounds");
+        roundPath = new SyntheticRoundGenerator(SyntheticRoundGenerator.DEFAULT_SEED).write(roundsDirectory, regions);
+
+        round = HeadlessToolkit.call(() -> RoundFile.load(roundPath, gson));
+        roundJson = HeadlessToolkit.call(() -> gson.toJson(round));
+
+        checkRoundTrip();
+    }
+
+    private void checkRoundTrip() throws Exception {
+        JsonParser jsonParser = new JsonParser();
+        JsonObject generatedJson = RoundFile.read(roundPath);
+
+        if (!jsonParser.parse(roundJson).equals(generatedJson))
+            throw new IllegalStateException("Round of " + regions + " regions was not written as generated");
+
+        String roundTripJson = HeadlessToolkit.call(() -> gson.toJson(gson.fromJson(roundJson, Round.class)));
+
+        if (!roundTripJson.equals(roundJson))
+            throw new IllegalStateException("Round of " + regions + " regions changed in a round trip");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(roundPath);
+        Files.delete(roundsDirectory);
+    }
+
+    @Benchmark
+    public String write() throws Exception {
+        return HeadlessToolkit.call(() -> gson.toJson(round));
+    }
+
+    @Benchmark
+    public Round read() throws Exception {
+        return HeadlessToolkit.call(() -> gson.fromJson(roundJson, Round.class));
+    }
+
+    @Benchmark
+    public JsonElement writeTree() throws Exception {
+        return HeadlessToolkit.call(() -> gson.toJsonTree(round));
+    }
+}
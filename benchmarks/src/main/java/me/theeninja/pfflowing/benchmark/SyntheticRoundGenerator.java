@@ -0,0 +1,427 @@
+package me.theeninja.pfflowing.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Generates rounds that resemble real elimination rounds, and writes them as EFlow files, so that flows of any size
+ * can be loaded and replayed without sharing real rounds. Rounds are generated from a seed, so the same seed and
+ * region count always generate the same round, whichever other rounds are generated alongside it.
+ *
+ * Each row of a flow grid holds one link. Most links start with an argument read in the first speech, while some
+ * are new arguments of later speeches. A link is then refuted, or extended in the next speech of its side, speech
+ * after speech, each less likely than the one before, as arguments are dropped. A few links are merged ones, whose
+ * regions hold the text and cards of several links, as {@link me.theeninja.pfflowing.actions.Merge} leaves them.
+ * Arguments and refutations may carry cards of a realistic HTML size, and any region may carry questions.
+ *
+ * Usage: {@code SyntheticRoundGenerator <output directory> [regions...] [--seed <seed>]}. One round is generated for
+ * each region count given, 50, 500 and 5,000 regions by default.
+ *
+ * @author TheeNinja
+ */
+public class SyntheticRoundGenerator {
+    private static final Logger LOGGER = Logger.getLogger(SyntheticRoundGenerator.class.getSimpleName());
+
+    public static final long DEFAULT_SEED = 2018;
+
+    private static final int[] DEFAULT_REGION_COUNTS = {50, 500, 5000};
+    private static final String SEED_OPTION = "--seed";
+    private static final String USAGE = "Usage: SyntheticRoundGenerator <output directory> [regions...] [" + SEED_OPTION + " <seed>]";
+
+    /**
+     * Cumulative probabilities of a link starting in the first, third, fifth and seventh speech, the speeches of
+     * the side a flow grid belongs to.
+     */
+    private static final double[] START_COLUMN_PROBABILITIES = {0.75, 0.90, 0.97, 1.0};
+
+    private static final double REFUTATION_PROBABILITY = 0.75;
+    private static final double EXTENSION_PROBABILITY = 0.45;
+
+    /**
+     * How much less likely a link is to be refuted or extended in each speech than in the speech before it.
+     */
+    private static final double RESPONSE_DECAY = 0.85;
+
+    private static final double MERGED_LINK_PROBABILITY = 0.08;
+    private static final int MAXIMUM_MERGED_LINKS = 3;
+
+    private static final double PROACTIVE_CARD_PROBABILITY = 0.4;
+    private static final double REFUTATION_CARD_PROBABILITY = 0.25;
+    private static final int MAXIMUM_CARDS = 2;
+
+    private static final double QUESTION_PROBABILITY = 0.1;
+    private static final int MAXIMUM_QUESTIONS = 2;
+
+    private static final int MINIMUM_REGION_WORDS = 3;
+    private static final int MAXIMUM_REGION_WORDS = 25;
+    private static final int MINIMUM_CARD_PARAGRAPHS = 2;
+    private static final int MAXIMUM_CARD_PARAGRAPHS = 8;
+    private static final int MINIMUM_PARAGRAPH_WORDS = 40;
+    private static final int MAXIMUM_PARAGRAPH_WORDS = 120;
+
+    /**
+     * Text of the regions created by extending, and by merging extensions.
+     */
+    private static final String EXTENSION_TEXT = "Extend";
+    private static final String MERGED_EXTENSION_TEXT = "Extension";
+    private static final String MERGED_TEXT_SEPARATOR = "-";
+
+    private static final String[] WORDS = {
+        "the", "economy", "trade", "tariffs", "jobs", "growth", "impact", "outweighs", "poverty", "China",
+        "sanctions", "uniqueness", "link", "turn", "nonunique", "delink", "probability", "magnitude", "timeframe",
+        "framework", "evidence", "study", "increases", "decreases", "causes", "prevents", "billion", "million",
+        "percent", "warming", "emissions", "healthcare", "costs", "access", "security", "conflict", "escalation",
+        "deterrence", "alliance", "NATO", "Russia", "cyber", "infrastructure", "investment", "innovation", "markets",
+        "regulation", "workers", "wages", "inequality", "democracy", "stability", "humanitarian", "aid", "refugees",
+        "because", "which", "means", "so", "and", "but", "no", "warrant", "for", "their", "our", "of", "in", "to"
+    };
+
+    private static final String[] AUTHORS = {
+        "Smith", "Johnson", "Lee", "Garcia", "Chen", "Patel", "Nguyen", "Kim", "Brown", "Davis", "Miller", "Wilson",
+        "Moore", "Taylor", "Anderson", "Thomas", "Jackson", "White", "Harris", "Martin", "Thompson", "Clark"
+    };
+
+    private static final String HIGHLIGHT_STYLE = "background-color: yellow";
+
+    private final long seed;
+    private final Gson gson;
+
+    /**
+     * A region of a generated flow grid, with what it would carry once loaded.
+     */
+    private static class Region {
+        private final FlowingRegionType type;
+        private final String text;
+        private final int column;
+        private final int row;
+        private final List<String> questions;
+        private final List<Card> cards;
+
+        private Region(FlowingRegionType type, String text, int column, int row, List<String> questions, List<Card> cards) {
+            this.type = type;
+            this.text = text;
+            this.column = column;
+            this.row = row;
+            this.questions = questions;
+            this.cards = cards;
+        }
+    }
+
+    public SyntheticRoundGenerator(long seed) {
+        this.seed = seed;
+
+        // Cards carry their own type adapter, so a plain GSON writes them exactly as a saved round does, without
+        // starting EFlow
+        this.gson = new Gson();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        Path outputDirectory = Paths.get(args[0]);
+
+        long seed = DEFAULT_SEED;
+        List<Integer> regionCounts = new ArrayList<>();
+
+        try {
+            for (int index = 1; index < args.length; index++) {
+                if (args[index].equals(SEED_OPTION) && index + 1 < args.length) {
+                    seed = Long.parseLong(args[++index]);
+                }
+                else {
+                    regionCounts.add(Integer.parseInt(args[index]));
+                }
+            }
+        }
+        catch (NumberFormatException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        if (regionCounts.isEmpty()) {
+            for (int regionCount : DEFAULT_REGION_COUNTS) {
+                regionCounts.add(regionCount);
+            }
+        }
+
+        try {
+            Files.createDirectories(outputDirectory);
+
+            SyntheticRoundGenerator generator = new SyntheticRoundGenerator(seed);
+
+            for (int regionCount : regionCounts) {
+                Path roundPath = generator.write(outputDirectory, regionCount);
+                LOGGER.info(String.format("Generated %d regions in %s", regionCount, roundPath));
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates a round of {@code regions} regions, split between both of its flow grids, and writes it to
+     * {@code outputDirectory}, in a file named after its seed and size.
+     *
+     * @return The path of the written round.
+     */
+    public Path write(Path outputDirectory, int regions) throws IOException {
+        String roundName = getRoundName(regions);
+        Path roundPath = outputDirectory.resolve(Utils.addExtension(roundName, FlowController.FILE_EXTENSION));
+
+        write(roundName, regions, roundPath);
+
+        return roundPath;
+    }
+
+    /**
+     * Generates a round of {@code regions} regions, split between both of its flow grids, and writes it to
+     * {@code roundPath}, replacing it atomically. May be called on any thread.
+     */
+    public void write(String roundName, int regions, Path roundPath) throws IOException {
+        // Seeded by size alone, so a round does not depend on which rounds were generated before it
+        Random random = new Random(seed * 31 + regions);
+
+        Side side = random.nextBoolean() ? Side.AFFIRMATIVE : Side.NEGATION;
+
+        int affRegions = (regions + 1) / 2;
+        List<Region> affRegionList = generateFlowGrid(random, affRegions);
+        List<Region> negRegionList = generateFlowGrid(random, regions - affRegions);
+
+        Path temporaryPath = roundPath.resolveSibling(roundPath.getFileName() + ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8);
+             JsonWriter jsonWriter = new JsonWriter(writer)) {
+            jsonWriter.setIndent("  ");
+            jsonWriter.setSerializeNulls(true);
+
+            jsonWriter.beginObject();
+            jsonWriter.name(Round.NAME).value(roundName);
+            jsonWriter.name(Round.SIDE).value(side.name());
+
+            jsonWriter.name(Round.AFF_FLOWING_GRID);
+            writeFlowGrid(jsonWriter, affRegionList);
+
+            jsonWriter.name(Round.NEG_FLOWING_GRID);
+            writeFlowGrid(jsonWriter, negRegionList);
+
+            jsonWriter.endObject();
+        }
+
+        Files.move(temporaryPath, roundPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public String getRoundName(int regions) {
+        return String.format("Synthetic %d regions seed %d", regions, seed);
+    }
+
+    private List<Region> generateFlowGrid(Random random, int regions) {
+        List<Region> flowGrid = new ArrayList<>(regions);
+
+        for (int row = 0; flowGrid.size() < regions; row++) {
+            generateLink(random, row, regions - flowGrid.size(), flowGrid);
+        }
+
+        return flowGrid;
+    }
+
+    /**
+     * Adds the regions of a single link on {@code row} to {@code flowGrid}, at most {@code maximumRegions} of them.
+     */
+    private void generateLink(Random random, int row, int maximumRegions, List<Region> flowGrid) {
+        int column = getStartColumn(random);
+        int mergedLinks = random.nextDouble() < MERGED_LINK_PROBABILITY ? 2 + random.nextInt(MAXIMUM_MERGED_LINKS - 1) : 1;
+
+        FlowingRegionType type = FlowingRegionType.PROACTIVE;
+        double responseProbability = 1;
+
+        for (int regions = 0; regions < maximumRegions; regions++) {
+            flowGrid.add(generateRegion(random, type, column, row, mergedLinks));
+
+            responseProbability *= RESPONSE_DECAY;
+
+            if (column + FlowGrid.REF_COL_OFFSET < Speech.SPEECH_SIZE && random.nextDouble() < REFUTATION_PROBABILITY * responseProbability) {
+                type = FlowingRegionType.REFUTATION;
+                column += FlowGrid.REF_COL_OFFSET;
+            }
+            else if (column + FlowGrid.EXT_COL_OFFSET < Speech.SPEECH_SIZE && random.nextDouble() < EXTENSION_PROBABILITY * responseProbability) {
+                type = FlowingRegionType.EXTENSION;
+                column += FlowGrid.EXT_COL_OFFSET;
+            }
+            else {
+                break;
+            }
+        }
+    }
+
+    private static int getStartColumn(Random random) {
+        double startColumnProbability = random.nextDouble();
+
+        for (int index = 0; index < START_COLUMN_PROBABILITIES.length; index++) {
+            if (startColumnProbability < START_COLUMN_PROBABILITIES[index])
+                return index * FlowGrid.EXT_COL_OFFSET;
+        }
+
+        return 0;
+    }
+
+    private Region generateRegion(Random random, FlowingRegionType type, int column, int row, int mergedLinks) {
+        List<String> texts = new ArrayList<>();
+        List<Card> cards = new ArrayList<>();
+
+        for (int link = 0; link < mergedLinks; link++) {
+            texts.add(generateText(random, MINIMUM_REGION_WORDS, MAXIMUM_REGION_WORDS));
+
+            double cardProbability = type == FlowingRegionType.PROACTIVE ? PROACTIVE_CARD_PROBABILITY :
+                                     type == FlowingRegionType.REFUTATION ? REFUTATION_CARD_PROBABILITY : 0;
+
+            if (random.nextDouble() < cardProbability) {
+                int cardCount = 1 + random.nextInt(MAXIMUM_CARDS);
+
+                for (int card = 0; card < cardCount; card++) {
+                    cards.add(generateCard(random));
+                }
+            }
+        }
+
+        String text;
+
+        if (type == FlowingRegionType.EXTENSION) {
+            text = mergedLinks > 1 ? MERGED_EXTENSION_TEXT : EXTENSION_TEXT;
+        }
+        else {
+            text = String.join(MERGED_TEXT_SEPARATOR, texts);
+        }
+
+        List<String> questions = new ArrayList<>();
+
+        if (random.nextDouble() < QUESTION_PROBABILITY) {
+            int questionCount = 1 + random.nextInt(MAXIMUM_QUESTIONS);
+
+            for (int question = 0; question < questionCount; question++) {
+                questions.add(generateText(random, MINIMUM_REGION_WORDS, MAXIMUM_REGION_WORDS) + "?");
+            }
+        }
+
+        return new Region(type, text, column, row, questions, cards);
+    }
+
+    /**
+     * @return A card tagged with an author and a year, whose HTML resembles a card exported from a word processor,
+     *         with bold, underlined and highlighted runs, of about 2 to 12 KB.
+     */
+    static Card generateCard(Random random) {
+        String representation = String.format("%s %02d", AUTHORS[random.nextInt(AUTHORS.length)], 10 + random.nextInt(9));
+
+        StringBuilder html = new StringBuilder("<html><body><h4>").append(representation).append("</h4>");
+
+        int paragraphs = MINIMUM_CARD_PARAGRAPHS + random.nextInt(MAXIMUM_CARD_PARAGRAPHS - MINIMUM_CARD_PARAGRAPHS + 1);
+
+        for (int paragraph = 0; paragraph < paragraphs; paragraph++) {
+            html.append("<p>");
+
+            int words = MINIMUM_PARAGRAPH_WORDS + random.nextInt(MAXIMUM_PARAGRAPH_WORDS - MINIMUM_PARAGRAPH_WORDS + 1);
+
+            for (int word = 0; word < words; word++) {
+                String text = WORDS[random.nextInt(WORDS.length)];
+                double formatting = random.nextDouble();
+
+                if (formatting < 0.1) {
+                    html.append("<u><span style=\"").append(HIGHLIGHT_STYLE).append("\">").append(text).append("</span></u>");
+                }
+                else if (formatting < 0.25) {
+                    html.append("<u>").append(text).append("</u>");
+                }
+                else if (formatting < 0.3) {
+                    html.append("<b>").append(text).append("</b>");
+                }
+                else {
+                    html.append(text);
+                }
+
+                html.append(' ');
+            }
+
+            html.append("</p>");
+        }
+
+        return new Card(representation, html.append("</body></html>").toString());
+    }
+
+    private static String generateText(Random random, int minimumWords, int maximumWords) {
+        int words = minimumWords + random.nextInt(maximumWords - minimumWords + 1);
+
+        StringBuilder text = new StringBuilder();
+
+        for (int word = 0; word < words; word++) {
+            if (word > 0) {
+                text.append(' ');
+            }
+
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        return text.toString();
+    }
+
+    private void writeFlowGrid(JsonWriter jsonWriter, List<Region> regions) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name(FlowGrid.FLOWING_REGIONS);
+        jsonWriter.beginArray();
+
+        for (Region region : regions) {
+            jsonWriter.beginObject();
+            jsonWriter.name(FlowingRegion.TYPE_NAME).value(region.type.name());
+            jsonWriter.name(FlowingRegion.TEXT_NAME).value(region.text);
+            jsonWriter.name(FlowingRegion.COLUMN_NAME).value(region.column);
+            jsonWriter.name(FlowingRegion.ROW_NAME).value(region.row);
+
+            jsonWriter.name(FlowingRegion.ASSOCIATED_QUESTIONS);
+            jsonWriter.beginArray();
+
+            for (String question : region.questions) {
+                jsonWriter.value(question);
+            }
+
+            jsonWriter.endArray();
+
+            jsonWriter.name(FlowingRegion.ASSOCIATED_CARDS);
+            jsonWriter.beginArray();
+
+            for (Card card : region.cards) {
+                gson.toJson(card, Card.class, jsonWriter);
+            }
+
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+        }
+
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+    }
+}
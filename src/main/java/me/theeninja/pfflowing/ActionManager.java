@@ -1,16 +1,31 @@
 package me.theeninja.pfflowing;
 
 import me.theeninja.pfflowing.actions.Action;
+import me.theeninja.pfflowing.performance.PerformanceMonitor;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 public class ActionManager {
+    /**
+     * What is done to an action by this action manager.
+     */
+    public enum Operation {
+        PERFORM,
+        UNDO,
+        REDO
+    }
+
     private final LinkedList<Action<?>> doneActions = new LinkedList<>();
     private final LinkedList<Action<?>> undoneActions = new LinkedList<>();
 
+    private final List<BiConsumer<Operation, Action<?>>> listeners = new ArrayList<>();
+
     public void perform(Action<?> action) {
-        action.execute();
+        PerformanceMonitor.getInstance().time(PerformanceMonitor.PERFORM, getType(action), action::execute);
         getDoneActions().push(action);
+
+        notifyListeners(Operation.PERFORM, action);
     }
 
     public void undo() {
@@ -18,8 +33,10 @@ public class ActionManager {
             return;
 
         Action<?> action = getDoneActions().pop();
-        action.unexecute();
+        PerformanceMonitor.getInstance().time(PerformanceMonitor.UNDO, getType(action), action::unexecute);
         getUndoneActions().push(action);
+
+        notifyListeners(Operation.UNDO, action);
     }
 
     public void redo() {
@@ -27,8 +44,32 @@ public class ActionManager {
             return;
 
         Action<?> action = getUndoneActions().pop();
-        action.execute();
+        PerformanceMonitor.getInstance().time(PerformanceMonitor.REDO, getType(action), action::execute);
         getDoneActions().push(action);
+
+        notifyListeners(Operation.REDO, action);
+    }
+
+    /**
+     * Adds a listener notified after every action this action manager performs, undoes or redoes, on the thread
+     * that did so.
+     */
+    public void addListener(BiConsumer<Operation, Action<?>> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BiConsumer<Operation, Action<?>> listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners(Operation operation, Action<?> action) {
+        for (BiConsumer<Operation, Action<?>> listener : listeners) {
+            listener.accept(operation, action);
+        }
+    }
+
+    private static String getType(Action<?> action) {
+        return action.getClass().getSimpleName();
     }
 
     /**
@@ -10,12 +10,10 @@ import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
 import me.theeninja.pfflowing.bluetooth.EFlowConnector;
 import me.theeninja.pfflowing.configuration.Configuration;
-import me.theeninja.pfflowing.flowing.FlowingRegion;
-import me.theeninja.pfflowing.flowing.FlowingRegionDeserializer;
-import me.theeninja.pfflowing.flowing.FlowingRegionSerializer;
+import me.theeninja.pfflowing.configuration.ConfigurationStore;
+import me.theeninja.pfflowing.flowing.FlowingRegionTypeAdapter;
 import me.theeninja.pfflowing.gui.*;
 import me.theeninja.pfflowing.speech.Side;
-import me.theeninja.pfflowing.tournament.Round;
 import org.apache.commons.lang3.SystemUtils;
 import org.hildan.fxgson.FxGson;
 
@@ -56,11 +54,18 @@ public class EFlow {
 
     private final static EFlow INSTANCE = new EFlow();
     private final Gson gson;
-    private final Configuration configuration;
+    private final ConfigurationStore configurationStore;
 
     public static final String APPLICATION_NAME = "EFlow";
     public static final String BLOCKS_DIRECTORY = "Blocks";
     public static final String CONFIG_FILE = "config.json";
+    public static final String DRIVE_CATALOG_FILE = "drive_catalog.json";
+    public static final String DRIVE_EXPORTS_DIRECTORY = "DriveExports";
+    public static final String CARD_INDEX_FILE = "card_index.json";
+    public static final String BLOCKS_CATALOG_FILE = "blocks_catalog.json";
+    public static final String JOURNALS_DIRECTORY = "Journals";
+    public static final String ROUND_INDEX_FILE = "round_index.json";
+    public static final String ROUND_ANALYTICS_FILE = "round_analytics.json";
 
     private final Map<Boolean, String> OS_DEFAULT_DIRECTORIES = new HashMap<>();
 
@@ -87,14 +92,9 @@ public class EFlow {
         return FxGson.fullBuilder()
                 .excludeFieldsWithoutExposeAnnotation()
 
-                .registerTypeAdapter(FlowingRegion.class, new FlowingRegionSerializer())
-                .registerTypeAdapter(FlowingRegion.class, new FlowingRegionDeserializer())
-
-                .registerTypeAdapter(FlowGrid.class, new FlowingGridSerializer())
-                .registerTypeAdapter(FlowGrid.class, new FlowingGridDeserializer())
-
-                .registerTypeAdapter(Round.class,         new RoundSerializer())
-                .registerTypeAdapter(Round.class,         new RoundDeserializer())
+                .registerTypeAdapterFactory(FlowingRegionTypeAdapter.FACTORY)
+                .registerTypeAdapterFactory(FlowingGridTypeAdapter.FACTORY)
+                .registerTypeAdapterFactory(RoundTypeAdapter.FACTORY)
 
                 .setPrettyPrinting()
 
@@ -110,7 +110,10 @@ public class EFlow {
 
         handleFiles();
 
-        this.configuration = loadConfiguration();
+        // Loads while the JavaFX toolkit starts
+        this.configurationStore = new ConfigurationStore(getConfigPath(), getGSON());
+
+        StartupProfiler.phase("Directories prepared");
     }
 
     public static void main(String[] args) {
@@ -136,6 +139,34 @@ public class EFlow {
         return Paths.get(getDefault(), APPLICATION_NAME, CONFIG_FILE);
     }
 
+    public Path getDriveCatalogPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, DRIVE_CATALOG_FILE);
+    }
+
+    public Path getDriveExportsPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, DRIVE_EXPORTS_DIRECTORY);
+    }
+
+    public Path getCardIndexPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, CARD_INDEX_FILE);
+    }
+
+    public Path getBlocksCatalogPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, BLOCKS_CATALOG_FILE);
+    }
+
+    public Path getJournalsPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, JOURNALS_DIRECTORY);
+    }
+
+    public Path getRoundIndexPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, ROUND_INDEX_FILE);
+    }
+
+    public Path getRoundAnalyticsPath() {
+        return Paths.get(getDefault(), APPLICATION_NAME, ROUND_ANALYTICS_FILE);
+    }
+
     private boolean hasFullAppPath() {
         return Files.exists(getFullAppPath());
     }
@@ -144,25 +175,14 @@ public class EFlow {
         return Files.exists(getCardsPath());
     }
 
-    private boolean hasConfigPath() {
-        return Files.exists(getConfigPath());
-    }
-
     private void handleNoFullAppPath() throws IOException {
-        Files.createDirectory(getFullAppPath());
+        Files.createDirectories(getFullAppPath());
     }
 
     private void handleNoCardsPath() throws IOException {
         Files.createDirectory(getCardsPath());
     }
 
-    private void handleNoConfigPath() throws IOException {
-        Files.createFile(getConfigPath());
-        Configuration defaultConfiguration = new Configuration();
-        String configurationRepresentation = getGSON().toJson(defaultConfiguration, Configuration.class);
-        Files.write(getConfigPath(), configurationRepresentation.getBytes());
-    }
-
     private void handleFiles() {
         try {
             if (!hasFullAppPath()) {
@@ -171,20 +191,8 @@ public class EFlow {
             if (!hasCardsPath()) {
                 handleNoCardsPath();
             }
-            if (!hasConfigPath()) {
-                handleNoConfigPath();
-            }
-        }
-        catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-    }
 
-    private Configuration loadConfiguration() {
-        try {
-            byte[] bytes = Files.readAllBytes(getConfigPath());
-            String string = new String(bytes);
-            return getGSON().fromJson(string, Configuration.class);
+            Files.createDirectories(getJournalsPath());
         }
         catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -192,18 +200,11 @@ public class EFlow {
     }
 
     public Configuration getConfiguration() {
-        return configuration;
+        return getConfigurationStore().getConfiguration();
     }
 
-    private void saveConfiguration() {
-        try {
-            String json = getGSON().toJson(getConfiguration(), Configuration.class);
-            byte[] bytes = json.getBytes();
-            Files.write(getConfigPath(), bytes);
-        }
-        catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+    public ConfigurationStore getConfigurationStore() {
+        return configurationStore;
     }
 
     public Gson getGSON() {
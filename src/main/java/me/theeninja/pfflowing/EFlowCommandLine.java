@@ -0,0 +1,490 @@
+package me.theeninja.pfflowing;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import me.theeninja.pfflowing.flowingregions.Blocks;
+import me.theeninja.pfflowing.flowingregions.BlocksStore;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowController;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.journal.RoundValidator;
+import me.theeninja.pfflowing.search.RoundAnalytics;
+import me.theeninja.pfflowing.search.RoundAnalyticsReport;
+import me.theeninja.pfflowing.search.RoundIndex;
+import me.theeninja.pfflowing.search.RoundSearchResult;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Processes rounds and block files from the command line, without starting the JavaFX toolkit, so that rounds and
+ * blocks kept on a shared drive can be checked, migrated and exported overnight. Rounds are only ever handled as
+ * JSON, and blocks as their files, so no node is ever built.
+ *
+ * Usage: {@code EFlowCommandLine <command> [options] <paths...>}, where each path is a round, a block file or a
+ * directory, which is searched for both. Every file is processed on its own thread, up to {@code --threads} at once,
+ * and the outcome for each is printed in the order the files were found. Rounds must not be open in EFlow while
+ * they are migrated or compacted.
+ *
+ * <ul>
+ *     <li>{@code validate} reads every round, with its autosaved segments applied, and every block file, with the
+ *     HTML of every card, and reports whatever EFlow could not open.</li>
+ *     <li>{@code migrate} rewrites rounds saved as JSON in the binary format, and block files that still hold
+ *     their card HTML inline in the split form, see {@link BlocksStore}.</li>
+ *     <li>{@code compact} folds the segments autosaved next to every round into the round.</li>
+ *     <li>{@code export --output <directory>} writes every round as JSON, as Export JSON does, and every block file
+ *     with its card HTML inline, so that either can be opened elsewhere on its own. Files found within a directory
+ *     are written at the same path within the output directory. Files that would still be written to the same path,
+ *     such as files of the same name given on their own, all fail rather than overwrite one another.</li>
+ *     <li>{@code merge --output <directory> --name <name>} writes the cards of every block file, which must be of
+ *     one side, as a single block file, leaving out cards of the same HTML.</li>
+ *     <li>{@code analyze --output <directory> <rounds directory>} aggregates the contentions, responses and cards of
+ *     every round of a single directory, see {@link RoundAnalytics}, caching them in the output directory so that
+ *     running it again only reads the rounds that changed since, and prints the most frequent of each.</li>
+ *     <li>{@code search --output <directory> --query <text> [--opponent] <rounds directory>} indexes every round of
+ *     a single directory, see {@link RoundIndex}, keeping the index in the output directory so that searching again
+ *     only reads the rounds that changed since, and prints the regions that best match the query, only among those
+ *     the opponent ran if {@code --opponent} is given.</li>
+ * </ul>
+ *
+ * @author TheeNinja
+ */
+public class EFlowCommandLine {
+    private static final String OUTPUT_OPTION = "--output";
+    private static final String NAME_OPTION = "--name";
+    private static final String THREADS_OPTION = "--threads";
+    private static final String QUERY_OPTION = "--query";
+    private static final String OPPONENT_OPTION = "--opponent";
+
+    /**
+     * Represents how many of the most frequent contentions, responses and cards {@code analyze} prints.
+     */
+    private static final int PRINTED_ANALYTICS = 10;
+
+    /**
+     * Represents how many of the best matching regions {@code search} prints.
+     */
+    private static final int PRINTED_SEARCH_RESULTS = 20;
+
+    static final int SUCCESS_STATUS = 0;
+    static final int FAILURE_STATUS = 1;
+    static final int USAGE_STATUS = 2;
+
+    private static final String USAGE = "Usage: EFlowCommandLine <validate|migrate|compact|export|merge|analyze|search> [" + OUTPUT_OPTION + " <directory>] ["
+            + NAME_OPTION + " <name>] [" + QUERY_OPTION + " <text>] [" + OPPONENT_OPTION + "] [" + THREADS_OPTION + " <count>] <paths...>";
+
+    private enum Command {
+        VALIDATE, MIGRATE, COMPACT, EXPORT, MERGE, ANALYZE, SEARCH;
+
+        boolean handlesRounds() {
+            return this != MERGE;
+        }
+
+        boolean handlesBlocks() {
+            return this != COMPACT && this != ANALYZE && this != SEARCH;
+        }
+
+        /**
+         * @return Whether the command handles a single rounds directory as a whole, rather than file by file.
+         */
+        boolean handlesRoundsDirectory() {
+            return this == ANALYZE || this == SEARCH;
+        }
+    }
+
+    /**
+     * Processes a single file, returning what was done to it or what was read from it.
+     */
+    private interface FileTask<T> {
+        T process(Path path) throws IOException;
+    }
+
+    // Not EFlow's own, as EFlow loads its configuration, which starts the JavaFX toolkit
+    private final Gson gson = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .setPrettyPrinting()
+            .serializeNulls()
+            .create();
+
+    private final Command command;
+    private final Path outputDirectory;
+    private final String mergedName;
+    private final String query;
+    private final boolean opponentOnly;
+    private final int threads;
+
+    /**
+     * The path of every file found, relative to the directory it was found within, or its name if it was given on
+     * its own, at which it is exported within the output directory.
+     */
+    private final Map<Path, Path> relativePaths = new HashMap<>();
+
+    private boolean failed;
+
+    private EFlowCommandLine(Command command, Path outputDirectory, String mergedName, String query, boolean opponentOnly, int threads) {
+        this.command = command;
+        this.outputDirectory = outputDirectory;
+        this.mergedName = mergedName;
+        this.query = query;
+        this.opponentOnly = opponentOnly;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) {
+        System.exit(execute(args));
+    }
+
+    /**
+     * Runs the command given by {@code args}, printing the outcome for every file.
+     *
+     * @return The status to exit with: {@value #SUCCESS_STATUS} if every file was processed,
+     *         {@value #FAILURE_STATUS} if any failed, or {@value #USAGE_STATUS} if {@code args} are not understood.
+     */
+    static int execute(String[] args) {
+        if (args.length < 2)
+            return printUsage();
+
+        Command command = null;
+        Path outputDirectory = null;
+        String mergedName = null;
+        String query = null;
+        boolean opponentOnly = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> paths = new ArrayList<>();
+
+        try {
+            command = Command.valueOf(args[0].toUpperCase(Locale.ROOT));
+
+            for (int index = 1; index < args.length; index++) {
+                if (args[index].equals(OUTPUT_OPTION) && index + 1 < args.length) {
+                    outputDirectory = Paths.get(args[++index]);
+                }
+                else if (args[index].equals(NAME_OPTION) && index + 1 < args.length) {
+                    mergedName = args[++index];
+                }
+                else if (args[index].equals(QUERY_OPTION) && index + 1 < args.length) {
+                    query = args[++index];
+                }
+                else if (args[index].equals(OPPONENT_OPTION)) {
+                    opponentOnly = true;
+                }
+                else if (args[index].equals(THREADS_OPTION) && index + 1 < args.length) {
+                    threads = Integer.parseInt(args[++index]);
+                }
+                else {
+                    paths.add(Paths.get(args[index]));
+                }
+            }
+        }
+        catch (IllegalArgumentException e) {
+            return printUsage();
+        }
+
+        boolean needsOutput = command == Command.EXPORT || command == Command.MERGE || command.handlesRoundsDirectory();
+
+        if (paths.isEmpty() || threads < 1 || (needsOutput && outputDirectory == null) || (command == Command.MERGE && mergedName == null)
+                || (command.handlesRoundsDirectory() && (paths.size() != 1 || !Files.isDirectory(paths.get(0))))
+                || (command == Command.SEARCH && (query == null || query.trim().isEmpty()))) {
+            return printUsage();
+        }
+
+        EFlowCommandLine commandLine = new EFlowCommandLine(command, outputDirectory, mergedName, query, opponentOnly, threads);
+
+        try {
+            if (outputDirectory != null) {
+                Files.createDirectories(outputDirectory);
+            }
+
+            if (command == Command.ANALYZE) {
+                commandLine.analyze(paths.get(0));
+            }
+            else if (command == Command.SEARCH) {
+                commandLine.search(paths.get(0));
+            }
+            else {
+                commandLine.run(commandLine.find(paths));
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return FAILURE_STATUS;
+        }
+
+        return commandLine.failed ? FAILURE_STATUS : SUCCESS_STATUS;
+    }
+
+    private static int printUsage() {
+        System.err.println(USAGE);
+        return USAGE_STATUS;
+    }
+
+    private static boolean isRound(Path path) {
+        return Utils.hasExtension(path.getFileName().toString(), FlowController.FILE_EXTENSION);
+    }
+
+    private static boolean isBlocks(Path path) {
+        String fileName = path.getFileName().toString();
+        Path parent = path.getParent();
+
+        // Runs files are JSON too, but lie within the body directory of their block file
+        return Utils.hasExtension(fileName, BlocksStore.BLOCKS_EXTENSION)
+                && !(parent != null && Utils.hasExtension(parent.getFileName().toString(), BlocksStore.CARD_BODIES_EXTENSION));
+    }
+
+    /**
+     * @return Every file to process among {@code paths}, with directories searched, in a stable order.
+     */
+    private List<Path> find(List<Path> paths) throws IOException {
+        Set<Path> files = new TreeSet<>();
+
+        for (Path path : paths) {
+            if (!Files.isDirectory(path)) {
+                files.add(path);
+                relativePaths.putIfAbsent(path, path.getFileName());
+                continue;
+            }
+
+            try (Stream<Path> directoryPaths = Files.walk(path)) {
+                directoryPaths
+                        .filter(Files::isRegularFile)
+                        .filter(file -> (command.handlesRounds() && isRound(file)) || (command.handlesBlocks() && isBlocks(file)))
+                        .forEach(file -> {
+                            files.add(file);
+                            relativePaths.putIfAbsent(file, path.relativize(file));
+                        });
+            }
+        }
+
+        return new ArrayList<>(files);
+    }
+
+    private void run(List<Path> files) throws IOException {
+        if (command == Command.MERGE) {
+            merge(processAll(files, BlocksStore::read, blocks -> "read " + blocks.getCards().size() + " cards"));
+            return;
+        }
+
+        if (command == Command.EXPORT) {
+            files = withoutCollidingExports(files);
+        }
+
+        processAll(files, this::process, Function.identity());
+    }
+
+    private Path getExportPath(Path path) {
+        return outputDirectory.resolve(relativePaths.get(path)).normalize();
+    }
+
+    /**
+     * Reports every file whose export path is shared with another file as failed, so that no export overwrites
+     * another, whichever is written last.
+     *
+     * @return The files of {@code files} whose export paths are their own, in order.
+     */
+    private List<Path> withoutCollidingExports(List<Path> files) {
+        Map<Path, List<Path>> filesByExportPath = new TreeMap<>();
+
+        for (Path file : files) {
+            filesByExportPath.computeIfAbsent(getExportPath(file), exportPath -> new ArrayList<>()).add(file);
+        }
+
+        List<Path> exportedFiles = new ArrayList<>(files.size());
+
+        for (Path file : files) {
+            List<Path> collidingFiles = filesByExportPath.get(getExportPath(file));
+
+            if (collidingFiles.size() == 1) {
+                exportedFiles.add(file);
+                continue;
+            }
+
+            failed = true;
+            System.out.println(file + ": failed, " + collidingFiles.size() + " files would be exported to " + getExportPath(file));
+        }
+
+        return exportedFiles;
+    }
+
+    /**
+     * Processes every file of {@code files} in parallel, printing the outcome for each in order, as described by
+     * {@code describe}.
+     *
+     * @return What was returned for every file processed successfully, in order.
+     */
+    private <T> List<T> processAll(List<Path> files, FileTask<T> task, Function<T, String> describe) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<T>> futures = new ArrayList<>(files.size());
+
+        for (Path file : files) {
+            futures.add(executor.submit(() -> task.process(file)));
+        }
+
+        executor.shutdown();
+
+        List<T> results = new ArrayList<>(files.size());
+
+        for (int index = 0; index < files.size(); index++) {
+            try {
+                T result = futures.get(index).get();
+                results.add(result);
+
+                System.out.println(files.get(index) + ": " + describe.apply(result));
+            }
+            catch (ExecutionException e) {
+                failed = true;
+                System.out.println(files.get(index) + ": failed, " + e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed = true;
+                return results;
+            }
+        }
+
+        return results;
+    }
+
+    private String process(Path path) throws IOException {
+        if (isRound(path))
+            return processRound(path);
+
+        if (isBlocks(path))
+            return processBlocks(path);
+
+        throw new IOException("Neither a round nor a block file");
+    }
+
+    private String processRound(Path roundPath) throws IOException {
+        switch (command) {
+            case VALIDATE:
+                List<String> problems = RoundValidator.validate(roundPath);
+
+                if (!problems.isEmpty())
+                    throw new IOException(String.join("; ", problems));
+
+                return "valid";
+            case MIGRATE:
+                return RoundFile.migrate(roundPath) ? "migrated" : "already migrated";
+            case COMPACT:
+                return RoundFile.compact(roundPath) ? "compacted" : "no segments";
+            case EXPORT:
+                JsonObject roundObject = RoundFile.read(roundPath);
+
+                // Only refers to segments autosaved next to the round itself
+                roundObject.remove(Round.GENERATION);
+
+                return export(roundPath, gson.toJson(roundObject));
+            default:
+                throw new IllegalStateException("Rounds are not merged");
+        }
+    }
+
+    private String processBlocks(Path blocksPath) throws IOException {
+        switch (command) {
+            case VALIDATE:
+                Blocks blocks = BlocksStore.read(blocksPath);
+
+                if (blocks.getSide() == null)
+                    throw new IOException("Blocks without side");
+
+                return "valid, " + blocks.getCards().size() + " cards";
+            case MIGRATE:
+                return BlocksStore.migrate(blocksPath) ? "migrated" : "already migrated";
+            case EXPORT:
+                // Read cards hold their HTML, so it is written inline, which EFlow splits out again once loaded
+                return export(blocksPath, gson.toJson(BlocksStore.read(blocksPath)));
+            default:
+                throw new IllegalStateException("Blocks are not compacted");
+        }
+    }
+
+    private String export(Path path, String json) throws IOException {
+        Path exportPath = getExportPath(path);
+
+        Files.createDirectories(exportPath.getParent());
+        Files.write(exportPath, json.getBytes(StandardCharsets.UTF_8));
+
+        return "exported to " + exportPath;
+    }
+
+    private void merge(List<Blocks> blocksList) throws IOException {
+        if (blocksList.isEmpty() || failed) {
+            failed = true;
+            System.out.println("Nothing merged");
+            return;
+        }
+
+        Blocks mergedBlocks = new Blocks(mergedName, blocksList.get(0).getSide());
+        Set<String> htmlContents = new HashSet<>();
+
+        for (Blocks blocks : blocksList) {
+            if (blocks.getSide() != mergedBlocks.getSide())
+                throw new IOException("Blocks of both sides cannot be merged, " + blocks.getName() + " is " + blocks.getSide());
+
+            for (Card card : blocks.getCards()) {
+                if (htmlContents.add(card.getHTMLContent())) {
+                    mergedBlocks.getCards().add(card);
+                }
+            }
+        }
+
+        Path mergedPath = BlocksStore.store(mergedBlocks, outputDirectory);
+
+        System.out.println("Merged " + mergedBlocks.getCards().size() + " cards into " + mergedPath);
+    }
+
+    private void analyze(Path roundsDirectory) throws IOException {
+        RoundAnalytics analytics = new RoundAnalytics(outputDirectory.resolve(EFlow.ROUND_ANALYTICS_FILE));
+        RoundAnalyticsReport report = analytics.refresh(roundsDirectory, threads);
+
+        System.out.println("Analyzed " + report.getRoundCount() + " rounds into " + analytics.getCachePath());
+
+        System.out.println("Contentions run by opponents:");
+        report.getContentionClusters().stream().limit(PRINTED_ANALYTICS).forEach(cluster -> System.out.println("  " + cluster));
+
+        System.out.println("Responses:");
+        report.getResponseStatistics().stream().limit(PRINTED_ANALYTICS).forEach(statistic -> System.out.println("  " + statistic));
+
+        System.out.println("Cards:");
+        report.getCardCitations().stream().limit(PRINTED_ANALYTICS).forEach(citation -> System.out.println("  " + citation));
+    }
+
+    private void search(Path roundsDirectory) throws IOException {
+        RoundIndex roundIndex = new RoundIndex(
+            outputDirectory.resolve(EFlow.ROUND_INDEX_FILE),
+            outputDirectory.resolve(EFlow.ROUND_ANALYTICS_FILE)
+        );
+
+        roundIndex.synchronize(roundsDirectory);
+
+        List<RoundSearchResult> results = roundIndex.search(query, opponentOnly, PRINTED_SEARCH_RESULTS);
+
+        System.out.println("Searched rounds indexed into " + roundIndex.getIndexPath() + ", " + results.size() + " regions found");
+
+        for (RoundSearchResult result : results) {
+            System.out.println("  " + result.getRoundPath() + ", " + result.getSide() + " column " + result.getColumn() + " row "
+                    + result.getRow() + (result.isOpponent() ? " (opponent)" : "") + ": " + result.getExcerpt());
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package me.theeninja.pfflowing;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
 import me.theeninja.pfflowing.bluetooth.EFlowConnector;
 import me.theeninja.pfflowing.gui.*;
+import me.theeninja.pfflowing.journal.AutosaveScheduler;
+import me.theeninja.pfflowing.journal.JournalManager;
+import me.theeninja.pfflowing.performance.PerformanceMonitor;
+import me.theeninja.pfflowing.search.CardIndex;
+import me.theeninja.pfflowing.search.RoundIndex;
 import me.theeninja.pfflowing.speech.Side;
 import me.theeninja.pfflowing.tournament.Round;
 
@@ -42,6 +49,8 @@ public class FlowApp extends Application {
 
     @Override
     public void start(Stage stage) {
+        StartupProfiler.phase("JavaFX toolkit started");
+
         setStage(stage);
 
         FlowController flowController = new FlowController(this);
@@ -57,7 +66,11 @@ public class FlowApp extends Application {
 
         this.flowController = flowController;
 
+        StartupProfiler.phase("Flow view loaded");
+
         this.scene = new Scene(flowController.getCorrelatingView());
+        getScene().addPostLayoutPulseListener(firstFrameListener);
+        PerformanceMonitor.getInstance().attach(getScene());
 
         getStage().setScene(scene);
         getStage().setTitle(APPLICATION_STAGE_TITLE);
@@ -66,6 +79,45 @@ public class FlowApp extends Application {
         getStage().show();
 
         EFlow.setAsFullscreenToggler(getStage());
+
+        PerformanceOverlay performanceOverlay = new PerformanceOverlay(getStage());
+
+        getScene().addEventHandler(KeyEvent.KEY_RELEASED, keyEvent -> {
+            if (KeyCodeCombinationUtils.TOGGLE_PERFORMANCE_OVERLAY.match(keyEvent))
+                performanceOverlay.toggle();
+        });
+    }
+
+    @Override
+    public void stop() {
+        AutosaveScheduler.getInstance().closeAll();
+        JournalManager.getInstance().closeAll();
+        EFlow.getInstance().getConfigurationStore().flush();
+    }
+
+    private final Runnable firstFrameListener = this::onFirstFrame;
+    private boolean firstFrameLaidOut;
+
+    /**
+     * Starts the subsystems that the first frame does not depend on, each in the background, once the first frame
+     * has been laid out.
+     */
+    private void onFirstFrame() {
+        if (firstFrameLaidOut)
+            return;
+
+        firstFrameLaidOut = true;
+
+        // The scene is iterating over its pulse listeners, so removing one now would break that iteration
+        Platform.runLater(() -> getScene().removePostLayoutPulseListener(firstFrameListener));
+
+        StartupProfiler.phase("First frame laid out");
+
+        getFlowController().startBluetooth();
+        getFlowController().getNavigatorController().loadOpenRecentInBackground();
+        CardIndex.getInstance().synchronizeInBackground();
+        RoundIndex.getInstance().watchConfiguredDirectory();
+        JournalManager.getInstance().recoverInBackground(getFlowController()::addRound);
     }
 
     public Scene getScene() {
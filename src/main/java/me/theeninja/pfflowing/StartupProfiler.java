@@ -0,0 +1,49 @@
+package me.theeninja.pfflowing;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Records how long after the JVM was started each phase of start up finished, and logs every phase as it finishes.
+ * Phases may finish on any thread, since the subsystems that are not needed for the first frame are started in the
+ * background.
+ *
+ * @author TheeNinja
+ */
+public final class StartupProfiler {
+    private static final Logger LOGGER = Logger.getLogger(StartupProfiler.class.getSimpleName());
+
+    private static final long JVM_START_TIME = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    /**
+     * Milliseconds after the JVM was started at which each phase finished, in order of finishing.
+     */
+    private static final Map<String, Long> PHASES = new LinkedHashMap<>();
+
+    private static long lastPhaseTime;
+
+    private StartupProfiler() {}
+
+    /**
+     * Records that {@code phase} has just finished.
+     *
+     * @param phase A short description of the phase.
+     */
+    public static synchronized void phase(String phase) {
+        long phaseTime = System.currentTimeMillis() - JVM_START_TIME;
+
+        PHASES.put(phase, phaseTime);
+        LOGGER.info(String.format("%s after %d ms (+%d ms)", phase, phaseTime, phaseTime - lastPhaseTime));
+
+        lastPhaseTime = phaseTime;
+    }
+
+    /**
+     * @return Milliseconds after the JVM was started at which each phase finished, in order of finishing.
+     */
+    public static synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(PHASES);
+    }
+}
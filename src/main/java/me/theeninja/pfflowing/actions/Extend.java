@@ -20,7 +20,6 @@ public class Extend extends FlowAction {
         super(flowDisplayController);
         this.baseFlowingRegions = baseFlowingRegions;
         this.extendFlowingRegions = this.baseFlowingRegions.stream()
-                .map(FlowingRegion::duplicate)
                 .map(this::newExtensionFromBase)
                 .collect(Collectors.toList());
     }
@@ -59,8 +58,12 @@ public class Extend extends FlowAction {
     }
 
     private void removeFlowLinks() {
-        getFlowGrid().getChildren().removeAll(flowLinks);
+        flowLinks.stream()
+                .map(FlowLink::getLines)
+                .forEach(getFlowGrid().getChildren()::removeAll);
 
+        // Links are created anew on every execution
+        flowLinks.clear();
     }
 
     private FlowingRegion newExtensionFromBase(FlowingRegion baseFlowingRegion) {
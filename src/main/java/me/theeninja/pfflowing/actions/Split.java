@@ -71,7 +71,7 @@ public class Split extends FlowAction {
 
     @Override
     public void unexecute() {
-        getFlowGrid().getChildren().addAll(getAddedRegions());
+        getFlowGrid().getChildren().removeAll(getAddedRegions());
         getFlowGrid().getChildren().addAll(getRemovedRegions());
 
         getUpdateMap().forEach((region, integers) -> {
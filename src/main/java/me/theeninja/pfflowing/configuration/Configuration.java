@@ -81,6 +81,26 @@ public final class Configuration {
                     "Determines what computer this EFlow client will try to connect to upon request"),
             "localhost");
 
+    @SerializedName("drivePrefetchCount")
+    @Expose
+    private Configurable<Integer> drivePrefetchCount = new Configurable<>(
+            new Descriptor(
+                    "Google Drive",
+                    "Prefetch Count",
+                    "Determines how many of the most recently modified Google Drive documents are downloaded " +
+                            "when prefetching"),
+            20);
+
+    @SerializedName("roundsDirectory")
+    @Expose
+    private Configurable<String> roundsDirectory = new Configurable<>(
+            new Descriptor(
+                    "Search",
+                    "Rounds Directory",
+                    "Determines the directory, such as a season's folder on a shared drive, whose rounds are " +
+                            "indexed for searching across rounds. Leave empty to index no rounds"),
+            Utils.ZERO_LENGTH_STRING);
+
     public Configurable<Color> getAffColor() {
         return affColor;
     }
@@ -124,4 +144,12 @@ public final class Configuration {
     public void setPartnerBluetoothAddress(Configurable<String> partnerBluetoothAddress) {
         this.partnerBluetoothAddress = partnerBluetoothAddress;
     }
+
+    public Configurable<Integer> getDrivePrefetchCount() {
+        return drivePrefetchCount;
+    }
+
+    public Configurable<String> getRoundsDirectory() {
+        return roundsDirectory;
+    }
 }
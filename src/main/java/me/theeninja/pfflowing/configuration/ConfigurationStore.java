@@ -0,0 +1,194 @@
+package me.theeninja.pfflowing.configuration;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import javafx.beans.Observable;
+import me.theeninja.pfflowing.StartupProfiler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the configuration in the background and saves it whenever any of its values change. Changes are debounced,
+ * so that a burst of changes, such as those made while dragging a color picker, is written once the values have
+ * settled rather than once per change. Saving happens on a background thread and replaces the configuration file
+ * atomically, so a crash while saving never leaves a truncated configuration behind.
+ *
+ * @author TheeNinja
+ */
+public class ConfigurationStore {
+    /**
+     * Represents how long the configuration must be left unchanged before it is saved.
+     */
+    private static final long SAVE_DELAY_MILLISECONDS = 500;
+
+    private final Path configurationPath;
+    private final Gson gson;
+
+    private final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread saveThread = new Thread(runnable, "Configuration Saving");
+
+        // Saving terminates once EFlow application window is closed, see flush
+        saveThread.setDaemon(true);
+
+        return saveThread;
+    });
+
+    private final CompletableFuture<Configuration> configuration;
+
+    private ScheduledFuture<?> pendingSave;
+
+    /**
+     * Represents whether the configuration has changed since it was last saved.
+     */
+    private boolean changed;
+
+    private final Object saveLock = new Object();
+
+    /**
+     * Starts loading the configuration in the background.
+     *
+     * @param configurationPath The path of the configuration file, which need not exist.
+     * @param gson The GSON instance able to (de)serialize JavaFX properties.
+     */
+    public ConfigurationStore(Path configurationPath, Gson gson) {
+        this.configurationPath = configurationPath;
+        this.gson = gson;
+
+        this.configuration = CompletableFuture.supplyAsync(this::load, saveExecutor);
+    }
+
+    /**
+     * @return The configuration, waiting for it to be loaded if it has not been yet.
+     */
+    public Configuration getConfiguration() {
+        return configuration.join();
+    }
+
+    private Configuration load() {
+        Configuration loadedConfiguration = null;
+
+        try {
+            if (Files.exists(getConfigurationPath())) {
+                String json = new String(Files.readAllBytes(getConfigurationPath()), StandardCharsets.UTF_8);
+                loadedConfiguration = gson.fromJson(json, Configuration.class);
+            }
+        }
+        catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+        }
+
+        boolean isDefault = loadedConfiguration == null;
+
+        if (isDefault) {
+            loadedConfiguration = new Configuration();
+        }
+
+        observe(loadedConfiguration);
+
+        if (isDefault) {
+            scheduleSave();
+        }
+
+        StartupProfiler.phase("Configuration loaded");
+
+        return loadedConfiguration;
+    }
+
+    private void observe(Configuration observedConfiguration) {
+        // Configuration.class is final, therefore no need to go over inherited fields (which are non existent)
+        for (Field field : Configuration.class.getDeclaredFields()) {
+            if (!Configurable.class.isAssignableFrom(field.getType()))
+                continue;
+
+            try {
+                field.setAccessible(true);
+
+                Configurable<?> configurable = (Configurable<?>) field.get(observedConfiguration);
+                configurable.valueProperty().addListener(this::onValueChanged);
+            }
+            catch (IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void onValueChanged(Observable observable) {
+        scheduleSave();
+    }
+
+    private synchronized void scheduleSave() {
+        changed = true;
+
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+
+        pendingSave = saveExecutor.schedule(this::saveQuietly, SAVE_DELAY_MILLISECONDS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves the configuration immediately if it has changed since it was last saved, since pending saves are lost
+     * once the application exits.
+     */
+    public void flush() {
+        synchronized (this) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+                pendingSave = null;
+            }
+        }
+
+        save();
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        }
+        catch (UncheckedIOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Saves the configuration if it has changed since it was last saved.
+     */
+    private void save() {
+        // Held while writing, so that a flush never writes the temporary file at the same time as the save thread
+        synchronized (saveLock) {
+            synchronized (this) {
+                if (!changed)
+                    return;
+
+                changed = false;
+            }
+
+            String json = gson.toJson(getConfiguration(), Configuration.class);
+
+            Path temporaryPath = getConfigurationPath().resolveSibling(getConfigurationPath().getFileName() + ".tmp");
+
+            try {
+                Files.write(temporaryPath, json.getBytes(StandardCharsets.UTF_8));
+                Files.move(temporaryPath, getConfigurationPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public Path getConfigurationPath() {
+        return configurationPath;
+    }
+}
@@ -3,7 +3,6 @@ package me.theeninja.pfflowing.flowing;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
@@ -11,14 +10,12 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import me.theeninja.pfflowing.Duplicable;
-import me.theeninja.pfflowing.EFlow;
 import me.theeninja.pfflowing.configuration.InternalConfiguration;
 import me.theeninja.pfflowing.flowingregions.Card;
 import me.theeninja.pfflowing.gui.*;
 import me.theeninja.pfflowing.utils.Utils;
 import org.controlsfx.control.PopOver;
 
-import java.io.IOException;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -110,7 +107,7 @@ public class FlowingRegion extends VBox implements Duplicable<FlowingRegion> {
             rankLabel.textProperty().bind(rankProperty().asString());
 
             Label valueLabel = new Label(value.toString());
-            valueLabel.fontProperty().bind(EFlow.getInstance().getConfiguration().getCardLabelsFont().valueProperty());
+            valueLabel.getStyleClass().add(FlowTheme.SUPPLEMENTAL_LABEL_STYLECLASS);
 
             // Makes it so delete-button is at rightmost part of HBox
             Region separatorRegion = new Region();
@@ -144,9 +141,12 @@ public class FlowingRegion extends VBox implements Duplicable<FlowingRegion> {
 
         // Listener must be added first, before setting full text
         addFullTextListener();
-        setFullText(text);
 
-        getReasoningLabel().fontProperty().bind(EFlow.getInstance().getConfiguration().getReasoningFont().valueProperty());
+        // Text such as "Extend" recurs across every round loaded
+        setFullText(Utils.intern(text));
+
+        // The font and color are given by the flow theme
+        getReasoningLabel().getStyleClass().add(FlowTheme.REASONING_LABEL_STYLECLASS);
 
         setExpanded(false);
 
@@ -190,6 +190,24 @@ public class FlowingRegion extends VBox implements Duplicable<FlowingRegion> {
                 cardsDetailerController.setCurrentCard(null);
             }
         });
+
+        // Also hidden while the region stays expanded, as when clicking elsewhere or closing the window, and
+        // possibly only after the region was expanded again, once hiding has faded out
+        popOver.setOnHidden(windowEvent -> {
+            if (!popOver.isShowing()) {
+                popOverVBox.getChildren().clear();
+                cardsDetailerController.dispose();
+            }
+        });
+
+        sceneProperty().addListener((observable, oldValue, newValue) -> {
+            // Removed from the flow grid, or its round closed
+            if (newValue == null) {
+                popOver.hide();
+                popOverVBox.getChildren().clear();
+                cardsDetailerController.dispose();
+            }
+        });
     }
 
     public void addFullTextListener() {
@@ -286,15 +304,8 @@ public class FlowingRegion extends VBox implements Duplicable<FlowingRegion> {
     }
 
     private CardsDetailerController getCardsDetailerController() {
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/gui/card_display/card_details.fxml"));
         CardsDetailerController flowingRegionDetailController = new CardsDetailerController(this);
-        fxmlLoader.setController(flowingRegionDetailController);
-
-        try {
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        ViewFactory.buildCardDetails(flowingRegionDetailController);
 
         return flowingRegionDetailController;
     }
@@ -0,0 +1,157 @@
+package me.theeninja.pfflowing.flowing;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.flowingregions.CardRegistry;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+
+import static me.theeninja.pfflowing.flowing.FlowingRegion.*;
+
+/**
+ * Writes and reads a {@link FlowingRegion} straight to and from the JSON stream, without building a tree of it
+ * first. Cards are written and read by the adapter of the {@link Gson} this adapter was created for, and cards read
+ * are shared through the {@link CardRegistry}.
+ *
+ * @author TheeNinja
+ */
+public class FlowingRegionTypeAdapter extends TypeAdapter<FlowingRegion> {
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if (typeToken.getRawType() != FlowingRegion.class)
+                return null;
+
+            return (TypeAdapter<T>) new FlowingRegionTypeAdapter(gson.getAdapter(Card.class)).nullSafe();
+        }
+    };
+
+    private final TypeAdapter<Card> cardAdapter;
+
+    private FlowingRegionTypeAdapter(TypeAdapter<Card> cardAdapter) {
+        this.cardAdapter = cardAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, FlowingRegion flowingRegion) throws IOException {
+        int column = FlowGrid.getColumnIndex(flowingRegion);
+        int row = FlowGrid.getRowIndex(flowingRegion);
+
+        out.beginObject();
+
+        out.name(TYPE_NAME).value(flowingRegion.getFlowingRegionType().name());
+        out.name(TEXT_NAME).value(flowingRegion.getFullText());
+        out.name(COLUMN_NAME).value(column);
+        out.name(ROW_NAME).value(row);
+
+        out.name(ASSOCIATED_QUESTIONS).beginArray();
+
+        for (String question : flowingRegion.getAssociatedQuestions()) {
+            out.value(question);
+        }
+
+        out.endArray();
+
+        out.name(ASSOCIATED_CARDS).beginArray();
+
+        for (Card card : flowingRegion.getAssociatedCards()) {
+            cardAdapter.write(out, card);
+        }
+
+        out.endArray();
+
+        out.endObject();
+    }
+
+    @Override
+    public FlowingRegion read(JsonReader in) throws IOException {
+        FlowingRegionType flowingRegionType = null;
+        String fullText = null;
+        int column = 0;
+        int row = 0;
+
+        ObservableList<Card> associatedCards = FXCollections.observableArrayList();
+        ObservableList<String> associatedQuestions = FXCollections.observableArrayList();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case TYPE_NAME:
+                    flowingRegionType = FlowingRegionType.valueOf(in.nextString());
+                    break;
+                case TEXT_NAME:
+                    fullText = in.nextString();
+                    break;
+                case COLUMN_NAME:
+                    column = in.nextInt();
+                    break;
+                case ROW_NAME:
+                    row = in.nextInt();
+                    break;
+                case ASSOCIATED_QUESTIONS:
+                    readQuestions(in, associatedQuestions);
+                    break;
+                case ASSOCIATED_CARDS:
+                    readCards(in, associatedCards);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (flowingRegionType == null || fullText == null)
+            throw new JsonParseException("Flowing region without " + TYPE_NAME + " or " + TEXT_NAME + " at " + in.getPath());
+
+        FlowingRegion flowingRegion = new FlowingRegion(fullText, flowingRegionType, associatedCards, associatedQuestions);
+
+        FlowGrid.setColumnIndex(flowingRegion, column);
+        FlowGrid.setRowIndex(flowingRegion, row);
+
+        return flowingRegion;
+    }
+
+    private static void readQuestions(JsonReader in, ObservableList<String> associatedQuestions) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            associatedQuestions.add(Utils.intern(in.nextString()));
+        }
+
+        in.endArray();
+    }
+
+    private void readCards(JsonReader in, ObservableList<Card> associatedCards) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            associatedCards.add(CardRegistry.getInstance().register(cardAdapter.read(in)));
+        }
+
+        in.endArray();
+    }
+}
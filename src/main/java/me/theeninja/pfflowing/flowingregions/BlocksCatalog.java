@@ -0,0 +1,245 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Summary of every block file within the blocks directory, persisted so that listing blocks (for example within the
+ * recent blocks menu) requires neither reading nor parsing the block files themselves. {@link BlocksStore} updates
+ * the catalog whenever it saves blocks; block files that were changed by other means are detected through a single
+ * listing of the blocks directory and only those are read again.
+ *
+ * @author TheeNinja
+ */
+public class BlocksCatalog {
+    private static final BlocksCatalog INSTANCE = new BlocksCatalog(EFlow.getInstance().getBlocksCatalogPath());
+
+    public static class Entry {
+        @Expose
+        @SerializedName("name")
+        private String name;
+
+        @Expose
+        @SerializedName("side")
+        private Side side;
+
+        @Expose
+        @SerializedName("fileName")
+        private String fileName;
+
+        @Expose
+        @SerializedName("lastModified")
+        private long lastModified;
+
+        @Expose
+        @SerializedName("cardCount")
+        private int cardCount;
+
+        public String getName() {
+            return name;
+        }
+
+        public Side getSide() {
+            return side;
+        }
+
+        public Path getPath() {
+            return EFlow.getInstance().getCardsPath().resolve(fileName);
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public int getCardCount() {
+            return cardCount;
+        }
+    }
+
+    private static class State {
+        @Expose
+        @SerializedName("blocks")
+        private List<Entry> entries = new ArrayList<>();
+    }
+
+    private final Path catalogPath;
+
+    /**
+     * Catalog entries keyed by the file name of their block file.
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean loaded;
+
+    private BlocksCatalog(Path catalogPath) {
+        this.catalogPath = catalogPath;
+    }
+
+    public static BlocksCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param count The maximum number of entries to return.
+     * @return The entries of the most recently modified block files, most recent first.
+     */
+    public synchronized List<Entry> getRecentEntries(int count) {
+        validate();
+
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(Entry::getLastModified).reversed())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Every entry, sorted by name.
+     */
+    public synchronized List<Entry> getEntries() {
+        validate();
+
+        return entries.values().stream()
+                .sorted(Comparator.comparing(Entry::getName, String.CASE_INSENSITIVE_ORDER))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Records blocks that have just been written.
+     *
+     * @param blocksPath The path the blocks were written to.
+     * @param blocks The blocks that were written.
+     * @throws IOException If the catalog could not be written.
+     */
+    synchronized void update(Path blocksPath, Blocks blocks) throws IOException {
+        ensureLoaded();
+
+        Entry entry = newEntry(blocksPath, Files.getLastModifiedTime(blocksPath).toMillis(), blocks);
+        entries.put(entry.fileName, entry);
+
+        save();
+    }
+
+    /**
+     * Lists the blocks directory once and compares the modification time of each block file with the one recorded
+     * in the catalog. Only block files that are new or whose modification time differs are read, and entries of
+     * block files that no longer exist are dropped. The catalog is only written if anything was repaired.
+     */
+    private void validate() {
+        ensureLoaded();
+
+        Map<String, Path> blocksPaths;
+        Map<String, Long> lastModifiedTimes = new HashMap<>();
+
+        try (Stream<Path> paths = Files.list(EFlow.getInstance().getCardsPath())) {
+            blocksPaths = paths
+                    .filter(path -> Utils.hasExtension(path.getFileName().toString(), BlocksStore.BLOCKS_EXTENSION))
+                    .collect(Collectors.toMap(path -> path.getFileName().toString(), path -> path));
+
+            for (Map.Entry<String, Path> blocksPath : blocksPaths.entrySet()) {
+                lastModifiedTimes.put(blocksPath.getKey(), Files.getLastModifiedTime(blocksPath.getValue()).toMillis());
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        boolean repaired = entries.keySet().retainAll(blocksPaths.keySet());
+
+        List<String> staleFileNames = blocksPaths.keySet().stream()
+                .filter(fileName -> {
+                    Entry entry = entries.get(fileName);
+                    return entry == null || entry.lastModified != lastModifiedTimes.get(fileName);
+                })
+                .collect(Collectors.toList());
+
+        for (String staleFileName : staleFileNames) {
+            Path blocksPath = blocksPaths.get(staleFileName);
+
+            try {
+                Blocks blocks = BlocksStore.load(blocksPath);
+
+                // Loading may have migrated the block file, which changes its modification time
+                long lastModified = Files.getLastModifiedTime(blocksPath).toMillis();
+
+                entries.put(staleFileName, newEntry(blocksPath, lastModified, blocks));
+            }
+            catch (IOException | UncheckedIOException | JsonParseException e) {
+                e.printStackTrace();
+                entries.remove(staleFileName);
+            }
+
+            repaired = true;
+        }
+
+        if (repaired) {
+            try {
+                save();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static Entry newEntry(Path blocksPath, long lastModified, Blocks blocks) {
+        Entry entry = new Entry();
+        entry.name = blocks.getName();
+        entry.side = blocks.getSide();
+        entry.fileName = blocksPath.getFileName().toString();
+        entry.lastModified = lastModified;
+        entry.cardCount = blocks.getCards().size();
+
+        return entry;
+    }
+
+    private void ensureLoaded() {
+        if (loaded)
+            return;
+
+        loaded = true;
+
+        if (!Files.exists(getCatalogPath()))
+            return;
+
+        try {
+            byte[] bytes = Files.readAllBytes(getCatalogPath());
+            State state = EFlow.getInstance().getGSON().fromJson(new String(bytes, StandardCharsets.UTF_8), State.class);
+
+            if (state != null) {
+                state.entries.forEach(entry -> entries.put(entry.fileName, entry));
+            }
+        }
+        catch (IOException | JsonParseException e) {
+            // The catalog is derived entirely from the block files, so a corrupt catalog is simply rebuilt
+            e.printStackTrace();
+        }
+    }
+
+    private void save() throws IOException {
+        State state = new State();
+        state.entries.addAll(entries.values());
+
+        BlocksStore.write(getCatalogPath(), EFlow.getInstance().getGSON().toJson(state, State.class));
+    }
+
+    public Path getCatalogPath() {
+        return catalogPath;
+    }
+}
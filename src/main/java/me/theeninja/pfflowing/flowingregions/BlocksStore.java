@@ -0,0 +1,445 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.search.CardIndex;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes block files within the blocks directory. Every block file should be saved through here so that
+ * anything derived from the block files, such as the {@link BlocksCatalog} and the {@link CardIndex}, is kept up
+ * to date.
+ * <p>
+ * A block file only holds a header: the name and side of the blocks and, for every card, its representation and
+ * the number of its body file. The HTML of each card is kept in its own body file within a directory next to the
+ * block file, so that listing, loading and dragging blocks never reads card HTML that is not displayed. Next to
+ * each body file, the paragraphs of styled runs of the card produced by {@link CardHTMLNormalizer} are stored for
+ * display.
+ *
+ * @author TheeNinja
+ */
+public final class BlocksStore {
+    public static final String BLOCKS_EXTENSION = "json";
+    public static final String CARD_BODIES_EXTENSION = "cards";
+    public static final String CARD_BODY_EXTENSION = "html";
+    public static final String CARD_RUNS_EXTENSION = "runs.json";
+
+    private static final String TEMPORARY_EXTENSION = "tmp";
+
+    private static final Type PARAGRAPHS_TYPE = new TypeToken<List<List<CardRun>>>() {}.getType();
+    private static final Gson RUNS_GSON = new Gson();
+
+    // Independent of EFlow, so that block files can also be processed from the command line
+    private static final Gson HEADER_GSON = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .setPrettyPrinting()
+            .serializeNulls()
+            .create();
+
+    private static class CardHeader {
+        @Expose
+        @SerializedName("representation")
+        private String representation;
+
+        @Expose
+        @SerializedName("body")
+        private Integer body;
+
+        /**
+         * Only present within block files written before card bodies were split out, which are migrated as they
+         * are loaded.
+         */
+        @Expose(serialize = false)
+        @SerializedName("htmlContent")
+        private String htmlContent;
+    }
+
+    private static class BlocksHeader {
+        @Expose
+        @SerializedName("name")
+        private String name;
+
+        @Expose
+        @SerializedName("side")
+        private Side side;
+
+        @Expose
+        @SerializedName("cards")
+        private List<CardHeader> cards = new ArrayList<>();
+    }
+
+    private BlocksStore() {}
+
+    /**
+     * @param blocksName The name of the blocks.
+     * @return The path of the block file that the blocks named {@code blocksName} are saved to.
+     */
+    public static Path getBlocksPath(String blocksName) {
+        return EFlow.getInstance().getCardsPath().resolve(Utils.addExtension(blocksName, BLOCKS_EXTENSION));
+    }
+
+    /**
+     * @param blocksName The name of the blocks.
+     * @return The directory that holds the body files of the blocks named {@code blocksName}.
+     */
+    public static Path getCardBodiesPath(String blocksName) {
+        return getCardBodiesPath(EFlow.getInstance().getCardsPath(), blocksName);
+    }
+
+    private static Path getCardBodiesPath(Path cardsPath, String blocksName) {
+        return cardsPath.resolve(Utils.addExtension(blocksName, CARD_BODIES_EXTENSION));
+    }
+
+    /**
+     * @return The directory that holds the body files of the block file at {@code blocksPath}, which lies next to
+     *         it and is named after the block file, so that a block file renamed or moved along with its body
+     *         files still finds them. A block file that was renamed on its own is matched to the directory named
+     *         after its blocks instead.
+     */
+    private static Path getCardBodiesPath(Path blocksPath, BlocksHeader header) {
+        String fileName = blocksPath.getFileName().toString();
+        String baseName = Utils.hasExtension(fileName, BLOCKS_EXTENSION) ?
+                fileName.substring(0, fileName.length() - BLOCKS_EXTENSION.length() - 1) :
+                fileName;
+
+        Path cardBodiesPath = blocksPath.resolveSibling(Utils.addExtension(baseName, CARD_BODIES_EXTENSION));
+
+        if (Files.isDirectory(cardBodiesPath))
+            return cardBodiesPath;
+
+        return getCardBodiesPath(blocksPath.toAbsolutePath().getParent(), header.name);
+    }
+
+    private static Path getCardBodyPath(String blocksName, int body) {
+        return getCardBodiesPath(blocksName).resolve(getCardBodyFileName(body));
+    }
+
+    private static Path getCardRunsPath(String blocksName, int body) {
+        return getCardBodiesPath(blocksName).resolve(getCardRunsFileName(body));
+    }
+
+    private static String getCardRunsFileName(int body) {
+        return Utils.addExtension(String.valueOf(body), CARD_RUNS_EXTENSION);
+    }
+
+    private static String getCardBodyFileName(int body) {
+        return Utils.addExtension(String.valueOf(body), CARD_BODY_EXTENSION);
+    }
+
+    /**
+     * Reads the header of a block file. Card HTML is not read; each card reads its body file when its HTML is
+     * requested. Block files that still hold their card HTML inline are rewritten in the split form.
+     * <p>
+     * Cards refer to their body files by the name of their blocks within the blocks directory, which only holds
+     * for a block file saved there under the name of its blocks. The cards of any other block file, such as one
+     * opened from elsewhere or renamed, are read in full from the body files next to it, see {@link #read(Path)}.
+     *
+     * @param blocksPath The path of a block file.
+     * @return The blocks stored at {@code blocksPath}, with every card's side set to the side of the blocks.
+     */
+    public static Blocks load(Path blocksPath) {
+        BlocksHeader header;
+
+        try {
+            header = readHeader(blocksPath);
+
+            Path cardBodiesPath = getCardBodiesPath(blocksPath, header);
+
+            if (!isSamePath(cardBodiesPath, getCardBodiesPath(header.name)))
+                return read(header, cardBodiesPath);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Blocks blocks = toBlocks(header);
+
+        if (hasInlineContent(header)) {
+            try {
+                save(blocks);
+            }
+            catch (IOException e) {
+                // The blocks are still usable with their HTML held in memory; migration is retried on next load
+                e.printStackTrace();
+            }
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Reads a block file that may lie outside the blocks directory, such as on a shared drive, along with the HTML
+     * of every card, which is read from the body files next to the block file rather than from the blocks
+     * directory. Nothing is migrated or recorded in the blocks catalog.
+     *
+     * @param blocksPath The path of a block file.
+     * @return The blocks stored at {@code blocksPath}, with the HTML of every card held in memory.
+     * @throws IOException If the block file or a body file it refers to could not be read.
+     */
+    public static Blocks read(Path blocksPath) throws IOException {
+        BlocksHeader header = readHeader(blocksPath);
+
+        return read(header, getCardBodiesPath(blocksPath, header));
+    }
+
+    private static Blocks read(BlocksHeader header, Path cardBodiesPath) throws IOException {
+        Blocks blocks = new Blocks(header.name, header.side);
+
+        for (CardHeader cardHeader : header.cards) {
+            String htmlContent = cardHeader.htmlContent;
+
+            if (cardHeader.body != null) {
+                byte[] bytes = Files.readAllBytes(cardBodiesPath.resolve(getCardBodyFileName(cardHeader.body)));
+                htmlContent = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            Card card = CardRegistry.getInstance().register(new Card(cardHeader.representation, htmlContent));
+            card.setSide(blocks.getSide());
+
+            blocks.getCards().add(card);
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Rewrites a block file that still holds its card HTML inline in the split form, next to where it lies, which
+     * may be outside the blocks directory. Nothing is recorded in the blocks catalog or the card index.
+     *
+     * @param blocksPath The path of a block file.
+     * @return Whether the block file had to be migrated.
+     * @throws IOException If the block file could not be read or rewritten.
+     */
+    public static boolean migrate(Path blocksPath) throws IOException {
+        BlocksHeader header = readHeader(blocksPath);
+
+        if (!hasInlineContent(header))
+            return false;
+
+        store(toBlocks(header), blocksPath.getParent());
+
+        return true;
+    }
+
+    private static BlocksHeader readHeader(Path blocksPath) throws IOException {
+        byte[] bytes = Files.readAllBytes(blocksPath);
+
+        try {
+            BlocksHeader header = HEADER_GSON.fromJson(new String(bytes, StandardCharsets.UTF_8), BlocksHeader.class);
+
+            if (header == null || header.name == null || header.cards == null)
+                throw new IOException("Not a block file " + blocksPath);
+
+            return header;
+        }
+        catch (JsonParseException e) {
+            throw new IOException("Malformed block file " + blocksPath, e);
+        }
+    }
+
+    private static Blocks toBlocks(BlocksHeader header) {
+        Blocks blocks = new Blocks(header.name, header.side);
+
+        for (CardHeader cardHeader : header.cards) {
+            Card card = new Card(cardHeader.representation, cardHeader.htmlContent);
+
+            if (cardHeader.body != null) {
+                card.setStoredBody(blocks.getName(), cardHeader.body);
+            }
+
+            // The same instance as the card attached to regions of rounds already loaded, if any
+            card = CardRegistry.getInstance().register(card);
+            card.setSide(blocks.getSide());
+
+            blocks.getCards().add(card);
+        }
+
+        return blocks;
+    }
+
+    private static boolean isSamePath(Path path, Path otherPath) {
+        return path.toAbsolutePath().normalize().equals(otherPath.toAbsolutePath().normalize());
+    }
+
+    private static boolean hasInlineContent(BlocksHeader header) {
+        return header.cards.stream().anyMatch(cardHeader -> cardHeader.htmlContent != null);
+    }
+
+    /**
+     * @param blocksName The name of the blocks that the card was stored in.
+     * @param body The number of the card's body file.
+     * @return The HTML of the card.
+     * @throws UncheckedIOException If the body file of the card could not be read.
+     */
+    public static String loadCardBody(String blocksName, int body) {
+        try {
+            byte[] bytes = Files.readAllBytes(getCardBodyPath(blocksName, body));
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param blocksName The name of the blocks that the card was stored in.
+     * @param body The number of the card's body file.
+     * @return The paragraphs of styled runs of the card, as converted when the card was stored. Cards stored before
+     *         runs were written are converted from their body file instead.
+     */
+    public static List<List<CardRun>> loadCardRuns(String blocksName, int body) {
+        Path cardRunsPath = getCardRunsPath(blocksName, body);
+
+        if (!Files.exists(cardRunsPath))
+            return CardHTMLNormalizer.toParagraphs(loadCardBody(blocksName, body));
+
+        try {
+            byte[] bytes = Files.readAllBytes(cardRunsPath);
+            return RUNS_GSON.fromJson(new String(bytes, StandardCharsets.UTF_8), PARAGRAPHS_TYPE);
+        }
+        catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+            return CardHTMLNormalizer.toParagraphs(loadCardBody(blocksName, body));
+        }
+    }
+
+    /**
+     * Writes the body file and runs file of every card whose HTML is held in memory, then the header of {@code blocks}, records
+     * it in the blocks catalog and queues the card index update for it. Body files that are no longer referenced are deleted.
+     *
+     * @param blocks The blocks to save.
+     * @return The path the blocks were written to.
+     * @throws IOException If the block file or a body file could not be written.
+     */
+    public static Path save(Blocks blocks) throws IOException {
+        Path blocksPath = store(blocks, EFlow.getInstance().getCardsPath());
+
+        BlocksCatalog.getInstance().update(blocksPath, blocks);
+        CardIndex.getInstance().updateInBackground(blocksPath, blocks);
+
+        return blocksPath;
+    }
+
+    /**
+     * Writes {@code blocks} as {@link #save(Blocks)} does, but within {@code cardsPath}, which may be outside the
+     * blocks directory, so the blocks are not recorded in the blocks catalog or the card index.
+     *
+     * @param blocks The blocks to write.
+     * @param cardsPath The directory to write the block file and its body files to.
+     * @return The path the blocks were written to.
+     * @throws IOException If the block file or a body file could not be written.
+     */
+    public static Path store(Blocks blocks, Path cardsPath) throws IOException {
+        Path blocksPath = cardsPath.resolve(Utils.addExtension(blocks.getName(), BLOCKS_EXTENSION));
+        Path cardBodiesPath = getCardBodiesPath(cardsPath, blocks.getName());
+
+        Files.createDirectories(cardBodiesPath);
+
+        int nextBody = blocks.getCards().stream()
+                .filter(card -> card.isStoredIn(blocks.getName()))
+                .mapToInt(Card::getBody)
+                .max()
+                .orElse(-1) + 1;
+
+        BlocksHeader header = new BlocksHeader();
+        header.name = blocks.getName();
+        header.side = blocks.getSide();
+
+        Set<Integer> bodies = new HashSet<>();
+
+        for (Card card : blocks.getCards()) {
+            CardHeader cardHeader = new CardHeader();
+            cardHeader.representation = card.getRepresentation();
+
+            if (card.isStoredIn(blocks.getName()) && !card.hasResidentHTMLContent()) {
+                cardHeader.body = card.getBody();
+            }
+            else {
+                cardHeader.body = card.isStoredIn(blocks.getName()) ? card.getBody() : nextBody++;
+
+                String htmlContent;
+
+                try {
+                    htmlContent = card.getHTMLContent();
+                }
+                catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                if (htmlContent == null) {
+                    htmlContent = Utils.ZERO_LENGTH_STRING;
+                }
+
+                // Cards are converted for display once, here, rather than every time they are displayed
+                List<List<CardRun>> paragraphs = CardHTMLNormalizer.toParagraphs(htmlContent);
+
+                write(cardBodiesPath.resolve(getCardBodyFileName(cardHeader.body)), htmlContent);
+                write(cardBodiesPath.resolve(getCardRunsFileName(cardHeader.body)), RUNS_GSON.toJson(paragraphs, PARAGRAPHS_TYPE));
+
+                // A card stored within other blocks keeps referring to its original body file
+                if (!card.isStored() || card.isStoredIn(blocks.getName())) {
+                    card.setStoredBody(blocks.getName(), cardHeader.body);
+                }
+            }
+
+            bodies.add(cardHeader.body);
+            header.cards.add(cardHeader);
+        }
+
+        write(blocksPath, HEADER_GSON.toJson(header, BlocksHeader.class));
+
+        deleteUnreferencedBodies(cardBodiesPath, bodies);
+
+        return blocksPath;
+    }
+
+    private static void deleteUnreferencedBodies(Path cardBodiesPath, Set<Integer> bodies) throws IOException {
+        Set<String> bodyFileNames = bodies.stream()
+                .flatMap(body -> Stream.of(getCardBodyFileName(body), getCardRunsFileName(body)))
+                .collect(Collectors.toSet());
+
+        List<Path> unreferencedBodies;
+
+        try (Stream<Path> bodyPaths = Files.list(cardBodiesPath)) {
+            unreferencedBodies = bodyPaths
+                    .filter(bodyPath -> !bodyFileNames.contains(bodyPath.getFileName().toString()))
+                    .collect(Collectors.toList());
+        }
+
+        for (Path unreferencedBody : unreferencedBodies) {
+            Files.deleteIfExists(unreferencedBody);
+        }
+    }
+
+    /**
+     * Writes {@code content} to a temporary file that is then moved over {@code path}, so that a reader never
+     * observes a partially written file.
+     */
+    static void write(Path path, String content) throws IOException {
+        Path temporaryPath = path.resolveSibling(Utils.addExtension(path.getFileName().toString(), TEMPORARY_EXTENSION));
+
+        Files.write(temporaryPath, content.getBytes(StandardCharsets.UTF_8));
+
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,18 +1,37 @@
 package me.theeninja.pfflowing.flowingregions;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.annotations.JsonAdapter;
 import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.utils.Utils;
 
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@JsonAdapter(CardTypeAdapter.class)
 public class Card {
-    @Expose
-    @SerializedName("representation")
+    public static final String REPRESENTATION_NAME = "representation";
+    public static final String HTML_CONTENT_NAME = "htmlContent";
+    public static final String BLOCKS_NAME = "blocks";
+    public static final String BODY_NAME = "body";
+
     private String representation;
 
-    @Expose
-    @SerializedName("htmlContent")
+    /**
+     * Represents the HTML of a card that has not been stored in a block file yet. Once stored, the HTML is read
+     * from the card's body file whenever it is requested instead of being kept in memory.
+     */
     private String htmlContent;
 
+    private String blocksName;
+    private Integer body;
+
+    /**
+     * Represents the HTML of a stored card as saved within the rounds it is attached to. It is only shown if the
+     * body file cannot be read, such as within a round received from another machine or after the card was
+     * removed from its blocks, and is only held for cards attached to a round that was read or written.
+     */
+    private String htmlCopy;
+
     private Side side;
 
     public Card(String representation, String htmlContent) {
@@ -20,14 +39,111 @@ public class Card {
         this.htmlContent = htmlContent;
     }
 
+    /**
+     * @return The HTML of this card.
+     * @throws UncheckedIOException If the body file of this stored card could not be read and no copy of its HTML
+     *                              was saved with a round.
+     */
     public String getHTMLContent() {
-        return htmlContent;
+        if (htmlContent != null || !isStored())
+            return htmlContent;
+
+        try {
+            return BlocksStore.loadCardBody(getBlocksName(), getBody());
+        }
+        catch (UncheckedIOException e) {
+            if (htmlCopy == null)
+                throw e;
+
+            return htmlCopy;
+        }
+    }
+
+    /**
+     * @return The HTML of this card to save within a round, so that the round shows this card wherever it is
+     *         opened, or null if the body file of this stored card could not be read and no copy was saved.
+     */
+    String getHTMLCopy() {
+        if (htmlContent != null || !isStored())
+            return htmlContent;
+
+        if (htmlCopy == null) {
+            try {
+                htmlCopy = Utils.intern(BlocksStore.loadCardBody(getBlocksName(), getBody()));
+            }
+            catch (UncheckedIOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return htmlCopy;
+    }
+
+    void setHTMLCopy(String htmlCopy) {
+        this.htmlCopy = htmlCopy;
+    }
+
+    boolean hasHTMLCopy() {
+        return htmlCopy != null;
+    }
+
+    /**
+     * @return The paragraphs of styled runs of this card, see {@link CardRun}.
+     */
+    public List<List<CardRun>> getRuns() {
+        if (htmlContent != null || !isStored())
+            return CardHTMLNormalizer.toParagraphs(htmlContent);
+
+        try {
+            return BlocksStore.loadCardRuns(getBlocksName(), getBody());
+        }
+        catch (UncheckedIOException e) {
+            if (htmlCopy == null)
+                throw e;
+
+            return CardHTMLNormalizer.toParagraphs(htmlCopy);
+        }
     }
 
     public void setHTMLContent(String htmlCardContent) {
         this.htmlContent = htmlCardContent;
     }
 
+    /**
+     * @return Whether this card's HTML is held in memory rather than only in its body file.
+     */
+    public boolean hasResidentHTMLContent() {
+        return htmlContent != null;
+    }
+
+    public boolean isStored() {
+        return getBlocksName() != null && getBody() != null;
+    }
+
+    public boolean isStoredIn(String blocksName) {
+        return isStored() && getBlocksName().equals(blocksName);
+    }
+
+    /**
+     * Marks this card as stored in the given body file, releasing the HTML held in memory.
+     *
+     * @param blocksName The name of the blocks whose body files contain this card.
+     * @param body The number of this card's body file.
+     */
+    void setStoredBody(String blocksName, int body) {
+        this.blocksName = blocksName;
+        this.body = body;
+        this.htmlContent = null;
+    }
+
+    public String getBlocksName() {
+        return blocksName;
+    }
+
+    public Integer getBody() {
+        return body;
+    }
+
     public String getRepresentation() {
         return representation;
     }
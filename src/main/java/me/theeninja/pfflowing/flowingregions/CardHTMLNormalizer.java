@@ -0,0 +1,279 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reduces card HTML, as exported by Tika or Google Drive, to the paragraphs and formatting that debaters actually
+ * read: bold, underlined and highlighted text. Scripts, styles, images, fonts, colors and every attribute are
+ * dropped, formatting given through inline styles is turned into plain tags, and adjacent text sharing the same
+ * formatting is merged so that nested and redundant spans collapse into a single element.
+ *
+ * @author TheeNinja
+ */
+public final class CardHTMLNormalizer {
+    private static final Set<String> IGNORED_TAGS = Set.of(
+        "script", "style", "head", "title", "meta", "link", "img", "svg", "object", "embed", "iframe", "noscript", "template"
+    );
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+        "p", "div", "h1", "h2", "h3", "h4", "h5", "h6", "li", "ul", "ol", "dl", "dt", "dd", "blockquote", "pre",
+        "table", "tr", "section", "article", "header", "footer"
+    );
+
+    private static final Set<String> BOLD_TAGS = Set.of("b", "strong");
+    private static final Set<String> UNDERLINE_TAGS = Set.of("u", "ins");
+    private static final Set<String> HIGHLIGHT_TAGS = Set.of("mark");
+
+    private static final Set<String> UNHIGHLIGHTED_BACKGROUNDS = Set.of(
+        "transparent", "none", "initial", "inherit", "unset", "white", "#fff", "#ffffff", "rgb(255,255,255)", "rgba(0,0,0,0)"
+    );
+
+    private static final int MINIMUM_BOLD_WEIGHT = 600;
+
+    private static final String SPACE = " ";
+
+    private CardHTMLNormalizer() {}
+
+    private static class Formatting {
+        private static final Formatting NONE = new Formatting(false, false, false);
+
+        private final boolean bold;
+        private final boolean underlined;
+        private final boolean highlighted;
+
+        private Formatting(boolean bold, boolean underlined, boolean highlighted) {
+            this.bold = bold;
+            this.underlined = underlined;
+            this.highlighted = highlighted;
+        }
+
+        /**
+         * Applies the formatting of an element within text of this formatting. Font weight is inherited and can
+         * therefore be undone by a child, whereas an underline or a background drawn by a parent stays visible
+         * whatever the child declares, so those are only ever added.
+         */
+        private Formatting apply(String tag, String style) {
+            boolean bold = this.bold || BOLD_TAGS.contains(tag);
+            boolean underlined = this.underlined || UNDERLINE_TAGS.contains(tag);
+            boolean highlighted = this.highlighted || HIGHLIGHT_TAGS.contains(tag);
+
+            for (String declaration : style.split(";")) {
+                int separatorIndex = declaration.indexOf(':');
+
+                if (separatorIndex == -1)
+                    continue;
+
+                String property = declaration.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT);
+                String value = declaration.substring(separatorIndex + 1).trim().toLowerCase(Locale.ROOT);
+
+                switch (property) {
+                    case "font-weight":
+                        bold = isBoldWeight(value);
+                        break;
+                    case "text-decoration":
+                    case "text-decoration-line":
+                        underlined |= value.contains("underline");
+                        break;
+                    case "background":
+                    case "background-color":
+                        highlighted |= !UNHIGHLIGHTED_BACKGROUNDS.contains(value.replace(SPACE, ""));
+                        break;
+                }
+            }
+
+            return new Formatting(bold, underlined, highlighted);
+        }
+
+        private static boolean isBoldWeight(String value) {
+            if (value.equals("bold") || value.equals("bolder"))
+                return true;
+
+            try {
+                return Integer.parseInt(value) >= MINIMUM_BOLD_WEIGHT;
+            }
+            catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Formatting))
+                return false;
+
+            Formatting formatting = (Formatting) object;
+            return bold == formatting.bold && underlined == formatting.underlined && highlighted == formatting.highlighted;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bold, underlined, highlighted);
+        }
+
+        private boolean matches(CardRun run) {
+            return bold == run.isBold() && underlined == run.isUnderlined() && highlighted == run.isHighlighted();
+        }
+    }
+
+    /**
+     * Collects runs into paragraphs, collapsing whitespace the way a browser would and merging adjacent text of the
+     * same formatting.
+     */
+    private static class ParagraphBuilder {
+        private final List<List<CardRun>> paragraphs = new ArrayList<>();
+        private List<CardRun> runs = new ArrayList<>();
+
+        private final StringBuilder text = new StringBuilder();
+        private Formatting textFormatting;
+
+        private boolean endsWithSpace = true;
+
+        private void append(String appendedText, Formatting formatting) {
+            if (endsWithSpace && appendedText.startsWith(SPACE)) {
+                appendedText = appendedText.substring(SPACE.length());
+            }
+
+            if (appendedText.isEmpty())
+                return;
+
+            // Whitespace between two runs joins the preceding run rather than starting a run of its own
+            boolean isWhitespace = appendedText.trim().isEmpty();
+
+            if (textFormatting != null && !textFormatting.equals(formatting) && !isWhitespace) {
+                flushRun();
+            }
+
+            if (textFormatting == null || !isWhitespace) {
+                textFormatting = formatting;
+            }
+
+            text.append(appendedText);
+            endsWithSpace = appendedText.endsWith(SPACE);
+        }
+
+        private void lineBreak() {
+            flushRun();
+            trimTrailingSpace();
+
+            runs.add(new CardRun(CardRun.LINE_BREAK, false, false, false));
+            endsWithSpace = true;
+        }
+
+        private void endParagraph() {
+            flushRun();
+
+            while (!runs.isEmpty() && runs.get(runs.size() - 1).isLineBreak()) {
+                runs.remove(runs.size() - 1);
+            }
+
+            trimTrailingSpace();
+
+            if (!runs.isEmpty()) {
+                paragraphs.add(runs);
+                runs = new ArrayList<>();
+            }
+
+            endsWithSpace = true;
+        }
+
+        private void flushRun() {
+            if (text.length() == 0)
+                return;
+
+            CardRun lastRun = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+
+            // Text split by an element that carried no formatting of its own is merged back together
+            if (lastRun != null && !lastRun.isLineBreak() && textFormatting.matches(lastRun)) {
+                runs.set(runs.size() - 1, new CardRun(lastRun.getText() + text, lastRun.isBold(), lastRun.isUnderlined(), lastRun.isHighlighted()));
+            }
+            else {
+                runs.add(new CardRun(text.toString(), textFormatting.bold, textFormatting.underlined, textFormatting.highlighted));
+            }
+
+            text.setLength(0);
+            textFormatting = null;
+        }
+
+        private void trimTrailingSpace() {
+            if (runs.isEmpty())
+                return;
+
+            CardRun lastRun = runs.get(runs.size() - 1);
+
+            if (lastRun.isLineBreak() || !lastRun.getText().endsWith(SPACE))
+                return;
+
+            String trimmedText = lastRun.getText().substring(0, lastRun.getText().length() - SPACE.length());
+
+            if (trimmedText.isEmpty()) {
+                runs.remove(runs.size() - 1);
+            }
+            else {
+                runs.set(runs.size() - 1, new CardRun(trimmedText, lastRun.isBold(), lastRun.isUnderlined(), lastRun.isHighlighted()));
+            }
+        }
+
+        private List<List<CardRun>> finish() {
+            endParagraph();
+            return paragraphs;
+        }
+    }
+
+    /**
+     * @param html Card HTML, may be null.
+     * @return The paragraphs of the card, each a list of runs.
+     */
+    public static List<List<CardRun>> toParagraphs(String html) {
+        Document document = Jsoup.parseBodyFragment(html == null ? "" : html);
+
+        ParagraphBuilder paragraphBuilder = new ParagraphBuilder();
+        walk(document.body(), Formatting.NONE, paragraphBuilder);
+
+        return paragraphBuilder.finish();
+    }
+
+    private static void walk(Element element, Formatting parentFormatting, ParagraphBuilder paragraphBuilder) {
+        String tag = element.tagName().toLowerCase(Locale.ROOT);
+
+        if (IGNORED_TAGS.contains(tag))
+            return;
+
+        Formatting formatting = parentFormatting.apply(tag, element.attr("style"));
+        boolean isBlock = BLOCK_TAGS.contains(tag);
+
+        if (isBlock) {
+            paragraphBuilder.endParagraph();
+        }
+
+        for (Node child : element.childNodes()) {
+            if (child instanceof TextNode) {
+                // Whitespace is already collapsed to single spaces by jsoup
+                paragraphBuilder.append(((TextNode) child).text(), formatting);
+            }
+            else if (child instanceof Element) {
+                Element childElement = (Element) child;
+
+                if (childElement.tagName().equalsIgnoreCase("br")) {
+                    paragraphBuilder.lineBreak();
+                }
+                else {
+                    walk(childElement, formatting, paragraphBuilder);
+                }
+            }
+        }
+
+        if (isBlock) {
+            paragraphBuilder.endParagraph();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.common.collect.MapMaker;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares one instance of every stored card, see {@link Card#isStored()}, among the blocks and every round loaded
+ * within this session, so that a card attached to regions of many rounds, and listed within its blocks, is held in
+ * memory once. Cards whose HTML is still held in memory are not shared, since they may yet be stored within
+ * different blocks, but their representation and HTML are interned, see {@link Utils#intern(String)}.
+ *
+ * Cards are weakly held, so the cards of rounds and blocks that were closed are still collected.
+ *
+ * @author TheeNinja
+ */
+public final class CardRegistry {
+    private static final CardRegistry INSTANCE = new CardRegistry();
+
+    private static final char KEY_SEPARATOR = '\0';
+
+    private final ConcurrentMap<String, Card> storedCards = new MapMaker().weakValues().makeMap();
+
+    private CardRegistry() {}
+
+    public static CardRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param card A card that was just read, from a block file or a round.
+     * @return The card registered for the same body file under the same representation, or {@code card} itself
+     *         if there is none, in which case it is registered, or if it is not stored.
+     */
+    public Card register(Card card) {
+        card.setRepresentation(Utils.intern(card.getRepresentation()));
+
+        if (!card.isStored()) {
+            if (card.hasResidentHTMLContent()) {
+                card.setHTMLContent(Utils.intern(card.getHTMLContent()));
+            }
+
+            return card;
+        }
+
+        Card registeredCard = storedCards.putIfAbsent(getKey(card), card);
+
+        if (registeredCard == null)
+            return card;
+
+        // The registered card may have been read from its blocks, which carry no copy of its HTML
+        if (!registeredCard.hasHTMLCopy() && card.hasHTMLCopy()) {
+            registeredCard.setHTMLCopy(card.getHTMLCopy());
+        }
+
+        return registeredCard;
+    }
+
+    /**
+     * @return The key of a stored card. The representation is part of it so that a round that refers to a body
+     *         file since taken by another card, within blocks of the same name, keeps a card of its own.
+     */
+    private static String getKey(Card card) {
+        return card.getBlocksName() + KEY_SEPARATOR + card.getBody() + KEY_SEPARATOR + card.getRepresentation();
+    }
+}
@@ -0,0 +1,54 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.gson.annotations.JsonAdapter;
+
+/**
+ * A span of card text that shares one formatting. Only the formatting debaters read cards by is kept: bold,
+ * underlined and highlighted text.
+ *
+ * @author TheeNinja
+ */
+@JsonAdapter(CardRunTypeAdapter.class)
+public class CardRun {
+    public static final String TEXT_NAME = "text";
+    public static final String BOLD_NAME = "bold";
+    public static final String UNDERLINED_NAME = "underlined";
+    public static final String HIGHLIGHTED_NAME = "highlighted";
+
+    /**
+     * The text of a run that represents a line break within a paragraph.
+     */
+    public static final String LINE_BREAK = "\n";
+
+    private final String text;
+    private final boolean bold;
+    private final boolean underlined;
+    private final boolean highlighted;
+
+    public CardRun(String text, boolean bold, boolean underlined, boolean highlighted) {
+        this.text = text;
+        this.bold = bold;
+        this.underlined = underlined;
+        this.highlighted = highlighted;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isBold() {
+        return bold;
+    }
+
+    public boolean isUnderlined() {
+        return underlined;
+    }
+
+    public boolean isHighlighted() {
+        return highlighted;
+    }
+
+    public boolean isLineBreak() {
+        return LINE_BREAK.equals(getText());
+    }
+}
@@ -0,0 +1,88 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads a {@link CardRun} as it is saved within the runs file of a card. Only the formatting a run has
+ * is written, as most runs are neither bold, underlined nor highlighted, and a missing formatting is read as
+ * absent. Runs files written with every formatting are read all the same.
+ *
+ * @author TheeNinja
+ */
+public class CardRunTypeAdapter extends TypeAdapter<CardRun> {
+    @Override
+    public void write(JsonWriter out, CardRun cardRun) throws IOException {
+        if (cardRun == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+
+        out.name(CardRun.TEXT_NAME).value(cardRun.getText());
+
+        if (cardRun.isBold()) {
+            out.name(CardRun.BOLD_NAME).value(true);
+        }
+
+        if (cardRun.isUnderlined()) {
+            out.name(CardRun.UNDERLINED_NAME).value(true);
+        }
+
+        if (cardRun.isHighlighted()) {
+            out.name(CardRun.HIGHLIGHTED_NAME).value(true);
+        }
+
+        out.endObject();
+    }
+
+    @Override
+    public CardRun read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String text = null;
+        boolean bold = false;
+        boolean underlined = false;
+        boolean highlighted = false;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            String name = in.nextName();
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case CardRun.TEXT_NAME:
+                    text = in.nextString();
+                    break;
+                case CardRun.BOLD_NAME:
+                    bold = in.nextBoolean();
+                    break;
+                case CardRun.UNDERLINED_NAME:
+                    underlined = in.nextBoolean();
+                    break;
+                case CardRun.HIGHLIGHTED_NAME:
+                    highlighted = in.nextBoolean();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return new CardRun(text, bold, underlined, highlighted);
+    }
+}
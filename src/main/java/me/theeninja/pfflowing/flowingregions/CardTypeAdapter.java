@@ -0,0 +1,91 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads a {@link Card} as it is saved within rounds and journals. A stored card is written as the
+ * blocks and body file it refers to along with a copy of its HTML, so that a round is self-contained: it still
+ * shows its cards when sent to another machine or after the cards were removed from their blocks. A card read back
+ * keeps referring to its body file, and only falls back to the copy if the body file cannot be read.
+ *
+ * @author TheeNinja
+ */
+public class CardTypeAdapter extends TypeAdapter<Card> {
+    @Override
+    public void write(JsonWriter out, Card card) throws IOException {
+        if (card == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+
+        out.name(Card.REPRESENTATION_NAME).value(card.getRepresentation());
+        out.name(Card.HTML_CONTENT_NAME).value(card.getHTMLCopy());
+
+        if (card.isStored()) {
+            out.name(Card.BLOCKS_NAME).value(card.getBlocksName());
+            out.name(Card.BODY_NAME).value(card.getBody());
+        }
+
+        out.endObject();
+    }
+
+    @Override
+    public Card read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String representation = null;
+        String htmlContent = null;
+        String blocksName = null;
+        Integer body = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            String name = in.nextName();
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case Card.REPRESENTATION_NAME:
+                    representation = in.nextString();
+                    break;
+                case Card.HTML_CONTENT_NAME:
+                    htmlContent = in.nextString();
+                    break;
+                case Card.BLOCKS_NAME:
+                    blocksName = in.nextString();
+                    break;
+                case Card.BODY_NAME:
+                    body = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (blocksName == null || body == null)
+            return new Card(representation, htmlContent);
+
+        Card card = new Card(representation, null);
+        card.setStoredBody(blocksName, body);
+        card.setHTMLCopy(Utils.intern(htmlContent));
+
+        return card;
+    }
+}
@@ -14,6 +14,7 @@ import javafx.scene.layout.VBox;
 import me.theeninja.pfflowing.EFlow;
 import me.theeninja.pfflowing.SingleViewController;
 import me.theeninja.pfflowing.flowingregions.Blocks;
+import me.theeninja.pfflowing.flowingregions.BlocksStore;
 import me.theeninja.pfflowing.speech.Side;
 import me.theeninja.pfflowing.utils.Utils;
 import org.controlsfx.control.decoration.Decoration;
@@ -50,11 +51,10 @@ public class BlocksCreatorController implements SingleViewController<VBox>, Init
 
         try {
             Stream<Path> blocksPaths = Files.walk(blocksDirectory)
-                    .filter(path -> Utils.hasExtension(path.toString(), "json"));
+                    .filter(path -> Utils.hasExtension(path.toString(), BlocksStore.BLOCKS_EXTENSION));
 
             return blocksPaths
-                    .map(Utils::readAsString)
-                    .map(json -> EFlow.getInstance().getGSON().fromJson(json, Blocks.class))
+                    .map(BlocksStore::load)
                     .map(Blocks::getName)
                     .collect(Collectors.toList());
         } catch (IOException e) {
@@ -1,31 +1,78 @@
 package me.theeninja.pfflowing.gui;
 
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.TextField;
 import javafx.scene.control.TreeCell;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.VBox;
 import me.theeninja.pfflowing.FlowApp;
 import me.theeninja.pfflowing.SingleViewController;
 import me.theeninja.pfflowing.flowingregions.Blocks;
+import me.theeninja.pfflowing.flowingregions.BlocksStore;
 import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.search.CardIndex;
+import me.theeninja.pfflowing.search.CardSearchResult;
 import me.theeninja.pfflowing.utils.Utils;
 
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-public class CardSelectorController implements Initializable, SingleViewController<TreeView<Card>> {
+public class CardSelectorController implements Initializable, SingleViewController<VBox> {
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
     private final FlowApp flowApp;
 
+    /**
+     * Every blocks that a card has been shown from, keyed by name. This includes the blocks that were only
+     * loaded to show a search result and were never added to the tree.
+     */
+    private final Map<String, Blocks> knownBlocks = new HashMap<>();
+
+    /**
+     * Names of the blocks that search results refer to but whose block file was missing or unreadable, so that
+     * they are not read again on every keystroke. Forgotten once blocks of that name are added.
+     */
+    private final Set<String> unavailableBlocks = new HashSet<>();
+
+    /**
+     * Names of the blocks being loaded in the background to show search results from.
+     */
+    private final Set<String> loadingBlocks = new HashSet<>();
+
+    /**
+     * Cards that can be dragged onto a flow, keyed by representation, so that a dropped card is found without
+     * walking the tree. Cards are unregistered once removed from their blocks; a card renamed since it was
+     * registered is dropped the next time its former representation is looked up.
+     */
+    private final Map<String, Card> cardsByRepresentation = new HashMap<>();
+
+    private final TreeItem<Card> searchRoot = new TreeItem<>();
+
     CardSelectorController(FlowApp flowApp) {
         this.flowApp = flowApp;
     }
 
     public void addBlocks(Blocks blocks) {
         String blocksName = blocks.getName();
+        knownBlocks.put(blocksName, blocks);
+        unavailableBlocks.remove(blocksName);
+        blocks.getCards().forEach(this::registerCard);
+
         Card blockHeader = new Card(blocksName, null);
 
         TreeItem<Card> dummyBlockHeader = new TreeItem<>(blockHeader);
@@ -34,9 +81,9 @@ public class CardSelectorController implements Initializable, SingleViewControll
         setTreeItemChildren(dummyBlockHeader, blocks.getCards());
 
         // If blocks is edited, reset the header children to the cards
-        blocks.getCards().addListener(Utils.generateListChangeListener(
-            () -> setTreeItemChildren(dummyBlockHeader, blocks.getCards())
-        ));
+        blocks.getCards().addListener(Utils.generateListChangeListener(() ->
+                setTreeItemChildren(dummyBlockHeader, blocks.getCards())));
+        blocks.getCards().addListener(Utils.generateListChangeListener(this::registerCard, this::unregisterCard));
 
         root.getChildren().add(dummyBlockHeader);
     }
@@ -46,6 +93,21 @@ public class CardSelectorController implements Initializable, SingleViewControll
         dummyBlockHeader.getChildren().setAll(treeItems);
     }
 
+    private void registerCard(Card card) {
+        cardsByRepresentation.putIfAbsent(card.getRepresentation(), card);
+    }
+
+    private void unregisterCard(Card card) {
+        // Looked up by value, since the card may have been renamed since it was registered
+        cardsByRepresentation.values().remove(card);
+    }
+
+    @FXML
+    public VBox cardSelector;
+
+    @FXML
+    public TextField cardSearchField;
+
     @FXML
     public TreeView<Card> cardSelectorTreeView;
 
@@ -53,8 +115,8 @@ public class CardSelectorController implements Initializable, SingleViewControll
     public TreeItem<Card> root;
 
     @Override
-    public TreeView<Card> getCorrelatingView() {
-        return cardSelectorTreeView;
+    public VBox getCorrelatingView() {
+        return cardSelector;
     }
 
     @Override
@@ -62,7 +124,135 @@ public class CardSelectorController implements Initializable, SingleViewControll
         cardSelectorTreeView.setShowRoot(false);
         cardSelectorTreeView.setCellFactory(this::newCardTreeCell);
         root.setExpanded(true);
-        getCorrelatingView().setFocusTraversable(false);
+        searchRoot.setExpanded(true);
+        cardSelectorTreeView.setFocusTraversable(false);
+
+        cardSearchField.textProperty().addListener(this::onSearchTextChanged);
+    }
+
+    private void onSearchTextChanged(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+        showSearchResults(newValue);
+    }
+
+    /**
+     * Replaces the tree with the cards matching {@code query}, best match first, or restores the tree once the
+     * query is cleared. Cards of blocks that are not loaded yet are shown once their blocks have been loaded in
+     * the background.
+     */
+    private void showSearchResults(String query) {
+        if (query.trim().isEmpty()) {
+            cardSelectorTreeView.setRoot(root);
+            return;
+        }
+
+        List<CardSearchResult> searchResults = CardIndex.getInstance().search(query, SEARCH_RESULT_LIMIT);
+
+        List<TreeItem<Card>> resultItems = searchResults.stream()
+                .map(this::resolveSearchResult)
+                .filter(Objects::nonNull)
+                .map(TreeItem::new)
+                .collect(Collectors.toList());
+
+        searchRoot.getChildren().setAll(resultItems);
+        cardSelectorTreeView.setRoot(searchRoot);
+
+        Set<String> unloadedBlocks = searchResults.stream()
+                .map(CardSearchResult::getBlocksName)
+                .filter(blocksName -> !knownBlocks.containsKey(blocksName))
+                .filter(blocksName -> !unavailableBlocks.contains(blocksName) && !loadingBlocks.contains(blocksName))
+                .collect(Collectors.toSet());
+
+        if (!unloadedBlocks.isEmpty()) {
+            loadBlocksInBackground(unloadedBlocks);
+        }
+    }
+
+    /**
+     * Loads the blocks named {@code blocksNames} off the JavaFX application thread, then shows the search results
+     * again with their cards.
+     */
+    private void loadBlocksInBackground(Set<String> blocksNames) {
+        loadingBlocks.addAll(blocksNames);
+
+        Task<Map<String, Blocks>> loadTask = new Task<>() {
+            @Override
+            protected Map<String, Blocks> call() {
+                Map<String, Blocks> loadedBlocks = new HashMap<>();
+
+                for (String blocksName : blocksNames) {
+                    loadedBlocks.put(blocksName, loadBlocks(blocksName));
+                }
+
+                return loadedBlocks;
+            }
+        };
+
+        loadTask.setOnSucceeded(workerStateEvent -> {
+            loadTask.getValue().forEach((blocksName, blocks) -> {
+                if (blocks == null) {
+                    unavailableBlocks.add(blocksName);
+                }
+                else {
+                    knownBlocks.putIfAbsent(blocksName, blocks);
+                }
+            });
+
+            loadingBlocks.removeAll(blocksNames);
+
+            showSearchResults(cardSearchField.getText());
+        });
+
+        loadTask.setOnFailed(workerStateEvent -> {
+            loadingBlocks.removeAll(blocksNames);
+            loadTask.getException().printStackTrace();
+        });
+
+        Thread loadThread = new Thread(loadTask);
+
+        // Loading terminates once EFlow application window is closed
+        loadThread.setDaemon(true);
+
+        loadThread.start();
+    }
+
+    /**
+     * @return The card {@code searchResult} refers to, or {@code null} if its blocks are not loaded.
+     */
+    private Card resolveSearchResult(CardSearchResult searchResult) {
+        Blocks blocks = knownBlocks.get(searchResult.getBlocksName());
+
+        if (blocks == null)
+            return null;
+
+        for (Card card : blocks.getCards()) {
+            if (Objects.equals(card.getRepresentation(), searchResult.getRepresentation())) {
+                registerCard(card);
+                return card;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Only called in the background.
+     *
+     * @return The blocks named {@code blocksName}, or {@code null} if their block file is missing or unreadable.
+     */
+    private static Blocks loadBlocks(String blocksName) {
+        Path blocksPath = BlocksStore.getBlocksPath(blocksName);
+
+        // The index may briefly refer to a block file that has just been removed
+        if (!Files.exists(blocksPath))
+            return null;
+
+        try {
+            return BlocksStore.load(blocksPath);
+        }
+        catch (UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
     }
 
     public FlowApp getFlowApp() {
@@ -79,9 +269,21 @@ public class CardSelectorController implements Initializable, SingleViewControll
     }
 
     public Card getCard(String cardName) {
-        for (Card card : getCards()) {
-            if (card.getRepresentation().equals(cardName))
-                return card;
+        Card card = cardsByRepresentation.get(cardName);
+
+        if (card != null && Objects.equals(card.getRepresentation(), cardName))
+            return card;
+
+        cardsByRepresentation.remove(cardName);
+
+        // Either the registered card was renamed or removed, or the card was renamed to this name
+        for (Blocks blocks : knownBlocks.values()) {
+            for (Card knownCard : blocks.getCards()) {
+                if (Objects.equals(knownCard.getRepresentation(), cardName)) {
+                    registerCard(knownCard);
+                    return knownCard;
+                }
+            }
         }
 
         return null;
@@ -0,0 +1,144 @@
+package me.theeninja.pfflowing.gui;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.geometry.Insets;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Path;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowingregions.CardRun;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Displays the paragraphs of styled runs of a card as a {@link TextFlow}. This is far lighter than a web view, but
+ * only shows bold, underlined and highlighted text. Highlights are drawn behind the text flow, since a {@link Text}
+ * has no background of its own.
+ *
+ * @author TheeNinja
+ */
+public class CardTextView extends Region {
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+    private static final Color HIGHLIGHT_COLOR = Color.YELLOW;
+    private static final double PREFERRED_WIDTH = 600;
+
+    private final TextFlow textFlow = new TextFlow();
+    private final Path highlights = new Path();
+
+    /**
+     * Represents the start and end character offsets, within the text flow, of every highlighted run.
+     */
+    private final List<int[]> highlightedRanges = new ArrayList<>();
+
+    private double zoom = 1;
+
+    private final InvalidationListener fontScaleListener = observable -> updateFonts();
+
+    public CardTextView() {
+        highlights.setManaged(false);
+        highlights.setFill(HIGHLIGHT_COLOR);
+        highlights.setStroke(null);
+
+        getChildren().addAll(highlights, textFlow);
+
+        // Weak, so that the configuration does not keep every card text view ever created reachable
+        EFlow.getInstance().getConfiguration().getFontScale().valueProperty().addListener(new WeakInvalidationListener(fontScaleListener));
+    }
+
+    public void setParagraphs(List<List<CardRun>> paragraphs) {
+        List<Text> texts = new ArrayList<>();
+        highlightedRanges.clear();
+
+        int offset = 0;
+
+        for (List<CardRun> paragraph : paragraphs) {
+            if (!texts.isEmpty()) {
+                texts.add(new Text(PARAGRAPH_SEPARATOR));
+                offset += PARAGRAPH_SEPARATOR.length();
+            }
+
+            for (CardRun run : paragraph) {
+                Text text = new Text(run.getText());
+                text.setUnderline(run.isUnderlined());
+
+                // Read back when fonts are updated, see updateFonts
+                text.setUserData(run.isBold());
+
+                if (run.isHighlighted()) {
+                    highlightedRanges.add(new int[] {offset, offset + run.getText().length()});
+                }
+
+                offset += run.getText().length();
+                texts.add(text);
+            }
+        }
+
+        textFlow.getChildren().setAll(texts);
+        updateFonts();
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(double zoom) {
+        this.zoom = zoom;
+        updateFonts();
+    }
+
+    private void updateFonts() {
+        Font defaultFont = Font.getDefault();
+        double size = defaultFont.getSize() * EFlow.getInstance().getConfiguration().getFontScale().getValue() * getZoom();
+
+        Font regularFont = Font.font(defaultFont.getFamily(), FontWeight.NORMAL, size);
+        Font boldFont = Font.font(defaultFont.getFamily(), FontWeight.BOLD, size);
+
+        textFlow.getChildren().forEach(node -> {
+            Text text = (Text) node;
+            text.setFont(Boolean.TRUE.equals(text.getUserData()) ? boldFont : regularFont);
+        });
+
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        Insets insets = getInsets();
+        double contentWidth = getWidth() - insets.getLeft() - insets.getRight();
+
+        textFlow.resizeRelocate(insets.getLeft(), insets.getTop(), contentWidth, textFlow.prefHeight(contentWidth));
+
+        // The text must be laid out before the shapes of the highlighted ranges can be asked for
+        textFlow.layout();
+
+        highlights.getElements().clear();
+
+        for (int[] highlightedRange : highlightedRanges) {
+            highlights.getElements().addAll(Arrays.asList(textFlow.rangeShape(highlightedRange[0], highlightedRange[1])));
+        }
+
+        highlights.setLayoutX(textFlow.getLayoutX());
+        highlights.setLayoutY(textFlow.getLayoutY());
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        Insets insets = getInsets();
+        return insets.getLeft() + PREFERRED_WIDTH + insets.getRight();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        Insets insets = getInsets();
+        double contentWidth = width < 0 ? PREFERRED_WIDTH : width - insets.getLeft() - insets.getRight();
+
+        return insets.getTop() + textFlow.prefHeight(contentWidth) + insets.getBottom();
+    }
+}
@@ -0,0 +1,65 @@
+package me.theeninja.pfflowing.gui;
+
+import javafx.scene.web.WebView;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Small pool of web views shared by every {@link CardsDetailerController}. A web view holds an entire WebKit page,
+ * so rather than every card (or every flowing region) owning one, a detailer borrows a web view while its cards are
+ * displayed and swaps card HTML into it. Only used from the JavaFX application thread.
+ *
+ * @author TheeNinja
+ */
+public final class CardWebViewPool {
+    private static final CardWebViewPool INSTANCE = new CardWebViewPool();
+
+    /**
+     * Represents the maximum number of idle web views that are kept. Detailers are rarely displayed at the same
+     * time, so any web view released beyond this is left to be garbage collected.
+     */
+    private static final int IDLE_CAPACITY = 2;
+
+    private static final double CARD_WEB_VIEW_HEIGHT = 400;
+
+    private final Deque<WebView> idleWebViews = new ArrayDeque<>();
+
+    private CardWebViewPool() {}
+
+    public static CardWebViewPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return An idle web view, or a new one if none are idle.
+     */
+    public WebView acquire() {
+        WebView webView = idleWebViews.poll();
+        return webView != null ? webView : newWebView();
+    }
+
+    /**
+     * Returns a web view to the pool, unloading its content so that the previous card's page is freed.
+     *
+     * @param webView The web view, which must no longer be attached to a scene graph.
+     */
+    public void release(WebView webView) {
+        webView.getEngine().loadContent(Utils.ZERO_LENGTH_STRING);
+        webView.setZoom(1);
+
+        if (idleWebViews.size() < IDLE_CAPACITY) {
+            idleWebViews.push(webView);
+        }
+    }
+
+    private static WebView newWebView() {
+        WebView webView = new WebView();
+        webView.fontScaleProperty().bind(EFlow.getInstance().getConfiguration().getFontScale().valueProperty());
+        webView.setPrefHeight(CARD_WEB_VIEW_HEIGHT);
+
+        return webView;
+    }
+}
@@ -2,23 +2,30 @@ package me.theeninja.pfflowing.gui;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Worker;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.scene.web.WebView;
-import me.theeninja.pfflowing.EFlow;
 import me.theeninja.pfflowing.SingleViewController;
 import me.theeninja.pfflowing.flowing.FlowingRegion;
 import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.flowingregions.CardHTMLNormalizer;
+import me.theeninja.pfflowing.flowingregions.CardRun;
 import me.theeninja.pfflowing.utils.Utils;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Tag;
 
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.util.*;
 
@@ -57,17 +64,32 @@ public class CardsDetailerController implements Initializable, Detailer, SingleV
     }
 
     private void zoomChange(double factor) {
-        WebView currentWebView = cardWebViews.get(getCurrentCard());
-        double currentZoom = currentWebView.getZoom();
-        double newZoom = currentZoom * factor;
-        currentWebView.setZoom(newZoom);
+        if (isShowingOriginal()) {
+            webView.setZoom(webView.getZoom() * factor);
+        }
+        else {
+            cardTextView.setZoom(cardTextView.getZoom() * factor);
+        }
+    }
+
+    /**
+     * How a card was last displayed, restored when the card is displayed again, whether in the text view or in a
+     * (possibly different) pooled web view.
+     */
+    private static class CardViewState {
+        private double zoom = 1;
+        private double textScroll;
+        private double scrollX;
+        private double scrollY;
     }
 
     private void onCurrentCardChanged(ObservableValue<? extends Card> observable, Card oldValue, Card newValue) {
-        WebView webView = cardWebViews.get(newValue);
+        if (oldValue != null) {
+            saveViewState(oldValue);
+        }
 
         if (newValue != null) {
-            webViewContainer.getChildren().setAll(Collections.singleton(webView));
+            showCard(newValue);
 
             int newIndex = getFlowingRegion().getAssociatedCards().indexOf(newValue);
 
@@ -83,9 +105,150 @@ public class CardsDetailerController implements Initializable, Detailer, SingleV
         }
         else {
             webViewContainer.getChildren().clear();
+            releaseWebView();
+        }
+    }
+
+    /**
+     * @return The HTML of {@code card}, or a message saying why its body file could not be read.
+     */
+    private static String getHTMLContent(Card card) {
+        try {
+            return card.getHTMLContent();
+        }
+        catch (UncheckedIOException e) {
+            e.printStackTrace();
+            return getUnreadableMessage(e);
+        }
+    }
+
+    /**
+     * @return The paragraphs of {@code card}, or a message saying why its body file could not be read.
+     */
+    private static List<List<CardRun>> getRuns(Card card) {
+        try {
+            return card.getRuns();
+        }
+        catch (UncheckedIOException e) {
+            e.printStackTrace();
+            return CardHTMLNormalizer.toParagraphs(getUnreadableMessage(e));
+        }
+    }
+
+    private static String getUnreadableMessage(UncheckedIOException e) {
+        return new Element(Tag.valueOf("p"), "").text("This card could not be read: " + e.getCause()).outerHtml();
+    }
+
+    /**
+     * Shows {@code card} in the text view, or in a pooled web view if the original HTML was asked for. Either way
+     * the card is only read from its files once it is actually displayed.
+     */
+    private void showCard(Card card) {
+        CardViewState viewState = getViewState(card);
+
+        if (showingOriginal) {
+            acquireWebView();
+
+            webView.setZoom(viewState.zoom);
+            webView.getEngine().loadContent(getHTMLContent(card));
+
+            webViewContainer.getChildren().setAll(Collections.singleton(webView));
+        }
+        else {
+            releaseWebView();
+
+            cardTextView.setParagraphs(getRuns(card));
+            cardTextView.setZoom(viewState.zoom);
+
+            webViewContainer.getChildren().setAll(Collections.singleton(cardTextScrollPane));
+
+            cardTextScrollPane.layout();
+            cardTextScrollPane.setVvalue(viewState.textScroll);
+        }
+    }
+
+    /**
+     * Switches between the text view and the original HTML of the current card.
+     */
+    @FXML
+    public void toggleOriginal() {
+        if (getCurrentCard() != null) {
+            saveViewState(getCurrentCard());
+        }
+
+        showingOriginal = !showingOriginal;
+        originalToggle.setText(showingOriginal ? TEXT_TOGGLE_TEXT : ORIGINAL_TOGGLE_TEXT);
+
+        if (getCurrentCard() != null) {
+            showCard(getCurrentCard());
+        }
+    }
+
+    private boolean isShowingOriginal() {
+        return showingOriginal && webView != null;
+    }
+
+    private void acquireWebView() {
+        if (webView != null)
+            return;
+
+        webView = CardWebViewPool.getInstance().acquire();
+        webView.getEngine().getLoadWorker().stateProperty().addListener(cardLoadListener);
+    }
+
+    private void releaseWebView() {
+        if (webView == null)
+            return;
+
+        // The pool hands it to another detailer, whose container it is added to
+        webViewContainer.getChildren().remove(webView);
+
+        webView.getEngine().getLoadWorker().stateProperty().removeListener(cardLoadListener);
+        CardWebViewPool.getInstance().release(webView);
+        webView = null;
+    }
+
+    /**
+     * Hands back the web view borrowed to show the current card once the detailer is no longer displayed, such as
+     * when its region is removed from the flow grid or its window is closed. Cards are shown again once the
+     * current card is set again.
+     */
+    public void dispose() {
+        setCurrentCard(null);
+        releaseWebView();
+    }
+
+    private void onCardLoadStateChanged(ObservableValue<? extends Worker.State> observable, Worker.State oldValue, Worker.State newValue) {
+        if (newValue != Worker.State.SUCCEEDED || getCurrentCard() == null)
+            return;
+
+        CardViewState viewState = getViewState(getCurrentCard());
+        webView.getEngine().executeScript("window.scrollTo(" + viewState.scrollX + ", " + viewState.scrollY + ")");
+    }
+
+    private void saveViewState(Card card) {
+        CardViewState viewState = getViewState(card);
+
+        if (isShowingOriginal()) {
+            viewState.zoom = webView.getZoom();
+            viewState.scrollX = getScroll("window.scrollX");
+            viewState.scrollY = getScroll("window.scrollY");
+        }
+        else {
+            viewState.zoom = cardTextView.getZoom();
+            viewState.textScroll = cardTextScrollPane.getVvalue();
         }
     }
 
+    private double getScroll(String script) {
+        Object scroll = webView.getEngine().executeScript(script);
+        return scroll instanceof Number ? ((Number) scroll).doubleValue() : 0;
+    }
+
+    private CardViewState getViewState(Card card) {
+        return cardViewStates.computeIfAbsent(card, key -> new CardViewState());
+    }
+
     @FXML
     public VBox webViewContainer;
 
@@ -95,7 +258,30 @@ public class CardsDetailerController implements Initializable, Detailer, SingleV
     @FXML
     public Button next;
 
-    private Map<Card, WebView> cardWebViews = new HashMap<>();
+    @FXML
+    public Button originalToggle;
+
+    private static final String ORIGINAL_TOGGLE_TEXT = "Original";
+    private static final String TEXT_TOGGLE_TEXT = "Text";
+
+    private static final double CARD_TEXT_HEIGHT = 400;
+
+    private final CardTextView cardTextView = new CardTextView();
+    private final ScrollPane cardTextScrollPane = new ScrollPane(cardTextView);
+
+    /**
+     * Represents whether cards are shown with their original HTML in a web view rather than in the text view.
+     */
+    private boolean showingOriginal;
+
+    private Map<Card, CardViewState> cardViewStates = new HashMap<>();
+
+    /**
+     * Represents the pooled web view borrowed while a card's original HTML is displayed, or null while none is.
+     */
+    private WebView webView;
+
+    private final ChangeListener<Worker.State> cardLoadListener = this::onCardLoadStateChanged;
     private ObjectProperty<Card> currentCard = new SimpleObjectProperty<>();
 
     @FXML
@@ -137,10 +323,14 @@ public class CardsDetailerController implements Initializable, Detailer, SingleV
     public void initialize(URL location, ResourceBundle resources) {
         root.addEventHandler(KeyEvent.KEY_PRESSED, this::onKeyPressed);
 
+        cardTextScrollPane.setFitToWidth(true);
+        cardTextScrollPane.setPrefHeight(CARD_TEXT_HEIGHT);
+
         currentCardProperty().addListener(this::onCurrentCardChanged);
 
+        // Cards have no state until they are first displayed, see onCurrentCardChanged
         getFlowingRegion().getAssociatedCards().addListener(Utils.generateListChangeListener(
-            this::onAssociatedCardAdd,
+            card -> {},
             this::onAssociatedCardRemove
         ));
     }
@@ -152,19 +342,8 @@ public class CardsDetailerController implements Initializable, Detailer, SingleV
         return flowingRegion;
     }
 
-    private void onAssociatedCardAdd(Card card) {
-
-        WebView webView = new WebView();
-        webView.fontScaleProperty().bind(EFlow.getInstance().getConfiguration().getFontScale().valueProperty());
-        webView.setPrefHeight(400);
-
-        webView.getEngine().loadContent(card.getHTMLContent());
-
-        cardWebViews.put(card, webView);
-    }
-
     private void onAssociatedCardRemove(Card card) {
-        cardWebViews.remove(card);
+        cardViewStates.remove(card);
     }
 
     public Card getCurrentCard() {
@@ -1,5 +1,6 @@
 package me.theeninja.pfflowing.gui;
 
+import com.google.gson.JsonObject;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.collections.ListChangeListener;
@@ -22,11 +23,17 @@ import me.theeninja.pfflowing.actions.Action;
 import me.theeninja.pfflowing.FlowApp;
 import me.theeninja.pfflowing.EFlow;
 import me.theeninja.pfflowing.SingleViewController;
+import me.theeninja.pfflowing.StartupProfiler;
 import me.theeninja.pfflowing.actions.ModifyCard;
 import me.theeninja.pfflowing.bluetooth.EFlowConnector;
 import me.theeninja.pfflowing.configuration.Configurable;
 import me.theeninja.pfflowing.flowing.FlowingRegion;
 import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.journal.AutosaveScheduler;
+import me.theeninja.pfflowing.journal.JournalManager;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.printing.FlowPDFExporter;
+import me.theeninja.pfflowing.printing.FlowSheet;
 import me.theeninja.pfflowing.printing.RoundPrinter;
 import me.theeninja.pfflowing.speech.Side;
 import me.theeninja.pfflowing.tournament.Round;
@@ -36,6 +43,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -55,6 +63,10 @@ public class FlowController implements Initializable, SingleViewController<Flowi
 
 
     public void attemptBluetoothShare() {
+        // Bluetooth is either unavailable or still starting, see startBluetooth
+        if (getEFlowConnector() == null)
+            return;
+
         Task<Void> connectTask = new Task<>() {
             @Override
                 protected Void call() {
@@ -90,15 +102,37 @@ public class FlowController implements Initializable, SingleViewController<Flowi
 
     public FlowController(FlowApp flowApp) {
         this.flowApp = flowApp;
+    }
 
-        try {
-            String partnerBluetoothAddress = EFlow.getInstance().getConfiguration().getPartnerBluetoothAddress().getValue();
+    /**
+     * Opens the Bluetooth session notifier and starts listening for shared rounds in the background, since opening
+     * the Bluetooth stack can take long and is not needed to start flowing.
+     */
+    public void startBluetooth() {
+        String partnerBluetoothAddress = EFlow.getInstance().getConfiguration().getPartnerBluetoothAddress().getValue();
+
+        Task<EFlowConnector> bluetoothTask = new Task<>() {
+            @Override
+            protected EFlowConnector call() throws IOException {
+                return new EFlowConnector(partnerBluetoothAddress, FlowController.this);
+            }
+        };
 
-            this.eFlowConnector = new EFlowConnector(partnerBluetoothAddress, this);
+        bluetoothTask.setOnSucceeded(workerStateEvent -> {
+            this.eFlowConnector = bluetoothTask.getValue();
             getEFlowConnector().getFlowReceiver().listen();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+
+            StartupProfiler.phase("Bluetooth ready");
+        });
+
+        bluetoothTask.setOnFailed(workerStateEvent -> bluetoothTask.getException().printStackTrace());
+
+        Thread bluetoothThread = new Thread(bluetoothTask);
+
+        // Bluetooth start up terminates once EFlow application window is closed
+        bluetoothThread.setDaemon(true);
+
+        bluetoothThread.start();
     }
 
     private void onRegionRemovalRemoveDragSupport(Node node) {
@@ -199,6 +233,9 @@ public class FlowController implements Initializable, SingleViewController<Flowi
         Round round = roundTab.getRound();
 
         round.applyPerSide(this::associateFlowDisplayController);
+
+        AutosaveScheduler.getInstance().attach(round);
+        JournalManager.getInstance().open(round);
     }
 
     private void associateFlowDisplayController(FlowDisplayController flowDisplayController) {
@@ -216,6 +253,9 @@ public class FlowController implements Initializable, SingleViewController<Flowi
         Round round = roundTab.getRound();
 
         round.applyPerSide(this::disassociateFlowDisplayController);
+
+        AutosaveScheduler.getInstance().detach(round);
+        JournalManager.getInstance().discard(round);
     }
 
     private <T> void setUpController(T controllerInstance, String fileName, Consumer<T> setter) {
@@ -237,15 +277,8 @@ public class FlowController implements Initializable, SingleViewController<Flowi
     private static final int PIXELS_TO_REMOVE_DROPDOWN = 30;
 
     public void promptRoundAddition() {
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/gui/prompter/new_prompt.fxml"));
         RoundPrompterController roundPrompterController = new RoundPrompterController(this);
-        fxmlLoader.setController(roundPrompterController);
-
-        try {
-            fxmlLoader.load();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        ViewFactory.buildRoundPrompt(roundPrompterController);
 
         Scene scene = new Scene(roundPrompterController.getCorrelatingView());
         Stage stage = new Stage();
@@ -278,7 +311,7 @@ public class FlowController implements Initializable, SingleViewController<Flowi
         flowingRegion.removeEventHandler(DragEvent.DRAG_DROPPED, this::onDragDroppedOnRegion);
     }
 
-    private static final String FILE_EXTENSION = "eflow";
+    public static final String FILE_EXTENSION = "eflow";
     private static final String SAVE_TITLE = "Save an EFlow";
 
     private File getEFlowTypeFile(File file) {
@@ -290,6 +323,81 @@ public class FlowController implements Initializable, SingleViewController<Flowi
         }
     }
 
+    private static final String EXPORT_TITLE = "Export an EFlow as PDF";
+    private static final String EXPORT_JSON_TITLE = "Export an EFlow as JSON";
+    private static final String PDF_EXTENSION = "pdf";
+
+    /**
+     * Exports both sides of the selected round to a PDF chosen by the user. The round is copied on the JavaFX
+     * application thread, and the PDF is written in the background from that copy.
+     */
+    public void exportSelectedRound() {
+        Round selectedRound = getSelectedRound();
+
+        if (selectedRound == null)
+            return;
+
+        FileChooser exportChooser = new FileChooser();
+        exportChooser.setTitle(EXPORT_TITLE);
+        exportChooser.setInitialFileName(Utils.addExtension(selectedRound.getRoundName(), PDF_EXTENSION));
+        exportChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF files (*.pdf)", "*.pdf"));
+
+        File file = exportChooser.showSaveDialog(getFlowApp().getStage());
+
+        if (file == null)
+            return;
+
+        Path exportPath = Utils.hasExtension(file.getName(), PDF_EXTENSION) ?
+                file.toPath() :
+                file.toPath().resolveSibling(Utils.addExtension(file.getName(), PDF_EXTENSION));
+
+        List<FlowSheet> flowSheets = FlowSheet.of(selectedRound);
+
+        Task<Void> exportTask = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                FlowPDFExporter.export(flowSheets, exportPath);
+                return null;
+            }
+        };
+
+        exportTask.setOnFailed(workerStateEvent -> exportTask.getException().printStackTrace());
+
+        Thread exportThread = new Thread(exportTask);
+
+        // Exporting terminates once EFlow application window is closed
+        exportThread.setDaemon(true);
+
+        exportThread.start();
+    }
+
+    /**
+     * Writes the selected round as JSON, the format EFlow saved rounds in before the binary format, which any version
+     * of EFlow opens.
+     */
+    public void exportSelectedRoundAsJson() throws IOException {
+        Round selectedRound = getSelectedRound();
+
+        if (selectedRound == null)
+            return;
+
+        FileChooser exportChooser = new FileChooser();
+        exportChooser.setTitle(EXPORT_JSON_TITLE);
+        exportChooser.setInitialFileName(Utils.addExtension(selectedRound.getRoundName(), FILE_EXTENSION));
+
+        File file = exportChooser.showSaveDialog(getFlowApp().getStage());
+
+        if (file == null)
+            return;
+
+        JsonObject roundObject = EFlow.getInstance().getGSON().toJsonTree(selectedRound, Round.class).getAsJsonObject();
+
+        // Only refers to segments autosaved next to the round itself
+        roundObject.remove(Round.GENERATION);
+
+        Files.write(getEFlowTypeFile(file).toPath(), EFlow.getInstance().getGSON().toJson(roundObject).getBytes(StandardCharsets.UTF_8));
+    }
+
     public void saveSelectedRound() throws IOException {
         Round selectedRound = getSelectedRound();
 
@@ -311,8 +419,7 @@ public class FlowController implements Initializable, SingleViewController<Flowi
             selectedRound.setPath(returnedPath);
         }
 
-        String json = EFlow.getInstance().getGSON().toJson(selectedRound, Round.class);
-        Files.write(selectedRound.getPath(), json.getBytes());
+        AutosaveScheduler.getInstance().save(selectedRound);
     }
 
     private static final String OPEN_ROUND_TITLE = "Open an EFlow Round";
@@ -330,9 +437,19 @@ public class FlowController implements Initializable, SingleViewController<Flowi
         }
 
         File eflowFile = getEFlowTypeFile(file);
-        Path path = eflowFile.toPath();
 
-        Round existingOpenedRound = getRoundByPath(path);
+        Round round = openRound(eflowFile.toPath());
+
+        round.setDisplayedSide(round.getSide());
+    }
+
+    /**
+     * Opens the round saved at {@code roundPath}, or selects it if it is already open.
+     *
+     * @return The round opened from {@code roundPath}.
+     */
+    public Round openRound(Path roundPath) throws IOException {
+        Round existingOpenedRound = getRoundByPath(roundPath);
 
         // Indicates that this round is already opened
         if (existingOpenedRound != null) {
@@ -340,19 +457,29 @@ public class FlowController implements Initializable, SingleViewController<Flowi
             RoundTab roundTab = getTab(existingOpenedRound);
             roundsBar.getSelectionModel().select(roundTab);
 
-            return;
+            return existingOpenedRound;
         }
 
-        byte[] jsonBytes = Files.readAllBytes(path);
-        String json = new String(jsonBytes);
+        return loadRound(roundPath);
+    }
 
-        Round round = EFlow.getInstance().getGSON().fromJson(json, Round.class);
-        round.setPath(path);
+    /**
+     * Reads the round saved at {@code roundPath}, along with the changes autosaved since, and adds it to the rounds
+     * bar.
+     */
+    private Round loadRound(Path roundPath) throws IOException {
+        Round round = RoundFile.load(roundPath, EFlow.getInstance().getGSON());
+        round.setPath(roundPath);
 
         RoundTab roundTab = new RoundTab(round);
         roundsBar.getTabs().add(roundTab);
 
-        round.setDisplayedSide(round.getSide());
+        // Left behind as EFlow last exited without compacting them, so the round is compacted now
+        if (Files.exists(RoundFile.getSegmentsPath(roundPath))) {
+            AutosaveScheduler.getInstance().saveInBackground(round);
+        }
+
+        return round;
     }
 
     /**
@@ -385,7 +512,7 @@ public class FlowController implements Initializable, SingleViewController<Flowi
 
     /**
      * @param path The path that is associated with the round.
-     * @return null
+     * @return The round opened from {@code path}, or {@code null} if there is none.
      */
     public Round getRoundByPath(Path path) {
         List<Round> rounds = getRounds();
@@ -401,7 +528,7 @@ public class FlowController implements Initializable, SingleViewController<Flowi
             }
         }
 
-        throw new IllegalArgumentException("Path not on round bar");
+        return null;
     }
 
     public void openDirectory() throws IOException {
@@ -415,16 +542,14 @@ public class FlowController implements Initializable, SingleViewController<Flowi
 
         Path directoryPath = directory.toPath();
 
-        List<Path> roundPaths = Files.walk(directoryPath).filter(Files::isRegularFile).collect(Collectors.toList());
+        // Skips the segments autosaved next to each round, which are read along with it
+        List<Path> roundPaths = Files.walk(directoryPath)
+                .filter(Files::isRegularFile)
+                .filter(path -> Utils.hasExtension(path.getFileName().toString(), FILE_EXTENSION))
+                .collect(Collectors.toList());
 
         for (Path roundPath : roundPaths) {
-            byte[] jsonBytes = Files.readAllBytes(roundPath);
-            String json = new String(jsonBytes);
-
-            Round round = EFlow.getInstance().getGSON().fromJson(json, Round.class);
-            round.setPath(roundPath);
-            RoundTab roundTab = new RoundTab(round);
-            roundsBar.getTabs().add(roundTab);
+            loadRound(roundPath);
         }
     }
 
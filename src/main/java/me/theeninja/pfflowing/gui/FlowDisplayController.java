@@ -8,7 +8,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
@@ -25,7 +24,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.util.Duration;
 import me.theeninja.pfflowing.ActionManager;
-import me.theeninja.pfflowing.EFlow;
 import me.theeninja.pfflowing.SingleViewController;
 import me.theeninja.pfflowing.actions.*;
 import me.theeninja.pfflowing.flowing.FlowingRegion;
@@ -36,7 +34,6 @@ import me.theeninja.pfflowing.speech.Side;
 import me.theeninja.pfflowing.utils.Utils;
 import org.controlsfx.control.PopOver;
 
-import java.io.IOException;
 import java.net.URL;
 import java.util.*;
 import java.util.function.Consumer;
@@ -74,15 +71,8 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
     private final ActionManager actionManager;
 
     public static FlowDisplayController newController(Side side) {
-        FXMLLoader fxmlLoader = new FXMLLoader(FlowDisplayController.class.getResource("/gui/flow/flowing_display.fxml"));
         FlowDisplayController flowDisplayController = new FlowDisplayController(side);
-        fxmlLoader.setController(flowDisplayController);
-
-        try {
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        ViewFactory.buildFlowDisplay(flowDisplayController);
 
         return flowDisplayController;
     }
@@ -116,7 +106,7 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
     private void onFlowingRegionRemoved(Node node) {
         if (node instanceof FlowingRegion) {
             FlowingRegion flowingRegion = (FlowingRegion) node;
-            flowingRegion.getReasoningLabel().textFillProperty().unbind();
+            flowingRegion.getStyleClass().removeAll(FlowTheme.AFF_REGION_STYLECLASS, FlowTheme.NEG_REGION_STYLECLASS);
             flowingRegion.prefWidthProperty().unbind();
         }
     }
@@ -232,10 +222,6 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
         return actionManager;
     }
 
-    private void onConfigurationBackgroundColorChange(ObservableValue<? extends Color> observable, Color oldValue, Color newValue) {
-        flowGrid.setBackground(Utils.generateBackgroundOfColor(newValue));
-    }
-
     private void onFlowingRegionAdded(Node node) {
         if (node instanceof FlowingRegion) {
             final FlowingRegion flowingRegion = (FlowingRegion) node;
@@ -249,11 +235,10 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
                 sideToCheck = sideToCheck.getOpposite();
             }
 
-            ObservableValue<Color> observedColor = sideToCheck == Side.AFFIRMATIVE ?
-                    EFlow.getInstance().getConfiguration().getAffColor().valueProperty() :
-                    EFlow.getInstance().getConfiguration().getNegColor().valueProperty();
-
-            flowingRegion.getReasoningLabel().textFillProperty().bind(observedColor);
+            // The color of the side is given by the flow theme
+            flowingRegion.getStyleClass().add(sideToCheck == Side.AFFIRMATIVE ?
+                    FlowTheme.AFF_REGION_STYLECLASS :
+                    FlowTheme.NEG_REGION_STYLECLASS);
 
             ColumnConstraints columnConstraints = flowGrid.getColumnConstraints().get(column);
 
@@ -438,11 +423,6 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
         speechLabels.minWidthProperty().bind(flowDisplay.widthProperty());
         speechLabels.setBackground(Utils.generateBackgroundOfColor(Color.LIGHTBLUE));
 
-        EFlow.getInstance()
-                .getConfiguration()
-                .getBackgroundColor()
-                .valueProperty().addListener(this::onConfigurationBackgroundColorChange);
-
         flowGrid.minWidthProperty().bind(flowDisplay.minWidthProperty());
         flowGrid.maxWidthProperty().bind(flowDisplay.widthProperty());
 
@@ -629,7 +609,7 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
             textArea = new FlowingTextArea();
             textArea.setWrapText(true);
 
-            textArea.fontProperty().bind(EFlow.getInstance().getConfiguration().getReasoningFont().valueProperty());
+            textArea.getStyleClass().add(FlowTheme.FLOWING_TEXT_AREA_STYLECLASS);
 
             textArea.prefWidthProperty().bind(textArea.maxWidthProperty());
             textArea.setPrefHeight(12);
@@ -768,9 +748,6 @@ public class FlowDisplayController implements Initializable, SingleViewControlle
         return getSpeechList().getSpeeches().get(getColumnIndex(flowingRegion));
     }
 
-    private static final String AFF_REGION_STYLECLASS = "affRegion";
-    private static final String NEG_REGION_STYLECLASS = "negRegion";
-
 
     private final IntegerProperty startingColumn = new SimpleIntegerProperty(0);
     private final IntegerProperty finishingColumn = new SimpleIntegerProperty(7);
@@ -0,0 +1,152 @@
+package me.theeninja.pfflowing.gui;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.Observable;
+import javafx.beans.binding.Bindings;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.configuration.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Styles every flow display after the colors and fonts of the configuration through a single stylesheet generated
+ * from the configuration. Flow displays only share the stylesheet, and flowing regions only carry style classes, so
+ * a change to the configuration regenerates one stylesheet and restyles each flow display once, rather than
+ * notifying a binding held by every region.
+ *
+ * The stylesheet is rewritten in place within a single temporary file once the configuration has been left unchanged
+ * for {@link #UPDATE_DELAY}, so that dragging a color picker restyles the flow displays once it settles rather than
+ * on every step. Since the style manager caches stylesheets by their URL, each rewrite is referred to by the URL of
+ * the file with a new query, which is ignored when the file is read.
+ *
+ * @author TheeNinja
+ */
+public final class FlowTheme {
+    private static FlowTheme instance;
+
+    public static final String FLOW_GRID_STYLECLASS = "flowGrid";
+    public static final String REASONING_LABEL_STYLECLASS = "reasoningLabel";
+    public static final String SUPPLEMENTAL_LABEL_STYLECLASS = "supplementalLabel";
+    public static final String FLOWING_TEXT_AREA_STYLECLASS = "flowingTextArea";
+    public static final String AFF_REGION_STYLECLASS = "affRegion";
+    public static final String NEG_REGION_STYLECLASS = "negRegion";
+
+    private static final String STYLESHEET_PREFIX = "flow_theme";
+    private static final String STYLESHEET_SUFFIX = ".css";
+    private static final String GENERATION_QUERY = "?generation=";
+
+    private static final Duration UPDATE_DELAY = Duration.millis(150);
+
+    private final ObservableList<String> stylesheets = FXCollections.observableArrayList();
+    private final PauseTransition updateDelay = new PauseTransition(UPDATE_DELAY);
+
+    private final Path stylesheetPath;
+    private long generation;
+
+    private FlowTheme() {
+        Configuration configuration = EFlow.getInstance().getConfiguration();
+
+        try {
+            stylesheetPath = Files.createTempFile(STYLESHEET_PREFIX, STYLESHEET_SUFFIX);
+            stylesheetPath.toFile().deleteOnExit();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        updateDelay.setOnFinished(actionEvent -> updateStylesheet());
+
+        configuration.getAffColor().valueProperty().addListener(this::onConfigurationChanged);
+        configuration.getNegColor().valueProperty().addListener(this::onConfigurationChanged);
+        configuration.getBackgroundColor().valueProperty().addListener(this::onConfigurationChanged);
+        configuration.getReasoningFont().valueProperty().addListener(this::onConfigurationChanged);
+        configuration.getCardLabelsFont().valueProperty().addListener(this::onConfigurationChanged);
+
+        updateStylesheet();
+    }
+
+    public static FlowTheme getInstance() {
+        if (instance == null) {
+            instance = new FlowTheme();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Styles {@code flowDisplay}, and every node within it, after the configuration. The flow display is only
+     * referenced weakly, so styled flow displays can still be collected.
+     *
+     * @param flowDisplay The flow display to style.
+     */
+    public void apply(FlowDisplay flowDisplay) {
+        Bindings.bindContent(flowDisplay.getStylesheets(), stylesheets);
+    }
+
+    private void onConfigurationChanged(Observable observable) {
+        updateDelay.playFromStart();
+    }
+
+    /**
+     * Rewrites the stylesheet and refers flow displays to it anew. Flow displays read it on the JavaFX
+     * application thread, which this runs on, so they never read a partially written stylesheet.
+     */
+    private void updateStylesheet() {
+        try {
+            Files.write(stylesheetPath, generateStylesheet().getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        stylesheets.setAll(stylesheetPath.toUri().toString() + GENERATION_QUERY + generation++);
+    }
+
+    private String generateStylesheet() {
+        Configuration configuration = EFlow.getInstance().getConfiguration();
+
+        String reasoningFont = toCSS(configuration.getReasoningFont().getValue());
+
+        return rule("." + FLOW_GRID_STYLECLASS, "-fx-background-color", toCSS(configuration.getBackgroundColor().getValue())) +
+               rule("." + REASONING_LABEL_STYLECLASS, "-fx-font", reasoningFont) +
+               rule("." + FLOWING_TEXT_AREA_STYLECLASS, "-fx-font", reasoningFont) +
+               rule("." + SUPPLEMENTAL_LABEL_STYLECLASS, "-fx-font", toCSS(configuration.getCardLabelsFont().getValue())) +
+               rule("." + AFF_REGION_STYLECLASS + " ." + REASONING_LABEL_STYLECLASS, "-fx-text-fill", toCSS(configuration.getAffColor().getValue())) +
+               rule("." + NEG_REGION_STYLECLASS + " ." + REASONING_LABEL_STYLECLASS, "-fx-text-fill", toCSS(configuration.getNegColor().getValue()));
+    }
+
+    private static String rule(String selector, String property, String value) {
+        return selector + " { " + property + ": " + value + "; }\n";
+    }
+
+    private static String toCSS(Color color) {
+        return String.format(Locale.ROOT, "rgba(%d, %d, %d, %.3f)",
+                Math.round(color.getRed() * 255),
+                Math.round(color.getGreen() * 255),
+                Math.round(color.getBlue() * 255),
+                color.getOpacity());
+    }
+
+    /**
+     * @return The shorthand {@code -fx-font} value of {@code font}, whose style names its weight and posture,
+     *         such as "Bold Italic".
+     */
+    private static String toCSS(Font font) {
+        String style = font.getStyle().toLowerCase(Locale.ROOT);
+
+        String posture = style.contains("italic") || style.contains("oblique") ? "italic" : "normal";
+        String weight = style.contains("bold") ? "bold" : "normal";
+
+        return String.format(Locale.ROOT, "%s %s %.1fpx \"%s\"", posture, weight, font.getSize(), font.getFamily());
+    }
+}
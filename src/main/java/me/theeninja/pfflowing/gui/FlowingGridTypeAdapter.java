@@ -0,0 +1,89 @@
+package me.theeninja.pfflowing.gui;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import javafx.scene.Node;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.theeninja.pfflowing.gui.FlowGrid.FLOWING_REGIONS;
+
+/**
+ * Writes and reads the regions of a {@link FlowGrid} straight to and from the JSON stream, without building a tree
+ * of them first.
+ *
+ * @author TheeNinja
+ */
+public class FlowingGridTypeAdapter extends TypeAdapter<FlowGrid> {
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if (typeToken.getRawType() != FlowGrid.class)
+                return null;
+
+            return (TypeAdapter<T>) new FlowingGridTypeAdapter(gson.getAdapter(FlowingRegion.class)).nullSafe();
+        }
+    };
+
+    private final TypeAdapter<FlowingRegion> flowingRegionAdapter;
+
+    private FlowingGridTypeAdapter(TypeAdapter<FlowingRegion> flowingRegionAdapter) {
+        this.flowingRegionAdapter = flowingRegionAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, FlowGrid flowGrid) throws IOException {
+        out.beginObject();
+
+        out.name(FLOWING_REGIONS).beginArray();
+
+        for (Node node : flowGrid.getChildren()) {
+            if (node instanceof FlowingRegion) {
+                flowingRegionAdapter.write(out, (FlowingRegion) node);
+            }
+        }
+
+        out.endArray();
+
+        out.endObject();
+    }
+
+    @Override
+    public FlowGrid read(JsonReader in) throws IOException {
+        List<FlowingRegion> flowingRegions = new ArrayList<>();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            if (!in.nextName().equals(FLOWING_REGIONS)) {
+                in.skipValue();
+                continue;
+            }
+
+            in.beginArray();
+
+            while (in.hasNext()) {
+                flowingRegions.add(flowingRegionAdapter.read(in));
+            }
+
+            in.endArray();
+        }
+
+        in.endObject();
+
+        FlowGrid flowGrid = new FlowGrid();
+
+        // Added at once, so the grid lays itself out only once
+        flowGrid.getChildren().setAll(flowingRegions);
+
+        return flowGrid;
+    }
+}
@@ -37,6 +37,7 @@ public class KeyCodeCombinationUtils {
 
     // Application keys
     public static final KeyCodeCombination TOGGLE_FULLSCREEN = new KeyCodeCombination(KeyCode.F11);
+    public static final KeyCodeCombination TOGGLE_PERFORMANCE_OVERLAY = new KeyCodeCombination(KeyCode.F3);
 
     // Undo and Redo
     public static final KeyCodeCombination UNDO = new KeyCodeCombination(KeyCode.Z, KeyCodeCombination.CONTROL_DOWN);
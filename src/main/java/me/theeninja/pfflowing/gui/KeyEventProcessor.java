@@ -6,6 +6,7 @@ import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyEvent;
 import me.theeninja.pfflowing.ActionManager;
 import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.performance.PerformanceMonitor;
 import me.theeninja.pfflowing.printing.RoundPrinter;
 
 import java.util.List;
@@ -151,6 +152,8 @@ public class KeyEventProcessor {
     }
 
     void process() {
-        PROCESS_LIST.forEach(Runnable::run);
+        PerformanceMonitor.getInstance().time(PerformanceMonitor.KEY_PRESS, getKeyEvent().getCode().getName(), () ->
+            PROCESS_LIST.forEach(Runnable::run)
+        );
     }
 }
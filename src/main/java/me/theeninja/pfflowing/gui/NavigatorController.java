@@ -1,5 +1,6 @@
 package me.theeninja.pfflowing.gui;
 
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -12,14 +13,16 @@ import javafx.scene.Parent;
 import me.theeninja.pfflowing.*;
 import me.theeninja.pfflowing.configuration.ConfigEditorController;
 import me.theeninja.pfflowing.flowingregions.Blocks;
+import me.theeninja.pfflowing.flowingregions.BlocksCatalog;
+import me.theeninja.pfflowing.flowingregions.BlocksStore;
 import me.theeninja.pfflowing.gui.cardparser.BlocksParserHomeController;
+import me.theeninja.pfflowing.gui.cardparser.GoogleDriveConnector;
 import me.theeninja.pfflowing.tournament.Round;
-import me.theeninja.pfflowing.utils.Utils;
 
 import java.io.IOException;
 import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 
@@ -30,28 +33,36 @@ public class NavigatorController implements SingleViewController<MenuBar>, Initi
     @FXML public MenuItem undoItem;
     @FXML public MenuItem redoItem;
 
-    private static int compareByLastModifiedTime(Path o1, Path o2) {
-        try {
-            return Files.getLastModifiedTime(o1).compareTo(Files.getLastModifiedTime(o2));
-        }
-        catch (IOException ex) {
-            ex.printStackTrace();
-        }
+    private final static int RECENT_SIZE = 5;
 
-        return 0;
-    }
+    /**
+     * Fills the recent blocks menu from the blocks catalog, so that no block file is read until one is chosen. The
+     * catalog is read and validated in the background, since the menu is not needed for the first frame.
+     */
+    public void loadOpenRecentInBackground() {
+        Task<List<BlocksCatalog.Entry>> recentTask = new Task<>() {
+            @Override
+            protected List<BlocksCatalog.Entry> call() {
+                return BlocksCatalog.getInstance().getRecentEntries(RECENT_SIZE);
+            }
+        };
 
-    private final static int RECENT_SIZE = 5;
+        recentTask.setOnSucceeded(workerStateEvent -> {
+            recentTask.getValue().stream()
+                    .map(this::getLoadMenuItem)
+                    .forEach(openRecent.getItems()::add);
 
-    public void loadOpenRecent() {
-        try {
-            Path cardsPath = EFlow.getInstance().getCardsPath();
+            StartupProfiler.phase("Recent blocks loaded");
+        });
 
-            Files.walk(cardsPath).filter(path -> Utils.hasExtension(path.getFileName().toString(), "json")).sorted((NavigatorController::compareByLastModifiedTime)).limit(RECENT_SIZE).map(Utils::readAsString).map(json -> EFlow.getInstance().getGSON().fromJson(json, Blocks.class)).map(this::getLoadMenuItem).forEach(openRecent.getItems()::add);
+        recentTask.setOnFailed(workerStateEvent -> recentTask.getException().printStackTrace());
 
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        Thread recentThread = new Thread(recentTask);
+
+        // Loading terminates once EFlow application window is closed
+        recentThread.setDaemon(true);
+
+        recentThread.start();
     }
 
     @FXML
@@ -115,6 +126,28 @@ public class NavigatorController implements SingleViewController<MenuBar>, Initi
         }
     }
 
+    @FXML
+    public void searchRounds(ActionEvent actionEvent) {
+        try {
+            RoundSearchController roundSearchController = new RoundSearchController(getFlowApp().getFlowController());
+            FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/gui/round_search/round_search.fxml"));
+            fxmlLoader.setController(roundSearchController);
+            fxmlLoader.load();
+
+            Scene scene = new Scene(roundSearchController.getCorrelatingView());
+            Stage stage = new Stage();
+            stage.setScene(scene);
+
+            EFlow.setAsFullscreenToggler(stage);
+
+            stage.show();
+            stage.toFront();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     @FXML
     public void saveFlow(ActionEvent actionEvent) {
         try {
@@ -129,6 +162,20 @@ public class NavigatorController implements SingleViewController<MenuBar>, Initi
 
     }
 
+    @FXML
+    public void exportFlow(ActionEvent actionEvent) {
+        getFlowApp().getFlowController().exportSelectedRound();
+    }
+
+    @FXML
+    public void exportFlowAsJson(ActionEvent actionEvent) {
+        try {
+            getFlowApp().getFlowController().exportSelectedRoundAsJson();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     @FXML
     public void emailFlow(ActionEvent actionEvent) {
 
@@ -199,14 +246,40 @@ public class NavigatorController implements SingleViewController<MenuBar>, Initi
         htmlConsumerConsumer.accept(htmlResult -> promptForNewBlocks(this::openBlocksEditor));
     } */
 
+    /**
+     * Downloads the most recently modified Google Drive documents into the export cache in the background,
+     * so that they can be parsed into blocks later without a network connection.
+     */
+    @FXML
+    public void onPrefetchDriveDocuments(ActionEvent actionEvent) {
+        int prefetchCount = EFlow.getInstance().getConfiguration().getDrivePrefetchCount().getValue();
+
+        Task<Void> prefetchTask = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                GoogleDriveConnector.prefetchRecentDocuments(prefetchCount);
+                return null;
+            }
+        };
+
+        prefetchTask.setOnFailed(workerStateEvent -> prefetchTask.getException().printStackTrace());
+
+        Thread prefetchThread = new Thread(prefetchTask);
+
+        // Prefetching terminates once EFlow application window is closed
+        prefetchThread.setDaemon(true);
+
+        prefetchThread.start();
+    }
+
     @FXML
     public void onNewBlocks(ActionEvent actionEvent) {
         promptForNewBlocks(this::openBlocksEditor);
     }
 
     /**
-     * Asks the user through a file chooser to open a block file. This block file is parsed through
-     * GSON.
+     * Asks the user through a file chooser to open a block file. Only the header of this block file is read, see
+     * {@link BlocksStore#load(Path)}.
      *
      * @return The blocks object that correlates to the JSON of the file that was opened.
      */
@@ -218,17 +291,7 @@ public class NavigatorController implements SingleViewController<MenuBar>, Initi
         java.io.File file = fileChooser.showOpenDialog(allocatedStage);
         Path path = file.toPath();
 
-        byte[] jsonBytes = null;
-
-        try {
-            jsonBytes = Files.readAllBytes(path);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        String jsonString = new String(jsonBytes);
-
-        return EFlow.getInstance().getGSON().fromJson(jsonString, Blocks.class);
+        return BlocksStore.load(path);
     }
 
     // editBlocks(Blocks)
@@ -317,15 +380,15 @@ public class NavigatorController implements SingleViewController<MenuBar>, Initi
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        loadOpenRecent();
+        // The recent blocks menu is filled after the first frame, see FlowApp
     }
 
-    private MenuItem getLoadMenuItem(Blocks blocks) {
+    private MenuItem getLoadMenuItem(BlocksCatalog.Entry entry) {
         MenuItem blocksMenuItem = new MenuItem();
-        blocksMenuItem.setText(blocks.getName());
+        blocksMenuItem.setText(entry.getName());
 
         blocksMenuItem.setOnAction(actionEvent ->
-            getFlowApp().getFlowController().getCardSelectorController().addBlocks(blocks)
+            loadBlocks(BlocksStore.load(entry.getPath()))
         );
 
         return blocksMenuItem;
@@ -0,0 +1,92 @@
+package me.theeninja.pfflowing.gui;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.text.Font;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import me.theeninja.pfflowing.performance.LatencyHistogram;
+import me.theeninja.pfflowing.performance.PerformanceMonitor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows the latency histograms of the {@link PerformanceMonitor} over the top left corner of a window, slowest
+ * operations first. The overlay is only refreshed while it is shown.
+ *
+ * @author TheeNinja
+ */
+public class PerformanceOverlay {
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(1);
+    private static final int MAXIMUM_ROWS = 20;
+    private static final double FONT_SIZE = 12;
+    private static final String STYLE = "-fx-background-color: rgba(0, 0, 0, 0.75); -fx-text-fill: white;";
+    private static final String HEADER = String.format("%-40s %7s %9s %9s %9s %9s", "Operation", "Count", "Mean", "p50", "p99", "Max");
+
+    private final Window owner;
+    private final Popup popup = new Popup();
+    private final Label label = new Label();
+    private final Timeline refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, actionEvent -> refresh()));
+
+    public PerformanceOverlay(Window owner) {
+        this.owner = owner;
+
+        label.setFont(Font.font("Monospaced", FONT_SIZE));
+        label.setStyle(STYLE);
+        label.setPadding(new Insets(FONT_SIZE / 2));
+
+        // Clicks are let through to the window below, so the overlay never gets in the way of flowing
+        label.setMouseTransparent(true);
+
+        popup.getContent().add(label);
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /**
+     * Must be called on the JavaFX application thread.
+     */
+    public void toggle() {
+        if (popup.isShowing()) {
+            refreshTimeline.stop();
+            popup.hide();
+        }
+        else {
+            refresh();
+            popup.show(owner, owner.getX(), owner.getY());
+            refreshTimeline.play();
+        }
+    }
+
+    private void refresh() {
+        List<Map.Entry<String, LatencyHistogram>> histograms = new ArrayList<>(PerformanceMonitor.getInstance().getHistograms().entrySet());
+        histograms.sort(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalNanoseconds()).reversed());
+
+        StringBuilder text = new StringBuilder(HEADER);
+
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.subList(0, Math.min(histograms.size(), MAXIMUM_ROWS))) {
+            LatencyHistogram histogram = entry.getValue();
+
+            text.append(System.lineSeparator()).append(String.format("%-40.40s %7d %9s %9s %9s %9s",
+                    entry.getKey(),
+                    histogram.getCount(),
+                    toMilliseconds(histogram.getMeanNanoseconds()),
+                    toMilliseconds(histogram.getPercentileNanoseconds(50)),
+                    toMilliseconds(histogram.getPercentileNanoseconds(99)),
+                    toMilliseconds(histogram.getMaximumNanoseconds())));
+        }
+
+        label.setText(text.toString());
+    }
+
+    private static String toMilliseconds(long nanoseconds) {
+        return String.format("%.2f ms", nanoseconds / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
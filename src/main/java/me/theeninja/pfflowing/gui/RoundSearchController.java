@@ -0,0 +1,143 @@
+package me.theeninja.pfflowing.gui;
+
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.VBox;
+import me.theeninja.pfflowing.SingleViewController;
+import me.theeninja.pfflowing.search.RoundIndex;
+import me.theeninja.pfflowing.search.RoundSearchResult;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.Objects;
+import java.util.ResourceBundle;
+
+/**
+ * Searches every round of the rounds directory through the {@link RoundIndex} as the query is typed, and opens the
+ * round of a result once it is chosen, showing the side of the flow grid the result is on.
+ *
+ * @author TheeNinja
+ */
+public class RoundSearchController implements SingleViewController<VBox>, Initializable {
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
+    private final FlowController flowController;
+
+    @FXML
+    public VBox roundSearch;
+
+    @FXML
+    public TextField roundSearchField;
+
+    @FXML
+    public CheckBox opponentOnlyBox;
+
+    @FXML
+    public ListView<RoundSearchResult> resultsView;
+
+    public RoundSearchController(FlowController flowController) {
+        this.flowController = flowController;
+    }
+
+    @Override
+    public VBox getCorrelatingView() {
+        return roundSearch;
+    }
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        resultsView.setCellFactory(listView -> new RoundSearchResultCell());
+
+        roundSearchField.textProperty().addListener((observable, oldValue, newValue) -> searchInBackground());
+        opponentOnlyBox.selectedProperty().addListener((observable, oldValue, newValue) -> searchInBackground());
+
+        resultsView.addEventHandler(MouseEvent.MOUSE_CLICKED, mouseEvent -> {
+            if (mouseEvent.getClickCount() == 2)
+                openSelectedResult();
+        });
+
+        resultsView.addEventHandler(KeyEvent.KEY_PRESSED, keyEvent -> {
+            if (keyEvent.getCode() == KeyCode.ENTER)
+                openSelectedResult();
+        });
+    }
+
+    /**
+     * Searches in the background, as the index is briefly locked while rounds are reindexed, and shows the results
+     * unless the query changed meanwhile.
+     */
+    private void searchInBackground() {
+        String query = roundSearchField.getText();
+        boolean opponentOnly = opponentOnlyBox.isSelected();
+
+        if (query == null || query.trim().isEmpty()) {
+            resultsView.getItems().clear();
+            return;
+        }
+
+        Task<List<RoundSearchResult>> searchTask = new Task<>() {
+            @Override
+            protected List<RoundSearchResult> call() {
+                return RoundIndex.getInstance().search(query, opponentOnly, SEARCH_RESULT_LIMIT);
+            }
+        };
+
+        searchTask.setOnSucceeded(workerStateEvent -> {
+            // Results of an earlier query that finished after those of a later one
+            if (!query.equals(roundSearchField.getText()) || opponentOnly != opponentOnlyBox.isSelected())
+                return;
+
+            resultsView.getItems().setAll(searchTask.getValue());
+        });
+
+        searchTask.setOnFailed(workerStateEvent -> searchTask.getException().printStackTrace());
+
+        Thread searchThread = new Thread(searchTask);
+
+        // Searching terminates once EFlow application window is closed
+        searchThread.setDaemon(true);
+
+        searchThread.start();
+    }
+
+    private void openSelectedResult() {
+        RoundSearchResult searchResult = resultsView.getSelectionModel().getSelectedItem();
+
+        if (searchResult == null)
+            return;
+
+        try {
+            Round round = flowController.openRound(searchResult.getRoundPath());
+            round.setDisplayedSide(searchResult.getSide());
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static class RoundSearchResultCell extends ListCell<RoundSearchResult> {
+        @Override
+        protected void updateItem(RoundSearchResult searchResult, boolean empty) {
+            super.updateItem(searchResult, empty);
+
+            if (empty || searchResult == null) {
+                setText(null);
+                return;
+            }
+
+            setText(searchResult.getRoundName() + ", " + searchResult.getSide() + " column " + searchResult.getColumn()
+                    + " row " + searchResult.getRow() + (searchResult.isOpponent() ? " (opponent)" : "")
+                    + "\n" + Objects.toString(searchResult.getExcerpt(), ""));
+        }
+    }
+}
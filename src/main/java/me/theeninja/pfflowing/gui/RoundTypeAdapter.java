@@ -0,0 +1,111 @@
+package me.theeninja.pfflowing.gui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.IOException;
+
+import static me.theeninja.pfflowing.tournament.Round.*;
+
+/**
+ * Writes and reads a {@link Round} straight to and from the JSON stream, without building a tree of it first.
+ *
+ * @author TheeNinja
+ */
+public class RoundTypeAdapter extends TypeAdapter<Round> {
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if (typeToken.getRawType() != Round.class)
+                return null;
+
+            return (TypeAdapter<T>) new RoundTypeAdapter(gson.getAdapter(FlowGrid.class)).nullSafe();
+        }
+    };
+
+    private final TypeAdapter<FlowGrid> flowGridAdapter;
+
+    private RoundTypeAdapter(TypeAdapter<FlowGrid> flowGridAdapter) {
+        this.flowGridAdapter = flowGridAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, Round round) throws IOException {
+        out.beginObject();
+
+        out.name(NAME).value(round.getRoundName());
+        out.name(SIDE).value(round.getSide().name());
+
+        out.name(AFF_FLOWING_GRID);
+        flowGridAdapter.write(out, round.getAffirmativeController().flowGrid);
+
+        out.name(NEG_FLOWING_GRID);
+        flowGridAdapter.write(out, round.getNegationController().flowGrid);
+
+        String generation = round.getGeneration();
+
+        if (generation != null) {
+            out.name(GENERATION).value(generation);
+        }
+
+        out.endObject();
+    }
+
+    @Override
+    public Round read(JsonReader in) throws IOException {
+        String roundName = null;
+        Side side = null;
+        FlowGrid affFlowingGrid = null;
+        FlowGrid negFlowingGrid = null;
+        String generation = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME:
+                    roundName = in.nextString();
+                    break;
+                case SIDE:
+                    side = Side.valueOf(in.nextString());
+                    break;
+                case AFF_FLOWING_GRID:
+                    affFlowingGrid = flowGridAdapter.read(in);
+                    break;
+                case NEG_FLOWING_GRID:
+                    negFlowingGrid = flowGridAdapter.read(in);
+                    break;
+                case GENERATION:
+                    // Absent from rounds saved before autosaving was introduced
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    }
+                    else {
+                        generation = in.nextString();
+                    }
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (roundName == null || side == null || affFlowingGrid == null || negFlowingGrid == null)
+            throw new JsonParseException("Incomplete round at " + in.getPath());
+
+        Round round = new Round(roundName, side, affFlowingGrid, negFlowingGrid);
+        round.setGeneration(generation);
+
+        return round;
+    }
+}
@@ -0,0 +1,128 @@
+package me.theeninja.pfflowing.gui;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import me.theeninja.pfflowing.speech.Side;
+
+/**
+ * Builds the views that are created over and over while flowing in code, rather than through an
+ * {@link javafx.fxml.FXMLLoader}. Every round creates two flow displays, every flowing region creates a card
+ * detailer and every new round opens a round prompt, and parsing FXML reflectively for each of them dominated the
+ * time taken to create a round.
+ *
+ * Each method fills in the fields of the given controller that FXML would have injected, then initializes the
+ * controller, exactly as {@link javafx.fxml.FXMLLoader#load()} would have.
+ *
+ * @author TheeNinja
+ */
+public final class ViewFactory {
+    private static final String CARD_DETAILS_STYLESHEET = ViewFactory.class.getResource("/gui/card_display/card_details.css").toExternalForm();
+    private static final String ROUND_PROMPT_STYLESHEET = ViewFactory.class.getResource("/gui/prompter/new_prompt.css").toExternalForm();
+
+    private static final double FLOW_GRID_PREFERRED_WIDTH = 600;
+    private static final double FLOW_GRID_PREFERRED_HEIGHT = 400;
+
+    private static final double ROUND_PROMPT_SPACING = 5;
+    private static final double ROUND_PROMPT_SPACER_HEIGHT = 10;
+    private static final String ROUND_PROMPT_LABEL_CLASS = "promptLabel";
+
+    private ViewFactory() {}
+
+    public static void buildFlowDisplay(FlowDisplayController flowDisplayController) {
+        FlowDisplay flowDisplay = new FlowDisplay();
+        HBox speechLabels = new HBox();
+        FlowGrid flowGrid = new FlowGrid();
+
+        flowGrid.setPrefSize(FLOW_GRID_PREFERRED_WIDTH, FLOW_GRID_PREFERRED_HEIGHT);
+        flowGrid.getStyleClass().add(FlowTheme.FLOW_GRID_STYLECLASS);
+        VBox.setVgrow(flowGrid, Priority.ALWAYS);
+
+        flowDisplay.getChildren().addAll(speechLabels, flowGrid);
+        FlowTheme.getInstance().apply(flowDisplay);
+
+        flowDisplayController.flowDisplay = flowDisplay;
+        flowDisplayController.speechLabels = speechLabels;
+        flowDisplayController.flowGrid = flowGrid;
+
+        flowDisplayController.initialize(null, null);
+    }
+
+    public static void buildCardDetails(CardsDetailerController cardsDetailerController) {
+        Button previous = new Button("Previous");
+        previous.setOnAction(actionEvent -> cardsDetailerController.previous());
+
+        Button next = new Button("Next");
+        next.setOnAction(actionEvent -> cardsDetailerController.next());
+
+        Button originalToggle = new Button("Original");
+        originalToggle.setOnAction(actionEvent -> cardsDetailerController.toggleOriginal());
+
+        // Spacers make the alignment pleasing
+        HBox buttonBox = new HBox(newSpacer(), previous, newSpacer(), next, newSpacer(), originalToggle, newSpacer());
+        buttonBox.setId("button_box");
+
+        VBox webViewContainer = new VBox();
+
+        VBox root = new VBox(webViewContainer, buttonBox);
+        root.getStylesheets().add(CARD_DETAILS_STYLESHEET);
+
+        cardsDetailerController.root = root;
+        cardsDetailerController.webViewContainer = webViewContainer;
+        cardsDetailerController.previous = previous;
+        cardsDetailerController.next = next;
+        cardsDetailerController.originalToggle = originalToggle;
+
+        cardsDetailerController.initialize(null, null);
+    }
+
+    public static void buildRoundPrompt(RoundPrompterController roundPrompterController) {
+        TextField roundNameField = new TextField();
+        HBox.setHgrow(roundNameField, Priority.ALWAYS);
+
+        HBox roundNameBox = new HBox(ROUND_PROMPT_SPACING, newPromptLabel("Round Name"), roundNameField);
+
+        ComboBox<Side> sideChooser = new ComboBox<>();
+        HBox sideBox = new HBox(ROUND_PROMPT_SPACING, newPromptLabel("Side"), sideChooser);
+
+        HBox spacer = new HBox();
+        spacer.setPrefHeight(ROUND_PROMPT_SPACER_HEIGHT);
+
+        Button finishButton = new Button("finish");
+        finishButton.setId("finishButton");
+
+        HBox finishBox = new HBox(finishButton);
+        finishBox.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox promptBox = new VBox(ROUND_PROMPT_SPACING, roundNameBox, sideBox, spacer, finishBox);
+        promptBox.setId("promptBox");
+        promptBox.getStylesheets().add(ROUND_PROMPT_STYLESHEET);
+
+        roundPrompterController.promptBox = promptBox;
+        roundPrompterController.roundNameField = roundNameField;
+        roundPrompterController.sideChooser = sideChooser;
+        roundPrompterController.finishButton = finishButton;
+
+        roundPrompterController.initialize(null, null);
+    }
+
+    private static Region newSpacer() {
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        return spacer;
+    }
+
+    private static Label newPromptLabel(String text) {
+        Label label = new Label(text);
+        label.getStyleClass().add(ROUND_PROMPT_LABEL_CLASS);
+
+        return label;
+    }
+}
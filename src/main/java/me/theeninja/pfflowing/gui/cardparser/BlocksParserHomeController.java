@@ -12,14 +12,13 @@ import javafx.scene.control.*;
 import javafx.scene.input.*;
 import javafx.scene.layout.*;
 import javafx.scene.web.WebView;
-import me.theeninja.pfflowing.EFlow;
 import me.theeninja.pfflowing.SingleViewController;
 import me.theeninja.pfflowing.flowingregions.Blocks;
+import me.theeninja.pfflowing.flowingregions.BlocksStore;
 import me.theeninja.pfflowing.flowingregions.Card;
 import me.theeninja.pfflowing.gui.KeyCodeCombinationUtils;
 import me.theeninja.pfflowing.utils.Utils;
 import org.apache.tika.io.IOUtils;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -33,7 +32,6 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -153,9 +151,7 @@ public class BlocksParserHomeController implements SingleViewController<HBox>, I
         while (!unwrappingFinished);
     }
 
-    private void attemptAutomaticParse(final String html) {
-        final Document document = Jsoup.parse(html);
-
+    private void attemptAutomaticParse(final Document document) {
         final Elements headers = document
                 .select("*:containsOwn(" + RESPONSE_HEADER[0] + ")")
                 .stream()
@@ -208,10 +204,13 @@ public class BlocksParserHomeController implements SingleViewController<HBox>, I
     }
 
     private final StringProperty loadedHTML = new SimpleStringProperty();
+    private Document loadedDocument;
 
     @FXML
     public void onAutomaticParseRequest(ActionEvent actionEvent) {
-        attemptAutomaticParse(getLoadedHTML());
+        if (getLoadedDocument() != null) {
+            attemptAutomaticParse(getLoadedDocument());
+        }
     }
 
     @FXML
@@ -222,7 +221,7 @@ public class BlocksParserHomeController implements SingleViewController<HBox>, I
         FileFetcher<?> fileFetcher = MEDIUM_HTML_CONSUMER_BLOCKS.get(host).get();
 
         try {
-            fileFetcher.feedFetchedHTML(this::loadHTML);
+            fileFetcher.feedFetchedDocument(this::loadDocument);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -286,6 +285,20 @@ public class BlocksParserHomeController implements SingleViewController<HBox>, I
         loadedHTMLProperty().set(string);
     }
 
+    public Document getLoadedDocument() {
+        return loadedDocument;
+    }
+
+    /**
+     * Displays {@code document} and keeps it for automatic parsing, so that it need not be parsed again.
+     *
+     * @param document The parsed document, which is left unmodified.
+     */
+    public void loadDocument(Document document) {
+        this.loadedDocument = document;
+        loadHTML(document.outerHtml());
+    }
+
     public String getSelectHTMLJS() {
         return selectHTMLJS;
     }
@@ -359,10 +372,7 @@ public class BlocksParserHomeController implements SingleViewController<HBox>, I
     }
 
     private void onAttemptFinish() {
-        Path cardsPath = EFlow.getInstance().getFullAppPath().resolve(EFlow.BLOCKS_DIRECTORY);
-        String withExtension = Utils.addExtension(blocks.getName(), "json");
-        Path filePath = Paths.get(withExtension);
-        Path fullPath = cardsPath.resolve(filePath);
+        Path fullPath = BlocksStore.getBlocksPath(blocks.getName());
 
         blocks.getCards().addAll(getParsedCards());
         getParsedCards().forEach(card -> card.setSide(blocks.getSide()));
@@ -371,10 +381,7 @@ public class BlocksParserHomeController implements SingleViewController<HBox>, I
             return;
 
         try {
-            Files.createFile(fullPath);
-
-            String json = EFlow.getInstance().getGSON().toJson(blocks, Blocks.class);
-            Files.write(fullPath, json.getBytes());
+            BlocksStore.save(blocks);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -1,23 +1,57 @@
 package me.theeninja.pfflowing.gui.cardparser;
 
+import javafx.application.Platform;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 abstract class FileFetcher<T> {
-    abstract String getHTMLOfFile(T file) throws IOException;
+    abstract CompletableFuture<Document> getDocumentOfFile(T file) throws IOException;
     abstract void feedFetchedFile(Consumer<T> fileConsumerCallback) throws IOException;
 
-    void feedFetchedHTML(Consumer<String> htmlConsumerCallback) throws IOException {
+    /**
+     * Fetches a file chosen by the user and parses it off the JavaFX application thread, then hands the parsed
+     * document to {@code documentConsumerCallback} on the JavaFX application thread.
+     */
+    void feedFetchedDocument(Consumer<Document> documentConsumerCallback) throws IOException {
         feedFetchedFile(fetchedFile -> {
             try {
-                String html = getHTMLOfFile(fetchedFile);
-                System.out.println(html);
+                getDocumentOfFile(fetchedFile).whenComplete((document, throwable) -> {
+                    if (throwable != null) {
+                        throwable.printStackTrace();
+                        return;
+                    }
 
-                htmlConsumerCallback.accept(html);
+                    Platform.runLater(() -> documentConsumerCallback.accept(document));
+                });
             }
             catch (IOException e) {
                 e.printStackTrace();
             }
         });
     }
+
+    /**
+     * @param htmlSupplier Reads the HTML to parse.
+     * @return A future completed with the parsed HTML, read and parsed on a background thread.
+     */
+    static CompletableFuture<Document> parseAsync(HTMLSupplier htmlSupplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return Jsoup.parse(htmlSupplier.get());
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    interface HTMLSupplier {
+        String get() throws IOException;
+    }
 }
@@ -0,0 +1,244 @@
+package me.theeninja.pfflowing.gui.cardparser;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.util.DateTime;
+import com.google.api.client.util.Key;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.Change;
+import com.google.api.services.drive.model.ChangeList;
+import com.google.api.services.drive.model.File;
+import com.google.api.services.drive.model.FileList;
+import javafx.concurrent.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Locally cached listing of the Google Docs available through Drive. The first refresh pages through the
+ * complete file listing and records a Changes API start page token; every following refresh only requests the
+ * changes made since that token, so reopening the picker costs one small request rather than a full relisting.
+ *
+ * @author TheeNinja
+ */
+public class GoogleDriveCatalog {
+    static final String DOCUMENT_MIME_TYPE = "application/vnd.google-apps.document";
+
+    private static final String FILE_FIELDS = "id, name, mimeType, createdTime, modifiedTime, trashed";
+    private static final String LIST_FIELDS = "nextPageToken, files(" + FILE_FIELDS + ")";
+    private static final String CHANGES_FIELDS = "nextPageToken, newStartPageToken, changes(fileId, removed, file(" + FILE_FIELDS + "))";
+    private static final String DOCUMENTS_QUERY = "mimeType = '" + DOCUMENT_MIME_TYPE + "' and trashed = false";
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * The persisted form of the catalog, stored through the same JSON factory that the Drive client uses so that
+     * {@link File} metadata is written exactly as Drive returned it.
+     */
+    public static class State extends GenericJson {
+        @Key("startPageToken")
+        private String startPageToken;
+
+        @Key("files")
+        private List<File> files;
+    }
+
+    private final Drive drive;
+    private final JsonFactory jsonFactory;
+    private final Path catalogPath;
+
+    private final Map<String, File> files = new LinkedHashMap<>();
+    private String startPageToken;
+
+    public GoogleDriveCatalog(Drive drive, Path catalogPath) {
+        this.drive = drive;
+        this.jsonFactory = drive.getJsonFactory();
+        this.catalogPath = catalogPath;
+
+        load();
+    }
+
+    /**
+     * @return The cached documents, sorted by name. This never touches the network.
+     */
+    public synchronized List<File> getFiles() {
+        List<File> sortedFiles = new ArrayList<>(files.values());
+        sortedFiles.sort(Comparator.comparing(File::getName, String.CASE_INSENSITIVE_ORDER));
+        return sortedFiles;
+    }
+
+    /**
+     * @param count The maximum number of documents to return.
+     * @return The cached documents that were modified most recently, most recent first.
+     */
+    public synchronized List<File> getRecentlyModifiedFiles(int count) {
+        return files.values().stream()
+                .sorted(Comparator.comparingLong(GoogleDriveCatalog::getModifiedMillis).reversed())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    private static long getModifiedMillis(File file) {
+        DateTime modifiedTime = file.getModifiedTime() != null ? file.getModifiedTime() : file.getCreatedTime();
+        return modifiedTime == null ? 0 : modifiedTime.getValue();
+    }
+
+    public synchronized boolean isEmpty() {
+        return startPageToken == null;
+    }
+
+    /**
+     * Brings the catalog up to date with Drive and persists it. If no start page token has been recorded yet,
+     * every page of the document listing is fetched; otherwise only the pending changes are applied.
+     *
+     * @return The up to date documents, sorted by name.
+     * @throws IOException If Drive could not be reached or the catalog could not be written.
+     */
+    public List<File> refresh() throws IOException {
+        if (isEmpty()) {
+            fullRefresh();
+        }
+        else {
+            incrementalRefresh();
+        }
+
+        save();
+
+        return getFiles();
+    }
+
+    /**
+     * @return A task that refreshes this catalog when run, intended to be run on a daemon thread so that
+     *         the picker can be shown with the cached documents in the meantime.
+     */
+    public Task<List<File>> newRefreshTask() {
+        return new Task<>() {
+            @Override
+            protected List<File> call() throws IOException {
+                return refresh();
+            }
+        };
+    }
+
+    private void fullRefresh() throws IOException {
+        // The start page token is requested before listing so that no change made during the listing is missed
+        String newStartPageToken = getDrive().changes().getStartPageToken().execute().getStartPageToken();
+
+        Map<String, File> listedFiles = new LinkedHashMap<>();
+        String pageToken = null;
+
+        do {
+            FileList fileList = getDrive().files().list()
+                    .setFields(LIST_FIELDS)
+                    .setQ(DOCUMENTS_QUERY)
+                    .setPageSize(PAGE_SIZE)
+                    .setPageToken(pageToken)
+                    .execute();
+
+            for (File file : fileList.getFiles()) {
+                listedFiles.put(file.getId(), file);
+            }
+
+            pageToken = fileList.getNextPageToken();
+        }
+        while (pageToken != null);
+
+        synchronized (this) {
+            files.clear();
+            files.putAll(listedFiles);
+            startPageToken = newStartPageToken;
+        }
+    }
+
+    private void incrementalRefresh() throws IOException {
+        String pageToken;
+
+        synchronized (this) {
+            pageToken = startPageToken;
+        }
+
+        while (pageToken != null) {
+            ChangeList changeList = getDrive().changes().list(pageToken)
+                    .setFields(CHANGES_FIELDS)
+                    .setPageSize(PAGE_SIZE)
+                    .setSpaces("drive")
+                    .execute();
+
+            synchronized (this) {
+                changeList.getChanges().forEach(this::applyChange);
+
+                if (changeList.getNewStartPageToken() != null) {
+                    startPageToken = changeList.getNewStartPageToken();
+                }
+            }
+
+            pageToken = changeList.getNextPageToken();
+        }
+    }
+
+    private void applyChange(Change change) {
+        File file = change.getFile();
+
+        boolean isRemoved = Boolean.TRUE.equals(change.getRemoved()) || file == null;
+
+        if (isRemoved || Boolean.TRUE.equals(file.getTrashed()) || !DOCUMENT_MIME_TYPE.equals(file.getMimeType())) {
+            files.remove(change.getFileId());
+        }
+        else {
+            files.put(file.getId(), file);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(getCatalogPath()))
+            return;
+
+        try (InputStream inputStream = Files.newInputStream(getCatalogPath())) {
+            State state = getJsonFactory().fromInputStream(inputStream, State.class);
+
+            if (state.files != null) {
+                state.files.forEach(file -> files.put(file.getId(), file));
+            }
+
+            startPageToken = state.startPageToken;
+        }
+        catch (IOException | IllegalArgumentException e) {
+            // A corrupt catalog is only a cache; fall back to a full listing on the next refresh
+            e.printStackTrace();
+            files.clear();
+            startPageToken = null;
+        }
+    }
+
+    private synchronized void save() throws IOException {
+        State state = new State();
+        state.startPageToken = startPageToken;
+        state.files = new ArrayList<>(files.values());
+
+        Path temporaryPath = getCatalogPath().resolveSibling(getCatalogPath().getFileName() + ".tmp");
+
+        Files.write(temporaryPath, getJsonFactory().toByteArray(state));
+
+        Files.move(temporaryPath, getCatalogPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Drive getDrive() {
+        return drive;
+    }
+
+    public JsonFactory getJsonFactory() {
+        return jsonFactory;
+    }
+
+    public Path getCatalogPath() {
+        return catalogPath;
+    }
+}
@@ -6,6 +6,7 @@ import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.client.json.JsonFactory;
@@ -16,6 +17,7 @@ import com.google.api.services.drive.Drive;
 import me.theeninja.pfflowing.EFlow;
 
 import java.io.*;
+import java.security.GeneralSecurityException;
 import java.util.List;
 
 // https://developers.google.com/drive/v3/web/manage-downloads
@@ -25,14 +27,14 @@ public class GoogleDriveConnector {
     private static final java.io.File DATA_STORE_DIR = new java.io.File(
             System.getProperty("user.home"), ".credentials/EFlow");
 
-    /** Global instance of the {@link FileDataStoreFactory}. */
+    /** Global instance of the {@link FileDataStoreFactory}, created on first use. */
     private static FileDataStoreFactory DATA_STORE_FACTORY;
 
     /** Global instance of the JSON factory. */
     private static final JsonFactory JSON_FACTORY =
             JacksonFactory.getDefaultInstance();
 
-    /** Global instance of the HTTP transport. */
+    /** Global instance of the HTTP transport, created on first use. */
     private static HttpTransport HTTP_TRANSPORT;
 
     /** Global instance of the scopes required by this quickstart.
@@ -42,13 +44,37 @@ public class GoogleDriveConnector {
      */
     private static final List<String> SCOPES = List.of(DriveScopes.DRIVE_READONLY);
 
-    static {
+    /**
+     * System property that overrides the Drive endpoint, allowing a local HTTP stand-in to be used in
+     * place of Google's servers.
+     */
+    public static final String ROOT_URL_PROPERTY = "eflow.drive.rootUrl";
+
+    /** Authorized Drive client, created on first use and shared thereafter. */
+    private static Drive driveService;
+
+    /** Cached listing of Drive documents, created on first use and shared thereafter. */
+    private static GoogleDriveCatalog driveCatalog;
+
+    /** Export pool and cache of Drive documents, created on first use and shared thereafter. */
+    private static GoogleDriveExporter driveExporter;
+
+    /**
+     * Creates the HTTP transport and the credential store, unless they have been created already.
+     *
+     * @throws IOException If the trusted certificates could not be loaded or the credential store could not be
+     *                     created.
+     */
+    private static synchronized void initialize() throws IOException {
+        if (HTTP_TRANSPORT != null)
+            return;
+
         try {
             HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
             DATA_STORE_FACTORY = new FileDataStoreFactory(DATA_STORE_DIR);
-        } catch (Throwable t) {
-            t.printStackTrace();
-            System.exit(1);
+        }
+        catch (GeneralSecurityException e) {
+            throw new IOException(e);
         }
     }
 
@@ -58,6 +84,8 @@ public class GoogleDriveConnector {
      * @throws IOException
      */
     public static Credential authorize() throws IOException {
+        initialize();
+
         // Load client secrets.
         InputStream in =
                 GoogleDriveConnector.class.getResourceAsStream("/gdrive_client_secret.json");
@@ -76,15 +104,72 @@ public class GoogleDriveConnector {
     }
 
     /**
-     * Build and return an authorized Drive client service.
+     * Build and return an authorized Drive client service. Authorization only happens on the first call;
+     * later calls reuse the same client.
      * @return an authorized Drive client service
      * @throws IOException
      */
-    public static Drive getDriveService() throws IOException {
-        Credential credential = authorize();
+    public static synchronized Drive getDriveService() throws IOException {
+        if (driveService == null) {
+            Credential credential = authorize();
+
+            driveService = newDriveService(HTTP_TRANSPORT, credential);
+        }
+
+        return driveService;
+    }
 
-        return new Drive.Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
+    /**
+     * Builds a Drive client that sends its requests to the endpoint named by {@link #ROOT_URL_PROPERTY}, or to
+     * Google's servers if it is not set.
+     *
+     * @param httpTransport The transport the requests are sent through.
+     * @param requestInitializer Initializes every request, such as by authorizing it, or {@code null}.
+     * @return The Drive client.
+     */
+    static Drive newDriveService(HttpTransport httpTransport, HttpRequestInitializer requestInitializer) {
+        return new Drive.Builder(httpTransport, JSON_FACTORY, requestInitializer)
                 .setApplicationName(EFlow.APPLICATION_NAME)
+                .setRootUrl(System.getProperty(ROOT_URL_PROPERTY, Drive.DEFAULT_ROOT_URL))
                 .build();
     }
+
+    /**
+     * @return The application wide catalog of Drive documents, backed by {@link EFlow#getDriveCatalogPath()}.
+     * @throws IOException
+     */
+    public static synchronized GoogleDriveCatalog getDriveCatalog() throws IOException {
+        if (driveCatalog == null) {
+            driveCatalog = new GoogleDriveCatalog(getDriveService(), EFlow.getInstance().getDriveCatalogPath());
+        }
+
+        return driveCatalog;
+    }
+
+    /**
+     * @return The application wide exporter of Drive documents, caching into {@link EFlow#getDriveExportsPath()}.
+     * @throws IOException
+     */
+    public static synchronized GoogleDriveExporter getDriveExporter() throws IOException {
+        if (driveExporter == null) {
+            driveExporter = new GoogleDriveExporter(getDriveService(), EFlow.getInstance().getDriveExportsPath());
+        }
+
+        return driveExporter;
+    }
+
+    /**
+     * Brings the catalog up to date and exports the {@code count} most recently modified documents into the
+     * export cache, so that they can be opened later without a network connection. Blocks until finished.
+     *
+     * @param count The number of documents to prefetch.
+     * @throws IOException If Drive could not be reached.
+     */
+    public static void prefetchRecentDocuments(int count) throws IOException {
+        getDriveCatalog().refresh();
+
+        List<com.google.api.services.drive.model.File> recentFiles = getDriveCatalog().getRecentlyModifiedFiles(count);
+
+        getDriveExporter().prefetch(recentFiles).join();
+    }
 }
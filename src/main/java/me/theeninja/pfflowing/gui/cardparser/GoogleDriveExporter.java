@@ -0,0 +1,230 @@
+package me.theeninja.pfflowing.gui.cardparser;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.File;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Exports Google Docs as HTML into an on-disk cache, a bounded number at a time. Each export is streamed straight
+ * to its cache file, whose modification time is set to the document's Drive modification time; a cached export is
+ * reused for as long as those two times agree. The most recently requested documents are also kept parsed in
+ * memory, so that reopening one neither reads nor parses its export again.
+ *
+ * @author TheeNinja
+ */
+public class GoogleDriveExporter {
+    private static final String HTML_MIME_TYPE = "text/html";
+    private static final String EXPORT_EXTENSION = "html";
+    private static final String TEMPORARY_EXTENSION = "part";
+
+    /** Maximum number of exports that are downloaded at the same time. */
+    public static final int EXPORT_CONCURRENCY = 4;
+
+    /** Maximum number of parsed documents kept in memory. */
+    public static final int DOCUMENT_CACHE_SIZE = 8;
+
+    /**
+     * A parsed export along with the Drive modification time of the document it was exported from.
+     */
+    private static class ParsedExport {
+        private final DateTime modifiedTime;
+        private final CompletableFuture<Document> document;
+
+        private ParsedExport(DateTime modifiedTime, CompletableFuture<Document> document) {
+            this.modifiedTime = modifiedTime;
+            this.document = document;
+        }
+    }
+
+    private final Drive drive;
+    private final Path exportsPath;
+
+    private final ExecutorService exportExecutor = Executors.newFixedThreadPool(EXPORT_CONCURRENCY, runnable -> {
+        Thread exportThread = new Thread(runnable, "Drive Export");
+
+        // Exporting terminates once EFlow application window is closed
+        exportThread.setDaemon(true);
+
+        return exportThread;
+    });
+
+    /**
+     * Exports that have been requested but not yet finished, keyed by file ID, so that a document requested
+     * twice (for example by a prefetch and by the user) is only downloaded once.
+     */
+    private final Map<String, CompletableFuture<Path>> pendingExports = new ConcurrentHashMap<>();
+
+    /**
+     * Parsed exports keyed by file ID, in access order so that the least recently requested is evicted first.
+     */
+    private final Map<String, ParsedExport> parsedExports = new LinkedHashMap<>(DOCUMENT_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedExport> eldest) {
+            return size() > DOCUMENT_CACHE_SIZE;
+        }
+    };
+
+    public GoogleDriveExporter(Drive drive, Path exportsPath) throws IOException {
+        this.drive = drive;
+        this.exportsPath = exportsPath;
+
+        Files.createDirectories(exportsPath);
+    }
+
+    /**
+     * @param file The document to export. Its {@code modifiedTime} should be populated for cached exports
+     *             to be reused.
+     * @return A future completed with the path of the exported HTML once it is on disk.
+     */
+    public CompletableFuture<Path> export(File file) {
+        Path exportPath = getExportPath(file);
+
+        if (isCached(file, exportPath)) {
+            return CompletableFuture.completedFuture(exportPath);
+        }
+
+        CompletableFuture<Path> export = new CompletableFuture<>();
+        CompletableFuture<Path> pendingExport = pendingExports.putIfAbsent(file.getId(), export);
+
+        if (pendingExport != null) {
+            return pendingExport;
+        }
+
+        // The export is no longer pending before it completes, so that a request made once it has completed
+        // never receives it, since it may be outdated or have failed
+        exportExecutor.execute(() -> {
+            try {
+                Path exportedPath = download(file, exportPath);
+                pendingExports.remove(file.getId(), export);
+                export.complete(exportedPath);
+            }
+            catch (RuntimeException e) {
+                pendingExports.remove(file.getId(), export);
+                export.completeExceptionally(e);
+            }
+        });
+
+        return export;
+    }
+
+    /**
+     * Exports the given documents concurrently, bounded by {@link #EXPORT_CONCURRENCY}.
+     *
+     * @param files The documents to export.
+     * @return A future completed once every export has finished.
+     */
+    public CompletableFuture<Void> prefetch(List<File> files) {
+        List<CompletableFuture<Path>> exports = files.stream()
+                .map(this::export)
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(exports.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Exports {@code file} if needed and parses the exported HTML, both on the export threads, so that this may
+     * be called from the JavaFX application thread. Drive always exports HTML as UTF-8. The returned document is
+     * shared by every caller requesting the same, unmodified file and must therefore not be modified.
+     *
+     * @param file The document to export.
+     * @return A future completed with the parsed document, or exceptionally with an {@link UncheckedIOException}
+     *         if the document could not be exported or read.
+     */
+    public CompletableFuture<Document> getDocument(File file) {
+        synchronized (parsedExports) {
+            ParsedExport parsedExport = parsedExports.get(file.getId());
+
+            if (parsedExport != null && parsedExport.modifiedTime != null &&
+                    parsedExport.modifiedTime.equals(file.getModifiedTime()) &&
+                    !parsedExport.document.isCompletedExceptionally()) {
+                return parsedExport.document;
+            }
+
+            CompletableFuture<Document> document = export(file).thenApplyAsync(this::parse, exportExecutor);
+            parsedExports.put(file.getId(), new ParsedExport(file.getModifiedTime(), document));
+
+            return document;
+        }
+    }
+
+    private Document parse(Path exportPath) {
+        try {
+            return Jsoup.parse(exportPath.toFile(), "UTF-8");
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path download(File file, Path exportPath) {
+        Path temporaryPath = exportPath.resolveSibling(exportPath.getFileName() + "." + TEMPORARY_EXTENSION);
+
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+                getDrive().files().export(file.getId(), HTML_MIME_TYPE).executeMediaAndDownloadTo(outputStream);
+            }
+
+            Files.move(temporaryPath, exportPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (file.getModifiedTime() != null) {
+                Files.setLastModifiedTime(exportPath, FileTime.fromMillis(file.getModifiedTime().getValue()));
+            }
+
+            return exportPath;
+        }
+        catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporaryPath);
+            }
+            catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isCached(File file, Path exportPath) {
+        DateTime modifiedTime = file.getModifiedTime();
+
+        if (modifiedTime == null || !Files.exists(exportPath))
+            return false;
+
+        try {
+            return Files.getLastModifiedTime(exportPath).toMillis() == modifiedTime.getValue();
+        }
+        catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path getExportPath(File file) {
+        return getExportsPath().resolve(file.getId() + "." + EXPORT_EXTENSION);
+    }
+
+    public Drive getDrive() {
+        return drive;
+    }
+
+    public Path getExportsPath() {
+        return exportsPath;
+    }
+}
@@ -3,12 +3,13 @@ package me.theeninja.pfflowing.gui.cardparser;
 import com.google.api.client.util.DateTime;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.model.File;
-import com.google.api.services.drive.model.FileList;
+import javafx.concurrent.Task;
+import org.jsoup.nodes.Document;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class GoogleDriveFetcher extends OnlineFileFetcher<File> {
@@ -21,6 +22,7 @@ public class GoogleDriveFetcher extends OnlineFileFetcher<File> {
     }
 
     private Drive.Files serviceFiles;
+    private GoogleDriveCatalog driveCatalog;
 
     @Override
     protected File newDummyFile() {
@@ -38,33 +40,40 @@ public class GoogleDriveFetcher extends OnlineFileFetcher<File> {
         // Build a new authorized API client service.
         Drive service = GoogleDriveConnector.getDriveService();
         this.serviceFiles = service.files();
+        this.driveCatalog = GoogleDriveConnector.getDriveCatalog();
     }
 
+    /**
+     * Lists the cached documents immediately while the catalog catches up with Drive in the background.
+     * Once caught up, the picker is updated with the fresh listing.
+     */
     @Override
-    protected List<File> getPossibleFiles() throws IOException {
-        // Print the names and IDs for up to 10 files.
-        FileList resultList = getServiceFiles().list()
-                .setFields("nextPageToken, files(id, name, createdTime)")
-                .setQ("mimeType = 'application/vnd.google-apps.document'")
-                .execute();
-
-        return resultList.getFiles();
-    }
+    protected List<File> getPossibleFiles() {
+        Task<List<File>> refreshTask = getDriveCatalog().newRefreshTask();
 
-    @Override
-    protected String getHTMLOfFile(File file) throws IOException {
-        String selectedFileID = file.getId();
+        refreshTask.setOnSucceeded(workerStateEvent -> setPossibleFiles(refreshTask.getValue()));
+        refreshTask.setOnFailed(workerStateEvent -> refreshTask.getException().printStackTrace());
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Thread refreshThread = new Thread(refreshTask);
 
-        getServiceFiles().export(selectedFileID, "text/html").executeMediaAndDownloadTo(outputStream);
+        // Refreshing terminates once EFlow application window is closed
+        refreshThread.setDaemon(true);
 
-        byte[] bytes = outputStream.toByteArray();
+        refreshThread.start();
 
-        return new String(bytes);
+        return getDriveCatalog().getFiles();
+    }
+
+    @Override
+    protected CompletableFuture<Document> getDocumentOfFile(File file) throws IOException {
+        return GoogleDriveConnector.getDriveExporter().getDocument(file);
     }
 
     public Drive.Files getServiceFiles() {
         return serviceFiles;
     }
+
+    public GoogleDriveCatalog getDriveCatalog() {
+        return driveCatalog;
+    }
 }
@@ -7,6 +7,7 @@ import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.sax.ToXMLContentHandler;
+import org.jsoup.nodes.Document;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 
@@ -15,11 +16,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class OfflineFileFetcher extends FileFetcher<Path> {
     @Override
-    protected String getHTMLOfFile(Path path) throws IOException {
+    protected CompletableFuture<Document> getDocumentOfFile(Path path) {
+        return parseAsync(() -> getHTMLOfFile(path));
+    }
+
+    private static String getHTMLOfFile(Path path) throws IOException {
         ContentHandler handler = new ToXMLContentHandler();
         AutoDetectParser parser = new AutoDetectParser();
         Metadata metadata = new Metadata();
@@ -27,11 +33,9 @@ public class OfflineFileFetcher extends FileFetcher<Path> {
         try (InputStream stream = Files.newInputStream(path)) {
             parser.parse(stream, handler, metadata);
             return handler.toString();
-        } catch (IOException | SAXException | TikaException e) {
-            e.printStackTrace();
+        } catch (SAXException | TikaException e) {
+            throw new IOException(e);
         }
-
-        return null;
     }
 
     @Override
@@ -1,7 +1,10 @@
 package me.theeninja.pfflowing.gui.cardparser;
 
+import org.jsoup.nodes.Document;
+
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class OneDriveFetcher extends OnlineFileFetcher {
@@ -25,7 +28,7 @@ public class OneDriveFetcher extends OnlineFileFetcher {
     }
 
     @Override
-    protected String getHTMLOfFile(Object file) throws IOException {
-        return null;
+    protected CompletableFuture<Document> getDocumentOfFile(Object file) throws IOException {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("OneDrive is not supported yet"));
     }
 }
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public abstract class OnlineFileFetcher<T> extends FileFetcher<T> implements Initializable, SingleViewController<TreeTableView<T>> {
     private final Function<T, String> nameProvider;
@@ -80,16 +81,26 @@ public abstract class OnlineFileFetcher<T> extends FileFetcher<T> implements Ini
 
         List<T> files = getPossibleFiles();
 
-        if (files == null || files.size() == 0)
+        if (files == null)
             return;
 
-        files.stream().map(TreeItem::new).forEach(getCorrelatingView().getRoot().getChildren()::add);
+        setPossibleFiles(files);
 
         getStage().show();
         getCorrelatingView().requestFocus();
         getCorrelatingView().addEventHandler(MouseEvent.MOUSE_CLICKED, onFileSelected(fileConsumerCallback));
     }
 
+    /**
+     * Replaces the files listed in the picker. Must be called on the JavaFX application thread.
+     *
+     * @param files The files to list.
+     */
+    protected void setPossibleFiles(List<T> files) {
+        List<TreeItem<T>> treeItems = files.stream().map(TreeItem::new).collect(Collectors.toList());
+        getCorrelatingView().getRoot().getChildren().setAll(treeItems);
+    }
+
     private EventHandler<MouseEvent> onFileSelected(Consumer<T> fileConsumerCallback) {
         return mouseEvent -> {
             // Indicates that the user did not double click the file, hence we don't process the event
@@ -0,0 +1,828 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import me.theeninja.pfflowing.ActionManager;
+import me.theeninja.pfflowing.actions.Action;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only record of what has been done to the flow grids of a round since it was last saved, from which the
+ * round can be rebuilt after a crash by replaying the journal on top of the saved round, its snapshot.
+ *
+ * Rather than the actions themselves, which refer to live nodes, the journal records what each action changed:
+ * after every action performed, undone or redone, the flow grid acted on is compared to what the journal last
+ * recorded of it, and the differences are appended as a single group. Regions are identified by a number, given
+ * to the regions of the snapshot in the order they are saved in, so a group only holds the regions it changed.
+ *
+ * A journal file starts with a header naming the round, its snapshot and the generation of its snapshot, followed
+ * by the groups, each preceded by its length and CRC-32, so that a group torn by a crash is recognized and dropped
+ * when recovering. The snapshot excludes the segments autosaved since, see {@link RoundFile}, as the journal is only
+ * checkpointed when the round is saved in full.
+ *
+ * Journals are only accessed on the JavaFX application thread, and write through the {@link JournalWriter}.
+ *
+ * @author TheeNinja
+ */
+public class ActionJournal {
+    private static final int MAGIC = 0x45464A4C;
+    private static final int VERSION = 1;
+
+    /**
+     * Kind of the group holding the regions of a round that has no snapshot, such as a round received over
+     * Bluetooth. Groups of actions are of the kind of the ordinal of their operation plus one.
+     */
+    private static final byte BASE_GROUP = 0;
+
+    private static final byte REGION_ADDED = 0;
+    private static final byte REGION_REMOVED = 1;
+    private static final byte REGION_MOVED = 2;
+    private static final byte TEXT_CHANGED = 3;
+    private static final byte QUESTIONS_CHANGED = 4;
+    private static final byte CARDS_CHANGED = 5;
+    private static final byte DROPPED_CHANGED = 6;
+
+    private static final String DROPPED_STYLECLASS = "dropped";
+
+    private static final Side[] SIDES = {Side.AFFIRMATIVE, Side.NEGATION};
+
+    /**
+     * What the journal last recorded of a region.
+     */
+    private static class RegionState {
+        private final int id;
+        private final int column;
+        private final int row;
+        private final String text;
+        private final List<String> questions;
+        private final List<Card> cards;
+        private final boolean dropped;
+
+        private RegionState(int id, FlowingRegion flowingRegion) {
+            this.id = id;
+
+            Integer columnIndex = FlowGrid.getColumnIndex(flowingRegion);
+            Integer rowIndex = FlowGrid.getRowIndex(flowingRegion);
+
+            this.column = columnIndex == null ? 0 : columnIndex;
+            this.row = rowIndex == null ? 0 : rowIndex;
+            this.text = flowingRegion.getFullText();
+            this.questions = new ArrayList<>(flowingRegion.getAssociatedQuestions());
+            this.cards = new ArrayList<>(flowingRegion.getAssociatedCards());
+            this.dropped = flowingRegion.getStyleClass().contains(DROPPED_STYLECLASS);
+        }
+    }
+
+    /**
+     * The contents of a journal file, read in the background so that it can be replayed on the JavaFX
+     * application thread.
+     */
+    static class Contents {
+        private final Path journalPath;
+        private final String roundName;
+        private final Side side;
+        private final Path snapshotPath;
+        private final JsonObject snapshot;
+        private final List<ByteBuffer> groups;
+        private final long validLength;
+
+        private Contents(Path journalPath, String roundName, Side side, Path snapshotPath, JsonObject snapshot, List<ByteBuffer> groups, long validLength) {
+            this.journalPath = journalPath;
+            this.roundName = roundName;
+            this.side = side;
+            this.snapshotPath = snapshotPath;
+            this.snapshot = snapshot;
+            this.groups = groups;
+            this.validLength = validLength;
+        }
+
+        String getRoundName() {
+            return roundName;
+        }
+
+        Path getJournalPath() {
+            return journalPath;
+        }
+
+        /**
+         * @return Whether replaying this journal would change the round it was recorded for.
+         */
+        boolean hasGroups() {
+            return !groups.isEmpty();
+        }
+    }
+
+    private final Round round;
+    private final Path journalPath;
+    private final Gson gson;
+
+    private final Map<Side, Map<FlowingRegion, RegionState>> regionStates = new EnumMap<>(Side.class);
+    private final Map<Side, BiConsumer<ActionManager.Operation, Action<?>>> listeners = new EnumMap<>(Side.class);
+
+    private int nextId;
+
+    /**
+     * Represents the number of groups appended since the round was last saved.
+     */
+    private int unsavedGroups;
+
+    /**
+     * Only accessed on the journal thread. Remains {@code null} while the journal file could not be opened, in which
+     * case nothing is journaled until the next {@link #reset()} manages to open it.
+     */
+    private FileChannel channel;
+
+    ActionJournal(Round round, Path journalPath, Gson gson) {
+        this.round = round;
+        this.journalPath = journalPath;
+        this.gson = gson;
+
+        for (Side side : SIDES) {
+            regionStates.put(side, new IdentityHashMap<>());
+            listeners.put(side, (operation, action) -> onOperation(side, operation, action));
+        }
+    }
+
+    /**
+     * Starts a new journal file and records every action done to the round from now on.
+     *
+     * @param matchesSnapshot Whether the flow grids of the round are exactly as saved in its snapshot, as they are
+     *                        right after the round has been opened. Otherwise, the regions of the round are
+     *                        recorded first.
+     */
+    void start(boolean matchesSnapshot) {
+        assignIds();
+        reset();
+
+        if (!matchesSnapshot && !regionStates.values().stream().allMatch(Map::isEmpty)) {
+            appendBase();
+        }
+
+        listen();
+    }
+
+    /**
+     * Restarts the journal from the snapshot the round has just been saved to.
+     */
+    void checkpoint() {
+        assignIds();
+        reset();
+
+        unsavedGroups = 0;
+    }
+
+    /**
+     * Stops recording, and deletes the journal file if {@code delete} is set.
+     */
+    void close(boolean delete) {
+        for (Side side : SIDES) {
+            round.getController(side).getActionManager().removeListener(listeners.get(side));
+        }
+
+        JournalWriter.getInstance().submit(() -> {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+                channel = null;
+            }
+
+            if (delete) {
+                Files.deleteIfExists(journalPath);
+            }
+
+            return null;
+        });
+    }
+
+    Round getRound() {
+        return round;
+    }
+
+    Path getJournalPath() {
+        return journalPath;
+    }
+
+    boolean hasUnsavedGroups() {
+        return unsavedGroups > 0;
+    }
+
+    private void listen() {
+        for (Side side : SIDES) {
+            round.getController(side).getActionManager().addListener(listeners.get(side));
+        }
+    }
+
+    private List<FlowingRegion> getFlowingRegions(Side side) {
+        List<Node> children = round.getController(side).flowGrid.getChildren();
+
+        return children.stream()
+                .filter(FlowingRegion.class::isInstance)
+                .map(FlowingRegion.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Numbers the regions of the round in the order they are saved in, affirmative first, so that the regions of
+     * the snapshot can be numbered alike when it is loaded.
+     */
+    private void assignIds() {
+        nextId = 0;
+
+        for (Side side : SIDES) {
+            Map<FlowingRegion, RegionState> sideStates = regionStates.get(side);
+            sideStates.clear();
+
+            for (FlowingRegion flowingRegion : getFlowingRegions(side)) {
+                sideStates.put(flowingRegion, new RegionState(nextId++, flowingRegion));
+            }
+        }
+    }
+
+    private void reset() {
+        byte[] header = encodeHeader();
+
+        JournalWriter.getInstance().submit(() -> {
+            if (channel == null) {
+                try {
+                    channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                }
+                catch (IOException e) {
+                    // Such as a journals directory that was removed, in which case the round is not journaled
+                    e.printStackTrace();
+                    return null;
+                }
+            }
+
+            channel.truncate(0);
+            channel.position(0);
+            writeFully(channel, ByteBuffer.wrap(header));
+
+            return channel;
+        });
+    }
+
+    private byte[] encodeHeader() {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream header = new DataOutputStream(byteStream)) {
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            writeString(header, round.getRoundName());
+            writeString(header, round.getSide().name());
+            writeString(header, round.getPath() == null ? null : round.getPath().toAbsolutePath().toString());
+            writeString(header, round.getGeneration());
+        }
+        catch (IOException e) {
+            // Never thrown when writing to memory
+            throw new UncheckedIOException(e);
+        }
+
+        return byteStream.toByteArray();
+    }
+
+    private void appendBase() {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream group = new DataOutputStream(byteStream)) {
+            group.writeByte(BASE_GROUP);
+            writeString(group, null);
+            group.writeInt(regionStates.values().stream().mapToInt(Map::size).sum());
+
+            for (Side side : SIDES) {
+                for (Map.Entry<FlowingRegion, RegionState> entry : regionStates.get(side).entrySet()) {
+                    writeAddition(group, side, entry.getValue().id, entry.getKey());
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        append(byteStream.toByteArray());
+    }
+
+    private void onOperation(Side side, ActionManager.Operation operation, Action<?> action) {
+        ByteArrayOutputStream changeStream = new ByteArrayOutputStream();
+        int changeCount;
+
+        try (DataOutputStream changes = new DataOutputStream(changeStream)) {
+            changeCount = writeChanges(changes, side);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Such as an edit that left the text as it was
+        if (changeCount == 0)
+            return;
+
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream(changeStream.size() + Byte.BYTES + Integer.BYTES * 2);
+
+        try (DataOutputStream group = new DataOutputStream(byteStream)) {
+            group.writeByte(operation.ordinal() + 1);
+            writeString(group, action.getClass().getSimpleName());
+            group.writeInt(changeCount);
+            changeStream.writeTo(group);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        append(byteStream.toByteArray());
+    }
+
+    /**
+     * Writes how the regions of {@code side} differ from what was last recorded of them, and records them anew.
+     *
+     * @return The number of changes written.
+     */
+    private int writeChanges(DataOutputStream changes, Side side) throws IOException {
+        Map<FlowingRegion, RegionState> previousStates = regionStates.get(side);
+        Map<FlowingRegion, RegionState> currentStates = new IdentityHashMap<>();
+
+        int changeCount = 0;
+
+        for (FlowingRegion flowingRegion : getFlowingRegions(side)) {
+            RegionState previousState = previousStates.remove(flowingRegion);
+
+            if (previousState == null) {
+                int id = nextId++;
+
+                writeAddition(changes, side, id, flowingRegion);
+                currentStates.put(flowingRegion, new RegionState(id, flowingRegion));
+                changeCount++;
+
+                continue;
+            }
+
+            RegionState currentState = new RegionState(previousState.id, flowingRegion);
+            currentStates.put(flowingRegion, currentState);
+
+            if (currentState.column != previousState.column || currentState.row != previousState.row) {
+                writeChangeHeader(changes, side, REGION_MOVED, currentState.id);
+                changes.writeInt(currentState.column);
+                changes.writeInt(currentState.row);
+                changeCount++;
+            }
+
+            if (!currentState.text.equals(previousState.text)) {
+                writeChangeHeader(changes, side, TEXT_CHANGED, currentState.id);
+                writeString(changes, currentState.text);
+                changeCount++;
+            }
+
+            if (!currentState.questions.equals(previousState.questions)) {
+                writeChangeHeader(changes, side, QUESTIONS_CHANGED, currentState.id);
+                writeQuestions(changes, currentState.questions);
+                changeCount++;
+            }
+
+            if (!isSameCards(currentState.cards, previousState.cards)) {
+                writeChangeHeader(changes, side, CARDS_CHANGED, currentState.id);
+                writeCards(changes, currentState.cards);
+                changeCount++;
+            }
+
+            if (currentState.dropped != previousState.dropped) {
+                writeChangeHeader(changes, side, DROPPED_CHANGED, currentState.id);
+                changes.writeBoolean(currentState.dropped);
+                changeCount++;
+            }
+        }
+
+        // Whatever is left was removed from the flow grid
+        for (RegionState removedState : previousStates.values()) {
+            writeChangeHeader(changes, side, REGION_REMOVED, removedState.id);
+            changeCount++;
+        }
+
+        previousStates.clear();
+        previousStates.putAll(currentStates);
+
+        return changeCount;
+    }
+
+    private static boolean isSameCards(List<Card> cards, List<Card> otherCards) {
+        if (cards.size() != otherCards.size())
+            return false;
+
+        for (int index = 0; index < cards.size(); index++) {
+            if (cards.get(index) != otherCards.get(index))
+                return false;
+        }
+
+        return true;
+    }
+
+    private void writeAddition(DataOutputStream changes, Side side, int id, FlowingRegion flowingRegion) throws IOException {
+        RegionState state = new RegionState(id, flowingRegion);
+
+        writeChangeHeader(changes, side, REGION_ADDED, id);
+        changes.writeByte(flowingRegion.getFlowingRegionType().ordinal());
+        changes.writeInt(state.column);
+        changes.writeInt(state.row);
+        writeString(changes, state.text);
+        writeQuestions(changes, state.questions);
+        writeCards(changes, state.cards);
+        changes.writeBoolean(state.dropped);
+    }
+
+    private static void writeChangeHeader(DataOutputStream changes, Side side, byte change, int id) throws IOException {
+        changes.writeByte(side.ordinal());
+        changes.writeByte(change);
+        changes.writeInt(id);
+    }
+
+    private static void writeQuestions(DataOutputStream changes, List<String> questions) throws IOException {
+        changes.writeInt(questions.size());
+
+        for (String question : questions) {
+            writeString(changes, question);
+        }
+    }
+
+    private void writeCards(DataOutputStream changes, List<Card> cards) throws IOException {
+        changes.writeInt(cards.size());
+
+        // Cards are written as they are saved in rounds, along with a copy of the HTML of cards kept in blocks
+        for (Card card : cards) {
+            writeString(changes, gson.toJson(card, Card.class));
+        }
+    }
+
+    /**
+     * Unlike {@link DataOutputStream#writeUTF(String)}, writes strings of any length, such as the HTML of cards.
+     */
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        if (string == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private void append(byte[] group) {
+        CRC32 crc = new CRC32();
+        crc.update(group);
+
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES * 2 + group.length);
+        frame.putInt(group.length);
+        frame.putInt((int) crc.getValue());
+        frame.put(group);
+        frame.flip();
+
+        unsavedGroups++;
+
+        JournalWriter.getInstance().submit(() -> {
+            // The journal file could not be opened, see #reset()
+            if (channel == null)
+                return null;
+
+            writeFully(channel, frame);
+            return channel;
+        });
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads a journal file, and the snapshot it was recorded on top of, if any. May be called on any thread.
+     *
+     * @throws IOException If the file is not a journal, or could not be read.
+     */
+    static Contents read(Path journalPath) throws IOException {
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+
+        String roundName;
+        Side side;
+        Path snapshotPath;
+        String generation;
+
+        try {
+            if (journal.getInt() != MAGIC || journal.getInt() != VERSION)
+                throw new IOException("Not an action journal " + journalPath);
+
+            roundName = readString(journal);
+            side = Side.valueOf(readString(journal));
+
+            String snapshotPathName = readString(journal);
+            snapshotPath = snapshotPathName == null ? null : Paths.get(snapshotPathName);
+
+            generation = readString(journal);
+        }
+        catch (BufferUnderflowException | IllegalArgumentException | NullPointerException e) {
+            throw new IOException("Truncated action journal header " + journalPath, e);
+        }
+
+        List<ByteBuffer> groups = new ArrayList<>();
+        CRC32 crc = new CRC32();
+
+        long validLength = journal.position();
+
+        // Stops at the first group that was not completely written
+        while (journal.remaining() >= Integer.BYTES * 2) {
+            int length = journal.getInt();
+            int expectedCrc = journal.getInt();
+
+            if (length < 0 || length > journal.remaining())
+                break;
+
+            ByteBuffer group = journal.slice();
+            group.limit(length);
+
+            crc.reset();
+            crc.update(group.duplicate());
+
+            if ((int) crc.getValue() != expectedCrc)
+                break;
+
+            groups.add(group);
+            journal.position(journal.position() + length);
+
+            validLength = journal.position();
+        }
+
+        JsonObject snapshot = null;
+
+        if (snapshotPath != null && Files.exists(snapshotPath)) {
+            try {
+                snapshot = RoundFile.readSnapshot(snapshotPath);
+
+                // The round was compacted after this journal was last checkpointed, so it holds every group of it
+                if (!Objects.equals(RoundFile.getGeneration(snapshot), generation)) {
+                    snapshot = RoundFile.read(snapshotPath);
+                    groups.clear();
+                }
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return new Contents(journalPath, roundName, side, snapshotPath, snapshot, groups, validLength);
+    }
+
+    /**
+     * Rebuilds the round a journal was recorded for, by loading its snapshot and replaying every group on top of
+     * it, and continues the journal from there. Must be called on the JavaFX application thread.
+     *
+     * @return The journal of the rebuilt round.
+     */
+    static ActionJournal replay(Contents contents, Gson gson) {
+        Round round = null;
+
+        if (contents.snapshot != null) {
+            try {
+                round = gson.fromJson(contents.snapshot, Round.class);
+                round.setPath(contents.snapshotPath);
+            }
+            catch (JsonParseException | IllegalStateException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // The snapshot is missing, so at least what was done since it was saved is recovered
+        if (round == null) {
+            round = new Round(contents.roundName, contents.side);
+        }
+
+        ActionJournal actionJournal = new ActionJournal(round, contents.journalPath, gson);
+        actionJournal.assignIds();
+
+        Map<Integer, FlowingRegion> regionsById = new HashMap<>();
+        actionJournal.regionStates.values().forEach(sideStates ->
+            sideStates.forEach((flowingRegion, state) -> regionsById.put(state.id, flowingRegion))
+        );
+
+        try {
+            for (ByteBuffer group : contents.groups) {
+                actionJournal.replayGroup(group.duplicate(), regionsById);
+            }
+        }
+        // Only thrown for a journal written by a different version of EFlow, as torn groups were dropped when read
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalStateException | JsonParseException e) {
+            e.printStackTrace();
+        }
+
+        // Records the replayed regions under the numbers they were journaled with
+        Map<FlowingRegion, Integer> idsByRegion = new IdentityHashMap<>();
+        regionsById.forEach((id, flowingRegion) -> idsByRegion.put(flowingRegion, id));
+
+        for (Side side : SIDES) {
+            Map<FlowingRegion, RegionState> sideStates = actionJournal.regionStates.get(side);
+            sideStates.clear();
+
+            for (FlowingRegion flowingRegion : actionJournal.getFlowingRegions(side)) {
+                Integer id = idsByRegion.get(flowingRegion);
+
+                if (id == null) {
+                    id = actionJournal.nextId++;
+                }
+
+                sideStates.put(flowingRegion, new RegionState(id, flowingRegion));
+            }
+        }
+
+        actionJournal.unsavedGroups = contents.groups.size();
+
+        JournalWriter.getInstance().submit(() -> {
+            actionJournal.channel = FileChannel.open(contents.journalPath, StandardOpenOption.WRITE);
+
+            // Drops the group torn by the crash, if any, so that groups appended from now on are read back
+            actionJournal.channel.truncate(contents.validLength);
+            actionJournal.channel.position(contents.validLength);
+
+            return actionJournal.channel;
+        });
+
+        actionJournal.listen();
+
+        return actionJournal;
+    }
+
+    private void replayGroup(ByteBuffer group, Map<Integer, FlowingRegion> regionsById) {
+        // Kind of group and type of action, which only help to read the journal by hand
+        group.get();
+        readString(group);
+
+        int changeCount = group.getInt();
+
+        for (int changeIndex = 0; changeIndex < changeCount; changeIndex++) {
+            Side side = SIDES[group.get()];
+            byte change = group.get();
+            int id = group.getInt();
+
+            nextId = Math.max(nextId, id + 1);
+
+            FlowGrid flowGrid = round.getController(side).flowGrid;
+            FlowingRegion flowingRegion = regionsById.get(id);
+
+            switch (change) {
+                case REGION_ADDED: {
+                    FlowingRegionType type = FlowingRegionType.values()[group.get()];
+                    int column = group.getInt();
+                    int row = group.getInt();
+                    String text = readString(group);
+                    List<String> questions = readQuestions(group);
+                    List<Card> cards = readCards(group);
+                    boolean dropped = group.get() != 0;
+
+                    FlowingRegion addedRegion = new FlowingRegion(
+                        text,
+                        type,
+                        FXCollections.observableArrayList(cards),
+                        FXCollections.observableArrayList(questions)
+                    );
+
+                    FlowGrid.setConstraints(addedRegion, column, row);
+                    setDropped(addedRegion, dropped);
+
+                    flowGrid.getChildren().add(addedRegion);
+                    regionsById.put(id, addedRegion);
+
+                    break;
+                }
+                case REGION_REMOVED: {
+                    if (flowingRegion != null) {
+                        flowGrid.getChildren().remove(flowingRegion);
+                        regionsById.remove(id);
+                    }
+
+                    break;
+                }
+                case REGION_MOVED: {
+                    int column = group.getInt();
+                    int row = group.getInt();
+
+                    if (flowingRegion != null) {
+                        FlowGrid.setConstraints(flowingRegion, column, row);
+                    }
+
+                    break;
+                }
+                case TEXT_CHANGED: {
+                    String text = readString(group);
+
+                    if (flowingRegion != null) {
+                        flowingRegion.setFullText(text);
+                    }
+
+                    break;
+                }
+                case QUESTIONS_CHANGED: {
+                    List<String> questions = readQuestions(group);
+
+                    if (flowingRegion != null) {
+                        flowingRegion.getAssociatedQuestions().setAll(questions);
+                    }
+
+                    break;
+                }
+                case CARDS_CHANGED: {
+                    List<Card> cards = readCards(group);
+
+                    if (flowingRegion != null) {
+                        flowingRegion.getAssociatedCards().setAll(cards);
+                    }
+
+                    break;
+                }
+                case DROPPED_CHANGED: {
+                    boolean dropped = group.get() != 0;
+
+                    if (flowingRegion != null) {
+                        setDropped(flowingRegion, dropped);
+                    }
+
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown change " + change + " in " + journalPath);
+            }
+        }
+    }
+
+    private static void setDropped(FlowingRegion flowingRegion, boolean dropped) {
+        if (dropped) {
+            if (!flowingRegion.getStyleClass().contains(DROPPED_STYLECLASS)) {
+                flowingRegion.getStyleClass().add(DROPPED_STYLECLASS);
+            }
+        }
+        else {
+            flowingRegion.getStyleClass().remove(DROPPED_STYLECLASS);
+        }
+    }
+
+    private static List<String> readQuestions(ByteBuffer group) {
+        int questionCount = group.getInt();
+        List<String> questions = new ArrayList<>(questionCount);
+
+        for (int index = 0; index < questionCount; index++) {
+            questions.add(readString(group));
+        }
+
+        return questions;
+    }
+
+    private List<Card> readCards(ByteBuffer group) {
+        int cardCount = group.getInt();
+        List<Card> cards = new ArrayList<>(cardCount);
+
+        for (int index = 0; index < cardCount; index++) {
+            cards.add(gson.fromJson(readString(group), Card.class));
+        }
+
+        return cards;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length < 0)
+            return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
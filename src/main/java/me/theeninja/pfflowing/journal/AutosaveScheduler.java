@@ -0,0 +1,97 @@
+package me.theeninja.pfflowing.journal;
+
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Continuously saves every open round that has been saved before, without stalling the JavaFX application thread.
+ *
+ * Changes are tracked per region, through the children of each flow grid and the properties of each region, and
+ * flag the {@link me.theeninja.pfflowing.gui.FlowDisplayController#editedProperty() edited} property of their flow
+ * display. A couple of seconds after a flow display is edited, only the regions changed since are serialized and
+ * appended as a single segment next to the round, see {@link RoundFile}, so autosaving costs as much as the changes
+ * made rather than as the round. Once enough regions have been autosaved, or as the round is closed, the segments
+ * are compacted into a full snapshot of the round on the journal thread.
+ *
+ * Must only be accessed on the JavaFX application thread.
+ *
+ * @author TheeNinja
+ */
+public class AutosaveScheduler {
+    private static final AutosaveScheduler INSTANCE = new AutosaveScheduler();
+
+    private final Map<Round, RoundAutosave> autosaves = new IdentityHashMap<>();
+
+    private AutosaveScheduler() {}
+
+    public static AutosaveScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts autosaving {@code round}, which must be exactly as saved, if it has been.
+     */
+    public void attach(Round round) {
+        if (autosaves.containsKey(round))
+            return;
+
+        RoundAutosave roundAutosave = new RoundAutosave(round, EFlow.getInstance().getGSON());
+        roundAutosave.attach();
+
+        autosaves.put(round, roundAutosave);
+    }
+
+    /**
+     * Autosaves what is left of {@code round}, which has been closed, and stops autosaving it.
+     */
+    public void detach(Round round) {
+        RoundAutosave roundAutosave = autosaves.remove(round);
+
+        if (roundAutosave != null) {
+            roundAutosave.detach();
+        }
+    }
+
+    /**
+     * Saves {@code round} in full to its path, and waits until it is on the disk.
+     *
+     * @throws IOException If the round could not be saved.
+     */
+    public void save(Round round) throws IOException {
+        RoundAutosave.SaveCommand saveCommand = getAutosave(round).save();
+
+        JournalWriter.getInstance().flush();
+
+        if (saveCommand.getException() != null)
+            throw saveCommand.getException();
+    }
+
+    /**
+     * Saves {@code round} in full to its path in the background, such as a round that differs from its path as
+     * it was opened.
+     */
+    public void saveInBackground(Round round) {
+        getAutosave(round).save();
+    }
+
+    /**
+     * Autosaves and compacts every round as EFlow exits.
+     */
+    public void closeAll() {
+        autosaves.values().forEach(RoundAutosave::detach);
+        autosaves.clear();
+    }
+
+    private RoundAutosave getAutosave(Round round) {
+        RoundAutosave roundAutosave = autosaves.get(round);
+
+        if (roundAutosave == null)
+            throw new IllegalArgumentException("Round is not open");
+
+        return roundAutosave;
+    }
+}
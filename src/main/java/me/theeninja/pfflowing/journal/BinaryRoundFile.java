@@ -0,0 +1,592 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import javafx.collections.FXCollections;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.flowingregions.CardRegistry;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Version 2 of the EFlow format, a binary layout of a round, so that the regions of a single speech, or of a single
+ * flow grid, are read without parsing the rest of the round, and regions are read without the HTML of their cards,
+ * see {@link RoundFile#readOutline(Path)}. Rounds saved as JSON, version 1, are still read, see {@link RoundFile}.
+ *
+ * Layout, in big-endian order:
+ * <ol>
+ *     <li>The header, holding the name, side and generation of the round, the number of regions of each flow grid,
+ *         and the offset of each of the following tables.</li>
+ *     <li>The regions, a fixed-size record each, the affirmative flow grid first, each in the order of its
+ *         children. A record holds the type, column and row of its region, the string of its text, and where its
+ *         cards and questions start within the references.</li>
+ *     <li>The speeches, where the numbers of the regions of each speech of each flow grid start within the speech
+ *         index, and how many there are.</li>
+ *     <li>The speech index, the numbers of the regions of every speech.</li>
+ *     <li>The references, the cards and questions of every region, as numbers within the cards and the strings.</li>
+ *     <li>The cards, the string of the JSON of each distinct card.</li>
+ *     <li>The strings, the offset and length of each distinct string, followed by every string in UTF-8.</li>
+ * </ol>
+ *
+ * An opened round is not thread-safe, as strings and cards are decoded once, as they are first read.
+ *
+ * @author TheeNinja
+ */
+public final class BinaryRoundFile {
+    public static final int MAGIC = 0x45464C32;
+    public static final int VERSION = 2;
+
+    private static final int NO_STRING = -1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int NAME_OFFSET = 8;
+    private static final int SIDE_OFFSET = 12;
+    private static final int GENERATION_OFFSET = 16;
+    private static final int AFF_REGIONS_OFFSET = 20;
+    private static final int NEG_REGIONS_OFFSET = 24;
+    private static final int CARD_COUNT_OFFSET = 28;
+    private static final int STRING_COUNT_OFFSET = 32;
+    private static final int SPEECHES_TABLE_OFFSET = 36;
+    private static final int SPEECH_INDEX_TABLE_OFFSET = 40;
+    private static final int REFERENCES_TABLE_OFFSET = 44;
+    private static final int CARDS_TABLE_OFFSET = 48;
+    private static final int STRINGS_TABLE_OFFSET = 52;
+    private static final int HEADER_BYTES = 64;
+
+    private static final int REGION_TYPE_OFFSET = 0;
+    private static final int REGION_COLUMN_OFFSET = 4;
+    private static final int REGION_ROW_OFFSET = 8;
+    private static final int REGION_TEXT_OFFSET = 12;
+    private static final int REGION_CARDS_OFFSET = 16;
+    private static final int REGION_CARD_COUNT_OFFSET = 20;
+    private static final int REGION_QUESTIONS_OFFSET = 24;
+    private static final int REGION_QUESTION_COUNT_OFFSET = 28;
+    private static final int REGION_BYTES = 32;
+
+    private static final int SPEECH_BYTES = 2 * Integer.BYTES;
+    private static final int STRING_ENTRY_BYTES = 2 * Integer.BYTES;
+
+    private static final Side[] SIDES = {Side.AFFIRMATIVE, Side.NEGATION};
+
+    private final ByteBuffer buffer;
+
+    private final String[] strings;
+    private final String[] cardJsons;
+    private final String[] cardRepresentations;
+    private final Card[] cards;
+
+    private BinaryRoundFile(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(MAGIC_OFFSET) != MAGIC)
+            throw new IOException("Not a binary round");
+
+        if (buffer.getInt(VERSION_OFFSET) != VERSION)
+            throw new IOException("Unsupported round version " + buffer.getInt(VERSION_OFFSET));
+
+        this.strings = new String[buffer.getInt(STRING_COUNT_OFFSET)];
+        this.cardJsons = new String[buffer.getInt(CARD_COUNT_OFFSET)];
+        this.cardRepresentations = new String[cardJsons.length];
+        this.cards = new Card[cardJsons.length];
+    }
+
+    /**
+     * Reads the round saved at {@code roundPath} into memory. Nothing but the header is decoded until asked for.
+     *
+     * The file is read rather than mapped. A mapping keeps the file open until it is garbage collected, and on
+     * Windows an open file cannot be replaced. The round would then be left unsaved by the next autosave or
+     * rewrite, which replace it with an atomic move. Reading a round of 5,000 regions takes a few milliseconds,
+     * much less than decoding its regions.
+     *
+     * @throws IOException If the file is not a binary round, or could not be read.
+     */
+    public static BinaryRoundFile open(Path roundPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(roundPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Round too large " + roundPath);
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    throw new IOException("Round truncated while read " + roundPath);
+            }
+
+            return new BinaryRoundFile(buffer);
+        }
+    }
+
+    /**
+     * @return Whether the file at {@code roundPath} starts as a binary round does, rather than as JSON.
+     */
+    public static boolean isBinary(Path roundPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(roundPath, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0)
+                    return false;
+            }
+
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    public String getRoundName() {
+        return getString(buffer.getInt(NAME_OFFSET));
+    }
+
+    public Side getSide() {
+        return SIDES[buffer.getInt(SIDE_OFFSET)];
+    }
+
+    /**
+     * @see Round#getGeneration()
+     */
+    public String getGeneration() {
+        return getString(buffer.getInt(GENERATION_OFFSET));
+    }
+
+    public int getRegionCount(Side side) {
+        return buffer.getInt(side == Side.AFFIRMATIVE ? AFF_REGIONS_OFFSET : NEG_REGIONS_OFFSET);
+    }
+
+    /**
+     * @return The number of the first region of the flow grid of {@code side}.
+     */
+    private int getFirstRegion(Side side) {
+        return side == Side.AFFIRMATIVE ? 0 : getRegionCount(Side.AFFIRMATIVE);
+    }
+
+    /**
+     * Reads every region of the flow grid of {@code side}, in the order of its children.
+     */
+    public List<FlowingRegion> readFlowingRegions(Side side, Gson gson) {
+        int firstRegion = getFirstRegion(side);
+        int regionCount = getRegionCount(side);
+
+        List<FlowingRegion> flowingRegions = new ArrayList<>(regionCount);
+
+        for (int region = firstRegion; region < firstRegion + regionCount; region++) {
+            flowingRegions.add(readFlowingRegion(region, gson));
+        }
+
+        return flowingRegions;
+    }
+
+    /**
+     * Reads the regions of a single speech of the flow grid of {@code side}, without reading any other region.
+     *
+     * @param column The column of the speech.
+     */
+    public List<FlowingRegion> readSpeech(Side side, int column, Gson gson) {
+        if (column < 0 || column >= Speech.SPEECH_SIZE)
+            throw new IndexOutOfBoundsException("No speech at column " + column);
+
+        int speech = buffer.getInt(SPEECHES_TABLE_OFFSET) + ((side == Side.AFFIRMATIVE ? 0 : Speech.SPEECH_SIZE) + column) * SPEECH_BYTES;
+
+        int firstEntry = buffer.getInt(speech);
+        int regionCount = buffer.getInt(speech + Integer.BYTES);
+        int speechIndex = buffer.getInt(SPEECH_INDEX_TABLE_OFFSET);
+
+        List<FlowingRegion> flowingRegions = new ArrayList<>(regionCount);
+
+        for (int entry = firstEntry; entry < firstEntry + regionCount; entry++) {
+            flowingRegions.add(readFlowingRegion(buffer.getInt(speechIndex + entry * Integer.BYTES), gson));
+        }
+
+        return flowingRegions;
+    }
+
+    private int getRegionOffset(int region) {
+        return HEADER_BYTES + region * REGION_BYTES;
+    }
+
+    private FlowingRegion readFlowingRegion(int region, Gson gson) {
+        int regionOffset = getRegionOffset(region);
+
+        FlowingRegionType type = FlowingRegionType.values()[buffer.get(regionOffset + REGION_TYPE_OFFSET)];
+        String text = getString(buffer.getInt(regionOffset + REGION_TEXT_OFFSET));
+
+        List<Card> regionCards = new ArrayList<>();
+
+        for (int card : getReferences(regionOffset + REGION_CARDS_OFFSET, regionOffset + REGION_CARD_COUNT_OFFSET)) {
+            regionCards.add(getCard(card, gson));
+        }
+
+        List<String> questions = new ArrayList<>();
+
+        for (int question : getReferences(regionOffset + REGION_QUESTIONS_OFFSET, regionOffset + REGION_QUESTION_COUNT_OFFSET)) {
+            questions.add(Utils.intern(getString(question)));
+        }
+
+        FlowingRegion flowingRegion = new FlowingRegion(
+            text,
+            type,
+            FXCollections.observableArrayList(regionCards),
+            FXCollections.observableArrayList(questions)
+        );
+
+        FlowGrid.setConstraints(
+            flowingRegion,
+            buffer.getInt(regionOffset + REGION_COLUMN_OFFSET),
+            buffer.getInt(regionOffset + REGION_ROW_OFFSET)
+        );
+
+        return flowingRegion;
+    }
+
+    private int[] getReferences(int firstOffset, int countOffset) {
+        int firstReference = buffer.getInt(firstOffset);
+        int[] references = new int[buffer.getInt(countOffset)];
+        int referencesTable = buffer.getInt(REFERENCES_TABLE_OFFSET);
+
+        for (int index = 0; index < references.length; index++) {
+            references[index] = buffer.getInt(referencesTable + (firstReference + index) * Integer.BYTES);
+        }
+
+        return references;
+    }
+
+    private String getCardJson(int card) {
+        if (cardJsons[card] == null) {
+            cardJsons[card] = getString(buffer.getInt(buffer.getInt(CARDS_TABLE_OFFSET) + card * Integer.BYTES));
+        }
+
+        return cardJsons[card];
+    }
+
+    /**
+     * @return The representation of the card, decoded from the start of its JSON only, as a card is written with
+     *         its representation first, followed by its HTML.
+     */
+    private String getCardRepresentation(int card) {
+        if (cardRepresentations[card] != null)
+            return cardRepresentations[card];
+
+        if (cardJsons[card] != null)
+            return cardRepresentations[card] = readCardRepresentation(new StringReader(cardJsons[card]));
+
+        int string = buffer.getInt(buffer.getInt(CARDS_TABLE_OFFSET) + card * Integer.BYTES);
+        int entry = buffer.getInt(STRINGS_TABLE_OFFSET) + string * STRING_ENTRY_BYTES;
+
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(
+            buffer.array(),
+            buffer.arrayOffset() + buffer.getInt(entry),
+            buffer.getInt(entry + Integer.BYTES)
+        ), StandardCharsets.UTF_8);
+
+        return cardRepresentations[card] = readCardRepresentation(reader);
+    }
+
+    private static String readCardRepresentation(Reader reader) {
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            jsonReader.beginObject();
+
+            while (jsonReader.hasNext()) {
+                if (jsonReader.nextName().equals(Card.REPRESENTATION_NAME) && jsonReader.peek() == JsonToken.STRING)
+                    return jsonReader.nextString();
+
+                jsonReader.skipValue();
+            }
+
+            return null;
+        }
+        catch (IOException | IllegalStateException e) {
+            // Such as a card whose JSON is malformed, which is then told apart by nothing
+            return null;
+        }
+    }
+
+    /**
+     * @return The card, parsed once however many regions refer to it, and shared with other rounds and blocks
+     *         through the {@link CardRegistry}.
+     */
+    private Card getCard(int card, Gson gson) {
+        if (cards[card] == null) {
+            cards[card] = CardRegistry.getInstance().register(gson.fromJson(getCardJson(card), Card.class));
+        }
+
+        return cards[card];
+    }
+
+    private String getString(int string) {
+        if (string == NO_STRING)
+            return null;
+
+        if (strings[string] == null) {
+            int entry = buffer.getInt(STRINGS_TABLE_OFFSET) + string * STRING_ENTRY_BYTES;
+
+            byte[] bytes = new byte[buffer.getInt(entry + Integer.BYTES)];
+
+            // Duplicated so that the position of the shared buffer is never moved
+            ByteBuffer stringBuffer = buffer.duplicate();
+            stringBuffer.position(buffer.getInt(entry));
+            stringBuffer.get(bytes);
+
+            strings[string] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return strings[string];
+    }
+
+    /**
+     * Converts this round to its JSON, as version 1 saves it.
+     */
+    public JsonObject toJson() {
+        return toJson(true);
+    }
+
+    /**
+     * @param cardContents Whether cards are converted in full, rather than to their representation alone, see
+     *                     {@link RoundFile#readOutline(Path)}.
+     */
+    JsonObject toJson(boolean cardContents) {
+        JsonObject roundObject = new JsonObject();
+
+        roundObject.addProperty(Round.NAME, getRoundName());
+        roundObject.addProperty(Round.SIDE, getSide().name());
+
+        for (Side side : SIDES) {
+            JsonArray flowingRegionsArray = new JsonArray();
+            int firstRegion = getFirstRegion(side);
+
+            for (int region = firstRegion; region < firstRegion + getRegionCount(side); region++) {
+                flowingRegionsArray.add(toJson(region, cardContents));
+            }
+
+            JsonObject flowGridObject = new JsonObject();
+            flowGridObject.add(FlowGrid.FLOWING_REGIONS, flowingRegionsArray);
+
+            roundObject.add(side == Side.AFFIRMATIVE ? Round.AFF_FLOWING_GRID : Round.NEG_FLOWING_GRID, flowGridObject);
+        }
+
+        if (getGeneration() != null) {
+            roundObject.addProperty(Round.GENERATION, getGeneration());
+        }
+
+        return roundObject;
+    }
+
+    private JsonObject toJson(int region, boolean cardContents) {
+        int regionOffset = getRegionOffset(region);
+        JsonObject flowingRegionObject = new JsonObject();
+
+        flowingRegionObject.addProperty(FlowingRegion.TYPE_NAME, FlowingRegionType.values()[buffer.get(regionOffset + REGION_TYPE_OFFSET)].name());
+        flowingRegionObject.addProperty(FlowingRegion.TEXT_NAME, getString(buffer.getInt(regionOffset + REGION_TEXT_OFFSET)));
+        flowingRegionObject.addProperty(FlowingRegion.COLUMN_NAME, buffer.getInt(regionOffset + REGION_COLUMN_OFFSET));
+        flowingRegionObject.addProperty(FlowingRegion.ROW_NAME, buffer.getInt(regionOffset + REGION_ROW_OFFSET));
+
+        JsonArray questionsArray = new JsonArray();
+
+        for (int question : getReferences(regionOffset + REGION_QUESTIONS_OFFSET, regionOffset + REGION_QUESTION_COUNT_OFFSET)) {
+            questionsArray.add(getString(question));
+        }
+
+        flowingRegionObject.add(FlowingRegion.ASSOCIATED_QUESTIONS, questionsArray);
+
+        JsonArray cardsArray = new JsonArray();
+        JsonParser jsonParser = new JsonParser();
+
+        for (int card : getReferences(regionOffset + REGION_CARDS_OFFSET, regionOffset + REGION_CARD_COUNT_OFFSET)) {
+            if (cardContents) {
+                cardsArray.add(jsonParser.parse(getCardJson(card)));
+            }
+            else {
+                JsonObject cardObject = new JsonObject();
+                cardObject.addProperty(Card.REPRESENTATION_NAME, getCardRepresentation(card));
+
+                cardsArray.add(cardObject);
+            }
+        }
+
+        flowingRegionObject.add(FlowingRegion.ASSOCIATED_CARDS, cardsArray);
+
+        return flowingRegionObject;
+    }
+
+    /**
+     * Lays out a round, given as its JSON, as version 2. May be called on any thread.
+     *
+     * @param roundObject The JSON of the round, as {@link me.theeninja.pfflowing.gui.RoundTypeAdapter} writes it.
+     * @return The round, ready to be written.
+     */
+    public static ByteBuffer encode(JsonObject roundObject) {
+        Map<String, Integer> stringNumbers = new LinkedHashMap<>();
+        Map<String, Integer> cardNumbers = new LinkedHashMap<>();
+
+        List<JsonObject> flowingRegions = new ArrayList<>();
+        int[] regionCounts = new int[SIDES.length];
+
+        for (int sideIndex = 0; sideIndex < SIDES.length; sideIndex++) {
+            String flowingGrid = SIDES[sideIndex] == Side.AFFIRMATIVE ? Round.AFF_FLOWING_GRID : Round.NEG_FLOWING_GRID;
+            JsonArray flowingRegionsArray = roundObject.getAsJsonObject(flowingGrid).getAsJsonArray(FlowGrid.FLOWING_REGIONS);
+
+            for (JsonElement flowingRegionElement : flowingRegionsArray) {
+                flowingRegions.add(flowingRegionElement.getAsJsonObject());
+            }
+
+            regionCounts[sideIndex] = flowingRegionsArray.size();
+        }
+
+        ByteBuffer regionsBuffer = ByteBuffer.allocate(flowingRegions.size() * REGION_BYTES);
+        List<Integer> references = new ArrayList<>();
+        List<List<Integer>> speechRegions = new ArrayList<>();
+
+        for (int speech = 0; speech < SIDES.length * Speech.SPEECH_SIZE; speech++) {
+            speechRegions.add(new ArrayList<>());
+        }
+
+        for (int region = 0; region < flowingRegions.size(); region++) {
+            JsonObject flowingRegionObject = flowingRegions.get(region);
+
+            int column = flowingRegionObject.get(FlowingRegion.COLUMN_NAME).getAsInt();
+            int sideIndex = region < regionCounts[0] ? 0 : 1;
+
+            regionsBuffer.put((byte) FlowingRegionType.valueOf(flowingRegionObject.get(FlowingRegion.TYPE_NAME).getAsString()).ordinal());
+            regionsBuffer.put(new byte[REGION_COLUMN_OFFSET - Byte.BYTES]);
+            regionsBuffer.putInt(column);
+            regionsBuffer.putInt(flowingRegionObject.get(FlowingRegion.ROW_NAME).getAsInt());
+
+            JsonElement textElement = flowingRegionObject.get(FlowingRegion.TEXT_NAME);
+            regionsBuffer.putInt(textElement == null || textElement.isJsonNull() ? NO_STRING : getNumber(stringNumbers, textElement.getAsString()));
+
+            JsonArray cardsArray = getArray(flowingRegionObject, FlowingRegion.ASSOCIATED_CARDS);
+            regionsBuffer.putInt(references.size());
+            regionsBuffer.putInt(cardsArray.size());
+
+            for (JsonElement cardElement : cardsArray) {
+                String cardJson = cardElement.toString();
+
+                references.add(cardNumbers.computeIfAbsent(cardJson, key -> cardNumbers.size()));
+            }
+
+            JsonArray questionsArray = getArray(flowingRegionObject, FlowingRegion.ASSOCIATED_QUESTIONS);
+            regionsBuffer.putInt(references.size());
+            regionsBuffer.putInt(questionsArray.size());
+
+            for (JsonElement questionElement : questionsArray) {
+                references.add(getNumber(stringNumbers, questionElement.getAsString()));
+            }
+
+            // Regions outside of every speech are still read along with their flow grid
+            if (column >= 0 && column < Speech.SPEECH_SIZE) {
+                speechRegions.get(sideIndex * Speech.SPEECH_SIZE + column).add(region);
+            }
+        }
+
+        int[] cardStrings = new int[cardNumbers.size()];
+        cardNumbers.forEach((cardJson, card) -> cardStrings[card] = getNumber(stringNumbers, cardJson));
+
+        int nameString = getNumber(stringNumbers, roundObject.get(Round.NAME).getAsString());
+        String generation = RoundFile.getGeneration(roundObject);
+        int generationString = generation == null ? NO_STRING : getNumber(stringNumbers, generation);
+
+        List<byte[]> stringBytes = new ArrayList<>(stringNumbers.size());
+        int stringsLength = 0;
+
+        for (String string : stringNumbers.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+            stringBytes.add(bytes);
+            stringsLength += bytes.length;
+        }
+
+        int speechesTable = HEADER_BYTES + regionsBuffer.capacity();
+        int speechIndexTable = speechesTable + speechRegions.size() * SPEECH_BYTES;
+        int referencesTable = speechIndexTable + flowingRegions.size() * Integer.BYTES;
+        int cardsTable = referencesTable + references.size() * Integer.BYTES;
+        int stringsTable = cardsTable + cardStrings.length * Integer.BYTES;
+        int stringsData = stringsTable + stringBytes.size() * STRING_ENTRY_BYTES;
+
+        ByteBuffer roundBuffer = ByteBuffer.allocate(stringsData + stringsLength);
+
+        roundBuffer.putInt(MAGIC);
+        roundBuffer.putInt(VERSION);
+        roundBuffer.putInt(nameString);
+        roundBuffer.putInt(Side.valueOf(roundObject.get(Round.SIDE).getAsString()) == Side.AFFIRMATIVE ? 0 : 1);
+        roundBuffer.putInt(generationString);
+        roundBuffer.putInt(regionCounts[0]);
+        roundBuffer.putInt(regionCounts[1]);
+        roundBuffer.putInt(cardStrings.length);
+        roundBuffer.putInt(stringBytes.size());
+        roundBuffer.putInt(speechesTable);
+        roundBuffer.putInt(speechIndexTable);
+        roundBuffer.putInt(referencesTable);
+        roundBuffer.putInt(cardsTable);
+        roundBuffer.putInt(stringsTable);
+        roundBuffer.position(HEADER_BYTES);
+
+        roundBuffer.put(regionsBuffer.flip());
+
+        int speechIndexEntry = 0;
+
+        for (List<Integer> regions : speechRegions) {
+            roundBuffer.putInt(speechIndexEntry);
+            roundBuffer.putInt(regions.size());
+
+            speechIndexEntry += regions.size();
+        }
+
+        // Every region within a speech, which is each region at most once
+        speechRegions.forEach(regions -> regions.forEach(roundBuffer::putInt));
+        roundBuffer.position(referencesTable);
+
+        references.forEach(roundBuffer::putInt);
+
+        for (int cardString : cardStrings) {
+            roundBuffer.putInt(cardString);
+        }
+
+        int stringOffset = stringsData;
+
+        for (byte[] bytes : stringBytes) {
+            roundBuffer.putInt(stringOffset);
+            roundBuffer.putInt(bytes.length);
+
+            stringOffset += bytes.length;
+        }
+
+        stringBytes.forEach(roundBuffer::put);
+
+        return roundBuffer.flip();
+    }
+
+    private static int getNumber(Map<String, Integer> stringNumbers, String string) {
+        return stringNumbers.computeIfAbsent(string, key -> stringNumbers.size());
+    }
+
+    private static JsonArray getArray(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element == null || !element.isJsonArray() ? new JsonArray() : element.getAsJsonArray();
+    }
+}
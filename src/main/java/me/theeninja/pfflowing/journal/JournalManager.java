@@ -0,0 +1,188 @@
+package me.theeninja.pfflowing.journal;
+
+import javafx.concurrent.Task;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an {@link ActionJournal} for every open round within the journals directory, and recovers the rounds whose
+ * journals were left behind by a crash. A journal is deleted as its round is closed, and as EFlow exits if its
+ * round was saved since it was last changed, so any journal found on start up holds unsaved work.
+ *
+ * Must only be accessed on the JavaFX application thread.
+ *
+ * @author TheeNinja
+ */
+public class JournalManager {
+    private static final Logger LOGGER = Logger.getLogger(JournalManager.class.getSimpleName());
+
+    private static final JournalManager INSTANCE = new JournalManager();
+
+    public static final String JOURNAL_EXTENSION = "journal";
+
+    private final Map<Round, ActionJournal> journals = new IdentityHashMap<>();
+
+    /**
+     * Every journal written since EFlow started, which recovery must leave alone. Each path is added before its
+     * journal is created and is never removed, so a journal listed by recovery while its round is opened, or while
+     * its round is closed and its journal deleted, is still known to belong to this run. Read by recovery in the
+     * background.
+     */
+    private final Set<Path> startedJournalPaths = ConcurrentHashMap.newKeySet();
+
+    private JournalManager() {}
+
+    public static JournalManager getInstance() {
+        return INSTANCE;
+    }
+
+    private Path getJournalsPath() {
+        return EFlow.getInstance().getJournalsPath();
+    }
+
+    /**
+     * Starts journaling {@code round}, unless it already is, as is a recovered round.
+     */
+    public void open(Round round) {
+        if (journals.containsKey(round))
+            return;
+
+        Path journalPath = getJournalsPath().resolve(Utils.addExtension(UUID.randomUUID().toString(), JOURNAL_EXTENSION));
+        startedJournalPaths.add(journalPath);
+
+        ActionJournal actionJournal = new ActionJournal(round, journalPath, EFlow.getInstance().getGSON());
+
+        // A round with a path was either just opened from it or just recovered on top of it
+        actionJournal.start(round.getPath() != null);
+
+        journals.put(round, actionJournal);
+    }
+
+    /**
+     * Restarts the journal of {@code round}, which has just been saved.
+     */
+    public void checkpoint(Round round) {
+        ActionJournal actionJournal = journals.get(round);
+
+        if (actionJournal != null) {
+            actionJournal.checkpoint();
+        }
+    }
+
+    /**
+     * Stops journaling {@code round}, which has been closed, and deletes its journal.
+     */
+    public void discard(Round round) {
+        ActionJournal actionJournal = journals.remove(round);
+
+        if (actionJournal != null) {
+            actionJournal.close(true);
+        }
+    }
+
+    /**
+     * Closes every journal as EFlow exits, keeping those of rounds changed since they were last saved so that their
+     * changes are recovered on the next start up, and waits until they are on the disk.
+     */
+    public void closeAll() {
+        for (ActionJournal actionJournal : journals.values()) {
+            actionJournal.close(!actionJournal.hasUnsavedGroups());
+        }
+
+        journals.clear();
+
+        JournalWriter.getInstance().flush();
+    }
+
+    /**
+     * Reads every journal left behind in the background, then rebuilds their rounds and hands each to
+     * {@code onRecovered} on the JavaFX application thread, which must open them, so that those saved before
+     * are saved again as recovered. Journals that hold nothing to recover are deleted.
+     */
+    public void recoverInBackground(Consumer<Round> onRecovered) {
+        Task<List<ActionJournal.Contents>> recoveryTask = new Task<>() {
+            @Override
+            protected List<ActionJournal.Contents> call() throws IOException {
+                List<Path> journalPaths;
+
+                try (Stream<Path> paths = Files.list(getJournalsPath())) {
+                    journalPaths = paths
+                            .filter(path -> Utils.hasExtension(path.getFileName().toString(), JOURNAL_EXTENSION))
+                            .collect(Collectors.toList());
+                }
+
+                List<ActionJournal.Contents> recoverableContents = new ArrayList<>();
+
+                for (Path journalPath : journalPaths) {
+                    // Checked as each journal is reached rather than once, as rounds keep being opened meanwhile
+                    if (startedJournalPaths.contains(journalPath))
+                        continue;
+
+                    try {
+                        ActionJournal.Contents contents = ActionJournal.read(journalPath);
+
+                        if (contents.hasGroups()) {
+                            recoverableContents.add(contents);
+                        }
+                        else {
+                            Files.delete(journalPath);
+                        }
+                    }
+                    catch (IOException e) {
+                        // Such as a journal whose header was torn by the crash, which holds nothing to recover
+                        LOGGER.log(Level.WARNING, "Could not read " + journalPath, e);
+                        Files.deleteIfExists(journalPath);
+                    }
+                }
+
+                return recoverableContents;
+            }
+        };
+
+        recoveryTask.setOnSucceeded(workerStateEvent -> {
+            for (ActionJournal.Contents contents : recoveryTask.getValue()) {
+                if (!startedJournalPaths.add(contents.getJournalPath()))
+                    continue;
+
+                ActionJournal actionJournal = ActionJournal.replay(contents, EFlow.getInstance().getGSON());
+                journals.put(actionJournal.getRound(), actionJournal);
+
+                LOGGER.info("Recovered " + contents.getRoundName() + " from " + contents.getJournalPath());
+
+                Round round = actionJournal.getRound();
+                onRecovered.accept(round);
+
+                // Autosaving assumes the round is as saved, which it no longer is
+                if (round.getPath() != null) {
+                    AutosaveScheduler.getInstance().saveInBackground(round);
+                }
+            }
+        });
+
+        recoveryTask.setOnFailed(workerStateEvent -> recoveryTask.getException().printStackTrace());
+
+        Thread recoveryThread = new Thread(recoveryTask);
+
+        // Recovery terminates once EFlow application window is closed
+        recoveryThread.setDaemon(true);
+
+        recoveryThread.start();
+    }
+}
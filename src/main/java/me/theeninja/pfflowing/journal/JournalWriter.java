@@ -0,0 +1,144 @@
+package me.theeninja.pfflowing.journal;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes to every action journal and autosaved round on a single background thread, so that a round is always
+ * written before the journal replayed on top of it is checkpointed, and forces written records to the disk in groups:
+ * each time the thread wakes, it writes every record queued since, up to {@link #MAXIMUM_GROUP} of them, and only
+ * then forces each journal written to once. A burst of actions therefore costs a single sync per journal, while a
+ * lone action is still synced as soon as it is written.
+ *
+ * @author TheeNinja
+ */
+final class JournalWriter {
+    private static final JournalWriter INSTANCE = new JournalWriter();
+
+    private static final int MAXIMUM_GROUP = 64;
+
+    /**
+     * Something done to a journal file on the journal thread.
+     */
+    interface Command {
+        /**
+         * @return The channel written to, which is forced once the group of this command has been written, or
+         *         {@code null} if nothing was written.
+         */
+        FileChannel run() throws IOException;
+    }
+
+    private static final class Flush implements Command {
+        private final CountDownLatch flushed = new CountDownLatch(1);
+
+        @Override
+        public FileChannel run() {
+            return null;
+        }
+    }
+
+    private final BlockingQueue<Command> commands = new LinkedBlockingQueue<>();
+
+    private JournalWriter() {
+        Thread journalThread = new Thread(this::write, "Action Journal");
+
+        // Journaling terminates once EFlow application window is closed, see JournalManager#closeAll
+        journalThread.setDaemon(true);
+
+        journalThread.start();
+    }
+
+    static JournalWriter getInstance() {
+        return INSTANCE;
+    }
+
+    void submit(Command command) {
+        commands.add(command);
+    }
+
+    /**
+     * Waits until every command submitted before has been run, and everything written by them is on the disk.
+     */
+    void flush() {
+        Flush flush = new Flush();
+        submit(flush);
+
+        try {
+            flush.flushed.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        List<Command> group = new ArrayList<>(MAXIMUM_GROUP);
+        Set<FileChannel> writtenChannels = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        while (true) {
+            try {
+                group.add(commands.take());
+            }
+            catch (InterruptedException e) {
+                return;
+            }
+
+            commands.drainTo(group, MAXIMUM_GROUP - 1);
+
+            try {
+                writeGroup(group, writtenChannels);
+            }
+            finally {
+                // Released whatever happened to the group, as the JavaFX application thread waits on them
+                for (Command command : group) {
+                    if (command instanceof Flush) {
+                        ((Flush) command).flushed.countDown();
+                    }
+                }
+
+                group.clear();
+                writtenChannels.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs every command of {@code group}, then forces each channel written to. A command that fails is reported
+     * and skipped, so that neither the rest of the group nor the journal thread is lost to it.
+     */
+    private static void writeGroup(List<Command> group, Set<FileChannel> writtenChannels) {
+        for (Command command : group) {
+            try {
+                FileChannel writtenChannel = command.run();
+
+                if (writtenChannel != null) {
+                    writtenChannels.add(writtenChannel);
+                }
+            }
+            // Such as a GSON failure while encoding a compaction
+            catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+
+        for (FileChannel writtenChannel : writtenChannels) {
+            try {
+                // Closed channels were forced as they were closed
+                if (writtenChannel.isOpen()) {
+                    writtenChannel.force(false);
+                }
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
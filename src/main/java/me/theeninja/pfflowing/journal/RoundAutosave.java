@@ -0,0 +1,498 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.util.Duration;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.gui.FlowDisplayController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Autosaves a single round, see {@link AutosaveScheduler}. Accessed on the JavaFX application thread, except for the
+ * fields and methods marked as accessed on the journal thread, on which every file of the round is written.
+ *
+ * @author TheeNinja
+ */
+class RoundAutosave {
+    private static final Duration AUTOSAVE_DELAY = Duration.seconds(2);
+
+    /**
+     * Represents the number of regions autosaved since the last full save past which the segments are compacted.
+     */
+    private static final int COMPACTION_THRESHOLD = 256;
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private static final Side[] SIDES = {Side.AFFIRMATIVE, Side.NEGATION};
+
+    /**
+     * Writes every segment on a single line, with the regions removed as {@code null}.
+     */
+    private static final Gson SEGMENT_GSON = new GsonBuilder().serializeNulls().create();
+
+    /**
+     * Marks a region as changed whenever its text, position, cards or questions change.
+     */
+    private class RegionListener implements InvalidationListener, ChangeListener<String> {
+        private final Side side;
+        private final FlowingRegion flowingRegion;
+
+        private RegionListener(Side side, FlowingRegion flowingRegion) {
+            this.side = side;
+            this.flowingRegion = flowingRegion;
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            markDirty(side, flowingRegion);
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+            markDirty(side, flowingRegion);
+        }
+
+        private void listen() {
+            flowingRegion.fullTextProperty().addListener((ChangeListener<String>) this);
+            // Holds the column and row constraints of the region
+            flowingRegion.getProperties().addListener((InvalidationListener) this);
+            flowingRegion.getAssociatedCards().addListener((InvalidationListener) this);
+            flowingRegion.getAssociatedQuestions().addListener((InvalidationListener) this);
+        }
+
+        private void unlisten() {
+            flowingRegion.fullTextProperty().removeListener((ChangeListener<String>) this);
+            flowingRegion.getProperties().removeListener((InvalidationListener) this);
+            flowingRegion.getAssociatedCards().removeListener((InvalidationListener) this);
+            flowingRegion.getAssociatedQuestions().removeListener((InvalidationListener) this);
+        }
+    }
+
+    private final Round round;
+    private final Gson gson;
+
+    /**
+     * The number of each region, which is its position within its flow grid as of the last full save for the
+     * regions that were saved in full.
+     */
+    private final Map<Side, Map<FlowingRegion, Integer>> ids = new EnumMap<>(Side.class);
+    private final Map<Side, Integer> nextIds = new EnumMap<>(Side.class);
+
+    private final Map<Side, Set<FlowingRegion>> dirtyRegions = new EnumMap<>(Side.class);
+    private final Map<Side, Set<Integer>> removedIds = new EnumMap<>(Side.class);
+
+    private final Map<FlowingRegion, RegionListener> regionListeners = new IdentityHashMap<>();
+    private final Map<Side, ListChangeListener<Node>> childrenListeners = new EnumMap<>(Side.class);
+    private final ChangeListener<Boolean> editedListener = this::onEditedChanged;
+
+    private final PauseTransition autosaveDelay = new PauseTransition(AUTOSAVE_DELAY);
+
+    /**
+     * Represents the number of regions autosaved since the last full save.
+     */
+    private int autosavedRegions;
+
+    /**
+     * Only accessed on the journal thread.
+     */
+    private FileChannel segmentsChannel;
+
+    RoundAutosave(Round round, Gson gson) {
+        this.round = round;
+        this.gson = gson;
+
+        for (Side side : SIDES) {
+            ids.put(side, new IdentityHashMap<>());
+            dirtyRegions.put(side, Collections.newSetFromMap(new IdentityHashMap<>()));
+            removedIds.put(side, new LinkedHashSet<>());
+            childrenListeners.put(side, change -> onChildrenChanged(side, change));
+        }
+
+        autosaveDelay.setOnFinished(actionEvent -> flush());
+    }
+
+    /**
+     * Starts tracking the changes made to the round, which is assumed to be exactly as saved, if it has been.
+     */
+    void attach() {
+        for (Side side : SIDES) {
+            FlowDisplayController flowDisplayController = round.getController(side);
+
+            numberRegions(side);
+            ids.get(side).keySet().forEach(flowingRegion -> listen(side, flowingRegion));
+
+            // A round that was never saved is saved in full once it is
+            if (round.getPath() == null) {
+                dirtyRegions.get(side).addAll(ids.get(side).keySet());
+            }
+
+            flowDisplayController.flowGrid.getChildren().addListener(childrenListeners.get(side));
+            flowDisplayController.editedProperty().addListener(editedListener);
+        }
+    }
+
+    /**
+     * Autosaves what is left to, compacts the segments of the round, and stops tracking its changes.
+     */
+    void detach() {
+        flush();
+
+        if (autosavedRegions > 0) {
+            compact();
+        }
+
+        autosaveDelay.stop();
+
+        for (Side side : SIDES) {
+            FlowDisplayController flowDisplayController = round.getController(side);
+
+            flowDisplayController.flowGrid.getChildren().removeListener(childrenListeners.get(side));
+            flowDisplayController.editedProperty().removeListener(editedListener);
+        }
+
+        regionListeners.values().forEach(RegionListener::unlisten);
+        regionListeners.clear();
+
+        JournalWriter.getInstance().submit(() -> {
+            if (segmentsChannel != null) {
+                segmentsChannel.force(false);
+                segmentsChannel.close();
+                segmentsChannel = null;
+            }
+
+            return null;
+        });
+    }
+
+    private void numberRegions(Side side) {
+        Map<FlowingRegion, Integer> sideIds = ids.get(side);
+        sideIds.clear();
+
+        for (Node node : round.getController(side).flowGrid.getChildren()) {
+            if (node instanceof FlowingRegion) {
+                sideIds.put((FlowingRegion) node, sideIds.size());
+            }
+        }
+
+        nextIds.put(side, sideIds.size());
+    }
+
+    private void listen(Side side, FlowingRegion flowingRegion) {
+        RegionListener regionListener = new RegionListener(side, flowingRegion);
+        regionListener.listen();
+
+        regionListeners.put(flowingRegion, regionListener);
+    }
+
+    private void onChildrenChanged(Side side, ListChangeListener.Change<? extends Node> change) {
+        while (change.next()) {
+            for (Node removedNode : change.getRemoved()) {
+                if (!(removedNode instanceof FlowingRegion))
+                    continue;
+
+                FlowingRegion flowingRegion = (FlowingRegion) removedNode;
+                Integer id = ids.get(side).remove(flowingRegion);
+
+                if (id != null) {
+                    dirtyRegions.get(side).remove(flowingRegion);
+                    removedIds.get(side).add(id);
+                }
+
+                RegionListener regionListener = regionListeners.remove(flowingRegion);
+
+                if (regionListener != null) {
+                    regionListener.unlisten();
+                }
+            }
+
+            for (Node addedNode : change.getAddedSubList()) {
+                if (!(addedNode instanceof FlowingRegion))
+                    continue;
+
+                FlowingRegion flowingRegion = (FlowingRegion) addedNode;
+                int id = nextIds.merge(side, 1, Integer::sum) - 1;
+
+                ids.get(side).put(flowingRegion, id);
+                listen(side, flowingRegion);
+                markDirty(side, flowingRegion);
+            }
+        }
+
+        round.getController(side).setEdited(true);
+    }
+
+    private void markDirty(Side side, FlowingRegion flowingRegion) {
+        // Such as a region that was changed just as it was removed
+        if (!ids.get(side).containsKey(flowingRegion))
+            return;
+
+        dirtyRegions.get(side).add(flowingRegion);
+        round.getController(side).setEdited(true);
+    }
+
+    private void onEditedChanged(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+        // Not restarted while already running, so that typing continuously still autosaves every so often
+        if (newValue && autosaveDelay.getStatus() != Animation.Status.RUNNING) {
+            autosaveDelay.playFromStart();
+        }
+    }
+
+    /**
+     * Appends the regions changed since the last autosave to the segments of the round, and compacts the segments
+     * once enough regions have been autosaved. Rounds that have never been saved are left to the action journal.
+     */
+    void flush() {
+        autosaveDelay.stop();
+
+        if (round.getPath() == null)
+            return;
+
+        JsonObject segment = new JsonObject();
+        int changedRegions = 0;
+
+        for (Side side : SIDES) {
+            JsonObject gridChanges = new JsonObject();
+
+            for (FlowingRegion flowingRegion : dirtyRegions.get(side)) {
+                gridChanges.add(ids.get(side).get(flowingRegion).toString(), gson.toJsonTree(flowingRegion, FlowingRegion.class));
+            }
+
+            for (Integer id : removedIds.get(side)) {
+                gridChanges.add(id.toString(), JsonNull.INSTANCE);
+            }
+
+            changedRegions += gridChanges.size();
+
+            dirtyRegions.get(side).clear();
+            removedIds.get(side).clear();
+
+            segment.add(getFlowingGrid(side), gridChanges);
+
+            round.getController(side).setEdited(false);
+        }
+
+        if (changedRegions == 0)
+            return;
+
+        byte[] segmentBytes = (SEGMENT_GSON.toJson(segment) + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        String generation = round.getGeneration();
+        Path segmentsPath = RoundFile.getSegmentsPath(round.getPath());
+
+        JournalWriter.getInstance().submit(() -> {
+            if (segmentsChannel == null) {
+                segmentsChannel = FileChannel.open(segmentsPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                segmentsChannel.position(segmentsChannel.size());
+
+                if (segmentsChannel.size() == 0) {
+                    writeFully(segmentsChannel, getSegmentsHeader(generation));
+                }
+            }
+
+            writeFully(segmentsChannel, ByteBuffer.wrap(segmentBytes));
+
+            return segmentsChannel;
+        });
+
+        autosavedRegions += changedRegions;
+
+        if (autosavedRegions >= COMPACTION_THRESHOLD) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the round in full from its snapshot and segments, in the background, so that the segments can be
+     * started anew. The regions are written in the order of the flow grids, and renumbered accordingly.
+     */
+    private void compact() {
+        Path roundPath = round.getPath();
+        String generation = UUID.randomUUID().toString();
+        Map<String, List<Integer>> orders = new HashMap<>();
+
+        for (Side side : SIDES) {
+            Map<FlowingRegion, Integer> sideIds = ids.get(side);
+            List<Integer> order = new ArrayList<>(sideIds.size());
+
+            for (Node node : round.getController(side).flowGrid.getChildren()) {
+                Integer id = sideIds.get(node);
+
+                if (id != null) {
+                    order.add(id);
+                }
+            }
+
+            orders.put(getFlowingGrid(side), order);
+            numberRegions(side);
+        }
+
+        round.setGeneration(generation);
+        autosavedRegions = 0;
+
+        JournalWriter.getInstance().submit(() -> {
+            JsonObject roundObject = RoundFile.readSnapshot(roundPath);
+            Map<String, SortedMap<Integer, JsonElement>> flowingRegions = RoundFile.readFlowingRegions(roundObject, RoundFile.getSegmentsPath(roundPath));
+
+            for (String flowingGrid : RoundFile.FLOWING_GRIDS) {
+                JsonArray flowingRegionsArray = new JsonArray();
+
+                for (Integer id : orders.get(flowingGrid)) {
+                    JsonElement flowingRegion = flowingRegions.get(flowingGrid).get(id);
+
+                    if (flowingRegion != null) {
+                        flowingRegionsArray.add(flowingRegion);
+                    }
+                }
+
+                roundObject.getAsJsonObject(flowingGrid).add(FlowGrid.FLOWING_REGIONS, flowingRegionsArray);
+            }
+
+            roundObject.addProperty(Round.GENERATION, generation);
+
+            return writeSnapshot(roundPath, roundObject, generation);
+        });
+
+        // Replayed on top of the compacted round from now on
+        JournalManager.getInstance().checkpoint(round);
+    }
+
+    /**
+     * Saves the round in full, in the background.
+     *
+     * @return The command saving the round, whose failure, if any, is known once the journal thread is flushed.
+     */
+    SaveCommand save() {
+        String generation = UUID.randomUUID().toString();
+        round.setGeneration(generation);
+
+        for (Side side : SIDES) {
+            numberRegions(side);
+
+            dirtyRegions.get(side).clear();
+            removedIds.get(side).clear();
+
+            round.getController(side).setEdited(false);
+        }
+
+        autosaveDelay.stop();
+        autosavedRegions = 0;
+
+        // Only the tree of the round is built here, while laying it out is left to the journal thread
+        SaveCommand saveCommand = new SaveCommand(round.getPath(), gson.toJsonTree(round, Round.class).getAsJsonObject(), generation);
+        JournalWriter.getInstance().submit(saveCommand);
+
+        JournalManager.getInstance().checkpoint(round);
+
+        return saveCommand;
+    }
+
+    class SaveCommand implements JournalWriter.Command {
+        private final Path roundPath;
+        private final JsonObject roundObject;
+        private final String generation;
+
+        private IOException exception;
+
+        private SaveCommand(Path roundPath, JsonObject roundObject, String generation) {
+            this.roundPath = roundPath;
+            this.roundObject = roundObject;
+            this.generation = generation;
+        }
+
+        @Override
+        public FileChannel run() throws IOException {
+            try {
+                return writeSnapshot(roundPath, roundObject, generation);
+            }
+            catch (IOException e) {
+                exception = e;
+                throw e;
+            }
+        }
+
+        /**
+         * @return The reason the round could not be saved, or {@code null} if it was or is yet to be.
+         */
+        IOException getException() {
+            return exception;
+        }
+    }
+
+    /**
+     * Replaces the round with {@code roundObject}, laid out in the binary format, and starts its segments anew. Only
+     * called on the journal thread.
+     *
+     * @return The channel of the new segments.
+     */
+    private FileChannel writeSnapshot(Path roundPath, JsonObject roundObject, String generation) throws IOException {
+        Path temporaryPath = roundPath.resolveSibling(roundPath.getFileName() + ".tmp");
+
+        try (FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(temporaryChannel, BinaryRoundFile.encode(roundObject));
+
+            // The segments are only dropped once what they hold is on the disk
+            temporaryChannel.force(false);
+        }
+
+        Files.move(temporaryPath, roundPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (segmentsChannel != null) {
+            segmentsChannel.close();
+        }
+
+        segmentsChannel = FileChannel.open(RoundFile.getSegmentsPath(roundPath), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeFully(segmentsChannel, getSegmentsHeader(generation));
+
+        return segmentsChannel;
+    }
+
+    private static ByteBuffer getSegmentsHeader(String generation) {
+        JsonObject header = new JsonObject();
+        header.addProperty(Round.GENERATION, generation);
+
+        return ByteBuffer.wrap((SEGMENT_GSON.toJson(header) + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String getFlowingGrid(Side side) {
+        return side == Side.AFFIRMATIVE ? Round.AFF_FLOWING_GRID : Round.NEG_FLOWING_GRID;
+    }
+}
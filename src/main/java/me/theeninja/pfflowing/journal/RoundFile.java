@@ -0,0 +1,292 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Reads rounds saved by EFlow, which are kept as a full snapshot of the round plus a segments file next to it,
+ * holding the regions autosaved since the snapshot was written, see {@link AutosaveScheduler}. Snapshots are saved
+ * in the binary format, see {@link BinaryRoundFile}, while those saved as JSON are still read.
+ *
+ * The first line of a segments file names the generation of the snapshot it applies to, see
+ * {@link Round#getGeneration()}, so that segments already compacted into a newer snapshot are ignored. Every
+ * following line is a segment: for each flow grid, the regions changed, keyed by their number, or {@code null}
+ * for the regions removed. The regions of a snapshot are numbered by their position within their flow grid.
+ *
+ * @author TheeNinja
+ */
+public final class RoundFile {
+    public static final String SEGMENTS_EXTENSION = "segments";
+
+    static final String[] FLOWING_GRIDS = {Round.AFF_FLOWING_GRID, Round.NEG_FLOWING_GRID};
+
+    private static final Gson SNAPSHOT_GSON = new GsonBuilder().setPrettyPrinting().serializeNulls().create();
+
+    private RoundFile() {}
+
+    public static Path getSegmentsPath(Path roundPath) {
+        return roundPath.resolveSibling(Utils.addExtension(roundPath.getFileName().toString(), SEGMENTS_EXTENSION));
+    }
+
+    /**
+     * Opens the round saved at {@code roundPath}, with every segment autosaved since applied. Binary rounds are
+     * read straight into regions, so only the regions autosaved since are parsed from JSON.
+     */
+    public static Round load(Path roundPath, Gson gson) throws IOException {
+        if (!BinaryRoundFile.isBinary(roundPath))
+            return gson.fromJson(read(roundPath), Round.class);
+
+        BinaryRoundFile binaryRound = BinaryRoundFile.open(roundPath);
+        Map<String, SortedMap<Integer, FlowingRegion>> flowingRegions = new HashMap<>();
+
+        for (String flowingGrid : FLOWING_GRIDS) {
+            List<FlowingRegion> gridRegions = binaryRound.readFlowingRegions(getSide(flowingGrid), gson);
+            SortedMap<Integer, FlowingRegion> numberedRegions = new TreeMap<>();
+
+            for (int index = 0; index < gridRegions.size(); index++) {
+                numberedRegions.put(index, gridRegions.get(index));
+            }
+
+            flowingRegions.put(flowingGrid, numberedRegions);
+        }
+
+        applySegments(flowingRegions, binaryRound.getGeneration(), getSegmentsPath(roundPath),
+                flowingRegionElement -> gson.fromJson(flowingRegionElement, FlowingRegion.class));
+
+        FlowGrid affFlowGrid = new FlowGrid();
+        affFlowGrid.getChildren().setAll(flowingRegions.get(Round.AFF_FLOWING_GRID).values());
+
+        FlowGrid negFlowGrid = new FlowGrid();
+        negFlowGrid.getChildren().setAll(flowingRegions.get(Round.NEG_FLOWING_GRID).values());
+
+        Round round = new Round(binaryRound.getRoundName(), binaryRound.getSide(), affFlowGrid, negFlowGrid);
+        round.setGeneration(binaryRound.getGeneration());
+
+        return round;
+    }
+
+    /**
+     * Reads the round saved at {@code roundPath}, with every segment autosaved since applied. May be called on any
+     * thread.
+     *
+     * @return The JSON of the round, as if it had been saved in full as JSON.
+     */
+    public static JsonObject read(Path roundPath) throws IOException {
+        return read(roundPath, true);
+    }
+
+    /**
+     * Reads the round saved at {@code roundPath} as {@link #read(Path)} does, except that the cards of a binary
+     * snapshot only hold their representation, so the HTML of its cards is neither decoded nor parsed. Meant for
+     * reading many rounds at once, where a card is only told apart by its representation. May be called on any
+     * thread.
+     */
+    public static JsonObject readOutline(Path roundPath) throws IOException {
+        return read(roundPath, false);
+    }
+
+    private static JsonObject read(Path roundPath, boolean cardContents) throws IOException {
+        JsonObject roundObject = readSnapshot(roundPath, cardContents);
+
+        Map<String, SortedMap<Integer, JsonElement>> flowingRegions = readFlowingRegions(roundObject, getSegmentsPath(roundPath));
+
+        for (String flowingGrid : FLOWING_GRIDS) {
+            JsonArray flowingRegionsArray = new JsonArray();
+            flowingRegions.get(flowingGrid).values().forEach(flowingRegionsArray::add);
+
+            roundObject.getAsJsonObject(flowingGrid).add(FlowGrid.FLOWING_REGIONS, flowingRegionsArray);
+        }
+
+        return roundObject;
+    }
+
+    /**
+     * Folds the segments autosaved next to the round saved at {@code roundPath} into its snapshot, which keeps its
+     * format, and deletes them. Must not be called while the round is open in EFlow, which would keep autosaving
+     * segments on top of the replaced snapshot.
+     *
+     * @return Whether the round had segments to fold.
+     */
+    public static boolean compact(Path roundPath) throws IOException {
+        if (!Files.exists(getSegmentsPath(roundPath)))
+            return false;
+
+        rewrite(roundPath, BinaryRoundFile.isBinary(roundPath));
+
+        return true;
+    }
+
+    /**
+     * Rewrites the round saved at {@code roundPath} in the binary format, with its segments folded in, unless it
+     * already is in that format without any segments. Must not be called while the round is open in EFlow.
+     *
+     * @return Whether the round had to be rewritten.
+     */
+    public static boolean migrate(Path roundPath) throws IOException {
+        if (BinaryRoundFile.isBinary(roundPath) && !Files.exists(getSegmentsPath(roundPath)))
+            return false;
+
+        rewrite(roundPath, true);
+
+        return true;
+    }
+
+    private static void rewrite(Path roundPath, boolean binary) throws IOException {
+        JsonObject roundObject = read(roundPath);
+
+        // Whatever segments are written next to the rewritten round must be written on top of it
+        roundObject.addProperty(Round.GENERATION, UUID.randomUUID().toString());
+
+        ByteBuffer snapshot = binary
+                ? BinaryRoundFile.encode(roundObject)
+                : ByteBuffer.wrap(SNAPSHOT_GSON.toJson(roundObject).getBytes(StandardCharsets.UTF_8));
+
+        Path temporaryPath = roundPath.resolveSibling(roundPath.getFileName() + ".tmp");
+
+        try (FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (snapshot.hasRemaining()) {
+                temporaryChannel.write(snapshot);
+            }
+
+            // The segments are only dropped once what they hold is on the disk
+            temporaryChannel.force(false);
+        }
+
+        Files.move(temporaryPath, roundPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(getSegmentsPath(roundPath));
+    }
+
+    /**
+     * Reads the snapshot saved at {@code roundPath} as JSON, ignoring its segments.
+     */
+    static JsonObject readSnapshot(Path roundPath) throws IOException {
+        return readSnapshot(roundPath, true);
+    }
+
+    private static JsonObject readSnapshot(Path roundPath, boolean cardContents) throws IOException {
+        if (BinaryRoundFile.isBinary(roundPath))
+            return BinaryRoundFile.open(roundPath).toJson(cardContents);
+
+        try (BufferedReader reader = Files.newBufferedReader(roundPath, StandardCharsets.UTF_8)) {
+            return new JsonParser().parse(reader).getAsJsonObject();
+        }
+        catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Malformed round " + roundPath, e);
+        }
+    }
+
+    static String getGeneration(JsonObject roundObject) {
+        JsonElement generationElement = roundObject.get(Round.GENERATION);
+
+        return generationElement == null || generationElement.isJsonNull() ? null : generationElement.getAsString();
+    }
+
+    private static Side getSide(String flowingGrid) {
+        return flowingGrid.equals(Round.AFF_FLOWING_GRID) ? Side.AFFIRMATIVE : Side.NEGATION;
+    }
+
+    /**
+     * @return The regions of each flow grid of {@code roundObject} with the segments at {@code segmentsPath} applied,
+     *         keyed by flow grid name, then by number.
+     */
+    static Map<String, SortedMap<Integer, JsonElement>> readFlowingRegions(JsonObject roundObject, Path segmentsPath) throws IOException {
+        Map<String, SortedMap<Integer, JsonElement>> flowingRegions = new HashMap<>();
+
+        try {
+            for (String flowingGrid : FLOWING_GRIDS) {
+                JsonArray flowingRegionsArray = roundObject.getAsJsonObject(flowingGrid).getAsJsonArray(FlowGrid.FLOWING_REGIONS);
+                SortedMap<Integer, JsonElement> gridRegions = new TreeMap<>();
+
+                for (int index = 0; index < flowingRegionsArray.size(); index++) {
+                    gridRegions.put(index, flowingRegionsArray.get(index));
+                }
+
+                flowingRegions.put(flowingGrid, gridRegions);
+            }
+        }
+        catch (NullPointerException | ClassCastException e) {
+            throw new IOException("Malformed round", e);
+        }
+
+        applySegments(flowingRegions, getGeneration(roundObject), segmentsPath, Function.identity());
+
+        return flowingRegions;
+    }
+
+    /**
+     * Applies the segments at {@code segmentsPath}, if they were autosaved on top of the snapshot of
+     * {@code generation}, to the regions of each flow grid, keyed by flow grid name, then by number.
+     *
+     * @param toRegion Converts the JSON of a changed region, which is only called for the regions changed.
+     */
+    private static <T> void applySegments(Map<String, SortedMap<Integer, T>> flowingRegions, String generation, Path segmentsPath, Function<JsonElement, T> toRegion) throws IOException {
+        if (!Files.exists(segmentsPath))
+            return;
+
+        JsonParser jsonParser = new JsonParser();
+
+        try (BufferedReader reader = Files.newBufferedReader(segmentsPath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+
+            if (header == null || !Objects.equals(getGeneration(jsonParser.parse(header).getAsJsonObject()), generation))
+                return;
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                JsonObject segment = jsonParser.parse(line).getAsJsonObject();
+
+                for (String flowingGrid : FLOWING_GRIDS) {
+                    JsonObject changedRegions = segment.getAsJsonObject(flowingGrid);
+
+                    if (changedRegions == null)
+                        continue;
+
+                    SortedMap<Integer, T> gridRegions = flowingRegions.get(flowingGrid);
+
+                    for (Map.Entry<String, JsonElement> changedRegion : changedRegions.entrySet()) {
+                        int id = Integer.parseInt(changedRegion.getKey());
+
+                        if (changedRegion.getValue().isJsonNull()) {
+                            gridRegions.remove(id);
+                        }
+                        else {
+                            gridRegions.put(id, toRegion.apply(changedRegion.getValue()));
+                        }
+                    }
+                }
+            }
+        }
+        catch (JsonParseException | IllegalStateException | ClassCastException | NumberFormatException e) {
+            // Thrown for the last segment if it was torn by a crash, whose changes are then left to the action journal
+        }
+    }
+}
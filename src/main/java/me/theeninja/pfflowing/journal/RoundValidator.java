@@ -0,0 +1,171 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the JSON of a round, as {@link RoundFile#read} returns it, for anything EFlow could not open, or would
+ * open into a flow other than the one saved, without building the round itself.
+ *
+ * @author TheeNinja
+ */
+public final class RoundValidator {
+    private RoundValidator() {}
+
+    /**
+     * Checks the round saved at {@code roundPath}, first its snapshot alone, then, if it is valid, with its
+     * autosaved segments applied.
+     *
+     * @return A description of every problem found, or none if the round is valid.
+     * @throws IOException If the round could not be read at all.
+     */
+    public static List<String> validate(Path roundPath) throws IOException {
+        List<String> problems = validate(RoundFile.readSnapshot(roundPath));
+
+        return problems.isEmpty() ? validate(RoundFile.read(roundPath)) : problems;
+    }
+
+    /**
+     * @return A description of every problem found within {@code roundObject}, or none if it is valid.
+     */
+    public static List<String> validate(JsonObject roundObject) {
+        List<String> problems = new ArrayList<>();
+
+        if (!isString(roundObject.get(Round.NAME))) {
+            problems.add("Missing " + Round.NAME);
+        }
+
+        if (!isEnumConstant(roundObject.get(Round.SIDE), Side.class)) {
+            problems.add("Missing or unknown " + Round.SIDE);
+        }
+
+        for (String flowingGrid : RoundFile.FLOWING_GRIDS) {
+            JsonElement flowGridElement = roundObject.get(flowingGrid);
+
+            if (flowGridElement == null || !flowGridElement.isJsonObject()) {
+                problems.add("Missing " + flowingGrid);
+                continue;
+            }
+
+            JsonElement flowingRegionsElement = flowGridElement.getAsJsonObject().get(FlowGrid.FLOWING_REGIONS);
+
+            if (flowingRegionsElement == null || !flowingRegionsElement.isJsonArray()) {
+                problems.add("Missing " + flowingGrid + "." + FlowGrid.FLOWING_REGIONS);
+                continue;
+            }
+
+            validateFlowingRegions(flowingGrid, flowingRegionsElement.getAsJsonArray(), problems);
+        }
+
+        return problems;
+    }
+
+    private static void validateFlowingRegions(String flowingGrid, JsonArray flowingRegions, List<String> problems) {
+        Set<Long> cells = new HashSet<>();
+
+        for (int index = 0; index < flowingRegions.size(); index++) {
+            String location = flowingGrid + "[" + index + "]";
+            JsonElement flowingRegionElement = flowingRegions.get(index);
+
+            if (!flowingRegionElement.isJsonObject()) {
+                problems.add(location + " is not a region");
+                continue;
+            }
+
+            JsonObject flowingRegion = flowingRegionElement.getAsJsonObject();
+
+            if (!isEnumConstant(flowingRegion.get(FlowingRegion.TYPE_NAME), FlowingRegionType.class)) {
+                problems.add(location + " has a missing or unknown " + FlowingRegion.TYPE_NAME);
+            }
+
+            if (!isString(flowingRegion.get(FlowingRegion.TEXT_NAME))) {
+                problems.add(location + " has no " + FlowingRegion.TEXT_NAME);
+            }
+
+            Integer column = getInteger(flowingRegion.get(FlowingRegion.COLUMN_NAME));
+            Integer row = getInteger(flowingRegion.get(FlowingRegion.ROW_NAME));
+
+            if (column == null || column < 0 || column >= Speech.SPEECH_SIZE) {
+                problems.add(location + " has a missing or out of range " + FlowingRegion.COLUMN_NAME);
+            }
+
+            if (row == null || row < 0) {
+                problems.add(location + " has a missing or negative " + FlowingRegion.ROW_NAME);
+            }
+
+            // Two regions within one cell are laid out on top of one another
+            if (column != null && row != null && !cells.add(((long) row << Integer.SIZE) | (column & 0xFFFFFFFFL))) {
+                problems.add(location + " shares column " + column + ", row " + row + " with another region");
+            }
+
+            validateArray(location, flowingRegion.get(FlowingRegion.ASSOCIATED_QUESTIONS), FlowingRegion.ASSOCIATED_QUESTIONS, true, problems);
+            validateArray(location, flowingRegion.get(FlowingRegion.ASSOCIATED_CARDS), FlowingRegion.ASSOCIATED_CARDS, false, problems);
+        }
+    }
+
+    /**
+     * Checks that {@code element}, if present, is an array of strings if {@code ofStrings}, otherwise of objects.
+     */
+    private static void validateArray(String location, JsonElement element, String name, boolean ofStrings, List<String> problems) {
+        if (element == null || element.isJsonNull())
+            return;
+
+        if (!element.isJsonArray()) {
+            problems.add(location + " has a malformed " + name);
+            return;
+        }
+
+        for (JsonElement item : element.getAsJsonArray()) {
+            if (ofStrings ? !isString(item) : !item.isJsonObject()) {
+                problems.add(location + " has a malformed " + name);
+                return;
+            }
+        }
+    }
+
+    private static boolean isString(JsonElement element) {
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isString();
+    }
+
+    private static <E extends Enum<E>> boolean isEnumConstant(JsonElement element, Class<E> enumClass) {
+        if (!isString(element))
+            return false;
+
+        try {
+            Enum.valueOf(enumClass, element.getAsString());
+            return true;
+        }
+        catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Integer getInteger(JsonElement element) {
+        if (element == null || !element.isJsonPrimitive())
+            return null;
+
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+
+        if (!primitive.isNumber())
+            return null;
+
+        double number = primitive.getAsDouble();
+
+        return number == Math.rint(number) && Math.abs(number) <= Integer.MAX_VALUE ? (int) number : null;
+    }
+}
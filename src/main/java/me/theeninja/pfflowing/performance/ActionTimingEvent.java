@@ -0,0 +1,26 @@
+package me.theeninja.pfflowing.performance;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a single action performed, undone or redone, or a single key press processed. Only
+ * committed while a flight recording is running, such as one started with {@code -XX:StartFlightRecording}.
+ *
+ * @author TheeNinja
+ */
+@Name("me.theeninja.pfflowing.Action")
+@Label("EFlow Action")
+@Category({"EFlow", "Actions"})
+@Description("An action performed, undone or redone, or a key press processed")
+@StackTrace(false)
+class ActionTimingEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Type")
+    String type;
+}
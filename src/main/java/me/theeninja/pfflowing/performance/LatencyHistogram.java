@@ -0,0 +1,84 @@
+package me.theeninja.pfflowing.performance;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts latencies in buckets whose bounds double from one microsecond upwards, which keeps recording constant in
+ * time and space however many latencies are recorded, at the cost of percentiles only being accurate to within a
+ * factor of two. Latencies may be recorded and read on any thread.
+ *
+ * @author TheeNinja
+ */
+public class LatencyHistogram {
+    /**
+     * Latencies of at least 2^(BUCKETS - 1) microseconds, over half an hour, are counted in the last bucket.
+     */
+    private static final int BUCKETS = 32;
+
+    private final long[] bucketCounts = new long[BUCKETS];
+
+    private long count;
+    private long totalNanoseconds;
+    private long maximumNanoseconds;
+
+    public synchronized void record(long nanoseconds) {
+        long microseconds = TimeUnit.NANOSECONDS.toMicros(Math.max(nanoseconds, 0));
+
+        // Bucket i holds latencies of less than 2^i microseconds, and bucket 0 those of less than one
+        int bucket = Math.min(Long.SIZE - Long.numberOfLeadingZeros(microseconds), BUCKETS - 1);
+
+        bucketCounts[bucket]++;
+        count++;
+        totalNanoseconds += nanoseconds;
+        maximumNanoseconds = Math.max(maximumNanoseconds, nanoseconds);
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(bucketCounts, 0);
+        count = 0;
+        totalNanoseconds = 0;
+        maximumNanoseconds = 0;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanoseconds() {
+        return totalNanoseconds;
+    }
+
+    public synchronized long getMaximumNanoseconds() {
+        return maximumNanoseconds;
+    }
+
+    public synchronized long getMeanNanoseconds() {
+        return count == 0 ? 0 : totalNanoseconds / count;
+    }
+
+    /**
+     * @param percentile A percentile, between 0 and 100.
+     * @return The upper bound of the bucket the latency at {@code percentile} was counted in, and never more than
+     *         the maximum latency recorded.
+     */
+    public synchronized long getPercentileNanoseconds(double percentile) {
+        if (count == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long counted = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counted += bucketCounts[bucket];
+
+            if (counted >= rank) {
+                long upperBound = TimeUnit.MICROSECONDS.toNanos(1L << bucket);
+
+                return Math.min(upperBound, maximumNanoseconds);
+            }
+        }
+
+        return maximumNanoseconds;
+    }
+}
@@ -0,0 +1,23 @@
+package me.theeninja.pfflowing.performance;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the CSS and layout passes of a single pulse of the main scene.
+ *
+ * @author TheeNinja
+ */
+@Name("me.theeninja.pfflowing.LayoutPulse")
+@Label("EFlow Layout Pulse")
+@Category({"EFlow", "Pulses"})
+@Description("The CSS and layout passes of a pulse of the main scene")
+@StackTrace(false)
+class LayoutPulseEvent extends jdk.jfr.Event {
+    @Label("Triggering Action")
+    @Description("The first action timed since the previous pulse, if any")
+    String action;
+}
@@ -0,0 +1,165 @@
+package me.theeninja.pfflowing.performance;
+
+import javafx.scene.Scene;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Times actions, key presses and the layout pulses of the main scene, keeping a latency histogram for each kind,
+ * so that operations which are slow on large flows can be pinpointed from the performance overlay. Every timing is
+ * also committed as a flight recorder event, see {@link ActionTimingEvent} and {@link LayoutPulseEvent}.
+ *
+ * Flight recorder events are only created when the {@code jdk.jfr} module is present, as it is missing from OpenJDK
+ * 10. On Oracle JDK 10 the flight recorder is a commercial feature, so recording the events needs
+ * {@code -XX:+UnlockCommercialFeatures}, while from Java 11 on it is free.
+ *
+ * Pulse durations are measured between the pre and post layout pulse listeners of the scene, so they cover the CSS
+ * and layout passes, which is where large flow grids spend their time, and not rendering.
+ *
+ * @author TheeNinja
+ */
+public final class PerformanceMonitor {
+    private static final PerformanceMonitor INSTANCE = new PerformanceMonitor();
+
+    public static final String PERFORM = "Perform";
+    public static final String UNDO = "Undo";
+    public static final String REDO = "Redo";
+    public static final String KEY_PRESS = "Key press";
+    public static final String LAYOUT_PULSE = "Layout pulse";
+
+    /**
+     * Suffix of the histograms of the time from the start of an action until the end of the pulse laying it out.
+     */
+    public static final String LAID_OUT_SUFFIX = " until laid out";
+
+    private final Map<String, LatencyHistogram> histograms = new TreeMap<>();
+
+    /**
+     * The first action timed since the previous layout pulse, and when it started. Only accessed on the JavaFX
+     * application thread, on which both actions and pulse listeners run.
+     */
+    private String pendingAction;
+    private long pendingActionStart;
+
+    /**
+     * Whether flight recorder events can be created. Event classes must not be loaded otherwise.
+     */
+    private static final boolean FLIGHT_RECORDER_AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private LayoutPulseEvent layoutPulseEvent;
+    private boolean layoutPulseStarted;
+    private long layoutPulseStart;
+
+    private PerformanceMonitor() {}
+
+    public static PerformanceMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs {@code runnable}, recording how long it took under {@code operation} and {@code type}, and how long
+     * until the pulse after it was laid out.
+     *
+     * @param operation What is done, such as {@link #PERFORM}.
+     * @param type The kind of what is done, such as the simple name of the action class.
+     */
+    public void time(String operation, String type, Runnable runnable) {
+        String name = operation + " " + type;
+
+        ActionTimingEvent actionTimingEvent = null;
+
+        if (FLIGHT_RECORDER_AVAILABLE) {
+            actionTimingEvent = new ActionTimingEvent();
+            actionTimingEvent.operation = operation;
+            actionTimingEvent.type = type;
+            actionTimingEvent.begin();
+        }
+
+        long start = System.nanoTime();
+
+        if (pendingAction == null) {
+            pendingAction = name;
+            pendingActionStart = start;
+        }
+
+        try {
+            runnable.run();
+        }
+        finally {
+            record(name, System.nanoTime() - start);
+
+            if (actionTimingEvent != null) {
+                actionTimingEvent.end();
+                actionTimingEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Starts timing the layout pulses of {@code scene}. Must be called on the JavaFX application thread.
+     */
+    public void attach(Scene scene) {
+        scene.addPreLayoutPulseListener(this::onPreLayoutPulse);
+        scene.addPostLayoutPulseListener(this::onPostLayoutPulse);
+    }
+
+    private void onPreLayoutPulse() {
+        if (FLIGHT_RECORDER_AVAILABLE) {
+            layoutPulseEvent = new LayoutPulseEvent();
+            layoutPulseEvent.action = pendingAction;
+            layoutPulseEvent.begin();
+        }
+
+        layoutPulseStarted = true;
+        layoutPulseStart = System.nanoTime();
+    }
+
+    private void onPostLayoutPulse() {
+        long end = System.nanoTime();
+
+        // The listeners may have been added between the two halves of a pulse
+        if (!layoutPulseStarted)
+            return;
+
+        layoutPulseStarted = false;
+
+        record(LAYOUT_PULSE, end - layoutPulseStart);
+
+        if (layoutPulseEvent != null) {
+            layoutPulseEvent.end();
+            layoutPulseEvent.commit();
+            layoutPulseEvent = null;
+        }
+
+        if (pendingAction != null) {
+            record(pendingAction + LAID_OUT_SUFFIX, end - pendingActionStart);
+            pendingAction = null;
+        }
+    }
+
+    private void record(String name, long nanoseconds) {
+        LatencyHistogram histogram;
+
+        synchronized (histograms) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+
+        histogram.record(nanoseconds);
+    }
+
+    /**
+     * @return Every histogram by name, in order of name. Later histograms are not added to the returned map.
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        synchronized (histograms) {
+            return new TreeMap<>(histograms);
+        }
+    }
+
+    public void reset() {
+        synchronized (histograms) {
+            histograms.clear();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package me.theeninja.pfflowing.printing;
+
+import me.theeninja.pfflowing.gui.FlowController;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports every round saved in a directory, such as the rounds of a tournament, to a PDF and to a plain text
+ * outline each. Rounds are read straight from their files, see {@link FlowSheet#read(Path, FlowSheet.Colors)}, so
+ * neither EFlow, the JavaFX toolkit nor a stage is started, and rounds are exported in parallel, one per available
+ * processor. Rounds are rendered in the default colors unless others are given.
+ *
+ * Usage: {@code BatchExporter <rounds directory> [output directory]}. The output directory defaults to the rounds
+ * directory. The process exits with a non-zero status if any round could not be exported.
+ *
+ * @author TheeNinja
+ */
+public class BatchExporter {
+    private static final Logger LOGGER = Logger.getLogger(BatchExporter.class.getSimpleName());
+
+    public static final String PDF_EXTENSION = "pdf";
+    public static final String OUTLINE_EXTENSION = "txt";
+
+    private static final String USAGE = "Usage: BatchExporter <rounds directory> [output directory]";
+
+    private final Path outputDirectory;
+    private final FlowSheet.Colors colors;
+
+    public BatchExporter(Path outputDirectory) {
+        this(outputDirectory, FlowSheet.Colors.DEFAULT);
+    }
+
+    public BatchExporter(Path outputDirectory, FlowSheet.Colors colors) {
+        this.outputDirectory = outputDirectory;
+        this.colors = colors;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        Path roundsDirectory = Paths.get(args[0]);
+        Path outputDirectory = args.length == 2 ? Paths.get(args[1]) : roundsDirectory;
+
+        try {
+            Files.createDirectories(outputDirectory);
+
+            List<Path> failedRounds = new BatchExporter(outputDirectory).exportDirectory(roundsDirectory);
+
+            System.exit(failedRounds.isEmpty() ? 0 : 1);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Exports every EFlow file directly within {@code roundsDirectory}.
+     *
+     * @return The rounds that could not be exported.
+     */
+    public List<Path> exportDirectory(Path roundsDirectory) throws IOException {
+        List<Path> roundPaths;
+
+        try (Stream<Path> paths = Files.list(roundsDirectory)) {
+            roundPaths = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> Utils.hasExtension(path.getFileName().toString(), FlowController.FILE_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        return export(roundPaths);
+    }
+
+    /**
+     * Exports each of {@code roundPaths} in parallel.
+     *
+     * @return The rounds that could not be exported.
+     */
+    public List<Path> export(List<Path> roundPaths) {
+        long start = System.nanoTime();
+
+        ExecutorService exportExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread exportThread = new Thread(runnable, "Batch Export");
+
+            // Exporting is waited for below, so no export thread has to keep the JVM alive
+            exportThread.setDaemon(true);
+
+            return exportThread;
+        });
+
+        List<Future<?>> exports = new ArrayList<>();
+
+        for (Path roundPath : roundPaths) {
+            exports.add(exportExecutor.submit(() -> {
+                try {
+                    export(roundPath);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+
+        List<Path> failedRounds = new ArrayList<>();
+
+        for (int index = 0; index < roundPaths.size(); index++) {
+            try {
+                exports.get(index).get();
+            }
+            catch (ExecutionException e) {
+                LOGGER.log(Level.WARNING, "Could not export " + roundPaths.get(index), e.getCause());
+                failedRounds.add(roundPaths.get(index));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedRounds.addAll(roundPaths.subList(index, roundPaths.size()));
+                break;
+            }
+        }
+
+        exportExecutor.shutdownNow();
+
+        long elapsedMilliseconds = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info(String.format("Exported %d of %d rounds in %d ms",
+                roundPaths.size() - failedRounds.size(), roundPaths.size(), elapsedMilliseconds));
+
+        return failedRounds;
+    }
+
+    /**
+     * Exports a single round to a PDF and an outline named after its file.
+     */
+    public void export(Path roundPath) throws IOException {
+        List<FlowSheet> flowSheets = FlowSheet.read(roundPath, getColors());
+
+        String fileName = roundPath.getFileName().toString();
+        String baseName = fileName.substring(0, fileName.lastIndexOf(Utils.EXTENSION_SEPERATOR));
+
+        FlowPDFExporter.export(flowSheets, getOutputDirectory().resolve(Utils.addExtension(baseName, PDF_EXTENSION)));
+        FlowOutlineExporter.export(flowSheets, getOutputDirectory().resolve(Utils.addExtension(baseName, OUTLINE_EXTENSION)));
+    }
+
+    public Path getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public FlowSheet.Colors getColors() {
+        return colors;
+    }
+}
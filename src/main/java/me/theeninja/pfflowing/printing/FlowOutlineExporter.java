@@ -0,0 +1,96 @@
+package me.theeninja.pfflowing.printing;
+
+import me.theeninja.pfflowing.gui.SpeechList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Writes flow sheets as a compact plain text outline, speech by speech, for archives that are searched rather than
+ * read. Within a speech, entries appear in the order of their rows, each followed by its cards and questions.
+ *
+ * @author TheeNinja
+ */
+public final class FlowOutlineExporter {
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String TITLE_SEPARATOR = " – ";
+    private static final String ROUND_PREFIX = "# ";
+    private static final String SPEECH_PREFIX = "## ";
+    private static final String ENTRY_PREFIX = "- ";
+    private static final String CARD_PREFIX = "    * ";
+    private static final String QUESTION_PREFIX = "    ? ";
+    private static final String DROPPED_SUFFIX = " [dropped]";
+
+    private FlowOutlineExporter() {}
+
+    /**
+     * Writes {@code flowSheets} to {@code path}, replacing it atomically. May be called on any thread.
+     */
+    public static void export(List<FlowSheet> flowSheets, Path path) throws IOException {
+        StringBuilder outline = new StringBuilder();
+
+        for (FlowSheet flowSheet : flowSheets) {
+            appendOutline(flowSheet, outline);
+        }
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        Files.write(temporaryPath, outline.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static String toOutline(FlowSheet flowSheet) {
+        StringBuilder outline = new StringBuilder();
+        appendOutline(flowSheet, outline);
+
+        return outline.toString();
+    }
+
+    private static void appendOutline(FlowSheet flowSheet, StringBuilder outline) {
+        outline.append(ROUND_PREFIX)
+               .append(flowSheet.getRoundName())
+               .append(TITLE_SEPARATOR)
+               .append(SpeechList.SIDE_HEADERS.get(flowSheet.getSide()))
+               .append(LINE_SEPARATOR);
+
+        for (int column = 0; column < flowSheet.getSpeechHeaders().size(); column++) {
+            boolean hasHeader = false;
+
+            // Entries are ordered by row, so those of a single column remain in order of their rows
+            for (FlowSheet.Entry entry : flowSheet.getEntries()) {
+                if (entry.getColumn() != column)
+                    continue;
+
+                if (!hasHeader) {
+                    outline.append(LINE_SEPARATOR)
+                           .append(SPEECH_PREFIX)
+                           .append(flowSheet.getSpeechHeaders().get(column))
+                           .append(LINE_SEPARATOR);
+
+                    hasHeader = true;
+                }
+
+                outline.append(ENTRY_PREFIX).append(toSingleLine(entry.getText()));
+
+                if (entry.isDropped()) {
+                    outline.append(DROPPED_SUFFIX);
+                }
+
+                outline.append(LINE_SEPARATOR);
+
+                entry.getCards().forEach(card -> outline.append(CARD_PREFIX).append(toSingleLine(card)).append(LINE_SEPARATOR));
+                entry.getQuestions().forEach(question -> outline.append(QUESTION_PREFIX).append(toSingleLine(question)).append(LINE_SEPARATOR));
+            }
+        }
+
+        outline.append(LINE_SEPARATOR);
+    }
+
+    private static String toSingleLine(String text) {
+        return text == null ? "" : text.replaceAll("\\s+", " ").trim();
+    }
+}
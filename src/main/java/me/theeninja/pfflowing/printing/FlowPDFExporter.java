@@ -0,0 +1,409 @@
+package me.theeninja.pfflowing.printing;
+
+import javafx.scene.paint.Color;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.gui.SpeechList;
+import me.theeninja.pfflowing.tournament.Round;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders flow sheets to a paginated PDF, one landscape page per part of a side, without any node or scene. All
+ * eight speeches are laid out as columns across every page, under repeated speech headers. Pages are only broken
+ * between rows of the flow grid, so an argument and its responses stay on the same page, unless a single row is
+ * taller than a whole page, in which case each of its columns continues on the next page.
+ *
+ * Only the standard PDF fonts are used, so nothing is embedded and exporting a round takes milliseconds. Characters
+ * those fonts cannot show are replaced by {@link #REPLACEMENT_CHARACTER}.
+ *
+ * @author TheeNinja
+ */
+public final class FlowPDFExporter {
+    private static final PDRectangle PAGE_SIZE = new PDRectangle(PDRectangle.LETTER.getHeight(), PDRectangle.LETTER.getWidth());
+
+    private static final float MARGIN = 36;
+    private static final float CELL_PADDING = 3;
+    private static final float ROW_GAP = 6;
+
+    private static final PDFont TITLE_FONT = PDType1Font.TIMES_BOLD;
+    private static final float TITLE_SIZE = 12;
+
+    private static final PDFont HEADER_FONT = PDType1Font.TIMES_BOLD;
+    private static final float HEADER_SIZE = 9;
+
+    private static final PDFont TEXT_FONT = PDType1Font.TIMES_ROMAN;
+    private static final float TEXT_SIZE = 9;
+
+    private static final PDFont SUPPLEMENT_FONT = PDType1Font.TIMES_ITALIC;
+    private static final float SUPPLEMENT_SIZE = 7.5f;
+
+    private static final float LEADING_FACTOR = 1.2f;
+    private static final float STRIKETHROUGH_HEIGHT_FACTOR = 0.3f;
+
+    private static final int GRID_GRAY = 200;
+
+    private static final String REPLACEMENT_CHARACTER = "?";
+    private static final String CARD_PREFIX = "• ";
+    private static final String QUESTION_PREFIX = "? ";
+    private static final String TITLE_SEPARATOR = " – ";
+
+    private static final float COLUMN_WIDTH = (PAGE_SIZE.getWidth() - 2 * MARGIN) / Speech.SPEECH_SIZE;
+
+    private FlowPDFExporter() {}
+
+    /**
+     * A line of a cell, already wrapped to the width of a column.
+     */
+    private static class Line {
+        private final String text;
+        private final PDFont font;
+        private final float size;
+        private final Color color;
+        private final boolean struckThrough;
+
+        private Line(String text, PDFont font, float size, Color color, boolean struckThrough) {
+            this.text = text;
+            this.font = font;
+            this.size = size;
+            this.color = color;
+            this.struckThrough = struckThrough;
+        }
+
+        private float getLeading() {
+            return size * LEADING_FACTOR;
+        }
+    }
+
+    /**
+     * Writes both sides of {@code round} to {@code path}. Must be called on the JavaFX application thread if the
+     * round is displayed, see {@link FlowSheet#of(Round)}; use {@link #export(List, Path)} with sheets taken on
+     * that thread to write elsewhere.
+     */
+    public static void export(Round round, Path path) throws IOException {
+        export(FlowSheet.of(round), path);
+    }
+
+    /**
+     * Writes {@code flowSheets} to {@code path}, replacing it atomically. May be called on any thread.
+     */
+    public static void export(List<FlowSheet> flowSheets, Path path) throws IOException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (PDDocument document = new PDDocument()) {
+            Map<String, String> encodableCharacters = new HashMap<>();
+
+            for (FlowSheet flowSheet : flowSheets) {
+                new SheetRenderer(document, flowSheet, encodableCharacters).render();
+            }
+
+            document.save(temporaryPath.toFile());
+        }
+
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lays out the rows of a single flow sheet onto as many pages as they need.
+     */
+    private static class SheetRenderer {
+        private final PDDocument document;
+        private final FlowSheet flowSheet;
+
+        /**
+         * Caches, per font and character, the text shown in place of that character.
+         */
+        private final Map<String, String> encodableCharacters;
+
+        private PDPageContentStream contentStream;
+        private int pageNumber;
+        private float y;
+        private float bodyTop;
+
+        SheetRenderer(PDDocument document, FlowSheet flowSheet, Map<String, String> encodableCharacters) {
+            this.document = document;
+            this.flowSheet = flowSheet;
+            this.encodableCharacters = encodableCharacters;
+        }
+
+        void render() throws IOException {
+            startPage();
+
+            List<FlowSheet.Entry> entries = flowSheet.getEntries();
+
+            for (int rowStart = 0; rowStart < entries.size(); ) {
+                int row = entries.get(rowStart).getRow();
+                int rowEnd = rowStart;
+
+                while (rowEnd < entries.size() && entries.get(rowEnd).getRow() == row) {
+                    rowEnd++;
+                }
+
+                renderRow(entries.subList(rowStart, rowEnd));
+                rowStart = rowEnd;
+            }
+
+            finishPage();
+        }
+
+        private void renderRow(List<FlowSheet.Entry> rowEntries) throws IOException {
+            List<List<Line>> cells = new ArrayList<>();
+            List<Integer> columns = new ArrayList<>();
+            float rowHeight = 0;
+
+            for (FlowSheet.Entry entry : rowEntries) {
+                List<Line> lines = toLines(entry);
+
+                cells.add(lines);
+                columns.add(entry.getColumn());
+                rowHeight = Math.max(rowHeight, getHeight(lines));
+            }
+
+            // Rows that fit on a page are never split across pages
+            if (rowHeight > getRemainingHeight() && getRemainingHeight() < getBodyHeight()) {
+                finishPage();
+                startPage();
+            }
+
+            int[] nextLines = new int[cells.size()];
+
+            while (true) {
+                float usedHeight = 0;
+                boolean isRowFinished = true;
+
+                for (int cell = 0; cell < cells.size(); cell++) {
+                    List<Line> lines = cells.get(cell);
+                    float x = MARGIN + columns.get(cell) * COLUMN_WIDTH + CELL_PADDING;
+                    float cellHeight = 0;
+
+                    while (nextLines[cell] < lines.size()) {
+                        Line line = lines.get(nextLines[cell]);
+
+                        if (cellHeight + line.getLeading() > getRemainingHeight())
+                            break;
+
+                        cellHeight += line.getLeading();
+                        drawLine(line, x, y - cellHeight);
+                        nextLines[cell]++;
+                    }
+
+                    usedHeight = Math.max(usedHeight, cellHeight);
+                    isRowFinished &= nextLines[cell] == lines.size();
+                }
+
+                y -= usedHeight;
+
+                if (isRowFinished)
+                    break;
+
+                finishPage();
+                startPage();
+            }
+
+            y -= ROW_GAP;
+        }
+
+        private List<Line> toLines(FlowSheet.Entry entry) throws IOException {
+            List<Line> lines = new ArrayList<>();
+            Color color = flowSheet.getColumnColor(entry.getColumn());
+            float width = COLUMN_WIDTH - 2 * CELL_PADDING;
+
+            for (String wrappedLine : wrap(entry.getText(), TEXT_FONT, TEXT_SIZE, width)) {
+                lines.add(new Line(wrappedLine, TEXT_FONT, TEXT_SIZE, color, entry.isDropped()));
+            }
+
+            for (String card : entry.getCards()) {
+                for (String wrappedLine : wrap(CARD_PREFIX + card, SUPPLEMENT_FONT, SUPPLEMENT_SIZE, width)) {
+                    lines.add(new Line(wrappedLine, SUPPLEMENT_FONT, SUPPLEMENT_SIZE, color, false));
+                }
+            }
+
+            for (String question : entry.getQuestions()) {
+                for (String wrappedLine : wrap(QUESTION_PREFIX + question, SUPPLEMENT_FONT, SUPPLEMENT_SIZE, width)) {
+                    lines.add(new Line(wrappedLine, SUPPLEMENT_FONT, SUPPLEMENT_SIZE, flowSheet.getQuestionColor(), false));
+                }
+            }
+
+            return lines;
+        }
+
+        /**
+         * Breaks {@code text} into lines no wider than {@code width}, at spaces where possible and within words
+         * that are wider than a line on their own.
+         */
+        private List<String> wrap(String text, PDFont font, float size, float width) throws IOException {
+            List<String> lines = new ArrayList<>();
+
+            if (text == null)
+                return lines;
+
+            for (String paragraph : toEncodable(text, font).split("\\R")) {
+                StringBuilder line = new StringBuilder();
+
+                for (String word : paragraph.trim().split("\\s+")) {
+                    String candidate = line.length() == 0 ? word : line + " " + word;
+
+                    if (getWidth(candidate, font, size) <= width) {
+                        line.setLength(0);
+                        line.append(candidate);
+                        continue;
+                    }
+
+                    if (line.length() > 0) {
+                        lines.add(line.toString());
+                        line.setLength(0);
+                    }
+
+                    // Words wider than a whole line are broken wherever they reach the end of the line
+                    for (int index = 0; index < word.length(); index++) {
+                        if (line.length() > 0 && getWidth(line.toString() + word.charAt(index), font, size) > width) {
+                            lines.add(line.toString());
+                            line.setLength(0);
+                        }
+
+                        line.append(word.charAt(index));
+                    }
+                }
+
+                if (line.length() > 0) {
+                    lines.add(line.toString());
+                }
+            }
+
+            return lines;
+        }
+
+        private String toEncodable(String text, PDFont font) {
+            StringBuilder encodable = new StringBuilder(text.length());
+
+            text.codePoints().forEach(codePoint -> {
+                String character = new String(Character.toChars(codePoint));
+
+                if (Character.isWhitespace(codePoint)) {
+                    encodable.append(codePoint == '\n' ? "\n" : " ");
+                    return;
+                }
+
+                encodable.append(encodableCharacters.computeIfAbsent(font.getName() + character, key -> {
+                    try {
+                        font.encode(character);
+                        return character;
+                    }
+                    catch (IOException | IllegalArgumentException e) {
+                        return REPLACEMENT_CHARACTER;
+                    }
+                }));
+            });
+
+            return encodable.toString();
+        }
+
+        private void startPage() throws IOException {
+            PDPage page = new PDPage(PAGE_SIZE);
+            document.addPage(page);
+
+            contentStream = new PDPageContentStream(document, page);
+            pageNumber++;
+
+            y = PAGE_SIZE.getHeight() - MARGIN;
+
+            String side = SpeechList.SIDE_HEADERS.get(flowSheet.getSide());
+            String title = flowSheet.getRoundName() + TITLE_SEPARATOR + side + TITLE_SEPARATOR + pageNumber;
+
+            y -= TITLE_SIZE * LEADING_FACTOR;
+            drawLine(new Line(toEncodable(title, TITLE_FONT), TITLE_FONT, TITLE_SIZE, Color.BLACK, false), MARGIN, y);
+
+            y -= HEADER_SIZE * LEADING_FACTOR;
+
+            for (int column = 0; column < flowSheet.getSpeechHeaders().size(); column++) {
+                String header = toEncodable(flowSheet.getSpeechHeaders().get(column), HEADER_FONT);
+                float x = MARGIN + column * COLUMN_WIDTH + CELL_PADDING;
+
+                drawLine(new Line(header, HEADER_FONT, HEADER_SIZE, flowSheet.getColumnColor(column), false), x, y);
+            }
+
+            y -= ROW_GAP;
+            bodyTop = y;
+        }
+
+        private void finishPage() throws IOException {
+            contentStream.setStrokingColor(GRID_GRAY, GRID_GRAY, GRID_GRAY);
+            contentStream.setLineWidth(0.5f);
+
+            contentStream.moveTo(MARGIN, bodyTop);
+            contentStream.lineTo(PAGE_SIZE.getWidth() - MARGIN, bodyTop);
+
+            for (int column = 1; column < Speech.SPEECH_SIZE; column++) {
+                float x = MARGIN + column * COLUMN_WIDTH;
+
+                contentStream.moveTo(x, bodyTop + HEADER_SIZE * LEADING_FACTOR);
+                contentStream.lineTo(x, MARGIN);
+            }
+
+            contentStream.stroke();
+            contentStream.close();
+        }
+
+        private void drawLine(Line line, float x, float baseline) throws IOException {
+            setColor(line.color);
+
+            contentStream.beginText();
+            contentStream.setFont(line.font, line.size);
+            contentStream.newLineAtOffset(x, baseline);
+            contentStream.showText(line.text);
+            contentStream.endText();
+
+            if (line.struckThrough) {
+                float strikethroughY = baseline + line.size * STRIKETHROUGH_HEIGHT_FACTOR;
+
+                contentStream.setStrokingColor(toComponent(line.color.getRed()), toComponent(line.color.getGreen()), toComponent(line.color.getBlue()));
+                contentStream.setLineWidth(0.5f);
+                contentStream.moveTo(x, strikethroughY);
+                contentStream.lineTo(x + getWidth(line.text, line.font, line.size), strikethroughY);
+                contentStream.stroke();
+            }
+        }
+
+        private void setColor(Color color) throws IOException {
+            contentStream.setNonStrokingColor(toComponent(color.getRed()), toComponent(color.getGreen()), toComponent(color.getBlue()));
+        }
+
+        private float getRemainingHeight() {
+            return y - MARGIN;
+        }
+
+        private float getBodyHeight() {
+            return bodyTop - MARGIN;
+        }
+    }
+
+    private static float getHeight(List<Line> lines) {
+        float height = 0;
+
+        for (Line line : lines) {
+            height += line.getLeading();
+        }
+
+        return height;
+    }
+
+    private static float getWidth(String text, PDFont font, float size) throws IOException {
+        return font.getStringWidth(text) / 1000 * size;
+    }
+
+    private static int toComponent(double value) {
+        return (int) Math.round(value * 255);
+    }
+}
@@ -0,0 +1,359 @@
+package me.theeninja.pfflowing.printing;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.configuration.Configuration;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowDisplayController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.gui.SpeechList;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable copy of what is written on one side of a round, taken from its flow grid. Once taken, a flow sheet
+ * no longer refers to any node, so it can be rendered on any thread while the round keeps being edited.
+ *
+ * @author TheeNinja
+ */
+public class FlowSheet {
+    private static final String DROPPED_STYLECLASS = "dropped";
+
+    private final String roundName;
+    private final Side side;
+    private final List<String> speechHeaders;
+    private final List<Entry> entries;
+
+    private final Colors colors;
+
+    /**
+     * The colors a flow sheet is rendered in.
+     */
+    public static class Colors {
+        /**
+         * The colors of a configuration that was never changed, for flow sheets rendered without EFlow running.
+         */
+        public static final Colors DEFAULT = new Colors(Color.BLACK, Color.RED, Color.BLUE);
+
+        private final Color affColor;
+        private final Color negColor;
+        private final Color questionColor;
+
+        public Colors(Color affColor, Color negColor, Color questionColor) {
+            this.affColor = affColor;
+            this.negColor = negColor;
+            this.questionColor = questionColor;
+        }
+
+        /**
+         * @return The colors currently configured.
+         */
+        public static Colors of(Configuration configuration) {
+            return new Colors(
+                configuration.getAffColor().getValue(),
+                configuration.getNegColor().getValue(),
+                configuration.getQuestionColor().getValue()
+            );
+        }
+
+        public Color getAffColor() {
+            return affColor;
+        }
+
+        public Color getNegColor() {
+            return negColor;
+        }
+
+        public Color getQuestionColor() {
+            return questionColor;
+        }
+    }
+
+    /**
+     * What is written in a single cell of the flow grid.
+     */
+    public static class Entry {
+        private final int column;
+        private final int row;
+        private final String text;
+        private final boolean dropped;
+        private final List<String> cards;
+        private final List<String> questions;
+
+        public Entry(int column, int row, String text, boolean dropped, List<String> cards, List<String> questions) {
+            this.column = column;
+            this.row = row;
+            this.text = text;
+            this.dropped = dropped;
+            this.cards = Collections.unmodifiableList(new ArrayList<>(cards));
+            this.questions = Collections.unmodifiableList(new ArrayList<>(questions));
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isDropped() {
+            return dropped;
+        }
+
+        public List<String> getCards() {
+            return cards;
+        }
+
+        public List<String> getQuestions() {
+            return questions;
+        }
+    }
+
+    public FlowSheet(String roundName, Side side, List<String> speechHeaders, List<Entry> entries, Colors colors) {
+        this.roundName = roundName;
+        this.side = side;
+        this.speechHeaders = Collections.unmodifiableList(new ArrayList<>(speechHeaders));
+
+        List<Entry> sortedEntries = new ArrayList<>(entries);
+        sortedEntries.sort(Comparator.comparingInt(Entry::getRow).thenComparingInt(Entry::getColumn));
+        this.entries = Collections.unmodifiableList(sortedEntries);
+
+        this.colors = colors;
+    }
+
+    /**
+     * Copies one side of a round. Must be called on the JavaFX application thread if the round is displayed.
+     *
+     * @param round The round to copy.
+     * @param side The side of the round to copy.
+     * @return The copy of that side.
+     */
+    public static FlowSheet of(Round round, Side side) {
+        FlowDisplayController flowDisplayController = round.getController(side);
+
+        List<String> speechHeaders = getSpeechHeaders(side);
+
+        List<Entry> entries = new ArrayList<>();
+
+        for (Node node : flowDisplayController.flowGrid.getChildren()) {
+            if (!(node instanceof FlowingRegion))
+                continue;
+
+            FlowingRegion flowingRegion = (FlowingRegion) node;
+
+            Integer column = FlowGrid.getColumnIndex(flowingRegion);
+            Integer row = FlowGrid.getRowIndex(flowingRegion);
+
+            if (column == null || row == null)
+                continue;
+
+            List<String> cards = flowingRegion.getAssociatedCards().stream()
+                    .map(Card::getRepresentation)
+                    .collect(Collectors.toList());
+
+            entries.add(new Entry(
+                column,
+                row,
+                flowingRegion.getFullText(),
+                flowingRegion.getStyleClass().contains(DROPPED_STYLECLASS),
+                cards,
+                flowingRegion.getAssociatedQuestions()
+            ));
+        }
+
+        Colors colors = Colors.of(EFlow.getInstance().getConfiguration());
+
+        return new FlowSheet(round.getRoundName(), side, speechHeaders, entries, colors);
+    }
+
+    /**
+     * @return Both sides of {@code round}, affirmative first.
+     */
+    public static List<FlowSheet> of(Round round) {
+        return List.of(of(round, Side.AFFIRMATIVE), of(round, Side.NEGATION));
+    }
+
+    /**
+     * Reads both sides of a saved round straight from its outline and autosaved segments, see
+     * {@link RoundFile#readOutline(Path)}, without creating a round or any node, so that rounds can be read without
+     * the JavaFX toolkit and on any thread. EFlow and its configuration are not touched either, so the colors are
+     * given.
+     *
+     * @param roundPath The path of an EFlow file.
+     * @param colors The colors to render the flow sheets in.
+     * @return Both sides of the saved round, affirmative first.
+     */
+    public static List<FlowSheet> read(Path roundPath, Colors colors) throws IOException {
+        try {
+            JsonObject roundObject = RoundFile.readOutline(roundPath);
+            String roundName = getString(roundObject, Round.NAME);
+
+            return List.of(
+                read(roundName, Side.AFFIRMATIVE, getObject(roundObject, Round.AFF_FLOWING_GRID), colors),
+                read(roundName, Side.NEGATION, getObject(roundObject, Round.NEG_FLOWING_GRID), colors)
+            );
+        }
+        // Thrown for missing or mistyped members, see below
+        catch (JsonParseException e) {
+            throw new IOException("Malformed round " + roundPath, e);
+        }
+    }
+
+    private static FlowSheet read(String roundName, Side side, JsonObject flowGridObject, Colors colors) {
+        List<Entry> entries = new ArrayList<>();
+
+        for (JsonElement flowingRegionElement : getRequiredArray(flowGridObject, FlowGrid.FLOWING_REGIONS)) {
+            if (!flowingRegionElement.isJsonObject())
+                throw new JsonParseException("Region is not an object: " + flowingRegionElement);
+
+            JsonObject flowingRegionObject = flowingRegionElement.getAsJsonObject();
+
+            List<String> cards = new ArrayList<>();
+
+            for (JsonElement cardElement : getArray(flowingRegionObject, FlowingRegion.ASSOCIATED_CARDS)) {
+                if (!cardElement.isJsonObject())
+                    throw new JsonParseException("Card is not an object: " + cardElement);
+
+                JsonElement representation = cardElement.getAsJsonObject().get(Card.REPRESENTATION_NAME);
+
+                if (representation != null && !representation.isJsonNull()) {
+                    cards.add(getString(representation, Card.REPRESENTATION_NAME));
+                }
+            }
+
+            List<String> questions = new ArrayList<>();
+
+            for (JsonElement questionElement : getArray(flowingRegionObject, FlowingRegion.ASSOCIATED_QUESTIONS)) {
+                questions.add(getString(questionElement, FlowingRegion.ASSOCIATED_QUESTIONS));
+            }
+
+            entries.add(new Entry(
+                getInt(flowingRegionObject, FlowingRegion.COLUMN_NAME),
+                getInt(flowingRegionObject, FlowingRegion.ROW_NAME),
+                getText(flowingRegionObject),
+                false,
+                cards,
+                questions
+            ));
+        }
+
+        return new FlowSheet(roundName, side, getSpeechHeaders(side), entries, colors);
+    }
+
+    /**
+     * @return The list {@code name} of {@code jsonObject}, which is empty if missing, as in rounds saved before
+     *         regions had cards or questions.
+     */
+    private static JsonArray getArray(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element == null || !element.isJsonArray() ? new JsonArray() : element.getAsJsonArray();
+    }
+
+    private static JsonArray getRequiredArray(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        if (element == null || !element.isJsonArray())
+            throw new JsonParseException("Missing or mistyped " + name);
+
+        return element.getAsJsonArray();
+    }
+
+    private static JsonObject getObject(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        if (element == null || !element.isJsonObject())
+            throw new JsonParseException("Missing or mistyped " + name);
+
+        return element.getAsJsonObject();
+    }
+
+    private static String getString(JsonObject jsonObject, String name) {
+        return getString(jsonObject.get(name), name);
+    }
+
+    private static String getString(JsonElement element, String name) {
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString())
+            throw new JsonParseException("Missing or mistyped " + name);
+
+        return element.getAsString();
+    }
+
+    /**
+     * @return The text of a region, which is saved as {@code null} for a region that was never written in.
+     */
+    private static String getText(JsonObject flowingRegionObject) {
+        JsonElement element = flowingRegionObject.get(FlowingRegion.TEXT_NAME);
+
+        return element != null && element.isJsonNull() ? "" : getString(element, FlowingRegion.TEXT_NAME);
+    }
+
+    private static int getInt(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber())
+            throw new JsonParseException("Missing or mistyped " + name);
+
+        return element.getAsInt();
+    }
+
+    private static List<String> getSpeechHeaders(Side side) {
+        return new SpeechList(side).getSpeeches().stream()
+                .map(Speech::getLabelText)
+                .collect(Collectors.toList());
+    }
+
+    public String getRoundName() {
+        return roundName;
+    }
+
+    public Side getSide() {
+        return side;
+    }
+
+    public List<String> getSpeechHeaders() {
+        return speechHeaders;
+    }
+
+    /**
+     * @return Every entry, ordered by row and then by column.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return The color of the text written in {@code column}, which belongs to the side of this sheet in defensive
+     *         columns and to the opposite side in refutation columns, as on the flow grid.
+     */
+    public Color getColumnColor(int column) {
+        Side columnSide = column % 2 == 1 ? getSide().getOpposite() : getSide();
+
+        return columnSide == Side.AFFIRMATIVE ? colors.getAffColor() : colors.getNegColor();
+    }
+
+    public Color getQuestionColor() {
+        return colors.getQuestionColor();
+    }
+}
@@ -1,64 +1,55 @@
 package me.theeninja.pfflowing.printing;
 
-import javafx.concurrent.Task;
-import javafx.print.PageLayout;
 import javafx.print.PrintSides;
-import javafx.print.Printer;
 import javafx.print.PrinterJob;
-import javafx.scene.Node;
-import javafx.scene.layout.FlowPane;
-import javafx.stage.Stage;
+import javafx.stage.Window;
 import me.theeninja.pfflowing.gui.FlowDisplay;
 import me.theeninja.pfflowing.gui.FlowDisplayController;
-import me.theeninja.pfflowing.gui.FlowingPane;
 import me.theeninja.pfflowing.tournament.Round;
 
+/**
+ * Prints the flow displays of a round. Printer jobs show dialogs and print nodes of the live scene, so printing
+ * happens on the JavaFX application thread; see {@link FlowPDFExporter} to render a whole round off screen instead.
+ */
 public class RoundPrinter {
+    /**
+     * Must be called on the JavaFX application thread.
+     */
     public static void print(Round round) {
-        Runnable printRunnable = new PrintTask(round);
-        Thread printThread = new Thread(printRunnable);
+        PrinterJob printerJob = PrinterJob.createPrinterJob();
 
-        printThread.start();
-    }
-
-    private static class PrintTask extends Task<Void> {
-        private final Round round;
+        if (printerJob == null)
+            return;
 
-        PrintTask(Round round) {
-            this.round = round;
-        }
+        Window owner = round.getSelectedController().getCorrelatingView().getScene() == null ?
+                null :
+                round.getSelectedController().getCorrelatingView().getScene().getWindow();
 
-        @Override
-        protected Void call() {
-            PrinterJob printerJob = PrinterJob.createPrinterJob();
+        boolean hasFinishedSetup = printerJob.showPageSetupDialog(owner);
 
-            Stage allocatedStage = new Stage();
+        if (!hasFinishedSetup) {
+            printerJob.cancelJob();
+            return;
+        }
 
-            boolean hasFinishedSetup = printerJob.showPageSetupDialog(allocatedStage);
-            printerJob.getJobSettings().setPrintSides(PrintSides.DUPLEX);
+        printerJob.getJobSettings().setPrintSides(PrintSides.DUPLEX);
 
-            // Should always be finished, as showPageSetupDialog waits until page setup has been configured
-            // (and thus user has finished configuration) before allowing the rest of the code to occur
-            if (hasFinishedSetup) {
-                printPage(printerJob, getRound().getAffirmativeController());
-                printPage(printerJob, getRound().getNegationController());
-            }
+        boolean hadSuccessfulRendering =
+                printPage(printerJob, round.getAffirmativeController()) &&
+                printPage(printerJob, round.getNegationController());
 
-            return null;
+        // The job is only ended once every page has been printed, since ending it ends the print job
+        if (hadSuccessfulRendering) {
+            printerJob.endJob();
         }
-
-        public Round getRound() {
-            return round;
+        else {
+            printerJob.cancelJob();
         }
+    }
 
-        private static void printPage(PrinterJob printerJob, FlowDisplayController flowDisplayController) {
-            FlowDisplay flowDisplay = flowDisplayController.getCorrelatingView();
-
-            boolean hadSuccessfulRendering = printerJob.printPage(flowDisplay);
+    private static boolean printPage(PrinterJob printerJob, FlowDisplayController flowDisplayController) {
+        FlowDisplay flowDisplay = flowDisplayController.getCorrelatingView();
 
-            if (hadSuccessfulRendering) {
-                printerJob.endJob();
-            }
-        }
+        return printerJob.printPage(flowDisplay);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,454 @@
+package me.theeninja.pfflowing.search;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowingregions.Blocks;
+import me.theeninja.pfflowing.flowingregions.BlocksStore;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.utils.Utils;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over the representation and text of every card within the blocks directory, persisted so that
+ * searching never requires the block files to be parsed. The index records the modification time of each block
+ * file it has indexed; on start up only block files that were added, changed or removed since are reindexed, and
+ * saving a block file through {@link BlocksStore} reindexes just that file. The index is written once it has been
+ * left unchanged for {@link #SAVE_DELAY_MILLISECONDS}, so saving several block files in a row writes it once.
+ *
+ * @author TheeNinja
+ */
+public class CardIndex {
+    private static final CardIndex INSTANCE = new CardIndex(EFlow.getInstance().getCardIndexPath());
+
+    /**
+     * Represents how much more a term within a card's representation counts towards its score than the same term
+     * within its content, since the representation is the tag the user wrote for the card.
+     */
+    private static final double REPRESENTATION_WEIGHT = 4;
+
+    /**
+     * Represents how long the index must be left unchanged before it is written. A change that is never written is
+     * not lost, since the block file it came from is reindexed on the next start up.
+     */
+    private static final long SAVE_DELAY_MILLISECONDS = 2000;
+
+    private static final int POSTING_CARD = 0;
+    private static final int POSTING_CONTENT_FREQUENCY = 1;
+    private static final int POSTING_REPRESENTATION_FREQUENCY = 2;
+
+    private static class IndexedCard {
+        private String blocksName;
+        private String representation;
+        private int length;
+    }
+
+    private static class IndexedFile {
+        private long lastModified;
+        private List<Integer> cards = new ArrayList<>();
+        private List<String> terms = new ArrayList<>();
+    }
+
+    /**
+     * The persisted form of the index. Each posting is a {@code [card, content frequency, representation
+     * frequency]} triple.
+     */
+    private static class State {
+        private int nextCard;
+        private Map<String, IndexedFile> files = new HashMap<>();
+        private Map<Integer, IndexedCard> cards = new HashMap<>();
+        private TreeMap<String, List<int[]>> postings = new TreeMap<>();
+    }
+
+    /**
+     * A card whose terms have been counted but that has not been added to the index yet. Counting happens outside
+     * of the index's lock so that searching is not held up by parsing card HTML.
+     */
+    private static class AnalyzedCard {
+        private final String representation;
+        private final Map<String, Integer> contentFrequencies;
+        private final Map<String, Integer> representationFrequencies;
+
+        private AnalyzedCard(Card card) {
+            this.representation = card.getRepresentation();
+            this.representationFrequencies = countTerms(card.getRepresentation());
+            this.contentFrequencies = countTerms(getText(card.getHTMLContent()));
+        }
+
+        private int getLength() {
+            int length = 0;
+
+            for (int frequency : contentFrequencies.values())
+                length += frequency;
+            for (int frequency : representationFrequencies.values())
+                length += frequency;
+
+            return length;
+        }
+    }
+
+    private final Path indexPath;
+    private final Gson gson = new Gson();
+
+    private final ScheduledExecutorService indexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread indexThread = new Thread(runnable, "Card Indexing");
+
+        // Indexing terminates once EFlow application window is closed
+        indexThread.setDaemon(true);
+
+        return indexThread;
+    });
+
+    private State state = new State();
+    private boolean loaded;
+
+    private ScheduledFuture<?> pendingSave;
+
+    CardIndex(Path indexPath) {
+        this.indexPath = indexPath;
+    }
+
+    public static CardIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues {@link #synchronize()} on the indexing thread.
+     */
+    public void synchronizeInBackground() {
+        indexExecutor.execute(() -> {
+            try {
+                synchronize();
+            }
+            catch (IOException | UncheckedIOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Queues {@link #update(Path, Blocks)} on the indexing thread.
+     */
+    public void updateInBackground(Path blocksPath, Blocks blocks) {
+        indexExecutor.execute(() -> {
+            try {
+                update(blocksPath, blocks);
+            }
+            catch (IOException | UncheckedIOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Loads the persisted index if needed, then reindexes every block file whose modification time differs from
+     * the one recorded for it and drops the block files that no longer exist.
+     *
+     * @throws IOException If the blocks directory could not be listed.
+     */
+    public void synchronize() throws IOException {
+        ensureLoaded();
+
+        Map<String, Path> blocksPaths;
+
+        try (Stream<Path> paths = Files.list(EFlow.getInstance().getCardsPath())) {
+            blocksPaths = paths
+                    .filter(path -> Utils.hasExtension(path.getFileName().toString(), BlocksStore.BLOCKS_EXTENSION))
+                    .collect(Collectors.toMap(path -> path.getFileName().toString(), path -> path));
+        }
+
+        boolean changed = false;
+
+        for (Path blocksPath : blocksPaths.values()) {
+            String fileName = blocksPath.getFileName().toString();
+            long lastModified = Files.getLastModifiedTime(blocksPath).toMillis();
+
+            if (isIndexed(fileName, lastModified))
+                continue;
+
+            try {
+                Blocks blocks = BlocksStore.load(blocksPath);
+                index(fileName, lastModified, blocks);
+            }
+            catch (JsonParseException | UncheckedIOException e) {
+                // A block file that cannot be read is skipped, and retried the next time the index is synchronized
+                e.printStackTrace();
+                remove(fileName);
+            }
+
+            changed = true;
+        }
+
+        synchronized (this) {
+            for (String fileName : new ArrayList<>(state.files.keySet())) {
+                if (!blocksPaths.containsKey(fileName)) {
+                    remove(fileName);
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            scheduleSave();
+        }
+    }
+
+    /**
+     * Reindexes a single block file that has just been written.
+     *
+     * @param blocksPath The path the blocks were written to.
+     * @param blocks The blocks that were written.
+     * @throws IOException If the modification time of the block file could not be read.
+     */
+    public void update(Path blocksPath, Blocks blocks) throws IOException {
+        ensureLoaded();
+
+        long lastModified = Files.getLastModifiedTime(blocksPath).toMillis();
+        index(blocksPath.getFileName().toString(), lastModified, blocks);
+
+        scheduleSave();
+    }
+
+    /**
+     * Finds the cards that contain every term of {@code query}. The last term is treated as a prefix, so that
+     * results can be shown while the user is still typing. Cards are ranked by the sum, over the query terms, of
+     * the term's frequency within the card, weighted by {@link #REPRESENTATION_WEIGHT} for the representation,
+     * normalized by the card's length and multiplied by the term's inverse document frequency.
+     *
+     * @param query The text to search for.
+     * @param limit The maximum number of results.
+     * @return The matching cards, best match first.
+     */
+    public synchronized List<CardSearchResult> search(String query, int limit) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+
+        if (queryTerms.isEmpty() || state.cards.isEmpty())
+            return new ArrayList<>();
+
+        Map<Integer, Double> scores = new HashMap<>();
+
+        for (int queryTermIndex = 0; queryTermIndex < queryTerms.size(); queryTermIndex++) {
+            String queryTerm = queryTerms.get(queryTermIndex);
+            boolean isPrefix = queryTermIndex == queryTerms.size() - 1;
+
+            Map<Integer, Double> termScores = scoreTerm(queryTerm, isPrefix);
+
+            if (queryTermIndex == 0) {
+                scores.putAll(termScores);
+            }
+            else {
+                // Only cards that contain every query term are kept
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((card, score) -> score + termScores.get(card));
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> {
+                    IndexedCard indexedCard = state.cards.get(entry.getKey());
+                    return new CardSearchResult(indexedCard.blocksName, indexedCard.representation, entry.getValue());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Double> scoreTerm(String queryTerm, boolean isPrefix) {
+        SortedMap<String, List<int[]>> matchingPostings = isPrefix ?
+                state.postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE) :
+                state.postings.subMap(queryTerm, true, queryTerm, true);
+
+        Map<Integer, Double> termScores = new HashMap<>();
+        int cardCount = state.cards.size();
+
+        matchingPostings.values().forEach(postings -> {
+            double inverseDocumentFrequency = Math.log(1 + (double) cardCount / postings.size());
+
+            for (int[] posting : postings) {
+                IndexedCard indexedCard = state.cards.get(posting[POSTING_CARD]);
+
+                double weightedFrequency = posting[POSTING_CONTENT_FREQUENCY] +
+                        REPRESENTATION_WEIGHT * posting[POSTING_REPRESENTATION_FREQUENCY];
+                double score = inverseDocumentFrequency * weightedFrequency / Math.sqrt(Math.max(1, indexedCard.length));
+
+                termScores.merge(posting[POSTING_CARD], score, Double::sum);
+            }
+        });
+
+        return termScores;
+    }
+
+    private synchronized boolean isIndexed(String fileName, long lastModified) {
+        IndexedFile indexedFile = state.files.get(fileName);
+        return indexedFile != null && indexedFile.lastModified == lastModified;
+    }
+
+    private void index(String fileName, long lastModified, Blocks blocks) {
+        List<AnalyzedCard> analyzedCards = blocks.getCards().stream()
+                .filter(card -> card.getRepresentation() != null)
+                .map(AnalyzedCard::new)
+                .collect(Collectors.toList());
+
+        synchronized (this) {
+            remove(fileName);
+
+            IndexedFile indexedFile = new IndexedFile();
+            indexedFile.lastModified = lastModified;
+
+            Set<String> fileTerms = new HashSet<>();
+
+            for (AnalyzedCard analyzedCard : analyzedCards) {
+                int cardID = state.nextCard++;
+
+                IndexedCard indexedCard = new IndexedCard();
+                indexedCard.blocksName = blocks.getName();
+                indexedCard.representation = analyzedCard.representation;
+                indexedCard.length = analyzedCard.getLength();
+
+                state.cards.put(cardID, indexedCard);
+                indexedFile.cards.add(cardID);
+
+                Set<String> cardTerms = new HashSet<>(analyzedCard.contentFrequencies.keySet());
+                cardTerms.addAll(analyzedCard.representationFrequencies.keySet());
+
+                for (String term : cardTerms) {
+                    int[] posting = new int[3];
+                    posting[POSTING_CARD] = cardID;
+                    posting[POSTING_CONTENT_FREQUENCY] = analyzedCard.contentFrequencies.getOrDefault(term, 0);
+                    posting[POSTING_REPRESENTATION_FREQUENCY] = analyzedCard.representationFrequencies.getOrDefault(term, 0);
+
+                    state.postings.computeIfAbsent(term, key -> new ArrayList<>()).add(posting);
+                }
+
+                fileTerms.addAll(cardTerms);
+            }
+
+            indexedFile.terms.addAll(fileTerms);
+            state.files.put(fileName, indexedFile);
+        }
+    }
+
+    private synchronized void remove(String fileName) {
+        IndexedFile indexedFile = state.files.remove(fileName);
+
+        if (indexedFile == null)
+            return;
+
+        Set<Integer> removedCards = new HashSet<>(indexedFile.cards);
+
+        // Only the terms that occur within the removed file can have postings for its cards
+        for (String term : indexedFile.terms) {
+            List<int[]> postings = state.postings.get(term);
+
+            if (postings == null)
+                continue;
+
+            postings.removeIf(posting -> removedCards.contains(posting[POSTING_CARD]));
+
+            if (postings.isEmpty()) {
+                state.postings.remove(term);
+            }
+        }
+
+        removedCards.forEach(state.cards::remove);
+    }
+
+    private void ensureLoaded() {
+        synchronized (this) {
+            if (loaded)
+                return;
+
+            loaded = true;
+        }
+
+        if (!Files.exists(getIndexPath()))
+            return;
+
+        try {
+            byte[] bytes = Files.readAllBytes(getIndexPath());
+            State loadedState = gson.fromJson(new String(bytes, StandardCharsets.UTF_8), State.class);
+
+            if (loadedState != null) {
+                synchronized (this) {
+                    state = loadedState;
+                }
+            }
+        }
+        catch (IOException | JsonParseException e) {
+            // The index is derived entirely from the block files, so a corrupt index is simply rebuilt
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void scheduleSave() {
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+
+        // Saved on the indexing thread, so that it is never written while a block file is being indexed
+        pendingSave = indexExecutor.schedule(this::saveQuietly, SAVE_DELAY_MILLISECONDS, TimeUnit.MILLISECONDS);
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void save() throws IOException {
+        String json;
+
+        synchronized (this) {
+            json = gson.toJson(state);
+        }
+
+        Path temporaryPath = getIndexPath().resolveSibling(getIndexPath().getFileName() + ".tmp");
+
+        Files.write(temporaryPath, json.getBytes(StandardCharsets.UTF_8));
+
+        Files.move(temporaryPath, getIndexPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, Integer> countTerms(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+
+        for (String term : Tokenizer.tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        return frequencies;
+    }
+
+    private static String getText(String html) {
+        return html == null ? null : Jsoup.parseBodyFragment(html).text();
+    }
+
+    public Path getIndexPath() {
+        return indexPath;
+    }
+}
@@ -0,0 +1,35 @@
+package me.theeninja.pfflowing.search;
+
+/**
+ * A card matched by a {@link CardIndex} query.
+ *
+ * @author TheeNinja
+ */
+public class CardSearchResult {
+    private final String blocksName;
+    private final String representation;
+    private final double score;
+
+    CardSearchResult(String blocksName, String representation, double score) {
+        this.blocksName = blocksName;
+        this.representation = representation;
+        this.score = score;
+    }
+
+    public String getBlocksName() {
+        return blocksName;
+    }
+
+    public String getRepresentation() {
+        return representation;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return getBlocksName() + ": " + getRepresentation();
+    }
+}
@@ -0,0 +1,490 @@
+package me.theeninja.pfflowing.search;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.search.RoundAnalyticsReport.CardCitation;
+import me.theeninja.pfflowing.search.RoundAnalyticsReport.ContentionCluster;
+import me.theeninja.pfflowing.search.RoundAnalyticsReport.ResponseStatistic;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates, across every round of a rounds directory, which contentions the opponent ran, how often each of the
+ * responses flowed on the side of the round was extended into final focus, and which cards were read. Rounds are
+ * read one at a time as JSON, with their autosaved segments applied, so no node is ever built for them.
+ *
+ * Every row of a flow grid is a chain of links: a contention, the refutations of it in the following speeches of
+ * the other side, and the extensions of each two speeches later, by the same side. Even columns of a flow grid are
+ * spoken by the side of the flow grid and odd columns by the other side, so a contention the opponent ran is a
+ * {@link FlowingRegionType#PROACTIVE} region in a column spoken by the opponent, and one of our responses is a
+ * {@link FlowingRegionType#REFUTATION} region in a column spoken by the side of the round. A response counts as
+ * extended once the same row holds an {@link FlowingRegionType#EXTENSION} region in every later column spoken by
+ * that side, up to and including final focus.
+ *
+ * What is found in each round is cached along with the modification times of the round and of its segments, as
+ * {@link RoundIndex} does, so that refreshing only reads the rounds that were added or changed since. The report is
+ * then aggregated from the cached findings and cached as well.
+ *
+ * @author TheeNinja
+ */
+public class RoundAnalytics {
+    /**
+     * Represents the maximum number of entries of each list of a report.
+     */
+    public static final int REPORT_SIZE = 100;
+
+    /**
+     * Represents the share of their terms, out of the terms of either, that two contentions or responses must have
+     * in common to be counted together, as with "economic growth" and "growth outweighs economic harms".
+     */
+    private static final double CLUSTER_SIMILARITY = 0.5;
+
+    private static class AnalyzedResponse {
+        private String text;
+        private boolean extended;
+    }
+
+    private static class AnalyzedRound {
+        private long lastModified;
+        private long segmentsLastModified;
+        private List<String> contentions = new ArrayList<>();
+        private List<AnalyzedResponse> responses = new ArrayList<>();
+        private Map<String, Integer> cardCitations = new HashMap<>();
+    }
+
+    /**
+     * The persisted form of the analytics.
+     */
+    private static class State {
+        private String roundsDirectory;
+        private Map<String, AnalyzedRound> rounds = new HashMap<>();
+        private RoundAnalyticsReport report = new RoundAnalyticsReport(0);
+    }
+
+    /**
+     * Groups values by the terms of their text, so that each value is counted with the first value whose terms
+     * are at least {@link #CLUSTER_SIMILARITY} similar to its own.
+     */
+    private static class Clustering<T> {
+        private final Function<String, T> newCluster;
+        private final List<T> clusters = new ArrayList<>();
+        private final List<Set<String>> clusterTerms = new ArrayList<>();
+        private final Map<String, List<Integer>> clustersByTerm = new HashMap<>();
+
+        private Clustering(Function<String, T> newCluster) {
+            this.newCluster = newCluster;
+        }
+
+        /**
+         * @return The cluster of {@code text}, or {@code null} if it has no terms.
+         */
+        private T get(String text) {
+            Set<String> terms = new HashSet<>(Tokenizer.tokenize(text));
+
+            if (terms.isEmpty())
+                return null;
+
+            // Only the clusters sharing a term with the text can be similar enough
+            Set<Integer> candidates = new HashSet<>();
+
+            for (String term : terms) {
+                candidates.addAll(clustersByTerm.getOrDefault(term, List.of()));
+            }
+
+            int bestCluster = -1;
+            double bestSimilarity = CLUSTER_SIMILARITY;
+
+            for (int candidate : candidates) {
+                double similarity = getSimilarity(terms, clusterTerms.get(candidate));
+
+                if (similarity > bestSimilarity || (similarity == bestSimilarity && (bestCluster == -1 || candidate < bestCluster))) {
+                    bestCluster = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+
+            if (bestCluster != -1)
+                return clusters.get(bestCluster);
+
+            int cluster = clusters.size();
+
+            clusters.add(newCluster.apply(text.trim()));
+            clusterTerms.add(terms);
+
+            for (String term : terms) {
+                clustersByTerm.computeIfAbsent(term, key -> new ArrayList<>()).add(cluster);
+            }
+
+            return clusters.get(cluster);
+        }
+
+        private static double getSimilarity(Set<String> terms, Set<String> otherTerms) {
+            int sharedTerms = 0;
+
+            for (String term : terms) {
+                if (otherTerms.contains(term)) {
+                    sharedTerms++;
+                }
+            }
+
+            return (double) sharedTerms / (terms.size() + otherTerms.size() - sharedTerms);
+        }
+    }
+
+    private final Path cachePath;
+    private final Gson gson = new Gson();
+
+    private State state = new State();
+    private boolean loaded;
+
+    public RoundAnalytics(Path cachePath) {
+        this.cachePath = cachePath;
+    }
+
+    /**
+     * @return The report of the last refresh, which may have been persisted by an earlier run.
+     */
+    public synchronized RoundAnalyticsReport getReport() {
+        ensureLoaded();
+
+        return state.report;
+    }
+
+    /**
+     * Reads every round of {@code roundsDirectory} whose modification times differ from those cached for it, drops
+     * the rounds that no longer exist, then aggregates and caches the report if anything changed. Everything cached
+     * is dropped if it was found for another rounds directory.
+     *
+     * @param roundsDirectory The rounds directory, or {@code null} for no rounds.
+     * @param threads The number of rounds read at once.
+     * @return The refreshed report.
+     * @throws IOException If the rounds directory could not be listed or the cache could not be written.
+     */
+    public synchronized RoundAnalyticsReport refresh(Path roundsDirectory, int threads) throws IOException {
+        ensureLoaded();
+
+        String directory = roundsDirectory == null ? null : roundsDirectory.toAbsolutePath().toString();
+        boolean changed = false;
+
+        if (!Objects.equals(directory, state.roundsDirectory)) {
+            state = new State();
+            state.roundsDirectory = directory;
+            changed = true;
+        }
+
+        Set<String> roundPaths = new HashSet<>();
+        List<Path> changedRoundPaths = new ArrayList<>();
+
+        if (roundsDirectory != null && Files.isDirectory(roundsDirectory)) {
+            List<Path> paths;
+
+            try (Stream<Path> directoryPaths = Files.walk(roundsDirectory)) {
+                paths = directoryPaths.filter(path -> Utils.hasExtension(path.getFileName().toString(), FlowController.FILE_EXTENSION))
+                        .filter(Files::isRegularFile)
+                        .map(Path::toAbsolutePath)
+                        .collect(Collectors.toList());
+            }
+
+            for (Path roundPath : paths) {
+                roundPaths.add(roundPath.toString());
+
+                AnalyzedRound analyzedRound = state.rounds.get(roundPath.toString());
+
+                if (analyzedRound == null || analyzedRound.lastModified != getLastModified(roundPath)
+                        || analyzedRound.segmentsLastModified != getLastModified(RoundFile.getSegmentsPath(roundPath))) {
+                    changedRoundPaths.add(roundPath);
+                }
+            }
+        }
+
+        for (Map.Entry<Path, AnalyzedRound> entry : analyzeAll(changedRoundPaths, threads).entrySet()) {
+            state.rounds.put(entry.getKey().toString(), entry.getValue());
+            changed = true;
+        }
+
+        changed |= state.rounds.keySet().retainAll(roundPaths);
+
+        if (changed) {
+            state.report = aggregate();
+            save();
+        }
+
+        return state.report;
+    }
+
+    private static Map<Path, AnalyzedRound> analyzeAll(List<Path> roundPaths, int threads) throws IOException {
+        Map<Path, AnalyzedRound> analyzedRounds = new LinkedHashMap<>();
+
+        if (threads <= 1 || roundPaths.size() <= 1) {
+            for (Path roundPath : roundPaths) {
+                analyzedRounds.put(roundPath, analyze(roundPath));
+            }
+
+            return analyzedRounds;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<AnalyzedRound>> futures = new ArrayList<>(roundPaths.size());
+
+        for (Path roundPath : roundPaths) {
+            futures.add(executor.submit(() -> analyze(roundPath)));
+        }
+
+        executor.shutdown();
+
+        try {
+            for (int index = 0; index < roundPaths.size(); index++) {
+                analyzedRounds.put(roundPaths.get(index), futures.get(index).get());
+            }
+        }
+        catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+
+            throw new IOException(e);
+        }
+
+        return analyzedRounds;
+    }
+
+    private static AnalyzedRound analyze(Path roundPath) throws IOException {
+        AnalyzedRound analyzedRound = new AnalyzedRound();
+
+        // Recorded before reading, so that a change made while reading is caught on the next refresh
+        analyzedRound.lastModified = getLastModified(roundPath);
+        analyzedRound.segmentsLastModified = getLastModified(RoundFile.getSegmentsPath(roundPath));
+
+        try {
+            analyze(RoundFile.readOutline(roundPath), analyzedRound);
+        }
+        catch (IOException | JsonParseException | IllegalStateException | IllegalArgumentException | ClassCastException | NullPointerException e) {
+            // A round that cannot be read, such as one still being copied, counts for nothing until it changes again
+            e.printStackTrace();
+
+            AnalyzedRound unreadRound = new AnalyzedRound();
+            unreadRound.lastModified = analyzedRound.lastModified;
+            unreadRound.segmentsLastModified = analyzedRound.segmentsLastModified;
+
+            return unreadRound;
+        }
+
+        return analyzedRound;
+    }
+
+    private static void analyze(JsonObject roundObject, AnalyzedRound analyzedRound) {
+        Side roundSide = Side.valueOf(roundObject.get(Round.SIDE).getAsString());
+
+        for (Side side : Side.values()) {
+            String flowingGrid = side == Side.AFFIRMATIVE ? Round.AFF_FLOWING_GRID : Round.NEG_FLOWING_GRID;
+            JsonArray flowingRegions = roundObject.getAsJsonObject(flowingGrid).getAsJsonArray(FlowGrid.FLOWING_REGIONS);
+
+            // Each row is one chain of links, so the extensions of a row are all that is needed to follow it
+            Map<Integer, Set<Integer>> extensionColumns = new HashMap<>();
+
+            for (JsonElement flowingRegion : flowingRegions) {
+                JsonObject regionObject = flowingRegion.getAsJsonObject();
+
+                if (isOfType(regionObject, FlowingRegionType.EXTENSION)) {
+                    extensionColumns.computeIfAbsent(getInt(regionObject, FlowingRegion.ROW_NAME), row -> new HashSet<>())
+                            .add(getInt(regionObject, FlowingRegion.COLUMN_NAME));
+                }
+            }
+
+            for (JsonElement flowingRegion : flowingRegions) {
+                JsonObject regionObject = flowingRegion.getAsJsonObject();
+
+                int column = getInt(regionObject, FlowingRegion.COLUMN_NAME);
+                int row = getInt(regionObject, FlowingRegion.ROW_NAME);
+
+                Side speaker = column % 2 == 0 ? side : side.getOpposite();
+                String text = getString(regionObject, FlowingRegion.TEXT_NAME);
+
+                if (isOfType(regionObject, FlowingRegionType.PROACTIVE) && speaker != roundSide && text != null) {
+                    analyzedRound.contentions.add(text);
+                }
+                else if (isOfType(regionObject, FlowingRegionType.REFUTATION) && speaker == roundSide && text != null) {
+                    AnalyzedResponse analyzedResponse = new AnalyzedResponse();
+                    analyzedResponse.text = text;
+                    analyzedResponse.extended = isExtendedToFinalFocus(extensionColumns.getOrDefault(row, Set.of()), column);
+
+                    analyzedRound.responses.add(analyzedResponse);
+                }
+
+                for (JsonElement card : getArray(regionObject, FlowingRegion.ASSOCIATED_CARDS)) {
+                    String representation = card.isJsonObject() ? getString(card.getAsJsonObject(), Card.REPRESENTATION_NAME) : null;
+
+                    if (representation != null && !representation.trim().isEmpty()) {
+                        analyzedRound.cardCitations.merge(representation.trim(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param extensionColumns The columns of the extensions within the row of the response.
+     * @return Whether there is an extension in every column after {@code column} spoken by the same side, up to and
+     *         including its final focus. A response flowed in final focus itself trivially reaches it.
+     */
+    private static boolean isExtendedToFinalFocus(Set<Integer> extensionColumns, int column) {
+        int finalFocusColumn = Speech.SPEECH_SIZE - 2 + column % 2;
+
+        for (int extensionColumn = column + FlowGrid.EXT_COL_OFFSET; extensionColumn <= finalFocusColumn; extensionColumn += FlowGrid.EXT_COL_OFFSET) {
+            if (!extensionColumns.contains(extensionColumn))
+                return false;
+        }
+
+        return column <= finalFocusColumn;
+    }
+
+    private RoundAnalyticsReport aggregate() {
+        RoundAnalyticsReport report = new RoundAnalyticsReport(state.rounds.size());
+
+        Clustering<ContentionCluster> contentionClusters = new Clustering<>(ContentionCluster::new);
+        Clustering<ResponseStatistic> responseStatistics = new Clustering<>(ResponseStatistic::new);
+        Map<String, CardCitation> cardCitations = new HashMap<>();
+
+        // Ordered, so that the same rounds always cluster the same way
+        for (AnalyzedRound analyzedRound : new TreeMap<>(state.rounds).values()) {
+            Set<ContentionCluster> roundClusters = new HashSet<>();
+
+            for (String contention : analyzedRound.contentions) {
+                ContentionCluster contentionCluster = contentionClusters.get(contention);
+
+                if (contentionCluster == null)
+                    continue;
+
+                contentionCluster.count(roundClusters.add(contentionCluster));
+            }
+
+            for (AnalyzedResponse analyzedResponse : analyzedRound.responses) {
+                ResponseStatistic responseStatistic = responseStatistics.get(analyzedResponse.text);
+
+                if (responseStatistic == null)
+                    continue;
+
+                responseStatistic.count(analyzedResponse.extended);
+            }
+
+            analyzedRound.cardCitations.forEach((representation, citations) ->
+                    cardCitations.computeIfAbsent(representation, CardCitation::new).count(citations));
+        }
+
+        report.getContentionClusters().addAll(getMostFrequent(contentionClusters.clusters,
+                Comparator.comparingInt(ContentionCluster::getRounds).thenComparingInt(ContentionCluster::getOccurrences)));
+        report.getResponseStatistics().addAll(getMostFrequent(responseStatistics.clusters,
+                Comparator.comparingInt(ResponseStatistic::getUses).thenComparingInt(ResponseStatistic::getExtensions)));
+        report.getCardCitations().addAll(getMostFrequent(cardCitations.values(),
+                Comparator.comparingInt(CardCitation::getCitations).thenComparingInt(CardCitation::getRounds)));
+
+        return report;
+    }
+
+    private static <T> List<T> getMostFrequent(Iterable<T> values, Comparator<T> frequency) {
+        List<T> sortedValues = new ArrayList<>();
+        values.forEach(sortedValues::add);
+
+        // Stable, so that equally frequent values keep the order they were first found in
+        sortedValues.sort(frequency.reversed());
+
+        return new ArrayList<>(sortedValues.subList(0, Math.min(REPORT_SIZE, sortedValues.size())));
+    }
+
+    private void ensureLoaded() {
+        if (loaded)
+            return;
+
+        loaded = true;
+
+        if (!Files.exists(getCachePath()))
+            return;
+
+        try {
+            byte[] bytes = Files.readAllBytes(getCachePath());
+            State loadedState = gson.fromJson(new String(bytes, StandardCharsets.UTF_8), State.class);
+
+            if (loadedState != null) {
+                state = loadedState;
+            }
+        }
+        catch (IOException | JsonParseException e) {
+            // The cache is derived entirely from the rounds, so a corrupt cache is simply rebuilt
+            e.printStackTrace();
+        }
+    }
+
+    private void save() throws IOException {
+        Path temporaryPath = getCachePath().resolveSibling(getCachePath().getFileName() + ".tmp");
+
+        Files.write(temporaryPath, gson.toJson(state).getBytes(StandardCharsets.UTF_8));
+
+        Files.move(temporaryPath, getCachePath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long getLastModified(Path path) throws IOException {
+        return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+    }
+
+    private static boolean isOfType(JsonObject regionObject, FlowingRegionType flowingRegionType) {
+        return flowingRegionType.name().equals(getString(regionObject, FlowingRegion.TYPE_NAME));
+    }
+
+    private static String getString(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    private static int getInt(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element != null && element.isJsonPrimitive() ? element.getAsInt() : 0;
+    }
+
+    private static JsonArray getArray(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element != null && element.isJsonArray() ? element.getAsJsonArray() : new JsonArray();
+    }
+
+    public Path getCachePath() {
+        return cachePath;
+    }
+}
@@ -0,0 +1,164 @@
+package me.theeninja.pfflowing.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The aggregates {@link RoundAnalytics} computes over every round of a rounds directory, each list ordered from the
+ * most frequent entry down and limited to {@link RoundAnalytics#REPORT_SIZE} entries.
+ *
+ * @author TheeNinja
+ */
+public class RoundAnalyticsReport {
+    /**
+     * Contentions the opponent ran, with the contentions whose terms mostly coincide counted together.
+     */
+    public static class ContentionCluster {
+        private String text;
+        private int occurrences;
+        private int rounds;
+
+        ContentionCluster(String text) {
+            this.text = text;
+        }
+
+        void count(boolean firstInRound) {
+            occurrences++;
+
+            if (firstInRound) {
+                rounds++;
+            }
+        }
+
+        /**
+         * @return The text of the first contention of the cluster.
+         */
+        public String getText() {
+            return text;
+        }
+
+        public int getOccurrences() {
+            return occurrences;
+        }
+
+        /**
+         * @return The number of rounds in which a contention of the cluster was run.
+         */
+        public int getRounds() {
+            return rounds;
+        }
+
+        @Override
+        public String toString() {
+            return getText() + " (" + getRounds() + " rounds)";
+        }
+    }
+
+    /**
+     * Responses flowed on the side of the round, with the responses whose terms mostly coincide counted together.
+     */
+    public static class ResponseStatistic {
+        private String text;
+        private int uses;
+        private int extensions;
+
+        ResponseStatistic(String text) {
+            this.text = text;
+        }
+
+        void count(boolean extended) {
+            uses++;
+
+            if (extended) {
+                extensions++;
+            }
+        }
+
+        /**
+         * @return The text of the first response of the cluster.
+         */
+        public String getText() {
+            return text;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+
+        /**
+         * @return The number of uses that were extended through every following speech into final focus.
+         */
+        public int getExtensions() {
+            return extensions;
+        }
+
+        public double getExtensionRate() {
+            return uses == 0 ? 0 : (double) extensions / uses;
+        }
+
+        @Override
+        public String toString() {
+            return getText() + " (" + getExtensions() + "/" + getUses() + " extended)";
+        }
+    }
+
+    /**
+     * A card, identified by its representation, read in the regions of both flow grids.
+     */
+    public static class CardCitation {
+        private String representation;
+        private int citations;
+        private int rounds;
+
+        CardCitation(String representation) {
+            this.representation = representation;
+        }
+
+        void count(int roundCitations) {
+            citations += roundCitations;
+            rounds++;
+        }
+
+        public String getRepresentation() {
+            return representation;
+        }
+
+        public int getCitations() {
+            return citations;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        @Override
+        public String toString() {
+            return getRepresentation() + " (" + getCitations() + " citations)";
+        }
+    }
+
+    private int roundCount;
+    private List<ContentionCluster> contentionClusters = new ArrayList<>();
+    private List<ResponseStatistic> responseStatistics = new ArrayList<>();
+    private List<CardCitation> cardCitations = new ArrayList<>();
+
+    RoundAnalyticsReport(int roundCount) {
+        this.roundCount = roundCount;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public List<ContentionCluster> getContentionClusters() {
+        return contentionClusters;
+    }
+
+    public List<ResponseStatistic> getResponseStatistics() {
+        return responseStatistics;
+    }
+
+    public List<CardCitation> getCardCitations() {
+        return cardCitations;
+    }
+}
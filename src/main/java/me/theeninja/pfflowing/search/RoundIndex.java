@@ -0,0 +1,828 @@
+package me.theeninja.pfflowing.search;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.configuration.Configurable;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowController;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.journal.RoundFile;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import me.theeninja.pfflowing.utils.Utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over the text, questions and card representations of every region of every round within the
+ * configured rounds directory, see {@link me.theeninja.pfflowing.configuration.Configuration#getRoundsDirectory()},
+ * persisted so that searching across a season of rounds never requires a round to be opened. Rounds are read as
+ * JSON, with their autosaved segments applied, so no node is ever built for them.
+ *
+ * As {@link CardIndex} does for block files, the index records the modification times of each round and of its
+ * segments; on start up only the rounds that were added, changed or removed since are reindexed. While EFlow runs,
+ * the rounds directory is watched, and rounds are reindexed once they stop changing, so a round being flowed is
+ * reindexed as flowing pauses rather than on every autosave. File systems that do not report changes, such as some
+ * network drives, are only caught up with on the next start up.
+ *
+ * The {@link RoundAnalytics} of the rounds directory are refreshed along with the index, on the indexing thread.
+ *
+ * EFlow keeps a single index, see {@link #getInstance()}, while the command line indexes and searches a directory
+ * of its own, see {@link #synchronize(Path)}.
+ *
+ * @author TheeNinja
+ */
+public class RoundIndex {
+    // Created once asked for, as creating it starts EFlow, which the command line must not
+    private static RoundIndex instance;
+
+    /**
+     * Represents how much more a term within the representation of a card read in a region counts towards its
+     * score than the same term within the region's text, since the representation is the tag of the evidence.
+     */
+    private static final double CARD_WEIGHT = 2;
+
+    /**
+     * Represents how long the changed rounds must have stopped changing before they are reindexed. A round being
+     * flowed has a segment autosaved every few seconds, and each reindexing rewrites the whole index and refreshes
+     * the analytics, so rounds are only reindexed once flowing pauses.
+     */
+    private static final long UPDATE_QUIET_MILLISECONDS = 30_000;
+
+    /**
+     * Represents how long after the first of the changed rounds changed they are reindexed at the latest, even if
+     * they keep changing.
+     */
+    private static final long MAXIMUM_UPDATE_DELAY_MILLISECONDS = 300_000;
+
+    /**
+     * Extension of the file every round is written to before being moved over the round, see {@link RoundFile}.
+     */
+    private static final String TEMPORARY_EXTENSION = "tmp";
+
+    private static final int EXCERPT_LENGTH = 120;
+
+    private static final int POSTING_REGION = 0;
+    private static final int POSTING_TEXT_FREQUENCY = 1;
+    private static final int POSTING_QUESTION_FREQUENCY = 2;
+    private static final int POSTING_CARD_FREQUENCY = 3;
+
+    private static class IndexedRegion {
+        private String roundPath;
+        private Side side;
+        private boolean opponent;
+        private int column;
+        private int row;
+        private String excerpt;
+        private int length;
+    }
+
+    private static class IndexedRound {
+        private String roundName;
+        private long lastModified;
+        private long segmentsLastModified;
+        private List<Integer> regions = new ArrayList<>();
+        private List<String> terms = new ArrayList<>();
+    }
+
+    /**
+     * The persisted form of the index. Each posting is a {@code [region, text frequency, question frequency, card
+     * frequency]} quadruple.
+     */
+    private static class State {
+        private String roundsDirectory;
+        private int nextRegion;
+        private Map<String, IndexedRound> rounds = new HashMap<>();
+        private Map<Integer, IndexedRegion> regions = new HashMap<>();
+        private TreeMap<String, List<int[]>> postings = new TreeMap<>();
+    }
+
+    /**
+     * A region whose terms have been counted but that has not been added to the index yet. Counting happens
+     * outside of the index's lock so that searching is not held up by reading rounds.
+     */
+    private static class AnalyzedRegion {
+        private final Side side;
+        private final boolean opponent;
+        private final int column;
+        private final int row;
+        private final String excerpt;
+        private final Map<String, Integer> textFrequencies;
+        private final Map<String, Integer> questionFrequencies = new HashMap<>();
+        private final Map<String, Integer> cardFrequencies = new HashMap<>();
+
+        private AnalyzedRegion(JsonObject flowingRegion, Side side, boolean opponent) {
+            this.side = side;
+            this.opponent = opponent;
+            this.column = getInt(flowingRegion, FlowingRegion.COLUMN_NAME);
+            this.row = getInt(flowingRegion, FlowingRegion.ROW_NAME);
+
+            String text = getString(flowingRegion, FlowingRegion.TEXT_NAME);
+
+            this.excerpt = text == null || text.length() <= EXCERPT_LENGTH ? text : text.substring(0, EXCERPT_LENGTH);
+            this.textFrequencies = countTerms(text);
+
+            for (JsonElement question : getArray(flowingRegion, FlowingRegion.ASSOCIATED_QUESTIONS)) {
+                countTerms(question.isJsonPrimitive() ? question.getAsString() : null, questionFrequencies);
+            }
+
+            for (JsonElement card : getArray(flowingRegion, FlowingRegion.ASSOCIATED_CARDS)) {
+                if (card.isJsonObject()) {
+                    countTerms(getString(card.getAsJsonObject(), Card.REPRESENTATION_NAME), cardFrequencies);
+                }
+            }
+        }
+
+        private Set<String> getTerms() {
+            Set<String> terms = new HashSet<>(textFrequencies.keySet());
+            terms.addAll(questionFrequencies.keySet());
+            terms.addAll(cardFrequencies.keySet());
+
+            return terms;
+        }
+
+        private int getLength() {
+            int length = 0;
+
+            for (int frequency : textFrequencies.values())
+                length += frequency;
+            for (int frequency : questionFrequencies.values())
+                length += frequency;
+            for (int frequency : cardFrequencies.values())
+                length += frequency;
+
+            return length;
+        }
+    }
+
+    private final Path indexPath;
+    private final RoundAnalytics analytics;
+    private final Gson gson = new Gson();
+
+    private final ScheduledExecutorService indexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread indexThread = new Thread(runnable, "Round Indexing");
+
+        // Indexing terminates once EFlow application window is closed
+        indexThread.setDaemon(true);
+
+        return indexThread;
+    });
+
+    /**
+     * Represents the rounds that changed since they were last indexed, which are reindexed together once none of
+     * them changed for {@link #UPDATE_QUIET_MILLISECONDS}, or once {@link #MAXIMUM_UPDATE_DELAY_MILLISECONDS} has
+     * passed since the first of them changed.
+     */
+    private final Set<Path> changedRounds = new HashSet<>();
+
+    /**
+     * The pending reindexing of the changed rounds, and when the first of them changed. Guarded by
+     * {@link #changedRounds}.
+     */
+    private ScheduledFuture<?> scheduledUpdate;
+    private long firstChangeMillis;
+
+    private State state = new State();
+    private boolean loaded;
+
+    // Only accessed on the indexing thread
+    private Path roundsDirectory;
+    private WatchService watchService;
+
+    /**
+     * @param indexPath Where the index is persisted.
+     * @param analyticsPath Where the analytics of the rounds directory are cached.
+     */
+    public RoundIndex(Path indexPath, Path analyticsPath) {
+        this.indexPath = indexPath;
+        this.analytics = new RoundAnalytics(analyticsPath);
+    }
+
+    /**
+     * @return The index of the rounds directory of the configuration.
+     */
+    public static synchronized RoundIndex getInstance() {
+        if (instance == null) {
+            instance = new RoundIndex(EFlow.getInstance().getRoundIndexPath(), EFlow.getInstance().getRoundAnalyticsPath());
+        }
+
+        return instance;
+    }
+
+    /**
+     * Indexes the rounds directory of the configuration in the background, and again whenever the configured
+     * directory changes.
+     */
+    public void watchConfiguredDirectory() {
+        Configurable<String> configuredDirectory = EFlow.getInstance().getConfiguration().getRoundsDirectory();
+        configuredDirectory.valueProperty().addListener((observable, oldValue, newValue) -> watchInBackground(newValue));
+
+        watchInBackground(configuredDirectory.getValue());
+    }
+
+    private void watchInBackground(String directory) {
+        Path directoryPath = directory == null || directory.trim().isEmpty() ? null : Paths.get(directory.trim());
+
+        indexExecutor.execute(() -> {
+            try {
+                watch(directoryPath);
+            }
+            catch (IOException | UncheckedIOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Stops watching the previous rounds directory, then synchronizes the index with {@code directory} and watches
+     * it for changes. Only called on the indexing thread.
+     *
+     * @param directory The rounds directory, or {@code null} to index no rounds.
+     */
+    private void watch(Path directory) throws IOException {
+        if (watchService != null) {
+            // Ends the watching thread of the previous rounds directory
+            watchService.close();
+            watchService = null;
+        }
+
+        roundsDirectory = directory;
+
+        if (roundsDirectory == null || !Files.isDirectory(roundsDirectory)) {
+            synchronize();
+            return;
+        }
+
+        // Watched before synchronizing, so that no change made while synchronizing is missed
+        WatchService directoryWatchService = roundsDirectory.getFileSystem().newWatchService();
+        Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+        register(directoryWatchService, roundsDirectory, watchedDirectories);
+
+        watchService = directoryWatchService;
+
+        Thread watchThread = new Thread(() -> processEvents(directoryWatchService, watchedDirectories), "Round Index Watching");
+
+        // Watching terminates once EFlow application window is closed
+        watchThread.setDaemon(true);
+
+        watchThread.start();
+
+        synchronize();
+    }
+
+    /**
+     * Watches {@code directory} and every directory within it.
+     */
+    private static void register(WatchService watchService, Path directory, Map<WatchKey, Path> watchedDirectories) throws IOException {
+        List<Path> directories;
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            directories = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+
+        for (Path watchedDirectory : directories) {
+            WatchKey watchKey = watchedDirectory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+
+            watchedDirectories.put(watchKey, watchedDirectory);
+        }
+    }
+
+    private void processEvents(WatchService watchService, Map<WatchKey, Path> watchedDirectories) {
+        while (true) {
+            WatchKey watchKey;
+
+            try {
+                watchKey = watchService.take();
+            }
+            catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = watchedDirectories.get(watchKey);
+
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    synchronizeInBackground();
+                    continue;
+                }
+
+                Path path = directory.resolve((Path) event.context());
+                String fileName = path.getFileName().toString();
+
+                // Written and moved over its round on every save, which is reported for the round itself
+                if (Utils.hasExtension(fileName, TEMPORARY_EXTENSION))
+                    continue;
+
+                if (Utils.hasExtension(fileName, FlowController.FILE_EXTENSION)) {
+                    onRoundChanged(path);
+                }
+                else if (Utils.hasExtension(fileName, RoundFile.SEGMENTS_EXTENSION)) {
+                    onRoundChanged(path.resolveSibling(fileName.substring(0, fileName.length() - RoundFile.SEGMENTS_EXTENSION.length() - 1)));
+                }
+                else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                    try {
+                        register(watchService, path, watchedDirectories);
+                    }
+                    catch (IOException | ClosedWatchServiceException e) {
+                        e.printStackTrace();
+                    }
+
+                    // Rounds moved in along with the directory are not reported on their own
+                    synchronizeInBackground();
+                }
+                else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && watchedDirectories.containsValue(path)) {
+                    // A directory of rounds, whose rounds are not reported on their own
+                    synchronizeInBackground();
+                }
+            }
+
+            if (!watchKey.reset()) {
+                watchedDirectories.remove(watchKey);
+            }
+        }
+    }
+
+    private void onRoundChanged(Path roundPath) {
+        synchronized (changedRounds) {
+            changedRounds.add(roundPath);
+
+            long nowMillis = System.currentTimeMillis();
+
+            if (scheduledUpdate == null) {
+                firstChangeMillis = nowMillis;
+            }
+            else {
+                long remainingMillis = firstChangeMillis + MAXIMUM_UPDATE_DELAY_MILLISECONDS - nowMillis;
+
+                // Already due at the latest it may be, so it is left as scheduled
+                if (remainingMillis <= UPDATE_QUIET_MILLISECONDS)
+                    return;
+
+                // Postponed until the changed rounds stop changing
+                scheduledUpdate.cancel(false);
+            }
+
+            long delayMillis = Math.min(UPDATE_QUIET_MILLISECONDS, firstChangeMillis + MAXIMUM_UPDATE_DELAY_MILLISECONDS - nowMillis);
+            scheduledUpdate = indexExecutor.schedule(this::updateChangedRounds, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void updateChangedRounds() {
+        List<Path> roundPaths;
+
+        synchronized (changedRounds) {
+            roundPaths = new ArrayList<>(changedRounds);
+            changedRounds.clear();
+            scheduledUpdate = null;
+        }
+
+        if (roundPaths.isEmpty())
+            return;
+
+        try {
+            boolean changed = false;
+
+            for (Path roundPath : roundPaths) {
+                changed |= update(roundPath);
+            }
+
+            if (changed) {
+                save();
+
+                analytics.refresh(roundsDirectory, 1);
+            }
+        }
+        catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Indexes {@code roundsDirectory} without watching it, and waits until it is indexed. Must not be called on an
+     * index that watches the configured directory.
+     *
+     * @throws IOException If the rounds directory could not be listed or the index could not be written.
+     */
+    public void synchronize(Path roundsDirectory) throws IOException {
+        Future<?> synchronization = indexExecutor.submit(() -> {
+            this.roundsDirectory = roundsDirectory;
+            synchronize();
+
+            return null;
+        });
+
+        try {
+            synchronization.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while indexing " + roundsDirectory);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+
+            if (e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) e.getCause()).getCause();
+
+            throw new IOException("Could not index " + roundsDirectory, e.getCause());
+        }
+    }
+
+    /**
+     * Queues {@link #synchronize()} on the indexing thread.
+     */
+    public void synchronizeInBackground() {
+        indexExecutor.execute(() -> {
+            try {
+                synchronize();
+            }
+            catch (IOException | UncheckedIOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Loads the persisted index if needed, then reindexes every round of the rounds directory whose modification
+     * times differ from those recorded for it and drops the rounds that no longer exist. The whole index is dropped
+     * if it was built for another rounds directory. The analytics are refreshed afterwards. Only called on the
+     * indexing thread.
+     *
+     * @throws IOException If the rounds directory could not be listed or the index could not be written.
+     */
+    private void synchronize() throws IOException {
+        ensureLoaded();
+
+        String directory = roundsDirectory == null ? null : roundsDirectory.toAbsolutePath().toString();
+        boolean changed = false;
+
+        synchronized (this) {
+            if (!Objects.equals(directory, state.roundsDirectory)) {
+                state = new State();
+                state.roundsDirectory = directory;
+                changed = true;
+            }
+        }
+
+        Set<Path> roundPaths = new HashSet<>();
+
+        if (roundsDirectory != null && Files.isDirectory(roundsDirectory)) {
+            try (Stream<Path> paths = Files.walk(roundsDirectory)) {
+                paths.filter(path -> Utils.hasExtension(path.getFileName().toString(), FlowController.FILE_EXTENSION))
+                        .filter(Files::isRegularFile)
+                        .map(Path::toAbsolutePath)
+                        .forEach(roundPaths::add);
+            }
+        }
+
+        for (Path roundPath : roundPaths) {
+            changed |= update(roundPath);
+        }
+
+        synchronized (this) {
+            for (String roundPath : new ArrayList<>(state.rounds.keySet())) {
+                if (!roundPaths.contains(Paths.get(roundPath))) {
+                    remove(roundPath);
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            save();
+        }
+
+        // Also builds the analytics of rounds indexed before the analytics were cached
+        analytics.refresh(roundsDirectory, 1);
+    }
+
+    /**
+     * Reindexes the round saved at {@code roundPath} if it changed since it was indexed, or drops it if it no
+     * longer exists. Only called on the indexing thread.
+     *
+     * @return Whether the index changed.
+     */
+    private boolean update(Path roundPath) throws IOException {
+        String key = roundPath.toAbsolutePath().toString();
+
+        if (!Files.exists(roundPath)) {
+            synchronized (this) {
+                boolean indexed = state.rounds.containsKey(key);
+                remove(key);
+
+                return indexed;
+            }
+        }
+
+        long lastModified = Files.getLastModifiedTime(roundPath).toMillis();
+
+        Path segmentsPath = RoundFile.getSegmentsPath(roundPath);
+        long segmentsLastModified = Files.exists(segmentsPath) ? Files.getLastModifiedTime(segmentsPath).toMillis() : 0;
+
+        if (isIndexed(key, lastModified, segmentsLastModified))
+            return false;
+
+        try {
+            index(key, lastModified, segmentsLastModified, RoundFile.readOutline(roundPath));
+        }
+        catch (IOException | JsonParseException | IllegalStateException | IllegalArgumentException | ClassCastException | NullPointerException e) {
+            // A round that cannot be read, such as one still being copied, is retried once it changes again
+            e.printStackTrace();
+            remove(key);
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the regions that contain every term of {@code query}, within their text, questions or the
+     * representations of their cards. The last term is treated as a prefix, so that results can be shown while
+     * the user is still typing. Regions are ranked by the sum, over the query terms, of the term's frequency
+     * within the region, weighted by {@link #CARD_WEIGHT} for card representations, normalized by the region's
+     * length and multiplied by the term's inverse document frequency.
+     *
+     * @param query The text to search for.
+     * @param opponentOnly Whether only the regions the opponent ran are searched.
+     * @param limit The maximum number of results.
+     * @return The matching regions, best match first.
+     */
+    public synchronized List<RoundSearchResult> search(String query, boolean opponentOnly, int limit) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+
+        if (queryTerms.isEmpty() || state.regions.isEmpty())
+            return new ArrayList<>();
+
+        Map<Integer, Double> scores = new HashMap<>();
+
+        for (int queryTermIndex = 0; queryTermIndex < queryTerms.size(); queryTermIndex++) {
+            String queryTerm = queryTerms.get(queryTermIndex);
+            boolean isPrefix = queryTermIndex == queryTerms.size() - 1;
+
+            Map<Integer, Double> termScores = scoreTerm(queryTerm, isPrefix);
+
+            if (queryTermIndex == 0) {
+                scores.putAll(termScores);
+            }
+            else {
+                // Only regions that contain every query term are kept
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((region, score) -> score + termScores.get(region));
+            }
+        }
+
+        if (opponentOnly) {
+            scores.keySet().removeIf(region -> !state.regions.get(region).opponent);
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> {
+                    IndexedRegion indexedRegion = state.regions.get(entry.getKey());
+                    IndexedRound indexedRound = state.rounds.get(indexedRegion.roundPath);
+
+                    return new RoundSearchResult(Paths.get(indexedRegion.roundPath), indexedRound.roundName,
+                            indexedRegion.side, indexedRegion.opponent, indexedRegion.column, indexedRegion.row,
+                            indexedRegion.excerpt, entry.getValue());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Double> scoreTerm(String queryTerm, boolean isPrefix) {
+        SortedMap<String, List<int[]>> matchingPostings = isPrefix ?
+                state.postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE) :
+                state.postings.subMap(queryTerm, true, queryTerm, true);
+
+        Map<Integer, Double> termScores = new HashMap<>();
+        int regionCount = state.regions.size();
+
+        matchingPostings.values().forEach(postings -> {
+            double inverseDocumentFrequency = Math.log(1 + (double) regionCount / postings.size());
+
+            for (int[] posting : postings) {
+                IndexedRegion indexedRegion = state.regions.get(posting[POSTING_REGION]);
+
+                double weightedFrequency = posting[POSTING_TEXT_FREQUENCY] + posting[POSTING_QUESTION_FREQUENCY] +
+                        CARD_WEIGHT * posting[POSTING_CARD_FREQUENCY];
+                double score = inverseDocumentFrequency * weightedFrequency / Math.sqrt(Math.max(1, indexedRegion.length));
+
+                termScores.merge(posting[POSTING_REGION], score, Double::sum);
+            }
+        });
+
+        return termScores;
+    }
+
+    private synchronized boolean isIndexed(String roundPath, long lastModified, long segmentsLastModified) {
+        IndexedRound indexedRound = state.rounds.get(roundPath);
+
+        return indexedRound != null && indexedRound.lastModified == lastModified && indexedRound.segmentsLastModified == segmentsLastModified;
+    }
+
+    private void index(String roundPath, long lastModified, long segmentsLastModified, JsonObject roundObject) {
+        Side roundSide = Side.valueOf(roundObject.get(Round.SIDE).getAsString());
+        List<AnalyzedRegion> analyzedRegions = new ArrayList<>();
+
+        for (Side side : Side.values()) {
+            String flowingGrid = side == Side.AFFIRMATIVE ? Round.AFF_FLOWING_GRID : Round.NEG_FLOWING_GRID;
+            JsonArray flowingRegions = roundObject.getAsJsonObject(flowingGrid).getAsJsonArray(FlowGrid.FLOWING_REGIONS);
+
+            for (JsonElement flowingRegion : flowingRegions) {
+                // The flow grid of the other side holds what the opponent ran
+                analyzedRegions.add(new AnalyzedRegion(flowingRegion.getAsJsonObject(), side, side != roundSide));
+            }
+        }
+
+        synchronized (this) {
+            remove(roundPath);
+
+            IndexedRound indexedRound = new IndexedRound();
+            indexedRound.roundName = getString(roundObject, Round.NAME);
+            indexedRound.lastModified = lastModified;
+            indexedRound.segmentsLastModified = segmentsLastModified;
+
+            Set<String> roundTerms = new HashSet<>();
+
+            for (AnalyzedRegion analyzedRegion : analyzedRegions) {
+                int regionID = state.nextRegion++;
+
+                IndexedRegion indexedRegion = new IndexedRegion();
+                indexedRegion.roundPath = roundPath;
+                indexedRegion.side = analyzedRegion.side;
+                indexedRegion.opponent = analyzedRegion.opponent;
+                indexedRegion.column = analyzedRegion.column;
+                indexedRegion.row = analyzedRegion.row;
+                indexedRegion.excerpt = analyzedRegion.excerpt;
+                indexedRegion.length = analyzedRegion.getLength();
+
+                state.regions.put(regionID, indexedRegion);
+                indexedRound.regions.add(regionID);
+
+                Set<String> regionTerms = analyzedRegion.getTerms();
+
+                for (String term : regionTerms) {
+                    int[] posting = new int[4];
+                    posting[POSTING_REGION] = regionID;
+                    posting[POSTING_TEXT_FREQUENCY] = analyzedRegion.textFrequencies.getOrDefault(term, 0);
+                    posting[POSTING_QUESTION_FREQUENCY] = analyzedRegion.questionFrequencies.getOrDefault(term, 0);
+                    posting[POSTING_CARD_FREQUENCY] = analyzedRegion.cardFrequencies.getOrDefault(term, 0);
+
+                    state.postings.computeIfAbsent(term, key -> new ArrayList<>()).add(posting);
+                }
+
+                roundTerms.addAll(regionTerms);
+            }
+
+            indexedRound.terms.addAll(roundTerms);
+            state.rounds.put(roundPath, indexedRound);
+        }
+    }
+
+    private synchronized void remove(String roundPath) {
+        IndexedRound indexedRound = state.rounds.remove(roundPath);
+
+        if (indexedRound == null)
+            return;
+
+        Set<Integer> removedRegions = new HashSet<>(indexedRound.regions);
+
+        // Only the terms that occur within the removed round can have postings for its regions
+        for (String term : indexedRound.terms) {
+            List<int[]> postings = state.postings.get(term);
+
+            if (postings == null)
+                continue;
+
+            postings.removeIf(posting -> removedRegions.contains(posting[POSTING_REGION]));
+
+            if (postings.isEmpty()) {
+                state.postings.remove(term);
+            }
+        }
+
+        removedRegions.forEach(state.regions::remove);
+    }
+
+    private void ensureLoaded() {
+        synchronized (this) {
+            if (loaded)
+                return;
+
+            loaded = true;
+        }
+
+        if (!Files.exists(getIndexPath()))
+            return;
+
+        try {
+            byte[] bytes = Files.readAllBytes(getIndexPath());
+            State loadedState = gson.fromJson(new String(bytes, StandardCharsets.UTF_8), State.class);
+
+            if (loadedState != null) {
+                synchronized (this) {
+                    state = loadedState;
+                }
+            }
+        }
+        catch (IOException | JsonParseException e) {
+            // The index is derived entirely from the rounds, so a corrupt index is simply rebuilt
+            e.printStackTrace();
+        }
+    }
+
+    private void save() throws IOException {
+        String json;
+
+        synchronized (this) {
+            json = gson.toJson(state);
+        }
+
+        Path temporaryPath = getIndexPath().resolveSibling(getIndexPath().getFileName() + ".tmp");
+
+        Files.write(temporaryPath, json.getBytes(StandardCharsets.UTF_8));
+
+        Files.move(temporaryPath, getIndexPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, Integer> countTerms(String text) {
+        return countTerms(text, new HashMap<>());
+    }
+
+    private static Map<String, Integer> countTerms(String text, Map<String, Integer> frequencies) {
+        for (String term : Tokenizer.tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        return frequencies;
+    }
+
+    private static String getString(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    private static int getInt(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element != null && element.isJsonPrimitive() ? element.getAsInt() : 0;
+    }
+
+    private static JsonArray getArray(JsonObject jsonObject, String name) {
+        JsonElement element = jsonObject.get(name);
+
+        return element != null && element.isJsonArray() ? element.getAsJsonArray() : new JsonArray();
+    }
+
+    /**
+     * @return The analytics of the rounds directory, refreshed whenever its rounds are reindexed.
+     */
+    public RoundAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    public Path getIndexPath() {
+        return indexPath;
+    }
+}
@@ -0,0 +1,79 @@
+package me.theeninja.pfflowing.search;
+
+import me.theeninja.pfflowing.speech.Side;
+
+import java.nio.file.Path;
+
+/**
+ * A region matched by a {@link RoundIndex} query, along with the round it was flowed in.
+ *
+ * @author TheeNinja
+ */
+public class RoundSearchResult {
+    private final Path roundPath;
+    private final String roundName;
+    private final Side side;
+    private final boolean opponent;
+    private final int column;
+    private final int row;
+    private final String excerpt;
+    private final double score;
+
+    RoundSearchResult(Path roundPath, String roundName, Side side, boolean opponent, int column, int row, String excerpt, double score) {
+        this.roundPath = roundPath;
+        this.roundName = roundName;
+        this.side = side;
+        this.opponent = opponent;
+        this.column = column;
+        this.row = row;
+        this.excerpt = excerpt;
+        this.score = score;
+    }
+
+    public Path getRoundPath() {
+        return roundPath;
+    }
+
+    public String getRoundName() {
+        return roundName;
+    }
+
+    /**
+     * @return The side of the flow grid the region is on.
+     */
+    public Side getSide() {
+        return side;
+    }
+
+    /**
+     * @return Whether the region is on the flow grid of the side the round was not flowed for, that is, whether
+     *         the opponent ran it.
+     */
+    public boolean isOpponent() {
+        return opponent;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return The start of the text of the region.
+     */
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return getRoundName() + ": " + getExcerpt();
+    }
+}
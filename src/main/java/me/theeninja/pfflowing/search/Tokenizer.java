@@ -0,0 +1,41 @@
+package me.theeninja.pfflowing.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into the lower case terms that are stored in, and looked up from, a search index.
+ *
+ * @author TheeNinja
+ */
+public final class Tokenizer {
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Represents the shortest term that is indexed. Single characters match far too much to be useful.
+     */
+    public static final int MINIMUM_TERM_LENGTH = 2;
+
+    private Tokenizer() {}
+
+    /**
+     * @param text The text to tokenize, may be null.
+     * @return Every term of {@code text} in order of appearance, including repeated terms.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+
+        if (text == null)
+            return terms;
+
+        for (String term : TERM_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (term.length() >= MINIMUM_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+
+        return terms;
+    }
+}
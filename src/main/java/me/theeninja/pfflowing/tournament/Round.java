@@ -15,9 +15,16 @@ public class Round {
     public static final String SIDE = "side";
     public static final String AFF_FLOWING_GRID = "affFlowingGrid";
     public static final String NEG_FLOWING_GRID = "negFlowingGrid";
+    public static final String GENERATION = "generation";
 
     private ObjectProperty<Path> path = new SimpleObjectProperty<>();
 
+    /**
+     * Identifies the last full save of this round, which the changes autosaved since refer to, or {@code null} if
+     * this round has not been saved by EFlow since autosaving was introduced.
+     */
+    private String generation;
+
     private final String roundName;
     private final Side side;
     private final ObjectProperty<Side> displayedSide = new SimpleObjectProperty<>();
@@ -96,6 +103,14 @@ public class Round {
         this.path.set(path);
     }
 
+    public String getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(String generation) {
+        this.generation = generation;
+    }
+
     private void onDisplayedSideChanged(ObservableValue<? extends Side> observable, Side oldValue, Side newValue) {
         FlowDisplayController flowDisplayController = getController(newValue);
 
@@ -1,5 +1,7 @@
 package me.theeninja.pfflowing.utils;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
@@ -42,6 +44,23 @@ public final class Utils {
 
     public static final String ZERO_LENGTH_STRING = "";
 
+    /**
+     * Weakly holds the strings interned by {@link #intern(String)}, so that strings no longer referenced anywhere
+     * else are still collected.
+     */
+    private static final Interner<String> STRING_INTERNER = Interners.newWeakInterner();
+
+    /**
+     * Returns the one instance, within this session, of the strings equal to {@code string}, so that text read
+     * many times over, such as the text of regions and the HTML of cards of every round loaded, is only held once.
+     *
+     * @param string The string to intern, may be null.
+     * @return The interned string, or null if {@code string} is null.
+     */
+    public static String intern(String string) {
+        return string == null ? null : STRING_INTERNER.intern(string);
+    }
+
 
     /**
      * Generates a background of the given color.
@@ -3,6 +3,10 @@ module EFlow {
     requires javafx.graphics;
     requires commons.collections4;
     requires java.logging;
+    requires java.management;
+    // Optional, as OpenJDK 10 has no flight recorder and Oracle JDK 10 only records with commercial features
+    // unlocked, see PerformanceMonitor
+    requires static jdk.jfr;
     requires javafx.fxml;
     requires bluecove;
     requires tika.core;
@@ -26,4 +30,5 @@ module EFlow {
     requires java.xml;
     requires jdk.xml.dom;
     requires org.apache.commons.io;
+    requires pdfbox;
 }
\ No newline at end of file
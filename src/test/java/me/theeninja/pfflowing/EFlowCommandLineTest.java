@@ -0,0 +1,141 @@
+package me.theeninja.pfflowing;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EFlowCommandLineTest {
+    private static final String VALID_ROUND = "{\"name\": \"Quarterfinals\", \"side\": \"NEGATION\", " +
+            "\"affFlowingGrid\": {\"flowing_regions\": [{\"type\": \"PROACTIVE\", \"text\": \"Tariffs cost jobs\", \"column\": 0, \"row\": 0}]}, " +
+            "\"negFlowingGrid\": {\"flowing_regions\": []}, " +
+            "\"generation\": \"4f6e0a5c-7a1b-4d2e-9f3a-1b2c3d4e5f60\"}";
+
+    private static final String INVALID_ROUND = "{\"name\": \"Semifinals\", \"side\": \"NEGATION\", " +
+            "\"affFlowingGrid\": {\"flowing_regions\": [{\"type\": \"PROACTIVE\", \"text\": \"Tariffs cost jobs\", \"column\": 8, \"row\": 0}]}}";
+
+    /**
+     * Holds what a command printed, along with the status it would exit with.
+     */
+    private static class Outcome {
+        private final int status;
+        private final String output;
+
+        private Outcome(int status, String output) {
+            this.status = status;
+            this.output = output;
+        }
+    }
+
+    private static Outcome execute(String... args) {
+        PrintStream standardOutput = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        System.setOut(new PrintStream(output, true));
+
+        try {
+            return new Outcome(EFlowCommandLine.execute(args), new String(output.toByteArray(), StandardCharsets.UTF_8));
+        }
+        finally {
+            System.setOut(standardOutput);
+        }
+    }
+
+    private static Path write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JsonObject read(Path path) throws IOException {
+        return new JsonParser().parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    @Test
+    void validateReportsTheProblemsOfEveryInvalidRound() throws IOException {
+        Path rounds = Files.createTempDirectory("rounds");
+        Path validRound = write(rounds.resolve("quarterfinals.eflow"), VALID_ROUND);
+        Path invalidRound = write(rounds.resolve("semifinals.eflow"), INVALID_ROUND);
+        Path unreadableRound = write(rounds.resolve("finals.eflow"), "{\"name\": ");
+
+        Outcome outcome = execute("validate", rounds.toString());
+
+        assertEquals(EFlowCommandLine.FAILURE_STATUS, outcome.status);
+        assertTrue(outcome.output.contains(validRound + ": valid"), outcome.output);
+        assertTrue(outcome.output.contains(invalidRound + ": failed, java.io.IOException: "
+                + "affFlowingGrid[0] has a missing or out of range column; Missing negFlowingGrid"), outcome.output);
+        assertTrue(outcome.output.contains(unreadableRound + ": failed"), outcome.output);
+
+        assertEquals(EFlowCommandLine.SUCCESS_STATUS, execute("validate", validRound.toString()).status);
+    }
+
+    @Test
+    void exportMirrorsTheDirectoriesRoundsWereFoundWithin() throws IOException {
+        Path rounds = Files.createTempDirectory("rounds");
+        Path output = Files.createTempDirectory("export");
+
+        write(rounds.resolve("october").resolve("round.eflow"), VALID_ROUND);
+        write(rounds.resolve("november").resolve("round.eflow"), VALID_ROUND);
+
+        Path givenRound = write(Files.createTempDirectory("given").resolve("given.eflow"), VALID_ROUND);
+
+        Outcome outcome = execute("export", "--output", output.toString(), rounds.toString(), givenRound.toString());
+
+        assertEquals(EFlowCommandLine.SUCCESS_STATUS, outcome.status, outcome.output);
+
+        Path octoberExport = output.resolve("october").resolve("round.eflow");
+
+        assertTrue(Files.isRegularFile(octoberExport));
+        assertTrue(Files.isRegularFile(output.resolve("november").resolve("round.eflow")));
+
+        // Files given on their own are written at their name
+        assertTrue(Files.isRegularFile(output.resolve("given.eflow")));
+
+        // The generation only refers to segments autosaved next to the round itself
+        JsonObject exportedRound = read(octoberExport);
+
+        assertEquals("Quarterfinals", exportedRound.get("name").getAsString());
+        assertFalse(exportedRound.has("generation"));
+    }
+
+    @Test
+    void exportsToTheSamePathAllFail() throws IOException {
+        Path output = Files.createTempDirectory("export");
+
+        Path firstRound = write(Files.createTempDirectory("first").resolve("round.eflow"), VALID_ROUND);
+        Path secondRound = write(Files.createTempDirectory("second").resolve("round.eflow"), INVALID_ROUND);
+        Path otherRound = write(Files.createTempDirectory("other").resolve("other.eflow"), VALID_ROUND);
+
+        Outcome outcome = execute("export", "--output", output.toString(), firstRound.toString(), secondRound.toString(), otherRound.toString());
+
+        assertEquals(EFlowCommandLine.FAILURE_STATUS, outcome.status);
+
+        Path collidingExport = output.resolve("round.eflow");
+
+        assertTrue(outcome.output.contains(firstRound + ": failed, 2 files would be exported to " + collidingExport), outcome.output);
+        assertTrue(outcome.output.contains(secondRound + ": failed, 2 files would be exported to " + collidingExport), outcome.output);
+        assertFalse(Files.exists(collidingExport));
+
+        // Files exported to paths of their own are still exported
+        assertTrue(Files.isRegularFile(output.resolve("other.eflow")));
+    }
+
+    @Test
+    void commandsWithoutTheirOptionsPrintUsage() throws IOException {
+        Path round = write(Files.createTempDirectory("rounds").resolve("round.eflow"), VALID_ROUND);
+
+        assertEquals(EFlowCommandLine.USAGE_STATUS, execute("export", round.toString()).status);
+        assertEquals(EFlowCommandLine.USAGE_STATUS, execute("merge", "--output", round.getParent().toString(), round.toString()).status);
+        assertEquals(EFlowCommandLine.USAGE_STATUS, execute("search", "--output", round.getParent().toString(), round.getParent().toString()).status);
+        assertEquals(EFlowCommandLine.USAGE_STATUS, execute("validate", "--threads", "0", round.toString()).status);
+        assertEquals(EFlowCommandLine.USAGE_STATUS, execute("unknown", round.toString()).status);
+        assertEquals(EFlowCommandLine.USAGE_STATUS, execute("validate").status);
+    }
+}
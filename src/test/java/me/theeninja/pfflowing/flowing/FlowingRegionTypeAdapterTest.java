@@ -0,0 +1,129 @@
+package me.theeninja.pfflowing.flowing;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import javafx.collections.FXCollections;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testfx.api.FxToolkit;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowingRegionTypeAdapterTest {
+    private static Gson gson;
+
+    @BeforeAll
+    static void setUpClass() throws TimeoutException {
+        // Regions are nodes, so they are created on the JavaFX application thread
+        FxToolkit.registerPrimaryStage();
+
+        gson = EFlow.getInstance().getGSON();
+    }
+
+    private static FlowingRegion region(String text, FlowingRegionType type, int column, int row, List<Card> cards, List<String> questions) {
+        FlowingRegion flowingRegion = new FlowingRegion(
+            text,
+            type,
+            FXCollections.observableArrayList(cards),
+            FXCollections.observableArrayList(questions)
+        );
+
+        FlowGrid.setConstraints(flowingRegion, column, row);
+
+        return flowingRegion;
+    }
+
+    private static List<String> representations(FlowingRegion flowingRegion) {
+        return flowingRegion.getAssociatedCards().stream()
+                .map(Card::getRepresentation)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void regionRoundTripsWithCardsAndQuestions() throws TimeoutException {
+        FxToolkit.setupFixture(() -> {
+            FlowingRegion flowingRegion = region(
+                "Tariffs raise consumer prices",
+                FlowingRegionType.REFUTATION,
+                3,
+                2,
+                List.of(new Card("Smith 18", "<p>Prices rose 4%</p>"), new Card("Lee 17", "<p>Imports fell</p>")),
+                List.of("Which goods?", "Over what period?")
+            );
+
+            String json = gson.toJson(flowingRegion, FlowingRegion.class);
+            FlowingRegion readRegion = gson.fromJson(json, FlowingRegion.class);
+
+            assertEquals("Tariffs raise consumer prices", readRegion.getFullText());
+            assertEquals(FlowingRegionType.REFUTATION, readRegion.getFlowingRegionType());
+            assertEquals(Integer.valueOf(3), FlowGrid.getColumnIndex(readRegion));
+            assertEquals(Integer.valueOf(2), FlowGrid.getRowIndex(readRegion));
+            assertEquals(List.of("Which goods?", "Over what period?"), readRegion.getAssociatedQuestions());
+            assertEquals(List.of("Smith 18", "Lee 17"), representations(readRegion));
+            assertEquals("<p>Prices rose 4%</p>", readRegion.getAssociatedCards().get(0).getHTMLContent());
+
+            // Written again exactly as it was first written
+            assertEquals(json, gson.toJson(readRegion, FlowingRegion.class));
+        });
+    }
+
+    @Test
+    void questionsAreReadFromTheirOwnMember() throws TimeoutException {
+        // Questions used to be read from the cards member, so regions lost either their questions or their cards
+        JsonObject cardObject = new JsonObject();
+        cardObject.addProperty(Card.REPRESENTATION_NAME, "Garcia 16");
+        cardObject.addProperty(Card.HTML_CONTENT_NAME, "<p>Evidence</p>");
+
+        JsonArray cardsArray = new JsonArray();
+        cardsArray.add(cardObject);
+
+        JsonArray questionsArray = new JsonArray();
+        questionsArray.add("Is the study peer reviewed?");
+
+        JsonObject regionObject = new JsonObject();
+        regionObject.addProperty(FlowingRegion.TYPE_NAME, FlowingRegionType.PROACTIVE.name());
+        regionObject.addProperty(FlowingRegion.TEXT_NAME, "Sanctions fail");
+        regionObject.addProperty(FlowingRegion.COLUMN_NAME, 0);
+        regionObject.addProperty(FlowingRegion.ROW_NAME, 5);
+        regionObject.add(FlowingRegion.ASSOCIATED_CARDS, cardsArray);
+        regionObject.add(FlowingRegion.ASSOCIATED_QUESTIONS, questionsArray);
+
+        FxToolkit.setupFixture(() -> {
+            FlowingRegion readRegion = gson.fromJson(regionObject, FlowingRegion.class);
+
+            assertEquals(List.of("Is the study peer reviewed?"), readRegion.getAssociatedQuestions());
+            assertEquals(List.of("Garcia 16"), representations(readRegion));
+            assertEquals(Integer.valueOf(5), FlowGrid.getRowIndex(readRegion));
+        });
+    }
+
+    @Test
+    void missingListsAndUnknownMembersAreTolerated() throws TimeoutException {
+        String json = "{\"type\": \"EXTENSION\", \"text\": \"Extend\", \"column\": 2, \"row\": 0, " +
+                "\"associatedCards\": null, \"expanded\": true}";
+
+        FxToolkit.setupFixture(() -> {
+            FlowingRegion readRegion = gson.fromJson(json, FlowingRegion.class);
+
+            assertEquals(FlowingRegionType.EXTENSION, readRegion.getFlowingRegionType());
+            assertTrue(readRegion.getAssociatedCards().isEmpty());
+            assertTrue(readRegion.getAssociatedQuestions().isEmpty());
+        });
+    }
+
+    @Test
+    void regionWithoutTypeIsRejected() throws TimeoutException {
+        FxToolkit.setupFixture(() -> {
+            assertThrows(JsonParseException.class, () -> gson.fromJson("{\"text\": \"No type\"}", FlowingRegion.class));
+        });
+    }
+}
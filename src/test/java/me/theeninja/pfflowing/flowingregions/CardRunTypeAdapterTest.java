@@ -0,0 +1,42 @@
+package me.theeninja.pfflowing.flowingregions;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardRunTypeAdapterTest {
+    private static final Gson GSON = new Gson();
+
+    @Test
+    void onlyTheFormattingOfARunIsWritten() {
+        JsonObject plainRun = GSON.toJsonTree(new CardRun("Tariffs cost ", false, false, false)).getAsJsonObject();
+        JsonObject highlightedRun = GSON.toJsonTree(new CardRun("300,000 jobs", false, true, true)).getAsJsonObject();
+
+        assertEquals(Set.of(CardRun.TEXT_NAME), plainRun.keySet());
+        assertEquals(Set.of(CardRun.TEXT_NAME, CardRun.UNDERLINED_NAME, CardRun.HIGHLIGHTED_NAME), highlightedRun.keySet());
+
+        CardRun readRun = GSON.fromJson(highlightedRun, CardRun.class);
+
+        assertEquals("300,000 jobs", readRun.getText());
+        assertFalse(readRun.isBold());
+        assertTrue(readRun.isUnderlined());
+        assertTrue(readRun.isHighlighted());
+    }
+
+    @Test
+    void runWrittenWithEveryFormattingIsRead() {
+        CardRun readRun = GSON.fromJson(
+            "{\"text\": \"Smith 18\", \"bold\": true, \"underlined\": false, \"highlighted\": false, \"unknown\": [1]}",
+            CardRun.class
+        );
+
+        assertEquals("Smith 18", readRun.getText());
+        assertTrue(readRun.isBold());
+        assertFalse(readRun.isUnderlined());
+        assertFalse(readRun.isHighlighted());
+    }
+}
@@ -0,0 +1,161 @@
+package me.theeninja.pfflowing.gui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testfx.api.FxToolkit;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundTypeAdapterTest {
+    private static Gson gson;
+
+    @BeforeAll
+    static void setUpClass() throws TimeoutException {
+        // Rounds and their flow grids are nodes, so they are created on the JavaFX application thread
+        FxToolkit.registerPrimaryStage();
+
+        gson = EFlow.getInstance().getGSON();
+    }
+
+    private static FlowingRegion region(String text, FlowingRegionType type, int column, int row, List<Card> cards, List<String> questions) {
+        FlowingRegion flowingRegion = new FlowingRegion(
+            text,
+            type,
+            FXCollections.observableArrayList(cards),
+            FXCollections.observableArrayList(questions)
+        );
+
+        FlowGrid.setConstraints(flowingRegion, column, row);
+
+        return flowingRegion;
+    }
+
+    private static FlowGrid flowGrid(FlowingRegion... flowingRegions) {
+        FlowGrid flowGrid = new FlowGrid();
+        flowGrid.getChildren().setAll(flowingRegions);
+
+        return flowGrid;
+    }
+
+    private static List<String> texts(FlowGrid flowGrid) {
+        return flowGrid.getChildren().stream()
+                .filter(FlowingRegion.class::isInstance)
+                .map(node -> ((FlowingRegion) node).getFullText())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return A round whose link is argued, refuted and extended on the affirmative flow grid, and whose negation
+     *         flow grid holds a merged link.
+     */
+    private static Round round() {
+        Card tariffsCard = new Card("Smith 18", "<p>Tariffs cost 300,000 jobs</p>");
+
+        FlowGrid affFlowGrid = flowGrid(
+            region("Tariffs cost jobs", FlowingRegionType.PROACTIVE, 0, 0, List.of(tariffsCard), List.of("Which industries?")),
+            region("Jobs shift to exporters", FlowingRegionType.REFUTATION, 1, 0, List.of(), List.of()),
+            region("Extend", FlowingRegionType.EXTENSION, 2, 0, List.of(), List.of()),
+            region("Extend", FlowingRegionType.EXTENSION, 4, 0, List.of(tariffsCard), List.of())
+        );
+
+        FlowGrid negFlowGrid = flowGrid(
+            region("Sanctions fail-Allies defect", FlowingRegionType.PROACTIVE, 0, 0,
+                    List.of(new Card("Chen 17", "<p>Sanctions rarely work</p>"), new Card("Kim 16", "<p>Allies trade anyway</p>")),
+                    List.of()),
+            region("Extension", FlowingRegionType.EXTENSION, 2, 0, List.of(), List.of("Why extend both?"))
+        );
+
+        Round round = new Round("Quarterfinals", Side.NEGATION, affFlowGrid, negFlowGrid);
+        round.setGeneration("4f6e0a5c-7a1b-4d2e-9f3a-1b2c3d4e5f60");
+
+        return round;
+    }
+
+    @Test
+    void roundRoundTripsWithBothFlowGrids() throws TimeoutException {
+        FxToolkit.setupFixture(() -> {
+            String json = gson.toJson(round(), Round.class);
+            Round readRound = gson.fromJson(json, Round.class);
+
+            assertEquals("Quarterfinals", readRound.getRoundName());
+            assertEquals(Side.NEGATION, readRound.getSide());
+            assertEquals("4f6e0a5c-7a1b-4d2e-9f3a-1b2c3d4e5f60", readRound.getGeneration());
+
+            assertEquals(List.of("Tariffs cost jobs", "Jobs shift to exporters", "Extend", "Extend"),
+                    texts(readRound.getAffirmativeController().flowGrid));
+            assertEquals(List.of("Sanctions fail-Allies defect", "Extension"),
+                    texts(readRound.getNegationController().flowGrid));
+
+            FlowingRegion extension = (FlowingRegion) readRound.getAffirmativeController().flowGrid.getChildren().get(3);
+
+            assertEquals(FlowingRegionType.EXTENSION, extension.getFlowingRegionType());
+            assertEquals(Integer.valueOf(4), FlowGrid.getColumnIndex(extension));
+            assertEquals("Smith 18", extension.getAssociatedCards().get(0).getRepresentation());
+
+            FlowingRegion mergedRegion = (FlowingRegion) readRound.getNegationController().flowGrid.getChildren().get(0);
+
+            assertEquals(2, mergedRegion.getAssociatedCards().size());
+
+            // Written again exactly as it was first written
+            assertEquals(json, gson.toJson(readRound, Round.class));
+        });
+    }
+
+    @Test
+    void roundSavedBeforeAutosavingHasNoGeneration() throws TimeoutException {
+        String json = "{\"name\": \"Round 1\", \"side\": \"AFFIRMATIVE\", " +
+                "\"affFlowingGrid\": {\"flowing_regions\": []}, " +
+                "\"negFlowingGrid\": {\"flowing_regions\": []}, " +
+                "\"generation\": null}";
+
+        FxToolkit.setupFixture(() -> {
+            Round readRound = gson.fromJson(json, Round.class);
+
+            assertEquals(Side.AFFIRMATIVE, readRound.getSide());
+            assertNull(readRound.getGeneration());
+            assertTrue(texts(readRound.getAffirmativeController().flowGrid).isEmpty());
+        });
+    }
+
+    @Test
+    void roundWithoutFlowGridIsRejected() throws TimeoutException {
+        String json = "{\"name\": \"Round 1\", \"side\": \"AFFIRMATIVE\", \"affFlowingGrid\": {\"flowing_regions\": []}}";
+
+        FxToolkit.setupFixture(() -> {
+            assertThrows(JsonParseException.class, () -> gson.fromJson(json, Round.class));
+        });
+    }
+
+    @Test
+    void flowGridKeepsTheOrderOfItsRegions() throws TimeoutException {
+        String json = "{\"flowing_regions\": [" +
+                "{\"type\": \"PROACTIVE\", \"text\": \"Second row\", \"column\": 0, \"row\": 1}, " +
+                "{\"type\": \"PROACTIVE\", \"text\": \"First row\", \"column\": 0, \"row\": 0}], " +
+                "\"unknown\": {\"ignored\": true}}";
+
+        FxToolkit.setupFixture(() -> {
+            FlowGrid flowGrid = gson.fromJson(json, FlowGrid.class);
+
+            assertEquals(List.of("Second row", "First row"), texts(flowGrid));
+
+            Node firstRegion = flowGrid.getChildren().get(0);
+
+            assertEquals(Integer.valueOf(1), FlowGrid.getRowIndex(firstRegion));
+            assertEquals(List.of("Second row", "First row"), texts(gson.fromJson(gson.toJson(flowGrid, FlowGrid.class), FlowGrid.class)));
+        });
+    }
+}
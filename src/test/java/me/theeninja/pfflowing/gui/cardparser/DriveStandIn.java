@@ -0,0 +1,244 @@
+package me.theeninja.pfflowing.gui.cardparser;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.services.drive.Drive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * A local HTTP server standing in for the Drive endpoint. Tests install a {@link Handler} answering each request,
+ * and every request received is recorded so that tests can assert which Drive calls were made.
+ *
+ * @author TheeNinja
+ */
+final class DriveStandIn implements Closeable {
+    static final class Request {
+        private final String method;
+        private final String path;
+        private final Map<String, String> parameters;
+
+        private Request(String method, String path, Map<String, String> parameters) {
+            this.method = method;
+            this.path = path;
+            this.parameters = parameters;
+        }
+
+        String getMethod() {
+            return method;
+        }
+
+        /**
+         * @return The path of the request relative to the root URL, such as {@code drive/v3/files}.
+         */
+        String getPath() {
+            return path;
+        }
+
+        String getParameter(String name) {
+            return parameters.get(name);
+        }
+
+        @Override
+        public String toString() {
+            return getMethod() + " " + getPath() + " " + parameters;
+        }
+    }
+
+    static final class Response {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        private Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Response json(String body) {
+            return new Response(200, "application/json; charset=UTF-8", body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response html(String body) {
+            return new Response(200, "text/html; charset=UTF-8", body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response notFound() {
+            return new Response(404, "application/json; charset=UTF-8",
+                    "{\"error\": {\"code\": 404, \"message\": \"Not Found\"}}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @FunctionalInterface
+    interface Handler {
+        Response handle(Request request) throws Exception;
+    }
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Drive Stand-In");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile Handler handler = request -> Response.notFound();
+
+    DriveStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        executorService.execute(this::accept);
+    }
+
+    /**
+     * Points the Drive clients created afterwards at this stand-in through
+     * {@link GoogleDriveConnector#ROOT_URL_PROPERTY}, and returns one such client.
+     *
+     * @return A Drive client sending its requests to this stand-in.
+     */
+    Drive newDriveService() {
+        System.setProperty(GoogleDriveConnector.ROOT_URL_PROPERTY, getRootUrl());
+
+        return GoogleDriveConnector.newDriveService(new NetHttpTransport(), null);
+    }
+
+    String getRootUrl() {
+        return "http://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort() + "/";
+    }
+
+    void setHandler(Handler handler) {
+        this.handler = handler;
+    }
+
+    List<Request> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    List<Request> getRequests(String path) {
+        return requests.stream()
+                .filter(request -> request.getPath().equals(path))
+                .collect(Collectors.toList());
+    }
+
+    void clearRequests() {
+        requests.clear();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executorService.execute(() -> serve(socket));
+            }
+            catch (IOException e) {
+                // The server socket was closed
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream inputStream = socket.getInputStream();
+            String[] headerLines = readHeader(inputStream).split("\r\n");
+            String[] requestLine = headerLines[0].split(" ");
+
+            int contentLength = 0;
+
+            for (int index = 1; index < headerLines.length; index++) {
+                String[] header = headerLines[index].split(":", 2);
+
+                if (header.length == 2 && header[0].trim().equalsIgnoreCase("Content-Length")) {
+                    contentLength = Integer.parseInt(header[1].trim());
+                }
+            }
+
+            inputStream.readNBytes(new byte[contentLength], 0, contentLength);
+
+            Request request = parseRequest(requestLine[0], requestLine[1]);
+            requests.add(request);
+
+            Response response;
+
+            try {
+                response = handler.handle(request);
+            }
+            catch (Exception e) {
+                response = new Response(500, "text/plain", String.valueOf(e).getBytes(StandardCharsets.UTF_8));
+            }
+
+            write(socket.getOutputStream(), response);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readHeader(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        int matched = 0;
+
+        // Reads up to and including the blank line that ends the header
+        while (matched < 4) {
+            int read = inputStream.read();
+
+            if (read == -1)
+                throw new IOException("Connection closed before the end of the request header");
+
+            header.write(read);
+            matched = read == (matched % 2 == 0 ? '\r' : '\n') ? matched + 1 : (read == '\r' ? 1 : 0);
+        }
+
+        return header.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static Request parseRequest(String method, String target) {
+        int queryStart = target.indexOf('?');
+        String path = (queryStart == -1 ? target : target.substring(0, queryStart)).replaceFirst("^/", "");
+        Map<String, String> parameters = new HashMap<>();
+
+        if (queryStart != -1) {
+            for (String parameter : target.substring(queryStart + 1).split("&")) {
+                String[] pair = parameter.split("=", 2);
+                String value = pair.length == 2 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "";
+                parameters.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8), value);
+            }
+        }
+
+        return new Request(method, path, parameters);
+    }
+
+    private static void write(OutputStream outputStream, Response response) throws IOException {
+        String header = "HTTP/1.1 " + response.status + (response.status == 200 ? " OK" : " Error") + "\r\n" +
+                "Content-Type: " + response.contentType + "\r\n" +
+                "Content-Length: " + response.body.length + "\r\n" +
+                "Connection: close\r\n\r\n";
+
+        outputStream.write(header.getBytes(StandardCharsets.ISO_8859_1));
+        outputStream.write(response.body);
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,171 @@
+package me.theeninja.pfflowing.gui.cardparser;
+
+import com.google.api.services.drive.model.File;
+import me.theeninja.pfflowing.gui.cardparser.DriveStandIn.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleDriveCatalogTest {
+    private static final String START_PAGE_TOKEN_PATH = "drive/v3/changes/startPageToken";
+    private static final String FILES_PATH = "drive/v3/files";
+    private static final String CHANGES_PATH = "drive/v3/changes";
+
+    private DriveStandIn driveStandIn;
+    private Path directory;
+    private Path catalogPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        driveStandIn = new DriveStandIn();
+        directory = Files.createTempDirectory("drive-catalog");
+        catalogPath = directory.resolve("drive_catalog.json");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        driveStandIn.close();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    static String file(String id, String name, String mimeType, String modifiedTime) {
+        return "{\"id\": \"" + id + "\", \"name\": \"" + name + "\", \"mimeType\": \"" + mimeType + "\", " +
+                "\"modifiedTime\": \"" + modifiedTime + "\", \"trashed\": false}";
+    }
+
+    static String document(String id, String name) {
+        return file(id, name, GoogleDriveCatalog.DOCUMENT_MIME_TYPE, "2018-03-01T12:00:00.000Z");
+    }
+
+    private static List<String> names(List<File> files) {
+        return files.stream().map(File::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Answers a full listing of three documents spread across two pages, recording start page token 10.
+     */
+    private void serveListing() {
+        driveStandIn.setHandler(request -> {
+            switch (request.getPath()) {
+                case START_PAGE_TOKEN_PATH:
+                    return Response.json("{\"startPageToken\": \"10\"}");
+                case FILES_PATH:
+                    if (request.getParameter("pageToken") == null) {
+                        return Response.json("{\"nextPageToken\": \"page2\", \"files\": [" +
+                                document("b", "Bravo") + ", " + document("a", "Alpha") + "]}");
+                    }
+                    return Response.json("{\"files\": [" + document("c", "Charlie") + "]}");
+                default:
+                    return Response.notFound();
+            }
+        });
+    }
+
+    @Test
+    void fullRefreshFollowsEveryPage() throws IOException {
+        serveListing();
+
+        GoogleDriveCatalog catalog = new GoogleDriveCatalog(driveStandIn.newDriveService(), catalogPath);
+
+        assertTrue(catalog.isEmpty());
+        assertEquals(List.of("Alpha", "Bravo", "Charlie"), names(catalog.refresh()));
+        assertFalse(catalog.isEmpty());
+
+        List<DriveStandIn.Request> listRequests = driveStandIn.getRequests(FILES_PATH);
+
+        assertEquals(2, listRequests.size());
+        assertNull(listRequests.get(0).getParameter("pageToken"));
+        assertEquals("page2", listRequests.get(1).getParameter("pageToken"));
+        assertTrue(listRequests.get(0).getParameter("q").contains(GoogleDriveCatalog.DOCUMENT_MIME_TYPE));
+        assertEquals(1, driveStandIn.getRequests(START_PAGE_TOKEN_PATH).size());
+        assertTrue(Files.exists(catalogPath));
+    }
+
+    @Test
+    void incrementalRefreshOnlyRequestsChanges() throws IOException {
+        serveListing();
+
+        GoogleDriveCatalog catalog = new GoogleDriveCatalog(driveStandIn.newDriveService(), catalogPath);
+        catalog.refresh();
+
+        driveStandIn.clearRequests();
+        driveStandIn.setHandler(request -> {
+            if (!request.getPath().equals(CHANGES_PATH))
+                return Response.notFound();
+
+            switch (request.getParameter("pageToken")) {
+                case "10":
+                    return Response.json("{\"nextPageToken\": \"11\", \"changes\": [" +
+                            "{\"fileId\": \"a\", \"removed\": false, \"file\": " + document("a", "Alpha Renamed") + "}, " +
+                            "{\"fileId\": \"b\", \"removed\": true}, " +
+                            "{\"fileId\": \"d\", \"removed\": false, \"file\": " +
+                            file("d", "Delta", "application/vnd.google-apps.spreadsheet", "2018-03-02T12:00:00.000Z") + "}]}");
+                case "11":
+                    return Response.json("{\"newStartPageToken\": \"12\", \"changes\": [" +
+                            "{\"fileId\": \"c\", \"removed\": false, \"file\": " +
+                            document("c", "Charlie").replace("\"trashed\": false", "\"trashed\": true") + "}, " +
+                            "{\"fileId\": \"e\", \"removed\": false, \"file\": " + document("e", "Echo") + "}]}");
+                case "12":
+                    return Response.json("{\"newStartPageToken\": \"12\", \"changes\": []}");
+                default:
+                    return Response.notFound();
+            }
+        });
+
+        assertEquals(List.of("Alpha Renamed", "Echo"), names(catalog.refresh()));
+        assertEquals(2, driveStandIn.getRequests(CHANGES_PATH).size());
+        assertTrue(driveStandIn.getRequests(FILES_PATH).isEmpty());
+        assertTrue(driveStandIn.getRequests(START_PAGE_TOKEN_PATH).isEmpty());
+
+        driveStandIn.clearRequests();
+        catalog.refresh();
+
+        List<DriveStandIn.Request> changeRequests = driveStandIn.getRequests(CHANGES_PATH);
+
+        assertEquals(1, changeRequests.size());
+        assertEquals("12", changeRequests.get(0).getParameter("pageToken"));
+    }
+
+    @Test
+    void catalogPersistsAcrossInstances() throws IOException {
+        serveListing();
+        new GoogleDriveCatalog(driveStandIn.newDriveService(), catalogPath).refresh();
+
+        driveStandIn.clearRequests();
+        driveStandIn.setHandler(request -> Response.notFound());
+
+        GoogleDriveCatalog reopenedCatalog = new GoogleDriveCatalog(driveStandIn.newDriveService(), catalogPath);
+
+        assertFalse(reopenedCatalog.isEmpty());
+        assertEquals(List.of("Alpha", "Bravo", "Charlie"), names(reopenedCatalog.getFiles()));
+        assertTrue(driveStandIn.getRequests().isEmpty());
+    }
+
+    @Test
+    void corruptCatalogFallsBackToFullListing() throws IOException {
+        Files.write(catalogPath, "{\"startPageToken\": ".getBytes());
+
+        serveListing();
+
+        GoogleDriveCatalog catalog = new GoogleDriveCatalog(driveStandIn.newDriveService(), catalogPath);
+
+        assertTrue(catalog.isEmpty());
+        assertEquals(List.of("Alpha", "Bravo", "Charlie"), names(catalog.refresh()));
+        assertEquals(1, driveStandIn.getRequests(START_PAGE_TOKEN_PATH).size());
+    }
+}
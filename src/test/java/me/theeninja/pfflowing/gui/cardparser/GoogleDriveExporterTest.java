@@ -0,0 +1,176 @@
+package me.theeninja.pfflowing.gui.cardparser;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.model.File;
+import me.theeninja.pfflowing.gui.cardparser.DriveStandIn.Response;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleDriveExporterTest {
+    private static final long MODIFIED_MILLIS = 1519905600000L;
+
+    private DriveStandIn driveStandIn;
+    private Path exportsPath;
+    private GoogleDriveExporter exporter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        driveStandIn = new DriveStandIn();
+        exportsPath = Files.createTempDirectory("drive-exports");
+        exporter = new GoogleDriveExporter(driveStandIn.newDriveService(), exportsPath);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        driveStandIn.close();
+
+        try (Stream<Path> paths = Files.walk(exportsPath)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static File document(String id, long modifiedMillis) {
+        return new File().setId(id).setName(id).setModifiedTime(new DateTime(modifiedMillis));
+    }
+
+    private static String exportPath(String id) {
+        return "drive/v3/files/" + id + "/export";
+    }
+
+    private static String html(String title) {
+        return "<html><head><title>" + title + "</title></head><body><p>" + title + "</p></body></html>";
+    }
+
+    private void serveExports() {
+        driveStandIn.setHandler(request -> {
+            String[] segments = request.getPath().split("/");
+
+            if (segments.length == 5 && segments[4].equals("export") && "text/html".equals(request.getParameter("mimeType"))) {
+                return Response.html(html(segments[3]));
+            }
+
+            return Response.notFound();
+        });
+    }
+
+    @Test
+    void exportIsStreamedToDiskAndReused() throws IOException {
+        serveExports();
+
+        File file = document("a", MODIFIED_MILLIS);
+        Path exportPath = exporter.export(file).join();
+
+        assertEquals(html("a"), new String(Files.readAllBytes(exportPath), StandardCharsets.UTF_8));
+        assertEquals(MODIFIED_MILLIS, Files.getLastModifiedTime(exportPath).toMillis());
+        assertEquals(1, driveStandIn.getRequests(exportPath("a")).size());
+
+        assertEquals(exportPath, exporter.export(document("a", MODIFIED_MILLIS)).join());
+        assertEquals(1, driveStandIn.getRequests(exportPath("a")).size());
+
+        exporter.export(document("a", MODIFIED_MILLIS + 1000)).join();
+        assertEquals(2, driveStandIn.getRequests(exportPath("a")).size());
+    }
+
+    @Test
+    void concurrentRequestsShareOneExport() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+
+        driveStandIn.setHandler(request -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Response.html(html("a"));
+        });
+
+        CompletableFuture<Path> firstExport = exporter.export(document("a", MODIFIED_MILLIS));
+        CompletableFuture<Path> secondExport = exporter.export(document("a", MODIFIED_MILLIS));
+
+        assertSame(firstExport, secondExport);
+
+        release.countDown();
+        firstExport.join();
+
+        assertEquals(1, driveStandIn.getRequests(exportPath("a")).size());
+    }
+
+    @Test
+    void prefetchIsBoundedByExportConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maximumInFlight = new AtomicInteger();
+
+        driveStandIn.setHandler(request -> {
+            maximumInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+
+            return Response.html(html(request.getPath()));
+        });
+
+        List<File> files = IntStream.range(0, 3 * GoogleDriveExporter.EXPORT_CONCURRENCY)
+                .mapToObj(index -> document("file" + index, MODIFIED_MILLIS))
+                .collect(Collectors.toList());
+
+        exporter.prefetch(files).join();
+
+        assertEquals(files.size(), driveStandIn.getRequests().size());
+        assertTrue(maximumInFlight.get() <= GoogleDriveExporter.EXPORT_CONCURRENCY);
+
+        files.forEach(file -> assertTrue(Files.exists(exportsPath.resolve(file.getId() + ".html"))));
+    }
+
+    @Test
+    void parsedDocumentsAreCachedUntilModified() {
+        serveExports();
+
+        Document document = exporter.getDocument(document("a", MODIFIED_MILLIS)).join();
+
+        assertEquals("a", document.title());
+        assertSame(document, exporter.getDocument(document("a", MODIFIED_MILLIS)).join());
+
+        Document modifiedDocument = exporter.getDocument(document("a", MODIFIED_MILLIS + 1000)).join();
+
+        assertNotSame(document, modifiedDocument);
+        assertEquals(2, driveStandIn.getRequests(exportPath("a")).size());
+    }
+
+    @Test
+    void failedExportLeavesNoPartialFile() throws IOException {
+        driveStandIn.setHandler(request -> Response.notFound());
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> exporter.export(document("missing", MODIFIED_MILLIS)).join());
+
+        assertTrue(exception.getCause() instanceof UncheckedIOException);
+
+        try (Stream<Path> exports = Files.list(exportsPath)) {
+            assertEquals(0, exports.count());
+        }
+
+        // A failed parse is not cached, so the document is requested again once it can be exported
+        assertThrows(CompletionException.class, () -> exporter.getDocument(document("missing", MODIFIED_MILLIS)).join());
+
+        serveExports();
+
+        assertEquals("missing", exporter.getDocument(document("missing", MODIFIED_MILLIS)).join().title());
+    }
+}
@@ -0,0 +1,224 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import javafx.collections.FXCollections;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.flowing.Speech;
+import me.theeninja.pfflowing.flowingregions.Card;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testfx.api.FxToolkit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryRoundFileTest {
+    private static Gson gson;
+
+    @BeforeAll
+    static void setUpClass() throws TimeoutException {
+        // Rounds and their flow grids are nodes, so they are created on the JavaFX application thread
+        FxToolkit.registerPrimaryStage();
+
+        gson = EFlow.getInstance().getGSON();
+    }
+
+    private static FlowingRegion region(String text, FlowingRegionType type, int column, int row, List<Card> cards, List<String> questions) {
+        FlowingRegion flowingRegion = new FlowingRegion(
+            text,
+            type,
+            FXCollections.observableArrayList(cards),
+            FXCollections.observableArrayList(questions)
+        );
+
+        FlowGrid.setConstraints(flowingRegion, column, row);
+
+        return flowingRegion;
+    }
+
+    private static FlowGrid flowGrid(FlowingRegion... flowingRegions) {
+        FlowGrid flowGrid = new FlowGrid();
+        flowGrid.getChildren().setAll(flowingRegions);
+
+        return flowGrid;
+    }
+
+    /**
+     * @return A round holding a card shared between regions of both flow grids, a card stored within blocks whose
+     *         body file does not exist, and regions within the first and the last speech.
+     */
+    private static Round round() {
+        Card tariffsCard = new Card("Smith 18", "<p>Tariffs cost <b>300,000</b> jobs</p>");
+
+        // Read as rounds read stored cards, keeping the copy of their HTML saved with the round
+        Card sanctionsCard = gson.fromJson(
+            "{\"representation\": \"Chen 17\", \"htmlContent\": \"<p>Sanctions rarely work</p>\", \"blocks\": \"Sanctions\", \"body\": 3}",
+            Card.class
+        );
+
+        FlowGrid affFlowGrid = flowGrid(
+            region("Tariffs cost jobs", FlowingRegionType.PROACTIVE, 0, 0, List.of(tariffsCard), List.of("Which industries?")),
+            region("Sanctions fail", FlowingRegionType.PROACTIVE, 0, 1, List.of(sanctionsCard), List.of()),
+            region("Jobs shift to exporters", FlowingRegionType.REFUTATION, 1, 0, List.of(), List.of()),
+            region("Extend", FlowingRegionType.EXTENSION, 2, 0, List.of(tariffsCard), List.of()),
+            region("Extend", FlowingRegionType.EXTENSION, Speech.SPEECH_SIZE - 1, 0, List.of(), List.of())
+        );
+
+        FlowGrid negFlowGrid = flowGrid(
+            region("Exporters gain", FlowingRegionType.PROACTIVE, 0, 0, List.of(tariffsCard, sanctionsCard), List.of("Which industries?")),
+            region("Extension", FlowingRegionType.EXTENSION, 2, 0, List.of(), List.of("Why extend?")),
+            region("Tariffs cost jobs", FlowingRegionType.REFUTATION, Speech.SPEECH_SIZE - 1, 0, List.of(), List.of())
+        );
+
+        Round round = new Round("Quarterfinals", Side.NEGATION, affFlowGrid, negFlowGrid);
+        round.setGeneration("4f6e0a5c-7a1b-4d2e-9f3a-1b2c3d4e5f60");
+
+        return round;
+    }
+
+    private static BinaryRoundFile write(JsonObject roundObject) {
+        ByteBuffer roundBuffer = BinaryRoundFile.encode(roundObject);
+
+        try {
+            Path roundPath = Files.createTempFile("round", ".eflow");
+            Files.write(roundPath, Arrays.copyOfRange(roundBuffer.array(), roundBuffer.position(), roundBuffer.limit()));
+
+            return BinaryRoundFile.open(roundPath);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Everything saved of {@code flowingRegion}, so that regions read in different ways are compared.
+     */
+    private static String describe(FlowingRegion flowingRegion) {
+        return flowingRegion.getFlowingRegionType() + " " + flowingRegion.getFullText()
+                + " at " + FlowGrid.getColumnIndex(flowingRegion) + ", " + FlowGrid.getRowIndex(flowingRegion)
+                + " cards " + flowingRegion.getAssociatedCards().stream().map(Card::getRepresentation).collect(Collectors.toList())
+                + " questions " + flowingRegion.getAssociatedQuestions();
+    }
+
+    private static List<String> describe(List<FlowingRegion> flowingRegions) {
+        return flowingRegions.stream().map(BinaryRoundFileTest::describe).collect(Collectors.toList());
+    }
+
+    @Test
+    void roundConvertsBackToItsJson() throws TimeoutException {
+        FxToolkit.setupFixture(() -> {
+            JsonObject roundObject = gson.toJsonTree(round(), Round.class).getAsJsonObject();
+            BinaryRoundFile binaryRoundFile = write(roundObject);
+
+            assertEquals(roundObject, binaryRoundFile.toJson());
+            assertEquals("Quarterfinals", binaryRoundFile.getRoundName());
+            assertEquals(Side.NEGATION, binaryRoundFile.getSide());
+            assertEquals("4f6e0a5c-7a1b-4d2e-9f3a-1b2c3d4e5f60", binaryRoundFile.getGeneration());
+            assertEquals(5, binaryRoundFile.getRegionCount(Side.AFFIRMATIVE));
+            assertEquals(3, binaryRoundFile.getRegionCount(Side.NEGATION));
+        });
+    }
+
+    @Test
+    void regionWithoutTextConvertsBackToNullText() {
+        JsonObject flowingRegionObject = new JsonObject();
+        flowingRegionObject.addProperty(FlowingRegion.TYPE_NAME, FlowingRegionType.PROACTIVE.name());
+        flowingRegionObject.add(FlowingRegion.TEXT_NAME, JsonNull.INSTANCE);
+        flowingRegionObject.addProperty(FlowingRegion.COLUMN_NAME, 0);
+        flowingRegionObject.addProperty(FlowingRegion.ROW_NAME, 0);
+        flowingRegionObject.add(FlowingRegion.ASSOCIATED_QUESTIONS, new JsonArray());
+        flowingRegionObject.add(FlowingRegion.ASSOCIATED_CARDS, new JsonArray());
+
+        JsonArray affFlowingRegions = new JsonArray();
+        affFlowingRegions.add(flowingRegionObject);
+
+        JsonObject affFlowGridObject = new JsonObject();
+        affFlowGridObject.add(FlowGrid.FLOWING_REGIONS, affFlowingRegions);
+
+        JsonObject negFlowGridObject = new JsonObject();
+        negFlowGridObject.add(FlowGrid.FLOWING_REGIONS, new JsonArray());
+
+        JsonObject roundObject = new JsonObject();
+        roundObject.addProperty(Round.NAME, "Round 1");
+        roundObject.addProperty(Round.SIDE, Side.AFFIRMATIVE.name());
+        roundObject.add(Round.AFF_FLOWING_GRID, affFlowGridObject);
+        roundObject.add(Round.NEG_FLOWING_GRID, negFlowGridObject);
+
+        BinaryRoundFile binaryRoundFile = write(roundObject);
+
+        assertEquals(roundObject, binaryRoundFile.toJson());
+        assertNull(binaryRoundFile.getGeneration());
+    }
+
+    @Test
+    void cardsKeepWhetherTheyAreStored() throws TimeoutException {
+        FxToolkit.setupFixture(() -> {
+            BinaryRoundFile binaryRoundFile = write(gson.toJsonTree(round(), Round.class).getAsJsonObject());
+
+            List<FlowingRegion> affFlowingRegions = binaryRoundFile.readFlowingRegions(Side.AFFIRMATIVE, gson);
+            List<FlowingRegion> negFlowingRegions = binaryRoundFile.readFlowingRegions(Side.NEGATION, gson);
+
+            Card tariffsCard = affFlowingRegions.get(0).getAssociatedCards().get(0);
+            Card sanctionsCard = affFlowingRegions.get(1).getAssociatedCards().get(0);
+
+            assertTrue(tariffsCard.hasResidentHTMLContent());
+            assertFalse(tariffsCard.isStored());
+            assertEquals("<p>Tariffs cost <b>300,000</b> jobs</p>", tariffsCard.getHTMLContent());
+
+            assertTrue(sanctionsCard.isStored());
+            assertFalse(sanctionsCard.hasResidentHTMLContent());
+            assertEquals("Sanctions", sanctionsCard.getBlocksName());
+            assertEquals(Integer.valueOf(3), sanctionsCard.getBody());
+
+            // The body file does not exist, so the copy saved with the round is shown
+            assertEquals("<p>Sanctions rarely work</p>", sanctionsCard.getHTMLContent());
+
+            // Cards shared between regions, and between flow grids, are decoded once
+            assertSame(tariffsCard, affFlowingRegions.get(3).getAssociatedCards().get(0));
+            assertSame(tariffsCard, negFlowingRegions.get(0).getAssociatedCards().get(0));
+            assertSame(sanctionsCard, negFlowingRegions.get(0).getAssociatedCards().get(1));
+        });
+    }
+
+    @Test
+    void speechesMatchTheirFlowGrids() throws TimeoutException {
+        FxToolkit.setupFixture(() -> {
+            BinaryRoundFile binaryRoundFile = write(gson.toJsonTree(round(), Round.class).getAsJsonObject());
+
+            for (Side side : List.of(Side.AFFIRMATIVE, Side.NEGATION)) {
+                List<FlowingRegion> flowingRegions = binaryRoundFile.readFlowingRegions(side, gson);
+
+                for (int column = 0; column < Speech.SPEECH_SIZE; column++) {
+                    int speechColumn = column;
+
+                    List<FlowingRegion> speechRegions = flowingRegions.stream()
+                            .filter(flowingRegion -> FlowGrid.getColumnIndex(flowingRegion) == speechColumn)
+                            .collect(Collectors.toList());
+
+                    assertEquals(describe(speechRegions), describe(binaryRoundFile.readSpeech(side, column, gson)), side + " speech " + column);
+                }
+            }
+
+            assertEquals(List.of("EXTENSION Extend at " + (Speech.SPEECH_SIZE - 1) + ", 0 cards [] questions []"),
+                    describe(binaryRoundFile.readSpeech(Side.AFFIRMATIVE, Speech.SPEECH_SIZE - 1, gson)));
+            assertThrows(IndexOutOfBoundsException.class, () -> binaryRoundFile.readSpeech(Side.AFFIRMATIVE, Speech.SPEECH_SIZE, gson));
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.Gson;
+import javafx.collections.FXCollections;
+import me.theeninja.pfflowing.EFlow;
+import me.theeninja.pfflowing.flowing.FlowingRegion;
+import me.theeninja.pfflowing.flowing.FlowingRegionType;
+import me.theeninja.pfflowing.gui.FlowGrid;
+import me.theeninja.pfflowing.speech.Side;
+import me.theeninja.pfflowing.tournament.Round;
+import org.junit.jupiter.api.Test;
+import org.testfx.api.FxToolkit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalWriterTest {
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private static JournalWriter.Command throwing(RuntimeException exception) {
+        return () -> {
+            throw exception;
+        };
+    }
+
+    @Test
+    void flushReturnsAfterCommandThrowsRuntimeException() {
+        JournalWriter journalWriter = JournalWriter.getInstance();
+
+        // Such as an action journal appending to a channel that could not be opened
+        journalWriter.submit(throwing(new NullPointerException("channel")));
+
+        assertTimeoutPreemptively(FLUSH_TIMEOUT, journalWriter::flush);
+    }
+
+    @Test
+    void commandsAfterFailingCommandStillRun() {
+        JournalWriter journalWriter = JournalWriter.getInstance();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        journalWriter.submit(throwing(new IllegalStateException("compaction")));
+        journalWriter.submit(() -> {
+            throw new IOException("disk full");
+        });
+        journalWriter.submit(() -> {
+            ran.set(true);
+            return null;
+        });
+
+        assertTimeoutPreemptively(FLUSH_TIMEOUT, journalWriter::flush);
+        assertTrue(ran.get());
+
+        // The journal thread outlived the failing group
+        journalWriter.submit(throwing(new IllegalArgumentException()));
+        assertTimeoutPreemptively(FLUSH_TIMEOUT, journalWriter::flush);
+    }
+
+    @Test
+    void journalWhoseFileCouldNotBeOpenedWritesNothing() throws TimeoutException, IOException {
+        FxToolkit.registerPrimaryStage();
+        Gson gson = EFlow.getInstance().getGSON();
+
+        Path journalPath = Files.createTempDirectory("journals").resolve("removed").resolve("round.journal");
+        AtomicReference<ActionJournal> actionJournal = new AtomicReference<>();
+
+        FxToolkit.setupFixture(() -> {
+            Round round = new Round("Round 1", Side.AFFIRMATIVE);
+
+            FlowingRegion flowingRegion = new FlowingRegion(
+                "Tariffs cost jobs",
+                FlowingRegionType.PROACTIVE,
+                FXCollections.observableArrayList(),
+                FXCollections.observableArrayList()
+            );
+
+            FlowGrid.setConstraints(flowingRegion, 0, 0);
+            round.getAffirmativeController().flowGrid.getChildren().add(flowingRegion);
+
+            // Appends the region to a journal whose file could not be created
+            actionJournal.set(new ActionJournal(round, journalPath, gson));
+            actionJournal.get().start(false);
+        });
+
+        assertTimeoutPreemptively(FLUSH_TIMEOUT, JournalWriter.getInstance()::flush);
+        assertTrue(actionJournal.get().hasUnsavedGroups());
+        assertFalse(Files.exists(journalPath));
+
+        FxToolkit.setupFixture(() -> actionJournal.get().close(true));
+        assertTimeoutPreemptively(FLUSH_TIMEOUT, JournalWriter.getInstance()::flush);
+    }
+}
@@ -0,0 +1,76 @@
+package me.theeninja.pfflowing.journal;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundValidatorTest {
+    private static JsonObject round(String affFlowingRegions) {
+        return new JsonParser().parse("{\"name\": \"Quarterfinals\", \"side\": \"NEGATION\", " +
+                "\"affFlowingGrid\": {\"flowing_regions\": [" + affFlowingRegions + "]}, " +
+                "\"negFlowingGrid\": {\"flowing_regions\": []}}").getAsJsonObject();
+    }
+
+    @Test
+    void roundAsSavedIsValid() {
+        JsonObject roundObject = round(
+            "{\"type\": \"PROACTIVE\", \"text\": \"Tariffs cost jobs\", \"column\": 0, \"row\": 0, " +
+            "\"associatedQuestions\": [\"Which industries?\"], \"associatedCards\": [{\"representation\": \"Smith 18\"}]}, " +
+            "{\"type\": \"REFUTATION\", \"text\": \"Jobs shift\", \"column\": 1, \"row\": 0}"
+        );
+
+        assertEquals(List.of(), RoundValidator.validate(roundObject));
+    }
+
+    @Test
+    void everyProblemOfARoundIsReported() {
+        JsonObject roundObject = round(
+            "{\"type\": \"PROACTIVE\", \"text\": \"Tariffs cost jobs\", \"column\": 0, \"row\": 0}, " +
+            "{\"type\": \"RESPONSE\", \"text\": null, \"column\": 8, \"row\": -1}, " +
+            "{\"type\": \"EXTENSION\", \"text\": \"Extend\", \"column\": 0.0, \"row\": 0, " +
+            "\"associatedQuestions\": [1], \"associatedCards\": \"Smith 18\"}, " +
+            "\"Extend\""
+        );
+        roundObject.addProperty("side", "BOTH");
+        roundObject.remove("negFlowingGrid");
+
+        assertEquals(List.of(
+            "Missing or unknown side",
+            "affFlowingGrid[1] has a missing or unknown type",
+            "affFlowingGrid[1] has no text",
+            "affFlowingGrid[1] has a missing or out of range column",
+            "affFlowingGrid[1] has a missing or negative row",
+            "affFlowingGrid[2] shares column 0, row 0 with another region",
+            "affFlowingGrid[2] has a malformed associatedQuestions",
+            "affFlowingGrid[2] has a malformed associatedCards",
+            "affFlowingGrid[3] is not a region",
+            "Missing negFlowingGrid"
+        ), RoundValidator.validate(roundObject));
+    }
+
+    @Test
+    void roundWithoutFlowingRegionsIsReported() {
+        JsonObject roundObject = round("");
+        roundObject.remove("name");
+        roundObject.getAsJsonObject("negFlowingGrid").remove("flowing_regions");
+
+        assertEquals(List.of("Missing name", "Missing negFlowingGrid.flowing_regions"), RoundValidator.validate(roundObject));
+    }
+
+    @Test
+    void savedRoundIsCheckedBeforeItsSegments() throws IOException {
+        Path roundPath = Files.createTempDirectory("rounds").resolve("round.eflow");
+        Files.write(roundPath, "{\"name\": \"Quarterfinals\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of("Missing or unknown side", "Missing affFlowingGrid", "Missing negFlowingGrid"),
+                RoundValidator.validate(roundPath));
+    }
+}